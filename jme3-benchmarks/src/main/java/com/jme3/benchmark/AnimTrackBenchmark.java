@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.benchmark;
+
+import com.jme3.anim.AnimClip;
+import com.jme3.anim.AnimTrack;
+import com.jme3.anim.Armature;
+import com.jme3.anim.TransformTrack;
+import com.jme3.math.FastMath;
+import com.jme3.math.Quaternion;
+import com.jme3.math.Transform;
+import com.jme3.math.Vector3f;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures sampling every track of a clip, as a playing clip does each
+ * frame, with the clip's transform tracks stored as created
+ * (<code>default</code>) or converted by
+ * {@link AnimClip#compactTransformTracks(float, boolean)} to flat floats
+ * (<code>flat</code>) or 16-bit components (<code>quantized</code>).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class AnimTrackBenchmark {
+
+    private static final int JOINT_COUNT = 64;
+    private static final float FPS = 30f;
+
+    @Param({"default", "flat", "quantized"})
+    public String storage;
+
+    /**
+     * Keyframes per track.
+     */
+    @Param({"30", "300"})
+    public int frames;
+
+    private AnimClip clip;
+    private final Transform transform = new Transform();
+    private double time;
+
+    @Setup
+    public void setup() {
+        Armature armature = BenchmarkScenes.createArmature(JOINT_COUNT);
+        AnimTrack[] tracks = new AnimTrack[JOINT_COUNT];
+        for (int j = 0; j < JOINT_COUNT; j++) {
+            float[] times = new float[frames];
+            Vector3f[] translations = new Vector3f[frames];
+            Quaternion[] rotations = new Quaternion[frames];
+            Vector3f[] scales = new Vector3f[frames];
+            for (int i = 0; i < frames; i++) {
+                times[i] = i / FPS;
+                float phase = i * 0.1f + j;
+                translations[i] = new Vector3f(0, 1f + 0.1f * FastMath.sin(phase), 0);
+                rotations[i] = new Quaternion().fromAngles(0.5f * FastMath.sin(phase), 0, 0.3f * FastMath.cos(phase));
+                scales[i] = new Vector3f(1, 1, 1);
+            }
+            tracks[j] = new TransformTrack(armature.getJoint(j), times, translations, rotations, scales);
+        }
+        clip = new AnimClip("clip");
+        clip.setTracks(tracks);
+        if ("flat".equals(storage)) {
+            clip.compactTransformTracks(1e-4f, false);
+        } else if ("quantized".equals(storage)) {
+            clip.compactTransformTracks(1e-4f, true);
+        }
+    }
+
+    @Benchmark
+    public Transform sampleClip() {
+        time += 1.0 / 60.0;
+        if (time > clip.getLength()) {
+            time = 0;
+        }
+        for (AnimTrack track : clip.getTracks()) {
+            ((TransformTrack) track).getDataAtTime(time, transform);
+        }
+        return transform;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.benchmark;
+
+import com.jme3.collision.CollisionResults;
+import com.jme3.collision.bih.BIHTree;
+import com.jme3.math.Matrix4f;
+import com.jme3.math.Ray;
+import com.jme3.math.Vector3f;
+import com.jme3.scene.Mesh;
+import com.jme3.scene.shape.Sphere;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link BIHTree#collideWith(com.jme3.collision.Collidable,
+ * Matrix4f, com.jme3.bounding.BoundingVolume, CollisionResults)} with rays
+ * cast at a tessellated sphere from random directions, plus the cost of
+ * building the tree itself.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BIHTreeRayBenchmark {
+
+    private static final int RAY_COUNT = 256;
+
+    @Param({"32", "128"})
+    public int samples;
+
+    private Mesh mesh;
+    private BIHTree tree;
+    private final Matrix4f worldMatrix = new Matrix4f();
+    private final CollisionResults results = new CollisionResults();
+    private final Ray[] rays = new Ray[RAY_COUNT];
+    private int next;
+
+    @Setup
+    public void setup() {
+        mesh = new Sphere(samples, samples, 1f);
+        mesh.updateBound();
+        tree = new BIHTree(mesh);
+        tree.construct();
+
+        Random random = new Random(BenchmarkScenes.SEED);
+        for (int i = 0; i < RAY_COUNT; i++) {
+            Vector3f origin = BenchmarkScenes.randomVector(random, 1f).normalizeLocal().multLocal(5f);
+            // aim slightly off-center so that some rays miss
+            Vector3f target = BenchmarkScenes.randomVector(random, 1.2f);
+            rays[i] = new Ray(origin, target.subtractLocal(origin).normalizeLocal());
+        }
+    }
+
+    @Benchmark
+    public int collideRay() {
+        Ray ray = rays[next];
+        next = (next + 1) % RAY_COUNT;
+        results.clear();
+        return tree.collideWith(ray, worldMatrix, mesh.getBound(), results);
+    }
+
+    @Benchmark
+    public BIHTree construct() {
+        BIHTree fresh = new BIHTree(mesh);
+        fresh.construct();
+        return fresh;
+    }
+}
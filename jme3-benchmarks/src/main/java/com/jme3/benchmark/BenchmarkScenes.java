@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.benchmark;
+
+import com.jme3.anim.Armature;
+import com.jme3.anim.Joint;
+import com.jme3.math.FastMath;
+import com.jme3.math.Quaternion;
+import com.jme3.math.Vector3f;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Mesh;
+import com.jme3.scene.Node;
+import com.jme3.scene.VertexBuffer;
+import com.jme3.scene.shape.Box;
+import com.jme3.scene.shape.Sphere;
+import com.jme3.util.BufferUtils;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.util.Random;
+
+/**
+ * Builds the synthetic scenes shared by the benchmarks.
+ *
+ * <p>All scenes are generated from a fixed seed so that results remain
+ * comparable between runs and between engine versions.</p>
+ */
+final class BenchmarkScenes {
+
+    static final long SEED = 0x6A4D45L;
+
+    private BenchmarkScenes() {
+    }
+
+    /**
+     * Creates a tree of nodes where every interior node has
+     * <code>breadth</code> children and the leaves at <code>depth</code>
+     * are small box geometries.
+     *
+     * @param depth the number of node levels below the root (&ge;1)
+     * @param breadth the number of children per node (&ge;1)
+     * @return a new root node
+     */
+    static Node createTree(int depth, int breadth) {
+        Random random = new Random(SEED);
+        Mesh mesh = new Box(0.5f, 0.5f, 0.5f);
+        Node root = new Node("root");
+        populate(root, depth, breadth, mesh, random);
+        return root;
+    }
+
+    private static void populate(Node parent, int depth, int breadth, Mesh mesh, Random random) {
+        for (int i = 0; i < breadth; i++) {
+            String name = parent.getName() + "/" + i;
+            if (depth == 1) {
+                Geometry geom = new Geometry(name, mesh);
+                geom.setLocalTranslation(randomVector(random, 10f));
+                parent.attachChild(geom);
+            } else {
+                Node node = new Node(name);
+                node.setLocalTranslation(randomVector(random, 50f));
+                node.setLocalRotation(new Quaternion().fromAngles(0, random.nextFloat() * FastMath.TWO_PI, 0));
+                populate(node, depth - 1, breadth, mesh, random);
+                parent.attachChild(node);
+            }
+        }
+    }
+
+    static Vector3f randomVector(Random random, float extent) {
+        return new Vector3f((random.nextFloat() * 2f - 1f) * extent,
+                (random.nextFloat() * 2f - 1f) * extent,
+                (random.nextFloat() * 2f - 1f) * extent);
+    }
+
+    /**
+     * Creates a chain of joints, each offset one unit along the Y axis
+     * from its parent, with the bind pose saved.
+     *
+     * @param jointCount the number of joints (&ge;1)
+     * @return a new armature
+     */
+    static Armature createArmature(int jointCount) {
+        Joint[] joints = new Joint[jointCount];
+        for (int i = 0; i < jointCount; i++) {
+            joints[i] = new Joint("joint" + i);
+            joints[i].setLocalTranslation(new Vector3f(0, i == 0 ? 0 : 1, 0));
+            if (i > 0) {
+                joints[i - 1].addChild(joints[i]);
+            }
+        }
+        Armature armature = new Armature(joints);
+        armature.saveBindPose();
+        armature.saveInitialPose();
+        return armature;
+    }
+
+    /**
+     * Creates a sphere mesh whose vertices are weighted to up to 4 joints
+     * of an armature created by {@link #createArmature(int)}.
+     *
+     * @param samples the number of z and radial samples of the sphere
+     * @param jointCount the number of joints to distribute weights over
+     * @return a new animated mesh
+     */
+    static Mesh createSkinnedMesh(int samples, int jointCount) {
+        Mesh mesh = new Sphere(samples, samples, 1f);
+        int vertexCount = mesh.getVertexCount();
+        Random random = new Random(SEED);
+
+        ByteBuffer indices = BufferUtils.createByteBuffer(vertexCount * 4);
+        FloatBuffer weights = BufferUtils.createFloatBuffer(vertexCount * 4);
+        for (int v = 0; v < vertexCount; v++) {
+            float total = 0;
+            float[] w = new float[4];
+            for (int i = 0; i < 4; i++) {
+                indices.put((byte) random.nextInt(jointCount));
+                w[i] = random.nextFloat() + 0.01f;
+                total += w[i];
+            }
+            for (int i = 0; i < 4; i++) {
+                weights.put(w[i] / total);
+            }
+        }
+        indices.flip();
+        weights.flip();
+
+        mesh.setBuffer(VertexBuffer.Type.BoneIndex, 4, indices);
+        mesh.setBuffer(VertexBuffer.Type.BoneWeight, 4, weights);
+        mesh.setMaxNumWeights(4);
+        mesh.generateBindPose();
+        return mesh;
+    }
+}
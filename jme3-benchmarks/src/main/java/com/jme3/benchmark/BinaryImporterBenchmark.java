@@ -0,0 +1,129 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.benchmark;
+
+import com.jme3.export.Savable;
+import com.jme3.export.binary.BinaryExporter;
+import com.jme3.export.binary.BinaryImporter;
+import com.jme3.export.binary.BufferEncodingPolicy;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Node;
+import com.jme3.scene.shape.Sphere;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link BinaryImporter#load(java.io.InputStream)} of an in-memory
+ * J3O stream.
+ *
+ * <ul>
+ * <li><code>graph</code>: many small objects (4 levels of 6 children)</li>
+ * <li><code>buffers</code>: a few geometries with large vertex buffers</li>
+ * </ul>
+ *
+ * <p>The <code>chunkSize</code> parameter compares the sequential layout
+ * (0) against the chunked layout of {@link BinaryExporter#setChunkSize(int)}.
+ * {@link #load()} decodes chunks on the common pool and
+ * {@link #loadOnCallingThread()} decodes them on the benchmark thread.</p>
+ *
+ * <p>The <code>encoding</code> parameter selects the
+ * {@link BufferEncodingPolicy} that the buffers are saved with, to weigh
+ * the decoding cost against the smaller files.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BinaryImporterBenchmark {
+
+    @Param({"graph", "buffers"})
+    public String content;
+
+    @Param({"0", "65536"})
+    public int chunkSize;
+
+    @Param({"none", "lossless", "compact"})
+    public String encoding;
+
+    private byte[] data;
+
+    @Setup
+    public void setup() throws IOException {
+        Node scene;
+        if ("graph".equals(content)) {
+            scene = BenchmarkScenes.createTree(4, 6);
+        } else {
+            scene = new Node("buffers");
+            for (int i = 0; i < 4; i++) {
+                scene.attachChild(new Geometry("sphere" + i, new Sphere(256, 256, 1f)));
+            }
+        }
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        BinaryExporter exporter = BinaryExporter.getInstance();
+        exporter.setChunkSize(chunkSize);
+        if ("lossless".equals(encoding)) {
+            exporter.setBufferEncodingPolicy(BufferEncodingPolicy.LOSSLESS);
+        } else if ("compact".equals(encoding)) {
+            exporter.setBufferEncodingPolicy(BufferEncodingPolicy.COMPACT);
+        }
+        exporter.save(scene, out);
+        data = out.toByteArray();
+    }
+
+    @Benchmark
+    public Savable load() throws IOException {
+        BinaryImporter importer = new BinaryImporter();
+        return importer.load(new ByteArrayInputStream(data));
+    }
+
+    @Benchmark
+    public Savable loadOnCallingThread() throws IOException {
+        BinaryImporter importer = new BinaryImporter();
+        importer.setExecutor(null);
+        return importer.load(new ByteArrayInputStream(data));
+    }
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.benchmark;
+
+import com.jme3.network.serializing.Serializer;
+import com.jme3.network.serializing.serializers.FieldSerializer;
+import com.jme3.network.serializing.serializers.GeneratedFieldSerializer;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares the reflective {@link FieldSerializer} with the
+ * {@link GeneratedFieldSerializer} on a primitive-heavy entity update.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldSerializerBenchmark {
+
+    @Param({"reflective", "generated"})
+    public String mode;
+
+    private Serializer serializer;
+    private EntityUpdate update;
+    private ByteBuffer buffer;
+
+    @Setup
+    public void setup() throws IOException {
+        Serializer.initialize();
+        serializer = "generated".equals(mode) ? new GeneratedFieldSerializer() : new FieldSerializer();
+        serializer.initialize(EntityUpdate.class);
+
+        update = new EntityUpdate();
+        update.entityId = 42L;
+        update.x = 1.5f;
+        update.y = 2.5f;
+        update.z = -3.5f;
+        update.qx = 0.1f;
+        update.qy = 0.2f;
+        update.qz = 0.3f;
+        update.qw = 0.9f;
+        update.flags = 7;
+        update.visible = true;
+        buffer = ByteBuffer.allocate(256);
+    }
+
+    @Benchmark
+    public ByteBuffer write() throws IOException {
+        buffer.clear();
+        serializer.writeObject(buffer, update);
+        return buffer;
+    }
+
+    @Benchmark
+    public EntityUpdate roundTrip() throws IOException {
+        buffer.clear();
+        serializer.writeObject(buffer, update);
+        buffer.flip();
+        return serializer.readObject(buffer, EntityUpdate.class);
+    }
+
+    public static class EntityUpdate {
+        private long entityId;
+        private float x, y, z;
+        private float qx, qy, qz, qw;
+        private int flags;
+        private boolean visible;
+
+        public EntityUpdate() {
+        }
+    }
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.benchmark;
+
+import com.jme3.material.Material;
+import com.jme3.material.MaterialDef;
+import com.jme3.material.TechniqueDef;
+import com.jme3.math.Vector3f;
+import com.jme3.renderer.Camera;
+import com.jme3.renderer.RenderManager;
+import com.jme3.renderer.queue.GeometryList;
+import com.jme3.renderer.queue.OpaqueComparator;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Mesh;
+import com.jme3.scene.shape.Box;
+import com.jme3.system.NullRenderer;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures sorting of an opaque bucket with {@link OpaqueComparator}, the
+ * same way <code>RenderQueue</code> does before rendering it.
+ *
+ * <p>Geometries use one of 16 headless materials (distinct technique sort
+ * ids) and are scattered in front of the camera. The list is refilled in
+ * shuffled order and the cached queue distances are reset before every
+ * invocation, exactly as <code>RenderQueue.addToQueue</code> would.</p>
+ *
+ * <p>The <code>sortPath</code> parameter selects between the comparison
+ * sort ({@link com.jme3.util.ListSort}) and the radix sort over
+ * {@link com.jme3.renderer.queue.SortKeyComparator} keys.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeometryListSortBenchmark {
+
+    private static final int MATERIAL_COUNT = 16;
+
+    @Param({"1000", "10000"})
+    public int count;
+
+    @Param({"listSort", "radixSort"})
+    public String sortPath;
+
+    private Geometry[] geometries;
+    private GeometryList list;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void setupTrial() {
+        random = new Random(BenchmarkScenes.SEED);
+        RenderManager renderManager = new RenderManager(new NullRenderer());
+
+        Material[] materials = new Material[MATERIAL_COUNT];
+        for (int i = 0; i < MATERIAL_COUNT; i++) {
+            MaterialDef def = new MaterialDef(null, "Benchmark" + i);
+            TechniqueDef techniqueDef = new TechniqueDef(TechniqueDef.DEFAULT_TECHNIQUE_NAME, i);
+            techniqueDef.setLightMode(renderManager.getPreferredLightMode());
+            def.addTechniqueDef(techniqueDef);
+            materials[i] = new Material(def);
+            materials[i].selectTechnique(TechniqueDef.DEFAULT_TECHNIQUE_NAME, renderManager);
+        }
+
+        Mesh mesh = new Box(0.5f, 0.5f, 0.5f);
+        geometries = new Geometry[count];
+        for (int i = 0; i < count; i++) {
+            Geometry geom = new Geometry("geom" + i, mesh);
+            geom.setMaterial(materials[random.nextInt(MATERIAL_COUNT)]);
+            geom.setLocalTranslation(BenchmarkScenes.randomVector(random, 200f).addLocal(0, 0, -250f));
+            geom.updateGeometricState();
+            geometries[i] = geom;
+        }
+
+        Camera cam = new Camera(1280, 720);
+        cam.setFrustumPerspective(60f, 1280f / 720f, 1f, 1000f);
+        cam.lookAtDirection(new Vector3f(0, 0, -1), Vector3f.UNIT_Y);
+        cam.update();
+
+        list = new GeometryList(new OpaqueComparator());
+        list.setCamera(cam);
+        list.setRadixSortThreshold("radixSort".equals(sortPath) ? 2 : Integer.MAX_VALUE);
+    }
+
+    @Setup(Level.Invocation)
+    public void refill() {
+        for (int i = count - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            Geometry tmp = geometries[i];
+            geometries[i] = geometries[j];
+            geometries[j] = tmp;
+        }
+        list.clear();
+        for (Geometry geom : geometries) {
+            geom.queueDistance = Float.NEGATIVE_INFINITY;
+            list.add(geom);
+        }
+    }
+
+    @Benchmark
+    public GeometryList sortOpaque() {
+        list.sort();
+        return list;
+    }
+}
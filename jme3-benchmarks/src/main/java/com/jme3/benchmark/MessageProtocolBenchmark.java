@@ -0,0 +1,126 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.benchmark;
+
+import com.jme3.math.Quaternion;
+import com.jme3.math.Vector3f;
+import com.jme3.network.AbstractMessage;
+import com.jme3.network.Message;
+import com.jme3.network.base.protocol.SerializerMessageProtocol;
+import com.jme3.network.serializing.Serializable;
+import com.jme3.network.serializing.Serializer;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link SerializerMessageProtocol#toByteBuffer(Message, ByteBuffer)}
+ * and {@link SerializerMessageProtocol#toMessage(ByteBuffer)} for a typical
+ * entity state update message.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageProtocolBenchmark {
+
+    private SerializerMessageProtocol protocol;
+    private StateMessage message;
+    private ByteBuffer reusable;
+    private ByteBuffer encoded;
+
+    @Setup
+    public void setup() {
+        Serializer.registerClass(StateMessage.class);
+        protocol = new SerializerMessageProtocol();
+        message = new StateMessage(42L, new Vector3f(1.5f, 2.5f, -3.5f),
+                new Quaternion().fromAngles(0.1f, 0.2f, 0.3f), "walk");
+        reusable = ByteBuffer.allocate(SerializerMessageProtocol.MAX_MESSAGE_SIZE + 2);
+
+        ByteBuffer buffer = protocol.toByteBuffer(message, null);
+        encoded = ByteBuffer.allocate(buffer.remaining() - 2);
+        buffer.position(2);
+        encoded.put(buffer).flip();
+    }
+
+    /**
+     * The path used by <code>DefaultServer</code>/<code>DefaultClient</code>,
+     * which lets the protocol allocate the target buffer.
+     *
+     * @return the encoded buffer
+     */
+    @Benchmark
+    public ByteBuffer toByteBufferAllocating() {
+        return protocol.toByteBuffer(message, null);
+    }
+
+    @Benchmark
+    public ByteBuffer toByteBufferReused() {
+        reusable.clear();
+        return protocol.toByteBuffer(message, reusable);
+    }
+
+    @Benchmark
+    public Message toMessage() {
+        encoded.rewind();
+        return protocol.toMessage(encoded);
+    }
+
+    @Serializable
+    public static class StateMessage extends AbstractMessage {
+        private long entityId;
+        private Vector3f location;
+        private Quaternion rotation;
+        private String animation;
+
+        public StateMessage() {
+        }
+
+        public StateMessage(long entityId, Vector3f location, Quaternion rotation, String animation) {
+            this.entityId = entityId;
+            this.location = location;
+            this.rotation = rotation;
+            this.animation = animation;
+        }
+    }
+}
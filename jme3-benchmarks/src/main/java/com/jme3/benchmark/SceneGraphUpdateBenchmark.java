@@ -0,0 +1,132 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.benchmark;
+
+import com.jme3.math.Quaternion;
+import com.jme3.scene.Node;
+import com.jme3.scene.Spatial;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures {@link Spatial#updateLogicalState(float)} and
+ * {@link Spatial#updateGeometricState()} on deep and wide node trees.
+ *
+ * <ul>
+ * <li><code>deep</code>: 6 levels of 4 children (4096 leaf geometries)</li>
+ * <li><code>wide</code>: a single node with 5000 leaf geometries</li>
+ * </ul>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SceneGraphUpdateBenchmark {
+
+    @Param({"deep", "wide"})
+    public String shape;
+
+    private Node root;
+    private final List<Spatial> leaves = new ArrayList<>();
+    private final Quaternion spin = new Quaternion().fromAngles(0, 0.01f, 0);
+
+    @Setup
+    public void setup() {
+        if ("deep".equals(shape)) {
+            root = BenchmarkScenes.createTree(6, 4);
+        } else {
+            root = BenchmarkScenes.createTree(1, 5000);
+        }
+        root.depthFirstTraversal(spatial -> {
+            if (!(spatial instanceof Node)) {
+                leaves.add(spatial);
+            }
+        });
+        root.updateLogicalState(0f);
+        root.updateGeometricState();
+    }
+
+    /**
+     * Rotating the root invalidates every world transform and bound in
+     * the tree.
+     *
+     * @return the updated root
+     */
+    @Benchmark
+    public Node updateWholeTree() {
+        root.rotate(spin);
+        root.updateLogicalState(0.016f);
+        root.updateGeometricState();
+        return root;
+    }
+
+    /**
+     * Moving one leaf in 16 invalidates only the bounds of their ancestors.
+     *
+     * @return the updated root
+     */
+    @Benchmark
+    public Node updateSparseLeaves() {
+        for (int i = 0; i < leaves.size(); i += 16) {
+            leaves.get(i).rotate(spin);
+        }
+        root.updateLogicalState(0.016f);
+        root.updateGeometricState();
+        return root;
+    }
+
+    /**
+     * Nothing is invalidated, so this is the cost of walking the tree.
+     *
+     * @return the updated root
+     */
+    @Benchmark
+    public Node updateUnchangedTree() {
+        root.updateLogicalState(0.016f);
+        root.updateGeometricState();
+        return root;
+    }
+}
@@ -0,0 +1,163 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.benchmark.network;
+
+import com.jme3.benchmark.network.LoadMessages.EchoMessage;
+import com.jme3.benchmark.network.LoadMessages.TickMessage;
+import com.jme3.network.Client;
+import com.jme3.network.ClientStateListener;
+import com.jme3.network.Message;
+import com.jme3.network.MessageConnection;
+import com.jme3.network.MessageListener;
+import com.jme3.network.Network;
+import com.jme3.network.base.CompressionSettings;
+import com.jme3.network.base.DefaultClient;
+import com.jme3.network.service.rpc.RpcClientService;
+import com.jme3.network.stats.ConnectionStats;
+import java.io.IOException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One simulated client.  Each call to {@link #sendOne()} picks an RPC
+ * call, a reliable echo or an unreliable echo according to the load
+ * options and records the round trip in the shared {@link LoadStats}
+ * when the answer comes back.
+ */
+class LoadClient implements MessageListener<Client>, ClientStateListener {
+
+    private final NetworkLoadTest.Options options;
+    private final LoadStats stats;
+    private final DefaultClient client;
+    private final RpcClientService rpc = new RpcClientService();
+    private final CountDownLatch connected = new CountDownLatch(1);
+    private volatile boolean closed;
+
+    LoadClient(NetworkLoadTest.Options options, LoadStats stats) throws IOException {
+        this.options = options;
+        this.stats = stats;
+        this.client = (DefaultClient) Network.connectToServer(NetworkLoadTest.GAME_NAME,
+                NetworkLoadTest.VERSION, options.host, options.port, options.port);
+        if (options.compression) {
+            client.setCompression(MessageConnection.CHANNEL_DEFAULT_RELIABLE, CompressionSettings.DEFAULT);
+            client.setCompression(MessageConnection.CHANNEL_DEFAULT_UNRELIABLE, CompressionSettings.DEFAULT);
+        }
+        if (options.batchSize > 0) {
+            client.setBatchSize(MessageConnection.CHANNEL_DEFAULT_RELIABLE, options.batchSize);
+        }
+        client.getServices().addService(rpc);
+        client.addClientStateListener(this);
+        client.addMessageListener(this, EchoMessage.class, TickMessage.class);
+    }
+
+    /**
+     * Starts the client and waits for the server to accept it.
+     *
+     * @param timeoutMillis how long to wait
+     * @return true if the client connected in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    boolean connect(long timeoutMillis) throws InterruptedException {
+        client.start();
+        return connected.await(timeoutMillis, TimeUnit.MILLISECONDS);
+    }
+
+    ConnectionStats getStats() {
+        return client.getStats();
+    }
+
+    /**
+     * Sends one message or RPC call.
+     */
+    void sendOne() {
+        if (closed) {
+            return;
+        }
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        byte[] payload = new byte[options.payload];
+        random.nextBytes(payload);
+        long start = System.nanoTime();
+        try {
+            if (random.nextDouble() < options.rpcRatio) {
+                stats.rpcSent.increment();
+                rpc.callDeferred((byte) MessageConnection.CHANNEL_DEFAULT_RELIABLE,
+                        NetworkLoadTest.RPC_ECHO_ID, (short) 0, payload)
+                        .whenComplete((result, error) -> {
+                            if (error == null) {
+                                stats.rpcLatency.record(System.nanoTime() - start);
+                            }
+                        });
+            } else {
+                boolean reliable = random.nextDouble() >= options.unreliableRatio;
+                stats.echoSent.increment();
+                client.send(new EchoMessage(start, payload, reliable));
+            }
+        } catch (RuntimeException e) {
+            // The connection can go away under load, which the
+            // report shows as lost messages
+            stats.sendErrors.increment();
+        }
+    }
+
+    void close() {
+        closed = true;
+        if (client.isStarted()) {
+            client.close();
+        }
+    }
+
+    @Override
+    public void messageReceived(Client source, Message m) {
+        long now = System.nanoTime();
+        if (m instanceof EchoMessage) {
+            stats.echoLatency.record(now - ((EchoMessage) m).sentNanos);
+            stats.echoReceived.increment();
+        } else if (m instanceof TickMessage) {
+            // Only meaningful when the server shares this machine's clock
+            stats.tickLatency.record(now - ((TickMessage) m).sentNanos);
+            stats.tickReceived.increment();
+        }
+    }
+
+    @Override
+    public void clientConnected(Client c) {
+        connected.countDown();
+    }
+
+    @Override
+    public void clientDisconnected(Client c, DisconnectInfo info) {
+        if (!closed) {
+            stats.disconnects.increment();
+        }
+    }
+}
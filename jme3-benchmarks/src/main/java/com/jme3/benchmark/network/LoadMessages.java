@@ -0,0 +1,91 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.benchmark.network;
+
+import com.jme3.network.AbstractMessage;
+import com.jme3.network.serializing.Serializable;
+import com.jme3.network.serializing.Serializer;
+
+/**
+ * Messages exchanged by the load test.
+ */
+public final class LoadMessages {
+
+    private LoadMessages() {
+    }
+
+    /**
+     * Registers the load test messages.  Separate server and client
+     * processes must both call this so that the IDs match.
+     */
+    public static void register() {
+        Serializer.registerClasses(EchoMessage.class, TickMessage.class);
+    }
+
+    /**
+     * Sent by a client and echoed back by the server so the client can
+     * measure the round trip.
+     */
+    @Serializable
+    public static class EchoMessage extends AbstractMessage {
+        public long sentNanos;
+        public byte[] payload;
+
+        public EchoMessage() {
+        }
+
+        public EchoMessage(long sentNanos, byte[] payload, boolean reliable) {
+            this.sentNanos = sentNanos;
+            this.payload = payload;
+            setReliable(reliable);
+        }
+    }
+
+    /**
+     * Broadcast by the server to every client at a fixed rate like a
+     * world state update.
+     */
+    @Serializable
+    public static class TickMessage extends AbstractMessage {
+        public long sentNanos;
+        public byte[] payload;
+
+        public TickMessage() {
+        }
+
+        public TickMessage(long sentNanos, byte[] payload, boolean reliable) {
+            this.sentNanos = sentNanos;
+            this.payload = payload;
+            setReliable(reliable);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.benchmark.network;
+
+import com.jme3.network.stats.Histogram;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency histograms shared by all of the simulated
+ * clients.  Latencies are in nanoseconds.
+ */
+class LoadStats {
+
+    final LongAdder echoSent = new LongAdder();
+    final LongAdder echoReceived = new LongAdder();
+    final LongAdder rpcSent = new LongAdder();
+    final LongAdder tickReceived = new LongAdder();
+    final LongAdder sendErrors = new LongAdder();
+    final LongAdder disconnects = new LongAdder();
+    final Histogram echoLatency = new Histogram();
+    final Histogram rpcLatency = new Histogram();
+    final Histogram tickLatency = new Histogram();
+
+    void reset() {
+        echoSent.reset();
+        echoReceived.reset();
+        rpcSent.reset();
+        tickReceived.reset();
+        sendErrors.reset();
+        echoLatency.reset();
+        rpcLatency.reset();
+        tickLatency.reset();
+    }
+}
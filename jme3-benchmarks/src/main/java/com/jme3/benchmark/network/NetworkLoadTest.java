@@ -0,0 +1,502 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.benchmark.network;
+
+import com.jme3.benchmark.network.LoadMessages.EchoMessage;
+import com.jme3.benchmark.network.LoadMessages.TickMessage;
+import com.jme3.network.ConnectionListener;
+import com.jme3.network.HostedConnection;
+import com.jme3.network.MessageConnection;
+import com.jme3.network.Server;
+import com.jme3.network.base.CompressionSettings;
+import com.jme3.network.base.DefaultServer;
+import com.jme3.network.kernel.tcp.SelectorKernel;
+import com.jme3.network.kernel.udp.UdpKernel;
+import com.jme3.network.service.rpc.RpcHostedService;
+import com.jme3.network.stats.ConnectionStats;
+import com.jme3.network.stats.Histogram;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.InetSocketAddress;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Headless load test for jme3-networking.  Starts a {@link DefaultServer}
+ * and ramps up simulated {@link com.jme3.network.base.DefaultClient}s over
+ * loopback.  Each client sends reliable (TCP) and unreliable (UDP) echo
+ * messages and RPC calls at a fixed rate while the server broadcasts
+ * ticks to everyone.  After each ramp step it prints throughput, round
+ * trip latency percentiles and GC activity.  The tick latency column is
+ * the time from the server's broadcast to a client receiving it and
+ * shows how the server's fan-out keeps up.
+ *
+ * <p>Run with {@code ./gradlew :jme3-benchmarks:networkLoadTest
+ * -Pload.args="--clients 500 --step 50"}, or with {@code --help} for
+ * the options.  The server and clients share a JVM by default, so the
+ * numbers include the clients' own overhead.  For cleaner server numbers,
+ * run {@code --mode server} and {@code --mode clients} as separate
+ * processes on the same machine.</p>
+ *
+ * <p>The exit code is 1 if {@code --max-p99} is given and any step's echo
+ * p99 exceeds it, or if clients fail to connect, so the test can be used
+ * as a regression check.</p>
+ */
+public final class NetworkLoadTest {
+
+    static final String GAME_NAME = "jME3 Network Load Test";
+    static final int VERSION = 1;
+    static final short RPC_ECHO_ID = 1;
+
+    private static final long CONNECT_TIMEOUT_MILLIS = 10000;
+
+    /**
+     * Command line options.
+     */
+    static final class Options {
+        String mode = "both";
+        String host = "localhost";
+        int port = 6143;
+        int clients = 100;
+        int step = 0;
+        int warmupSeconds = 2;
+        int stepSeconds = 10;
+        int rate = 20;
+        int payload = 64;
+        double unreliableRatio = 0.5;
+        double rpcRatio = 0.1;
+        int tickRate = 20;
+        int tickPayload = 256;
+        int senderThreads = 2;
+        int tcpThreads = 1;
+        int batchSize = 0;
+        boolean compression;
+        double maxP99Millis = 0;
+        String out;
+
+        static Options parse(String[] args) {
+            Options result = new Options();
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                if ("--compression".equals(arg)) {
+                    result.compression = true;
+                    continue;
+                }
+                if (i + 1 >= args.length) {
+                    throw new IllegalArgumentException("Missing value for:" + arg);
+                }
+                String value = args[++i];
+                switch (arg) {
+                    case "--mode": result.mode = value; break;
+                    case "--host": result.host = value; break;
+                    case "--port": result.port = Integer.parseInt(value); break;
+                    case "--clients": result.clients = Integer.parseInt(value); break;
+                    case "--step": result.step = Integer.parseInt(value); break;
+                    case "--warmup": result.warmupSeconds = Integer.parseInt(value); break;
+                    case "--duration": result.stepSeconds = Integer.parseInt(value); break;
+                    case "--rate": result.rate = Integer.parseInt(value); break;
+                    case "--payload": result.payload = Integer.parseInt(value); break;
+                    case "--unreliable": result.unreliableRatio = Double.parseDouble(value); break;
+                    case "--rpc": result.rpcRatio = Double.parseDouble(value); break;
+                    case "--tick-rate": result.tickRate = Integer.parseInt(value); break;
+                    case "--tick-payload": result.tickPayload = Integer.parseInt(value); break;
+                    case "--sender-threads": result.senderThreads = Integer.parseInt(value); break;
+                    case "--tcp-threads": result.tcpThreads = Integer.parseInt(value); break;
+                    case "--batch": result.batchSize = Integer.parseInt(value); break;
+                    case "--max-p99": result.maxP99Millis = Double.parseDouble(value); break;
+                    case "--out": result.out = value; break;
+                    default:
+                        throw new IllegalArgumentException("Unknown option:" + arg);
+                }
+            }
+            if (!"both".equals(result.mode) && !"server".equals(result.mode)
+                    && !"clients".equals(result.mode)) {
+                throw new IllegalArgumentException("Unknown mode:" + result.mode);
+            }
+            return result;
+        }
+
+        static void printUsage() {
+            System.out.println("Options:");
+            System.out.println("  --mode both|server|clients  what to run in this process (both)");
+            System.out.println("  --host name                 server host for clients mode (localhost)");
+            System.out.println("  --port n                    TCP and UDP port (6143)");
+            System.out.println("  --clients n                 final number of clients (100)");
+            System.out.println("  --step n                    clients added per ramp step, 0 for one step (0)");
+            System.out.println("  --warmup s                  seconds to run before measuring each step (2)");
+            System.out.println("  --duration s                seconds to measure each step (10)");
+            System.out.println("  --rate n                    messages per second per client (20)");
+            System.out.println("  --payload n                 echo payload bytes (64)");
+            System.out.println("  --unreliable f              fraction of echoes sent over UDP (0.5)");
+            System.out.println("  --rpc f                     fraction of sends that are RPC calls (0.1)");
+            System.out.println("  --tick-rate n               server broadcasts per second, 0 for none (20)");
+            System.out.println("  --tick-payload n            broadcast payload bytes (256)");
+            System.out.println("  --sender-threads n          threads driving the clients (2)");
+            System.out.println("  --tcp-threads n             server TCP selector I/O threads (1)");
+            System.out.println("  --batch n                   reliable channel batch size, 0 for none (0)");
+            System.out.println("  --compression               compress both default channels");
+            System.out.println("  --max-p99 ms                fail if any step's echo p99 is higher");
+            System.out.println("  --out file                  also write the results as JSON");
+        }
+    }
+
+    /**
+     * Process-wide counters read at the start and end of each step.
+     */
+    private static final class Sample {
+        final long nanos = System.nanoTime();
+        long gcCount;
+        long gcMillis;
+        long allocated = allocatedBytes();
+        long bytesIn;
+        long bytesOut;
+
+        Sample(List<LoadClient> clients) {
+            for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+                gcCount += Math.max(0, gc.getCollectionCount());
+                gcMillis += Math.max(0, gc.getCollectionTime());
+            }
+            for (LoadClient client : clients) {
+                ConnectionStats stats = client.getStats();
+                bytesIn += stats.getBytesIn();
+                bytesOut += stats.getBytesOut();
+            }
+        }
+
+        /**
+         * Returns the bytes allocated by the live threads, which undercounts
+         * threads that have exited, or -1 if the JVM can't tell.
+         */
+        private static long allocatedBytes() {
+            ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+            if (!(bean instanceof com.sun.management.ThreadMXBean)) {
+                return -1;
+            }
+            com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) bean;
+            if (!threads.isThreadAllocatedMemorySupported() || !threads.isThreadAllocatedMemoryEnabled()) {
+                return -1;
+            }
+            long total = 0;
+            for (long bytes : threads.getThreadAllocatedBytes(bean.getAllThreadIds())) {
+                if (bytes > 0) {
+                    total += bytes;
+                }
+            }
+            return total;
+        }
+    }
+
+    /**
+     * The results of one ramp step.
+     */
+    private static final class StepResult {
+        int clients;
+        double seconds;
+        double echoPerSecond;
+        double rpcPerSecond;
+        double tickPerSecond;
+        double lossPercent;
+        double echoP50, echoP99, echoMax;
+        double rpcP50, rpcP99;
+        double tickP50, tickP99;
+        double kbInPerSecond, kbOutPerSecond;
+        long gcCount, gcMillis;
+        double allocMbPerSecond;
+        long sendErrors;
+        long disconnects;
+
+        StepResult(int clients, Sample before, Sample after, LoadStats stats) {
+            this.clients = clients;
+            seconds = (after.nanos - before.nanos) / 1e9;
+            long echoSent = stats.echoSent.sum();
+            long echoReceived = stats.echoReceived.sum();
+            echoPerSecond = echoReceived / seconds;
+            rpcPerSecond = stats.rpcLatency.getCount() / seconds;
+            tickPerSecond = stats.tickReceived.sum() / seconds;
+            // Includes messages still in flight at the end of the step
+            lossPercent = echoSent == 0 ? 0 : Math.max(0, 100.0 * (echoSent - echoReceived) / echoSent);
+            echoP50 = millis(stats.echoLatency.getPercentile(0.5));
+            echoP99 = millis(stats.echoLatency.getPercentile(0.99));
+            echoMax = millis(stats.echoLatency.getMax());
+            rpcP50 = millis(stats.rpcLatency.getPercentile(0.5));
+            rpcP99 = millis(stats.rpcLatency.getPercentile(0.99));
+            tickP50 = millis(stats.tickLatency.getPercentile(0.5));
+            tickP99 = millis(stats.tickLatency.getPercentile(0.99));
+            kbInPerSecond = (after.bytesIn - before.bytesIn) / 1024.0 / seconds;
+            kbOutPerSecond = (after.bytesOut - before.bytesOut) / 1024.0 / seconds;
+            gcCount = after.gcCount - before.gcCount;
+            gcMillis = after.gcMillis - before.gcMillis;
+            allocMbPerSecond = before.allocated < 0 || after.allocated < 0 ? -1
+                    : Math.max(0, after.allocated - before.allocated) / (1024.0 * 1024.0) / seconds;
+            sendErrors = stats.sendErrors.sum();
+            disconnects = stats.disconnects.sum();
+        }
+
+        private static double millis(long nanos) {
+            return nanos / 1e6;
+        }
+
+        static String header() {
+            return String.format(Locale.ROOT, "%7s %9s %8s %8s %6s %8s %8s %8s %8s %8s %8s %8s %9s %9s %5s %7s %9s",
+                    "clients", "echo/s", "rpc/s", "tick/s", "loss%", "p50ms", "p99ms", "maxms",
+                    "rpc50", "rpc99", "tick50", "tick99", "KBin/s", "KBout/s", "gc", "gcms", "allocMB/s");
+        }
+
+        String row() {
+            return String.format(Locale.ROOT,
+                    "%7d %9.0f %8.0f %8.0f %6.2f %8.2f %8.2f %8.2f %8.2f %8.2f %8.2f %8.2f %9.1f %9.1f %5d %7d %9.1f",
+                    clients, echoPerSecond, rpcPerSecond, tickPerSecond, lossPercent, echoP50, echoP99, echoMax,
+                    rpcP50, rpcP99, tickP50, tickP99, kbInPerSecond, kbOutPerSecond, gcCount, gcMillis,
+                    allocMbPerSecond);
+        }
+
+        String toJson() {
+            return String.format(Locale.ROOT, "{\"clients\":%d,\"seconds\":%.3f,\"echoPerSecond\":%.1f,"
+                    + "\"rpcPerSecond\":%.1f,\"tickPerSecond\":%.1f,\"lossPercent\":%.3f,"
+                    + "\"echoP50Ms\":%.3f,\"echoP99Ms\":%.3f,\"echoMaxMs\":%.3f,\"rpcP50Ms\":%.3f,"
+                    + "\"rpcP99Ms\":%.3f,\"tickP50Ms\":%.3f,\"tickP99Ms\":%.3f,\"kbInPerSecond\":%.1f,"
+                    + "\"kbOutPerSecond\":%.1f,\"gcCount\":%d,\"gcMillis\":%d,\"allocMbPerSecond\":%.1f,"
+                    + "\"sendErrors\":%d,\"disconnects\":%d}",
+                    clients, seconds, echoPerSecond, rpcPerSecond, tickPerSecond, lossPercent,
+                    echoP50, echoP99, echoMax, rpcP50, rpcP99, tickP50, tickP99, kbInPerSecond,
+                    kbOutPerSecond, gcCount, gcMillis, allocMbPerSecond, sendErrors, disconnects);
+        }
+    }
+
+    private final Options options;
+    private final LoadStats stats = new LoadStats();
+    private final List<LoadClient> clients = new ArrayList<>();
+    private final ScheduledExecutorService scheduler;
+    private DefaultServer server;
+
+    private NetworkLoadTest(Options options) {
+        this.options = options;
+        this.scheduler = Executors.newScheduledThreadPool(options.senderThreads, r -> {
+            Thread t = new Thread(r, "load-test-sender");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && "--help".equals(args[0])) {
+            Options.printUsage();
+            return;
+        }
+        Options options;
+        try {
+            options = Options.parse(args);
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            Options.printUsage();
+            System.exit(2);
+            return;
+        }
+
+        // The networking code logs every connection at INFO
+        for (Handler handler : Logger.getLogger("").getHandlers()) {
+            handler.setLevel(Level.WARNING);
+        }
+
+        LoadMessages.register();
+        System.exit(new NetworkLoadTest(options).run());
+    }
+
+    private int run() throws Exception {
+        try {
+            if (!"clients".equals(options.mode)) {
+                startServer();
+            }
+            if ("server".equals(options.mode)) {
+                runServerOnly();
+                return 0;
+            }
+            return runClients();
+        } finally {
+            scheduler.shutdownNow();
+            for (LoadClient client : clients) {
+                client.close();
+            }
+            if (server != null && server.isRunning()) {
+                server.close();
+            }
+        }
+    }
+
+    private void startServer() throws IOException {
+        server = new DefaultServer(GAME_NAME, VERSION,
+                new SelectorKernel(new InetSocketAddress(options.port), options.tcpThreads),
+                new UdpKernel(new InetSocketAddress(options.port)));
+        if (options.compression) {
+            server.setCompression(MessageConnection.CHANNEL_DEFAULT_RELIABLE, CompressionSettings.DEFAULT);
+            server.setCompression(MessageConnection.CHANNEL_DEFAULT_UNRELIABLE, CompressionSettings.DEFAULT);
+        }
+        if (options.batchSize > 0) {
+            server.setBatchSize(MessageConnection.CHANNEL_DEFAULT_RELIABLE, options.batchSize);
+        }
+
+        RpcHostedService rpc = new RpcHostedService();
+        server.getServices().addService(rpc);
+        server.addMessageListener((source, m) -> source.send(m), EchoMessage.class);
+        server.addConnectionListener(new ConnectionListener() {
+            @Override
+            public void connectionAdded(Server s, HostedConnection conn) {
+                rpc.getRpcConnection(conn).registerHandler(RPC_ECHO_ID, (c, objId, procId, args) -> args[0]);
+            }
+
+            @Override
+            public void connectionRemoved(Server s, HostedConnection conn) {
+            }
+        });
+        server.start();
+
+        if (options.tickRate > 0) {
+            byte[] payload = new byte[options.tickPayload];
+            ThreadLocalRandom.current().nextBytes(payload);
+            boolean reliable = options.unreliableRatio <= 0;
+            scheduler.scheduleAtFixedRate(() -> {
+                server.broadcast(new TickMessage(System.nanoTime(), payload, reliable));
+                if (options.batchSize > 0) {
+                    server.flush();
+                }
+            }, 0, 1000000000L / options.tickRate, TimeUnit.NANOSECONDS);
+        }
+        System.out.println("Server listening on port " + options.port);
+    }
+
+    private void runServerOnly() throws InterruptedException {
+        ConnectionStats total = server.getStats();
+        long lastIn = total.getBytesIn();
+        long lastOut = total.getBytesOut();
+        while (true) {
+            Thread.sleep(options.stepSeconds * 1000L);
+            long in = total.getBytesIn();
+            long out = total.getBytesOut();
+            Histogram depths = server.getQueueDepths(MessageConnection.CHANNEL_DEFAULT_RELIABLE);
+            System.out.println(String.format(Locale.ROOT,
+                    "connections:%d  KBin/s:%.1f  KBout/s:%.1f  reliable backlog p99:%d",
+                    server.getConnections().size(),
+                    (in - lastIn) / 1024.0 / options.stepSeconds,
+                    (out - lastOut) / 1024.0 / options.stepSeconds,
+                    depths.getPercentile(0.99)));
+            lastIn = in;
+            lastOut = out;
+        }
+    }
+
+    private int runClients() throws Exception {
+        List<StepResult> results = new ArrayList<>();
+        int step = options.step > 0 ? options.step : options.clients;
+        boolean connectFailed = false;
+
+        System.out.println(StepResult.header());
+        for (int target = Math.min(step, options.clients); ; target = Math.min(target + step, options.clients)) {
+            if (!addClients(target)) {
+                connectFailed = true;
+                System.out.println("Only " + clients.size() + " of " + target + " clients could connect");
+                break;
+            }
+
+            Thread.sleep(options.warmupSeconds * 1000L);
+            stats.reset();
+            Sample before = new Sample(clients);
+            Thread.sleep(options.stepSeconds * 1000L);
+            Sample after = new Sample(clients);
+
+            StepResult result = new StepResult(clients.size(), before, after, stats);
+            results.add(result);
+            System.out.println(result.row());
+
+            if (target >= options.clients) {
+                break;
+            }
+        }
+
+        if (options.out != null) {
+            writeJson(results);
+        }
+
+        int exitCode = connectFailed ? 1 : 0;
+        if (options.maxP99Millis > 0) {
+            for (StepResult result : results) {
+                if (result.echoP99 > options.maxP99Millis) {
+                    System.out.println("Echo p99 of " + result.echoP99 + " ms at " + result.clients
+                            + " clients exceeds " + options.maxP99Millis + " ms");
+                    exitCode = 1;
+                }
+            }
+        }
+        return exitCode;
+    }
+
+    private boolean addClients(int target) throws IOException, InterruptedException {
+        long periodNanos = 1000000000L / Math.max(1, options.rate);
+        while (clients.size() < target) {
+            LoadClient client = new LoadClient(options, stats);
+            clients.add(client);
+            if (!client.connect(CONNECT_TIMEOUT_MILLIS)) {
+                return false;
+            }
+            // Spread the clients' sends out over the period
+            long offset = ThreadLocalRandom.current().nextLong(periodNanos);
+            scheduler.scheduleAtFixedRate(client::sendOne, offset, periodNanos, TimeUnit.NANOSECONDS);
+        }
+        return true;
+    }
+
+    private void writeJson(List<StepResult> results) throws IOException {
+        StringBuilder sb = new StringBuilder("[\n");
+        for (int i = 0; i < results.size(); i++) {
+            sb.append("  ").append(results.get(i).toJson());
+            sb.append(i < results.size() - 1 ? ",\n" : "\n");
+        }
+        sb.append("]\n");
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(Paths.get(options.out),
+                StandardCharsets.UTF_8))) {
+            out.print(sb);
+        }
+    }
+}
@@ -106,6 +106,27 @@ public class AnimClip implements JmeCloneable, Savable {
         return tracks;
     }
 
+    /**
+     * Replaces the transform tracks of this clip with compact copies, to
+     * save memory and speed up sampling when many clips are loaded.
+     *
+     * @param tolerance how far each component of a transform may deviate
+     *     from a removed keyframe (&ge;0)
+     * @param quantize true to store components in 16 bits, false to store
+     *     them as floats
+     * @see CompactTransformTrack
+     */
+    public void compactTransformTracks(float tolerance, boolean quantize) {
+        AnimTrack[] newTracks = tracks.clone();
+        for (int i = 0; i < newTracks.length; i++) {
+            if (newTracks[i] instanceof TransformTrack
+                    && !(newTracks[i] instanceof CompactTransformTrack)) {
+                newTracks[i] = new CompactTransformTrack((TransformTrack) newTracks[i], tolerance, quantize);
+            }
+        }
+        tracks = newTracks;
+    }
+
     /**
      * Create a shallow clone for the JME cloner.
      *
@@ -0,0 +1,548 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.anim;
+
+import com.jme3.anim.interpolator.FrameInterpolator;
+import com.jme3.anim.util.HasLocalTransform;
+import com.jme3.export.InputCapsule;
+import com.jme3.export.JmeExporter;
+import com.jme3.export.JmeImporter;
+import com.jme3.export.OutputCapsule;
+import com.jme3.math.Quaternion;
+import com.jme3.math.Transform;
+import com.jme3.math.Vector3f;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * A read-only {@link TransformTrack} that keeps its keyframes in flat
+ * arrays, optionally quantized to 16 bits per component and with the
+ * keyframes that linear interpolation reproduces removed.
+ *
+ * <p>Compact tracks use less memory than the tracks they are created from
+ * and sample faster, which matters when many clips are loaded at once.
+ * They always interpolate linearly, like the default
+ * {@link FrameInterpolator}, so any frame interpolator set on them is
+ * ignored.  Since they are transform tracks, {@link AnimClip} and the
+ * actions that play clips use them like any other track.</p>
+ *
+ * @see AnimClip#compactTransformTracks(float, boolean)
+ */
+public class CompactTransformTrack extends TransformTrack {
+
+    /**
+     * The keyframe times of the original track.
+     */
+    private float[] times;
+    private double length;
+    private Channel translations;
+    private Channel rotations;
+    private Channel scales;
+
+    /**
+     * Serialization-only. Do not use.
+     */
+    protected CompactTransformTrack() {
+    }
+
+    /**
+     * Creates a compact copy of a transform track.
+     *
+     * @param track the track to copy (not null, unaffected)
+     * @param tolerance how far each component of a translation, rotation
+     *     or scale may deviate from a removed keyframe, or 0 to only remove
+     *     keyframes that interpolation reproduces exactly (&ge;0)
+     * @param quantize true to store components in 16 bits within the range
+     *     of each channel, false to store them as floats
+     */
+    public CompactTransformTrack(TransformTrack track, float tolerance, boolean quantize) {
+        if (!(tolerance >= 0f)) {
+            throw new IllegalArgumentException("Tolerance must be non-negative: " + tolerance);
+        }
+        setTarget(track.getTarget());
+        times = track.getTimes();
+        length = track.getLength();
+        translations = Channel.create(times, flatten(track.getTranslations()), 3, false, tolerance, quantize);
+        rotations = Channel.create(times, flatten(track.getRotations()), 4, true, tolerance, quantize);
+        scales = Channel.create(times, flatten(track.getScales()), 3, false, tolerance, quantize);
+    }
+
+    private static float[] flatten(Vector3f[] vectors) {
+        if (vectors == null) {
+            return null;
+        }
+        float[] result = new float[vectors.length * 3];
+        for (int i = 0; i < vectors.length; i++) {
+            result[i * 3] = vectors[i].x;
+            result[i * 3 + 1] = vectors[i].y;
+            result[i * 3 + 2] = vectors[i].z;
+        }
+        return result;
+    }
+
+    private static float[] flatten(Quaternion[] rotations) {
+        if (rotations == null) {
+            return null;
+        }
+        float[] result = new float[rotations.length * 4];
+        for (int i = 0; i < rotations.length; i++) {
+            result[i * 4] = rotations[i].getX();
+            result[i * 4 + 1] = rotations[i].getY();
+            result[i * 4 + 2] = rotations[i].getZ();
+            result[i * 4 + 3] = rotations[i].getW();
+        }
+        return result;
+    }
+
+    /**
+     * Returns the number of keyframes kept for each channel.
+     *
+     * @return the translation, rotation and scale keyframe counts, each 0
+     *     if the track has no such channel
+     */
+    public int[] getKeyframeCounts() {
+        return new int[]{
+            translations == null ? 0 : translations.times.length,
+            rotations == null ? 0 : rotations.times.length,
+            scales == null ? 0 : scales.times.length
+        };
+    }
+
+    /**
+     * Tests whether the components are quantized to 16 bits.
+     *
+     * @return true if quantized, false if stored as floats
+     */
+    public boolean isQuantized() {
+        Channel channel = translations != null ? translations
+                : rotations != null ? rotations : scales;
+        return channel != null && channel.quantized != null;
+    }
+
+    @Override
+    public float[] getTimes() {
+        return times;
+    }
+
+    /**
+     * Samples the translations at the keyframe times of the original track.
+     *
+     * @return a new array, or null if no translations
+     */
+    @Override
+    public Vector3f[] getTranslations() {
+        return sampleVectors(translations);
+    }
+
+    /**
+     * Samples the rotations at the keyframe times of the original track.
+     *
+     * @return a new array, or null if no rotations
+     */
+    @Override
+    public Quaternion[] getRotations() {
+        if (rotations == null) {
+            return null;
+        }
+        Quaternion[] result = new Quaternion[times.length];
+        for (int i = 0; i < times.length; i++) {
+            result[i] = new Quaternion();
+            rotations.sampleRotation(times[i], result[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Samples the scales at the keyframe times of the original track.
+     *
+     * @return a new array, or null if no scales
+     */
+    @Override
+    public Vector3f[] getScales() {
+        return sampleVectors(scales);
+    }
+
+    private Vector3f[] sampleVectors(Channel channel) {
+        if (channel == null) {
+            return null;
+        }
+        Vector3f[] result = new Vector3f[times.length];
+        for (int i = 0; i < times.length; i++) {
+            result[i] = new Vector3f();
+            channel.sampleVector(times[i], result[i]);
+        }
+        return result;
+    }
+
+    /**
+     * Unsupported, compact tracks are read-only.
+     *
+     * @param times ignored
+     */
+    @Override
+    public void setTimes(float[] times) {
+        throw new UnsupportedOperationException("Compact tracks are read-only.");
+    }
+
+    /**
+     * Unsupported, compact tracks are read-only.
+     *
+     * @param translations ignored
+     */
+    @Override
+    public void setKeyframesTranslation(Vector3f[] translations) {
+        throw new UnsupportedOperationException("Compact tracks are read-only.");
+    }
+
+    /**
+     * Unsupported, compact tracks are read-only.
+     *
+     * @param scales ignored
+     */
+    @Override
+    public void setKeyframesScale(Vector3f[] scales) {
+        throw new UnsupportedOperationException("Compact tracks are read-only.");
+    }
+
+    /**
+     * Unsupported, compact tracks are read-only.
+     *
+     * @param rotations ignored
+     */
+    @Override
+    public void setKeyframesRotation(Quaternion[] rotations) {
+        throw new UnsupportedOperationException("Compact tracks are read-only.");
+    }
+
+    @Override
+    public double getLength() {
+        return length;
+    }
+
+    @Override
+    public void getDataAtTime(double t, Transform transform) {
+        float time = (float) t;
+        if (translations != null) {
+            translations.sampleVector(time, transform.getTranslation());
+        }
+        if (rotations != null) {
+            rotations.sampleRotation(time, transform.getRotation());
+        }
+        if (scales != null) {
+            scales.sampleVector(time, transform.getScale());
+        }
+    }
+
+    @Override
+    public void write(JmeExporter ex) throws IOException {
+        OutputCapsule oc = ex.getCapsule(this);
+        oc.write(times, "times", null);
+        oc.write(getTarget(), "target", null);
+        writeChannel(oc, translations, "translation");
+        writeChannel(oc, rotations, "rotation");
+        writeChannel(oc, scales, "scale");
+    }
+
+    private void writeChannel(OutputCapsule oc, Channel channel, String prefix) throws IOException {
+        if (channel == null) {
+            return;
+        }
+        oc.write(channel.times == times ? null : channel.times, prefix + "Times", null);
+        oc.write(channel.values, prefix + "Values", null);
+        oc.write(channel.quantized, prefix + "Quantized", null);
+        oc.write(channel.min, prefix + "Min", null);
+        oc.write(channel.step, prefix + "Step", null);
+    }
+
+    @Override
+    public void read(JmeImporter im) throws IOException {
+        InputCapsule ic = im.getCapsule(this);
+        times = ic.readFloatArray("times", null);
+        if (times == null || times.length == 0) {
+            throw new IOException("Compact track without keyframe times.");
+        }
+        length = times[times.length - 1] - times[0];
+        setTarget((HasLocalTransform) ic.readSavable("target", null));
+        translations = readChannel(ic, "translation", 3);
+        rotations = readChannel(ic, "rotation", 4);
+        scales = readChannel(ic, "scale", 3);
+    }
+
+    private Channel readChannel(InputCapsule ic, String prefix, int components) throws IOException {
+        float[] values = ic.readFloatArray(prefix + "Values", null);
+        short[] quantized = ic.readShortArray(prefix + "Quantized", null);
+        if (values == null && quantized == null) {
+            return null;
+        }
+        float[] channelTimes = ic.readFloatArray(prefix + "Times", times);
+        float[] min = ic.readFloatArray(prefix + "Min", null);
+        float[] step = ic.readFloatArray(prefix + "Step", null);
+        int count = values != null ? values.length : quantized.length;
+        if (channelTimes.length == 0 || count != channelTimes.length * components
+                || quantized != null && (min == null || step == null
+                        || min.length != components || step.length != components)) {
+            throw new IOException("Invalid " + prefix + " channel in compact track.");
+        }
+        return new Channel(channelTimes, components, values, quantized, min, step);
+    }
+
+    /**
+     * The keyframes of a translation, rotation or scale channel.
+     */
+    private static final class Channel {
+
+        final float[] times;
+        final int components;
+        /**
+         * Components of each keyframe, or null if quantized.
+         */
+        final float[] values;
+        /**
+         * Quantized components of each keyframe, or null if not quantized.
+         * Component c is {@code min[c] + (quantized & 0xffff) * step[c]}.
+         */
+        final short[] quantized;
+        final float[] min;
+        final float[] step;
+
+        Channel(float[] times, int components, float[] values, short[] quantized, float[] min, float[] step) {
+            this.times = times;
+            this.components = components;
+            this.values = values;
+            this.quantized = quantized;
+            this.min = min;
+            this.step = step;
+        }
+
+        static Channel create(float[] times, float[] values, int components, boolean rotation,
+                float tolerance, boolean quantize) {
+            if (values == null) {
+                return null;
+            }
+            int[] keys = reduce(times, values, components, rotation, tolerance);
+            float[] keptTimes = times;
+            float[] keptValues = values;
+            if (keys.length < times.length) {
+                keptTimes = new float[keys.length];
+                keptValues = new float[keys.length * components];
+                for (int i = 0; i < keys.length; i++) {
+                    keptTimes[i] = times[keys[i]];
+                    System.arraycopy(values, keys[i] * components, keptValues, i * components, components);
+                }
+            }
+            if (!quantize) {
+                return new Channel(keptTimes, components, keptValues, null, null, null);
+            }
+
+            float[] min = new float[components];
+            float[] step = new float[components];
+            Arrays.fill(min, Float.POSITIVE_INFINITY);
+            float[] max = new float[components];
+            Arrays.fill(max, Float.NEGATIVE_INFINITY);
+            for (int i = 0; i < keptValues.length; i++) {
+                int c = i % components;
+                min[c] = Math.min(min[c], keptValues[i]);
+                max[c] = Math.max(max[c], keptValues[i]);
+            }
+            for (int c = 0; c < components; c++) {
+                step[c] = (max[c] - min[c]) / 65535f;
+                if (Float.isNaN(step[c]) || Float.isInfinite(step[c])) {
+                    // Values that can't be quantized stay as floats
+                    return new Channel(keptTimes, components, keptValues, null, null, null);
+                }
+            }
+            short[] quantized = new short[keptValues.length];
+            for (int i = 0; i < keptValues.length; i++) {
+                int c = i % components;
+                if (step[c] > 0f) {
+                    quantized[i] = (short) Math.min(65535, Math.round((keptValues[i] - min[c]) / step[c]));
+                }
+            }
+            return new Channel(keptTimes, components, null, quantized, min, step);
+        }
+
+        /**
+         * Selects the keyframes to keep, greedily extending each segment
+         * while linear interpolation between its ends stays within the
+         * tolerance of the keyframes it skips.
+         */
+        private static int[] reduce(float[] times, float[] values, int components, boolean rotation,
+                float tolerance) {
+            int n = times.length;
+            boolean constant = true;
+            for (int i = components; i < values.length && constant; i++) {
+                constant = Math.abs(values[i] - values[i % components]) <= tolerance;
+            }
+            if (constant) {
+                return new int[]{0};
+            }
+
+            int[] keys = new int[n];
+            int count = 0;
+            keys[count++] = 0;
+            int start = 0;
+            int end = 2;
+            float[] interpolated = new float[components];
+            while (end < n) {
+                if (fits(times, values, components, rotation, tolerance, start, end, interpolated)) {
+                    end++;
+                } else {
+                    start = end - 1;
+                    keys[count++] = start;
+                    end = start + 2;
+                }
+            }
+            if (n > 1) {
+                keys[count++] = n - 1;
+            }
+            return Arrays.copyOf(keys, count);
+        }
+
+        private static boolean fits(float[] times, float[] values, int components, boolean rotation,
+                float tolerance, int start, int end, float[] interpolated) {
+            for (int k = start + 1; k < end; k++) {
+                float blend = (times[k] - times[start]) / (times[end] - times[start]);
+                interpolate(values, start * components, values, end * components, components, rotation,
+                        blend, interpolated);
+                for (int c = 0; c < components; c++) {
+                    if (!(Math.abs(interpolated[c] - values[k * components + c]) <= tolerance)) {
+                        return false;
+                    }
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Interpolates like {@link Vector3f#interpolateLocal(Vector3f, float)}
+         * or {@link Quaternion#nlerp(Quaternion, float)}.
+         */
+        private static void interpolate(float[] a, int aOffset, float[] b, int bOffset, int components,
+                boolean rotation, float blend, float[] store) {
+            float blendI = 1f - blend;
+            float sign = 1f;
+            if (rotation) {
+                float dot = 0f;
+                for (int c = 0; c < components; c++) {
+                    dot += a[aOffset + c] * b[bOffset + c];
+                }
+                if (dot < 0f) {
+                    sign = -1f;
+                }
+            }
+            float norm = 0f;
+            for (int c = 0; c < components; c++) {
+                store[c] = blendI * a[aOffset + c] + sign * blend * b[bOffset + c];
+                norm += store[c] * store[c];
+            }
+            if (rotation && norm != 1f && norm != 0f) {
+                float invNorm = 1f / (float) Math.sqrt(norm);
+                for (int c = 0; c < components; c++) {
+                    store[c] *= invNorm;
+                }
+            }
+        }
+
+        private float value(int key, int c) {
+            int i = key * components + c;
+            return values != null ? values[i] : min[c] + (quantized[i] & 0xffff) * step[c];
+        }
+
+        /**
+         * Finds the keyframe at or before a time.
+         *
+         * @return the index of the keyframe, which is also the last keyframe
+         *     for times at or after it
+         */
+        private int locate(float time) {
+            int low = 0;
+            int high = times.length - 1;
+            if (time >= times[high]) {
+                return high;
+            }
+            while (low < high) {
+                int mid = (low + high + 1) >>> 1;
+                if (times[mid] <= time) {
+                    low = mid;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            return low;
+        }
+
+        private float blend(int key, float time) {
+            if (key == times.length - 1 || time <= times[key]) {
+                return 0f;
+            }
+            return (time - times[key]) / (times[key + 1] - times[key]);
+        }
+
+        void sampleVector(float time, Vector3f store) {
+            int key = locate(time);
+            float blend = blend(key, time);
+            float x = value(key, 0);
+            float y = value(key, 1);
+            float z = value(key, 2);
+            if (blend > 0f) {
+                float blendI = 1f - blend;
+                x = blendI * x + blend * value(key + 1, 0);
+                y = blendI * y + blend * value(key + 1, 1);
+                z = blendI * z + blend * value(key + 1, 2);
+            }
+            store.set(x, y, z);
+        }
+
+        void sampleRotation(float time, Quaternion store) {
+            int key = locate(time);
+            float blend = blend(key, time);
+            float x = value(key, 0);
+            float y = value(key, 1);
+            float z = value(key, 2);
+            float w = value(key, 3);
+            if (blend > 0f) {
+                float nx = value(key + 1, 0);
+                float ny = value(key + 1, 1);
+                float nz = value(key + 1, 2);
+                float nw = value(key + 1, 3);
+                float blendI = 1f - blend;
+                float b = x * nx + y * ny + z * nz + w * nw < 0f ? -blend : blend;
+                x = blendI * x + b * nx;
+                y = blendI * y + b * ny;
+                z = blendI * z + b * nz;
+                w = blendI * w + b * nw;
+            }
+            store.set(x, y, z, w);
+            store.normalizeLocal();
+        }
+    }
+}
@@ -0,0 +1,334 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.asset;
+
+import java.util.ArrayList;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * <code>AssetRequest</code> is a handle to an asset being loaded by a
+ * {@link StreamingAssetLoader}.
+ *
+ * <p>The handle can be used to change the priority of the request while it
+ * is waiting, to cancel it, or to wait for the asset like any other
+ * {@link Future}. Note that {@link #get()} returns as soon as the asset has
+ * been loaded, which may be before the callback has been invoked on the
+ * render thread.
+ *
+ * @param <T> the type of the asset
+ */
+public final class AssetRequest<T> implements Future<T> {
+
+    /**
+     * The life cycle of a request.
+     */
+    public enum State {
+        /**
+         * The dependencies of the asset are being loaded.
+         */
+        Waiting,
+        /**
+         * The request is waiting for a loading thread.
+         */
+        Queued,
+        /**
+         * The asset is being loaded.
+         */
+        Loading,
+        /**
+         * The asset has been loaded and waits to be handed to the render
+         * thread.
+         */
+        Loaded,
+        /**
+         * The asset has been handed to the callback on the render thread.
+         */
+        Dispatched,
+        /**
+         * Loading the asset failed.
+         */
+        Failed,
+        /**
+         * The request was cancelled.
+         */
+        Cancelled
+    }
+
+    final StreamingAssetLoader loader;
+    final AssetKey<T> key;
+    final Consumer<? super T> callback;
+    final long sequence;
+    final AtomicInteger pendingDependencies = new AtomicInteger();
+    ArrayList<AssetRequest<?>> dependencies;
+    AssetRequest<?> dependant;
+    StreamingAssetLoader.Entry entry;
+
+    private volatile float priority;
+    private State state = State.Queued;
+    private T asset;
+    private Throwable error;
+    private Throwable dependencyError;
+
+    AssetRequest(StreamingAssetLoader loader, AssetKey<T> key, float priority,
+            long sequence, Consumer<? super T> callback) {
+        this.loader = loader;
+        this.key = key;
+        this.priority = priority;
+        this.sequence = sequence;
+        this.callback = callback;
+    }
+
+    /**
+     * Returns the key of the requested asset.
+     *
+     * @return the asset key
+     */
+    public AssetKey<T> getKey() {
+        return key;
+    }
+
+    /**
+     * Returns the priority of the request. Requests with lower values are
+     * loaded and dispatched first.
+     *
+     * @return the priority
+     */
+    public float getPriority() {
+        return priority;
+    }
+
+    /**
+     * Changes the priority of the request, for example when the distance
+     * between the camera and the object that needs the asset has changed.
+     * Only requests that have not started loading, or that wait to be
+     * dispatched, are reordered.
+     *
+     * @param priority the new priority, lower values are more urgent
+     */
+    public void setPriority(float priority) {
+        loader.reprioritize(this, priority);
+    }
+
+    void setPriorityInternal(float priority) {
+        this.priority = priority;
+    }
+
+    /**
+     * Returns the current state of the request.
+     *
+     * @return the state
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * Returns the reason why loading failed.
+     *
+     * @return the error, or null if the request did not fail
+     */
+    public synchronized Throwable getError() {
+        return error;
+    }
+
+    /**
+     * Cancels the request. An asset that is already being loaded is
+     * discarded once loading completes, so the callback is never invoked
+     * after a successful cancellation.
+     *
+     * @param mayInterruptIfRunning ignored, loading threads are never
+     *     interrupted
+     * @return true if the request was cancelled, false if it had already
+     *     been dispatched, had failed or was cancelled before
+     */
+    @Override
+    public boolean cancel(boolean mayInterruptIfRunning) {
+        return loader.cancel(this);
+    }
+
+    /**
+     * Cancels the request.
+     *
+     * @return true if the request was cancelled
+     * @see #cancel(boolean)
+     */
+    public boolean cancel() {
+        return loader.cancel(this);
+    }
+
+    @Override
+    public synchronized boolean isCancelled() {
+        return state == State.Cancelled;
+    }
+
+    @Override
+    public synchronized boolean isDone() {
+        return isDone(state);
+    }
+
+    private static boolean isDone(State state) {
+        return state == State.Loaded || state == State.Dispatched
+                || state == State.Failed || state == State.Cancelled;
+    }
+
+    @Override
+    public synchronized T get() throws InterruptedException, ExecutionException {
+        while (!isDone(state)) {
+            wait();
+        }
+        return result();
+    }
+
+    @Override
+    public synchronized T get(long timeout, TimeUnit unit)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (!isDone(state)) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                throw new TimeoutException(key.toString());
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+        return result();
+    }
+
+    private T result() throws ExecutionException {
+        if (state == State.Cancelled) {
+            throw new CancellationException(key.toString());
+        }
+        if (state == State.Failed) {
+            throw new ExecutionException(error);
+        }
+        return asset;
+    }
+
+    /**
+     * Moves the request from one state to another.
+     *
+     * @return true if the request was in the expected state
+     */
+    synchronized boolean transition(State expected, State next) {
+        if (state != expected) {
+            return false;
+        }
+        state = next;
+        if (isDone(next)) {
+            notifyAll();
+        }
+        return true;
+    }
+
+    synchronized boolean loaded(T asset) {
+        if (state != State.Loading) {
+            return false;
+        }
+        this.asset = asset;
+        state = State.Loaded;
+        notifyAll();
+        return true;
+    }
+
+    synchronized boolean failed(Throwable error) {
+        if (state != State.Loading) {
+            return false;
+        }
+        this.error = error;
+        state = State.Failed;
+        notifyAll();
+        return true;
+    }
+
+    /**
+     * Records that a dependency failed to load. The request fails once all
+     * of its dependencies have finished.
+     */
+    synchronized void dependencyFailed(AssetKey<?> dependency, Throwable cause) {
+        AssetLoadException ex = new AssetLoadException("Failed to load dependency "
+                + dependency + " of " + key, cause);
+        if (dependencyError == null) {
+            dependencyError = ex;
+        } else {
+            dependencyError.addSuppressed(ex);
+        }
+    }
+
+    /**
+     * Fails a waiting request if one of its dependencies failed.
+     *
+     * @return true if the request failed
+     */
+    synchronized boolean failWaiting() {
+        if (state != State.Waiting || dependencyError == null) {
+            return false;
+        }
+        error = dependencyError;
+        dependencyError = null;
+        state = State.Failed;
+        notifyAll();
+        return true;
+    }
+
+    /**
+     * Marks the request as cancelled.
+     *
+     * @return the state the request was in, or null if it could not be
+     *     cancelled
+     */
+    synchronized State markCancelled() {
+        State previous = state;
+        if (previous == State.Dispatched || previous == State.Failed
+                || previous == State.Cancelled) {
+            return null;
+        }
+        state = State.Cancelled;
+        asset = null;
+        notifyAll();
+        return previous;
+    }
+
+    synchronized T getAsset() {
+        return asset;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[key=" + key + ", priority=" + priority
+                + ", state=" + getState() + "]";
+    }
+}
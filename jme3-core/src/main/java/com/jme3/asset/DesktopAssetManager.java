@@ -245,6 +245,21 @@ public class DesktopAssetManager implements AssetManager {
         }
     }
 
+    /**
+     * Returns the cache instance of the given type used by this asset
+     * manager, creating it if needed. This gives access to the settings and
+     * statistics of caches such as
+     * {@link com.jme3.asset.cache.LruAssetCache}.
+     *
+     * @param <T> the type of the cache
+     * @param cacheClass the class of the cache, as returned by
+     *     {@link AssetKey#getCacheType()}
+     * @return the cache instance, or null if cacheClass is null
+     */
+    public <T extends AssetCache> T getCache(Class<T> cacheClass) {
+        return handler.getCache(cacheClass);
+    }
+
     @Override
     public void clearCache() {
         handler.clearCache();
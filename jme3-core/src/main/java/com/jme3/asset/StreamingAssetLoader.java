@@ -0,0 +1,455 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.asset;
+
+import java.util.ArrayList;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * <code>StreamingAssetLoader</code> loads assets on a pool of background
+ * threads and hands them to the render thread within a per-frame budget.
+ *
+ * <p>Each request has a priority, where lower values are more urgent; a
+ * natural choice is the distance between the camera and the object that
+ * needs the asset. Waiting requests are loaded in order of priority, and
+ * their priority can be changed or the request cancelled through the
+ * returned {@link AssetRequest}.
+ *
+ * <p>A request may list dependencies, typically the textures and materials
+ * a model refers to. These are loaded in parallel first and kept referenced
+ * until the model itself has been loaded, so its loader finds them in the
+ * asset cache instead of loading them one after another. If a dependency
+ * fails to load, the request fails as well, with an error naming the
+ * dependency.
+ *
+ * <p>Loaded assets are not handed over directly. Instead,
+ * {@link #update()} must be called from the render thread once per frame;
+ * it invokes the callbacks of the loaded requests, most urgent first, until
+ * the time or count budget of the frame is used up. This keeps the scene
+ * graph modifications on the render thread and spreads the cost of
+ * attaching many assets over several frames.
+ *
+ * <pre>
+ * StreamingAssetLoader streamer = new StreamingAssetLoader(assetManager);
+ * AssetRequest&lt;Spatial&gt; request = streamer.request(new ModelKey("Models/Tree.j3o"),
+ *         distance, rootNode::attachChild, new TextureKey("Textures/Bark.png"));
+ * ...
+ * // in simpleUpdate()
+ * streamer.update();
+ * </pre>
+ */
+public class StreamingAssetLoader {
+
+    private static final Logger logger = Logger.getLogger(StreamingAssetLoader.class.getName());
+
+    /**
+     * The default time the render thread may spend in {@link #update()},
+     * in nanoseconds.
+     */
+    public static final long DEFAULT_FRAME_BUDGET = 2000000L;
+
+    private final AssetManager assetManager;
+    private final ThreadPoolExecutor executor;
+    private final PriorityBlockingQueue<Entry> loaded = new PriorityBlockingQueue<>();
+    private final AtomicLong nextSequence = new AtomicLong();
+    private final AtomicInteger nextThreadId = new AtomicInteger();
+    private long frameBudget = DEFAULT_FRAME_BUDGET;
+    private int maxDispatchesPerFrame = Integer.MAX_VALUE;
+    private BiConsumer<AssetKey<?>, Throwable> failureHandler;
+
+    /**
+     * Creates a loader with one loading thread per available processor.
+     *
+     * @param assetManager the asset manager used to load assets (not null)
+     */
+    public StreamingAssetLoader(AssetManager assetManager) {
+        this(assetManager, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Creates a loader with the given number of loading threads.
+     *
+     * @param assetManager the asset manager used to load assets (not null)
+     * @param threads the number of loading threads (&ge;1)
+     */
+    public StreamingAssetLoader(AssetManager assetManager, int threads) {
+        if (assetManager == null) {
+            throw new IllegalArgumentException("assetManager cannot be null");
+        }
+        if (threads < 1) {
+            throw new IllegalArgumentException("threads must be 1 or higher");
+        }
+        this.assetManager = assetManager;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<Runnable>(), new LoadingThreadFactory());
+    }
+
+    private class LoadingThreadFactory implements ThreadFactory {
+        @Override
+        public Thread newThread(Runnable r) {
+            // The prefix makes ThreadingManager.isLoadingThread() recognize the thread.
+            Thread t = new Thread(r, "jME3-threadpool-streaming-" + nextThreadId.getAndIncrement());
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        }
+    }
+
+    /**
+     * An entry of the loading or the dispatch queue. The priority is
+     * captured when the entry is created, so that changing the priority of
+     * a request cannot corrupt the order of a queue it is in.
+     */
+    final class Entry implements Runnable, Comparable<Entry> {
+
+        final AssetRequest<?> request;
+        final float priority;
+
+        Entry(AssetRequest<?> request) {
+            this.request = request;
+            this.priority = request.getPriority();
+        }
+
+        @Override
+        public void run() {
+            load(request);
+        }
+
+        @Override
+        public int compareTo(Entry other) {
+            int result = Float.compare(priority, other.priority);
+            if (result == 0) {
+                result = Long.compare(request.sequence, other.request.sequence);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * Sets the time the render thread may spend in {@link #update()} each
+     * frame. At least one loaded asset is dispatched per update regardless
+     * of the budget.
+     *
+     * @param nanos the budget in nanoseconds (default=2 ms)
+     */
+    public void setFrameBudget(long nanos) {
+        this.frameBudget = nanos;
+    }
+
+    /**
+     * Returns the time the render thread may spend in {@link #update()}
+     * each frame.
+     *
+     * @return the budget in nanoseconds
+     */
+    public long getFrameBudget() {
+        return frameBudget;
+    }
+
+    /**
+     * Sets the maximum number of loaded assets dispatched by one call to
+     * {@link #update()}.
+     *
+     * @param maxDispatchesPerFrame the maximum count (&ge;1, default=unlimited)
+     */
+    public void setMaxDispatchesPerFrame(int maxDispatchesPerFrame) {
+        if (maxDispatchesPerFrame < 1) {
+            throw new IllegalArgumentException("maxDispatchesPerFrame must be 1 or higher");
+        }
+        this.maxDispatchesPerFrame = maxDispatchesPerFrame;
+    }
+
+    /**
+     * Returns the maximum number of loaded assets dispatched by one call to
+     * {@link #update()}.
+     *
+     * @return the maximum count
+     */
+    public int getMaxDispatchesPerFrame() {
+        return maxDispatchesPerFrame;
+    }
+
+    /**
+     * Sets the handler invoked on the render thread when an asset failed
+     * to load. Without a handler, failures are logged.
+     *
+     * @param failureHandler the handler, or null to log failures
+     */
+    public void setFailureHandler(BiConsumer<AssetKey<?>, Throwable> failureHandler) {
+        this.failureHandler = failureHandler;
+    }
+
+    /**
+     * Requests an asset to be loaded in the background.
+     *
+     * @param <T> the type of the asset
+     * @param key the key of the asset to load (not null)
+     * @param priority the priority of the request, lower values are more
+     *     urgent
+     * @param callback invoked with the asset on the render thread during
+     *     {@link #update()}, or null
+     * @param dependencies keys of assets to load in parallel before the
+     *     requested asset
+     * @return the handle of the request
+     */
+    public <T> AssetRequest<T> request(AssetKey<T> key, float priority,
+            Consumer<? super T> callback, AssetKey<?>... dependencies) {
+        if (key == null) {
+            throw new IllegalArgumentException("key cannot be null");
+        }
+
+        AssetRequest<T> request = new AssetRequest<>(this, key, priority,
+                nextSequence.getAndIncrement(), callback);
+        if (dependencies.length == 0) {
+            enqueue(request, AssetRequest.State.Queued);
+            return request;
+        }
+
+        request.transition(AssetRequest.State.Queued, AssetRequest.State.Waiting);
+        request.pendingDependencies.set(dependencies.length);
+        ArrayList<AssetRequest<?>> list = new ArrayList<>(dependencies.length);
+        for (AssetKey<?> dependency : dependencies) {
+            AssetRequest<?> dep = new AssetRequest<>(this, dependency, priority,
+                    nextSequence.getAndIncrement(), null);
+            dep.dependant = request;
+            list.add(dep);
+        }
+        request.dependencies = list;
+        for (AssetRequest<?> dep : list) {
+            enqueue(dep, AssetRequest.State.Queued);
+        }
+        return request;
+    }
+
+    /**
+     * Requests an asset to be loaded in the background.
+     *
+     * @param <T> the type of the asset
+     * @param key the key of the asset to load (not null)
+     * @param priority the priority of the request, lower values are more
+     *     urgent
+     * @return the handle of the request
+     */
+    public <T> AssetRequest<T> request(AssetKey<T> key, float priority) {
+        return request(key, priority, null);
+    }
+
+    /**
+     * Hands loaded assets to their callbacks, most urgent first, until the
+     * budget of the frame is used up. Must be called from the render thread.
+     *
+     * @return the number of requests dispatched
+     */
+    public int update() {
+        long start = System.nanoTime();
+        int count = 0;
+        while (count < maxDispatchesPerFrame) {
+            Entry entry = loaded.poll();
+            if (entry == null) {
+                break;
+            }
+            if (dispatch(entry.request)) {
+                count++;
+            }
+            if (System.nanoTime() - start >= frameBudget) {
+                break;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the number of requests waiting for a loading thread.
+     *
+     * @return the count
+     */
+    public int getQueuedCount() {
+        return executor.getQueue().size();
+    }
+
+    /**
+     * Returns the number of loaded assets waiting to be dispatched by
+     * {@link #update()}.
+     *
+     * @return the count
+     */
+    public int getLoadedCount() {
+        return loaded.size();
+    }
+
+    /**
+     * Stops the loading threads. Requests that have not started loading are
+     * abandoned.
+     */
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void enqueue(AssetRequest<?> request, AssetRequest.State from) {
+        synchronized (request) {
+            if (!request.transition(from, AssetRequest.State.Queued)) {
+                return;
+            }
+            request.entry = new Entry(request);
+            executor.execute(request.entry);
+        }
+    }
+
+    private <T> void load(AssetRequest<T> request) {
+        if (!request.transition(AssetRequest.State.Queued, AssetRequest.State.Loading)) {
+            return;
+        }
+
+        T asset = null;
+        Throwable error = null;
+        try {
+            asset = assetManager.loadAsset(request.key);
+        } catch (RuntimeException | LinkageError ex) {
+            error = ex;
+        }
+
+        AssetRequest<?> dependant = request.dependant;
+        synchronized (request) {
+            // queue the result before waiters of get() are woken up
+            boolean finished = error == null ? request.loaded(asset) : request.failed(error);
+            if (!finished) {
+                // cancelled while loading
+                return;
+            }
+            if (dependant == null) {
+                // the dependencies only had to be kept alive until now
+                request.dependencies = null;
+                request.entry = new Entry(request);
+                loaded.add(request.entry);
+            }
+        }
+
+        if (dependant != null) {
+            if (error != null) {
+                dependant.dependencyFailed(request.key, error);
+            }
+            if (dependant.pendingDependencies.decrementAndGet() == 0) {
+                resume(dependant);
+            }
+        }
+    }
+
+    /**
+     * Starts loading a request whose dependencies have all finished, or
+     * hands it to {@link #update()} as failed if one of them failed.
+     */
+    private void resume(AssetRequest<?> request) {
+        synchronized (request) {
+            if (request.failWaiting()) {
+                request.dependencies = null;
+                request.entry = new Entry(request);
+                loaded.add(request.entry);
+                return;
+            }
+        }
+        enqueue(request, AssetRequest.State.Waiting);
+    }
+
+    private <T> boolean dispatch(AssetRequest<T> request) {
+        if (request.transition(AssetRequest.State.Loaded, AssetRequest.State.Dispatched)) {
+            T asset = request.getAsset();
+            if (request.callback != null) {
+                request.callback.accept(asset);
+            }
+            return true;
+        }
+        if (request.getState() == AssetRequest.State.Failed) {
+            Throwable error = request.getError();
+            if (failureHandler != null) {
+                failureHandler.accept(request.key, error);
+            } else {
+                logger.log(Level.WARNING, "Failed to load asset " + request.key, error);
+            }
+            return true;
+        }
+        return false;
+    }
+
+    void reprioritize(AssetRequest<?> request, float priority) {
+        synchronized (request) {
+            request.setPriorityInternal(priority);
+            Entry entry = request.entry;
+            if (entry == null) {
+                return;
+            }
+            AssetRequest.State state = request.getState();
+            if (state == AssetRequest.State.Queued && executor.remove(entry)) {
+                request.entry = new Entry(request);
+                executor.execute(request.entry);
+            } else if ((state == AssetRequest.State.Loaded || state == AssetRequest.State.Failed)
+                    && loaded.remove(entry)) {
+                request.entry = new Entry(request);
+                loaded.add(request.entry);
+            }
+        }
+    }
+
+    boolean cancel(AssetRequest<?> request) {
+        ArrayList<AssetRequest<?>> dependencies;
+        synchronized (request) {
+            AssetRequest.State previous = request.markCancelled();
+            if (previous == null) {
+                return false;
+            }
+            Entry entry = request.entry;
+            if (entry != null) {
+                if (previous == AssetRequest.State.Queued) {
+                    executor.remove(entry);
+                } else if (previous == AssetRequest.State.Loaded) {
+                    loaded.remove(entry);
+                }
+            }
+            dependencies = request.dependencies;
+            request.dependencies = null;
+        }
+        if (dependencies != null) {
+            for (AssetRequest<?> dep : dependencies) {
+                cancel(dep);
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,338 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.asset.cache;
+
+import com.jme3.asset.AssetKey;
+import com.jme3.audio.AudioBuffer;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Mesh;
+import com.jme3.scene.SceneGraphVisitorAdapter;
+import com.jme3.scene.Spatial;
+import com.jme3.scene.VertexBuffer;
+import com.jme3.texture.Image;
+import com.jme3.texture.Texture;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * <code>LruAssetCache</code> is an asset cache with a memory budget. It
+ * keeps strong references to its assets together with an estimate of their
+ * size, and once the total exceeds the budget, evicts the least recently
+ * used assets until it fits again.
+ *
+ * <p>The size of images, textures, meshes, models and audio buffers is
+ * estimated from their native buffers; other assets count as
+ * {@link #DEFAULT_ASSET_SIZE}. Subclasses may override
+ * {@link #estimateSize(AssetKey, Object)} for more precise accounting.
+ *
+ * <p>Like {@link SimpleAssetCache}, this cache does not track clones, so
+ * it is suited for assets the application keeps loading by key, such as on
+ * servers or in tools. To use it, return its class from
+ * {@link AssetKey#getCacheType()} and configure the instance obtained from
+ * {@link com.jme3.asset.DesktopAssetManager#getCache(java.lang.Class)}.
+ */
+public class LruAssetCache implements AssetCache {
+
+    private static final Logger logger = Logger.getLogger(LruAssetCache.class.getName());
+
+    /**
+     * The default memory budget in bytes.
+     */
+    public static final long DEFAULT_BUDGET = 256L * 1024L * 1024L;
+    /**
+     * The size in bytes assumed for assets without native buffers.
+     */
+    public static final long DEFAULT_ASSET_SIZE = 1024L;
+
+    private static final class Entry {
+        final Object asset;
+        final long size;
+
+        Entry(Object asset, long size) {
+            this.asset = asset;
+            this.size = size;
+        }
+    }
+
+    private final LinkedHashMap<AssetKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long budget;
+    private long totalSize;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Creates a cache with the {@link #DEFAULT_BUDGET default budget}.
+     */
+    public LruAssetCache() {
+        this(DEFAULT_BUDGET);
+    }
+
+    /**
+     * Creates a cache with the given budget.
+     *
+     * @param budget the memory budget in bytes (&ge;0)
+     */
+    public LruAssetCache(long budget) {
+        if (budget < 0) {
+            throw new IllegalArgumentException("budget cannot be negative");
+        }
+        this.budget = budget;
+    }
+
+    /**
+     * Changes the memory budget, evicting assets if the cache no longer
+     * fits.
+     *
+     * @param budget the memory budget in bytes (&ge;0)
+     */
+    public synchronized void setBudget(long budget) {
+        if (budget < 0) {
+            throw new IllegalArgumentException("budget cannot be negative");
+        }
+        this.budget = budget;
+        evict();
+    }
+
+    /**
+     * Returns the memory budget.
+     *
+     * @return the budget in bytes
+     */
+    public synchronized long getBudget() {
+        return budget;
+    }
+
+    /**
+     * Returns the estimated size of all cached assets.
+     *
+     * @return the size in bytes
+     */
+    public synchronized long getSize() {
+        return totalSize;
+    }
+
+    /**
+     * Returns the number of cached assets.
+     *
+     * @return the count
+     */
+    public synchronized int getAssetCount() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the number of lookups that found their asset.
+     *
+     * @return the count since creation or the last reset
+     */
+    public synchronized long getHitCount() {
+        return hits;
+    }
+
+    /**
+     * Returns the number of lookups that did not find their asset.
+     *
+     * @return the count since creation or the last reset
+     */
+    public synchronized long getMissCount() {
+        return misses;
+    }
+
+    /**
+     * Returns the number of assets evicted to stay within the budget.
+     *
+     * @return the count since creation or the last reset
+     */
+    public synchronized long getEvictionCount() {
+        return evictions;
+    }
+
+    /**
+     * Resets the hit, miss and eviction counts to zero.
+     */
+    public synchronized void resetStatistics() {
+        hits = 0;
+        misses = 0;
+        evictions = 0;
+    }
+
+    @Override
+    public <T> void addToCache(AssetKey<T> key, T obj) {
+        long size = estimateSize(key, obj);
+        synchronized (this) {
+            Entry previous = entries.put(key, new Entry(obj, size));
+            if (previous != null) {
+                totalSize -= previous.size;
+            }
+            totalSize += size;
+            evict();
+        }
+    }
+
+    @Override
+    public <T> void registerAssetClone(AssetKey<T> key, T clone) {
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public synchronized <T> T getFromCache(AssetKey<T> key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        return (T) entry.asset;
+    }
+
+    @Override
+    public synchronized boolean deleteFromCache(AssetKey key) {
+        Entry entry = entries.remove(key);
+        if (entry == null) {
+            return false;
+        }
+        totalSize -= entry.size;
+        return true;
+    }
+
+    @Override
+    public synchronized void clearCache() {
+        entries.clear();
+        totalSize = 0;
+    }
+
+    @Override
+    public void notifyNoAssetClone() {
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<AssetKey, Entry>> it = entries.entrySet().iterator();
+        while (totalSize > budget && it.hasNext()) {
+            Map.Entry<AssetKey, Entry> eldest = it.next();
+            it.remove();
+            totalSize -= eldest.getValue().size;
+            evictions++;
+            if (logger.isLoggable(Level.FINE)) {
+                logger.log(Level.FINE, "Evicted {0} ({1} bytes)",
+                        new Object[]{eldest.getKey(), eldest.getValue().size});
+            }
+        }
+    }
+
+    /**
+     * Estimates the memory used by an asset.
+     *
+     * @param key the key of the asset
+     * @param asset the asset to measure
+     * @return the estimated size in bytes
+     */
+    protected long estimateSize(AssetKey<?> key, Object asset) {
+        long size;
+        if (asset instanceof Image) {
+            size = sizeOf((Image) asset);
+        } else if (asset instanceof Texture) {
+            size = sizeOf(((Texture) asset).getImage());
+        } else if (asset instanceof Mesh) {
+            size = sizeOf((Mesh) asset);
+        } else if (asset instanceof Spatial) {
+            size = sizeOf((Spatial) asset);
+        } else if (asset instanceof AudioBuffer) {
+            size = sizeOf(((AudioBuffer) asset).getData());
+        } else if (asset instanceof byte[]) {
+            size = ((byte[]) asset).length;
+        } else if (asset instanceof String) {
+            size = 2L * ((String) asset).length();
+        } else {
+            size = 0;
+        }
+        return Math.max(size, DEFAULT_ASSET_SIZE);
+    }
+
+    private static long sizeOf(Image image) {
+        List<ByteBuffer> buffers = image == null ? null : image.getData();
+        if (buffers == null) {
+            return 0;
+        }
+        long size = 0;
+        for (ByteBuffer data : buffers) {
+            size += sizeOf(data);
+        }
+        return size;
+    }
+
+    private static long sizeOf(Mesh mesh) {
+        long size = 0;
+        for (VertexBuffer vb : mesh.getBufferList().getArray()) {
+            size += sizeOf(vb);
+        }
+        for (int i = 0; i < mesh.getNumLodLevels(); i++) {
+            size += sizeOf(mesh.getLodLevel(i));
+        }
+        return size;
+    }
+
+    private static long sizeOf(VertexBuffer vb) {
+        Buffer data = vb.getData();
+        if (data == null) {
+            return 0;
+        }
+        return (long) data.capacity() * vb.getFormat().getComponentSize();
+    }
+
+    private static long sizeOf(ByteBuffer data) {
+        return data == null ? 0 : data.capacity();
+    }
+
+    private static long sizeOf(Spatial spatial) {
+        // count meshes shared between geometries only once
+        final IdentityHashMap<Mesh, Boolean> meshes = new IdentityHashMap<>();
+        final long[] size = new long[1];
+        spatial.depthFirstTraversal(new SceneGraphVisitorAdapter() {
+            @Override
+            public void visit(Geometry geom) {
+                Mesh mesh = geom.getMesh();
+                if (mesh != null && meshes.put(mesh, Boolean.TRUE) == null) {
+                    size[0] += sizeOf(mesh);
+                }
+            }
+        });
+        return size[0];
+    }
+}
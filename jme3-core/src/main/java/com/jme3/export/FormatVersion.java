@@ -50,6 +50,27 @@ public final class FormatVersion {
      */
     public static final int VERSION = 3;
 
+    /**
+     * Mask of the bits of the version word of binary files that hold the
+     * version number.  The bits above it flag optional layout features, so
+     * they never collide with a future {@link #VERSION}, and importers that
+     * predate a feature reject such files as a newer version.
+     */
+    public static final int VERSION_MASK = 0xFFFF;
+
+    /**
+     * Layout flag set in the version word by the binary exporter when it
+     * groups objects into independently decodable chunks.
+     */
+    public static final int FLAG_CHUNKED = 0x10000;
+
+    /**
+     * Layout flag set in the version word by the binary exporter when it
+     * stores at least one buffer field encoded, as selected by a buffer
+     * encoding policy.
+     */
+    public static final int FLAG_ENCODED_BUFFERS = 0x20000;
+
     /**
      * Signature of the format: currently, "JME3" as ASCII.
      */
@@ -35,7 +35,6 @@ import com.jme3.export.*;
 import com.jme3.scene.Spatial;
 import com.jme3.util.clone.Cloner;
 import com.jme3.util.clone.JmeCloneable;
-import com.jme3.util.SortUtil;
 import java.io.IOException;
 import java.util.*;
 import java.util.function.Predicate;
@@ -48,28 +47,13 @@ import java.util.function.Predicate;
  */
 public final class LightList implements Iterable<Light>, Savable, Cloneable, JmeCloneable {
 
-    private Light[] list, tlist;
+    private Light[] list;
     private float[] distToOwner;
     private int listSize;
     private Spatial owner;
 
     private static final int DEFAULT_SIZE = 1;
 
-    private static final Comparator<Light> c = new Comparator<Light>() {
-        /**
-         * This assumes lastDistance have been computed in a previous step.
-         */
-        @Override
-        public int compare(Light l1, Light l2) {
-            if (l1.lastDistance < l2.lastDistance)
-                return -1;
-            else if (l1.lastDistance > l2.lastDistance)
-                return 1;
-            else
-                return 0;
-        }
-    };
-
     /**
      * constructor for serialization. Do not use
      */
@@ -138,6 +122,7 @@ public final class LightList implements Iterable<Light>, Savable, Cloneable, Jme
 
         for (int i = index; i < listSize; i++) {
             list[i] = list[i+1];
+            distToOwner[i] = distToOwner[i+1];
         }
         list[listSize] = null;
     }
@@ -185,14 +170,11 @@ public final class LightList implements Iterable<Light>, Savable, Cloneable, Jme
         for (int i = 0; i < listSize; i++)
             list[i] = null;
 
-        if (tlist != null)
-            Arrays.fill(tlist, null);
-
         listSize = 0;
     }
 
     /**
-     * Sorts the elements in the list according to their Comparator.
+     * Sorts the lights in the list by their distance to the owner.
      * There are two reasons why lights should be resorted.
      * First, if the lights have moved, that means their distance to
      * the spatial changed.
@@ -204,22 +186,35 @@ public final class LightList implements Iterable<Light>, Savable, Cloneable, Jme
      */
     public void sort(boolean transformChanged) {
         if (listSize > 1) {
-            // resize or populate our temporary array as necessary
-            if (tlist == null || tlist.length != list.length) {
-                tlist = list.clone();
-            } else {
-                System.arraycopy(list, 0, tlist, 0, list.length);
+            for (int i = 0; i < listSize; i++) {
+                Light l = list[i];
+                if (transformChanged) {
+                    // check distance of each light. Lights may be shared by
+                    // spatials whose geometric state is updated concurrently
+                    // (see Node.setParallelUpdate()) so the distance is copied
+                    // while holding the light.
+                    synchronized (l) {
+                        l.computeLastDistance(owner);
+                        distToOwner[i] = l.lastDistance;
+                    }
+                } else {
+                    distToOwner[i] = l.lastDistance;
+                }
             }
 
-            if (transformChanged) {
-                // check distance of each light
-                for (int i = 0; i < listSize; i++) {
-                    list[i].computeLastDistance(owner);
+            // stable insertion sort, the list is usually sorted already
+            for (int i = 1; i < listSize; i++) {
+                Light l = list[i];
+                float dist = distToOwner[i];
+                int j = i - 1;
+                while (j >= 0 && distToOwner[j] > dist) {
+                    list[j + 1] = list[j];
+                    distToOwner[j + 1] = distToOwner[j];
+                    j--;
                 }
+                list[j + 1] = l;
+                distToOwner[j + 1] = dist;
             }
-
-            // now merge sort tlist into list
-            SortUtil.msort(tlist, list, 0, listSize - 1, c);
         }
     }
 
@@ -320,7 +315,6 @@ public final class LightList implements Iterable<Light>, Savable, Cloneable, Jme
             clone.owner = null;
             clone.list = list.clone();
             clone.distToOwner = distToOwner.clone();
-            clone.tlist = null; // list used for sorting only
 
             return clone;
         } catch (CloneNotSupportedException ex) {
@@ -331,9 +325,7 @@ public final class LightList implements Iterable<Light>, Savable, Cloneable, Jme
     @Override
     public LightList jmeClone() {
         try {
-            LightList clone = (LightList)super.clone();
-            clone.tlist = null; // list used for sorting only
-            return clone;
+            return (LightList)super.clone();
         } catch (CloneNotSupportedException ex) {
             throw new AssertionError();
         }
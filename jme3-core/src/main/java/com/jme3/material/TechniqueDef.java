@@ -485,6 +485,7 @@ public class TechniqueDef implements Savable, Cloneable {
         String definesSourceCode = sb.toString();
 
         Shader shader;
+        boolean frameUniforms = false;
         if (isUsingShaderNodes()) {
             ShaderGenerator shaderGenerator = assetManager.getShaderGenerator(rendererCaps);
             if (shaderGenerator == null) {
@@ -495,6 +496,9 @@ public class TechniqueDef implements Savable, Cloneable {
             shader = shaderGenerator.generateShader(definesSourceCode);
         } else {
             shader = new Shader();
+            EnumMap<ShaderType, String> sources = new EnumMap<>(ShaderType.class);
+            boolean declaresFrameUniforms = true;
+            boolean supportsFrameUniforms = rendererCaps.contains(Caps.UniformBufferObject);
             for (ShaderType type : ShaderType.values()) {
                 String language = shaderLanguages.get(type);
                 String shaderSourceAssetName = shaderNames.get(type);
@@ -502,11 +506,31 @@ public class TechniqueDef implements Savable, Cloneable {
                     continue;
                 }
                 String shaderSourceCode = (String) assetManager.loadAsset(shaderSourceAssetName);
-                shader.addSource(type, shaderSourceAssetName, shaderSourceCode, definesSourceCode, language);
+                sources.put(type, shaderSourceCode);
+                declaresFrameUniforms &= shaderSourceCode.contains(FrameUniforms.BLOCK_NAME);
+                supportsFrameUniforms &= FrameUniforms.isSupported(language);
+            }
+
+            // shaders that all import the frame uniforms library use the
+            // block whenever the renderer and the shader language allow it;
+            // a stage without it may declare the same names as uniforms
+            frameUniforms = !sources.isEmpty() && declaresFrameUniforms && supportsFrameUniforms;
+            if (frameUniforms) {
+                definesSourceCode += "#define " + FrameUniforms.DEFINE + " 1\n";
+                shader.getBufferBlock(FrameUniforms.BLOCK_NAME);
+            }
+            for (Map.Entry<ShaderType, String> source : sources.entrySet()) {
+                ShaderType type = source.getKey();
+                shader.addSource(type, shaderNames.get(type), source.getValue(),
+                        definesSourceCode, shaderLanguages.get(type));
             }
         }
 
         for (final UniformBinding binding : getWorldBindings()) {
+            if (frameUniforms && FrameUniforms.BINDINGS.contains(binding)) {
+                // a member of the frame uniforms block
+                continue;
+            }
             shader.addUniformBinding(binding);
         }
 
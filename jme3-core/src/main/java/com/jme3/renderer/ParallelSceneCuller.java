@@ -0,0 +1,315 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.renderer;
+
+import com.jme3.renderer.queue.RenderQueue;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Node;
+import com.jme3.scene.Spatial;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Flattens a scene graph into a {@link RenderQueue} the same way
+ * {@link RenderManager#renderScene(Spatial, ViewPort)} does, but culls
+ * independent parts of the scene against the camera frustum concurrently.
+ *
+ * <p>Culling happens in two phases. First, the scene is split into chunks
+ * (ranges of siblings) which are culled in parallel on a fork-join pool,
+ * each with its own copy of the camera and its own frustum plane state.
+ * Every chunk records its visible geometries in scene order. Then the
+ * calling thread walks the recorded chunks in order and adds the
+ * geometries to the queue, so the queue content and order are exactly
+ * those of a sequential pass.</p>
+ *
+ * <p>Spatials with controls are not culled by the worker threads: since
+ * {@link com.jme3.scene.control.Control#render(RenderManager, ViewPort)}
+ * may touch the renderer or modify the scene graph, such a subtree is
+ * culled sequentially by the calling thread during the second phase.
+ * Likewise, geometries are tested against the RenderManager's
+ * {@link com.jme3.renderer.occlusion.OcclusionCuller occlusion culler}
+ * during the second phase.</p>
+ *
+ * <p>Install a culler with
+ * {@link RenderManager#setParallelCuller(ParallelSceneCuller)}. The scene
+ * must not be modified while it is being culled.</p>
+ */
+public class ParallelSceneCuller {
+
+    /**
+     * The default minimum number of children a node must have to be split.
+     */
+    public static final int DEFAULT_SPLIT_THRESHOLD = 4;
+    /**
+     * The default maximum depth at which nodes are split.
+     */
+    public static final int DEFAULT_MAX_SPLIT_DEPTH = 4;
+
+    private final ForkJoinPool pool;
+    private int splitThreshold = DEFAULT_SPLIT_THRESHOLD;
+    private int maxSplitDepth = DEFAULT_MAX_SPLIT_DEPTH;
+    private final ThreadLocal<Camera> workerCameras = new ThreadLocal<>();
+
+    /**
+     * Creates a culler that runs on the common fork-join pool.
+     */
+    public ParallelSceneCuller() {
+        this(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a culler that runs on the given pool.
+     *
+     * @param pool the pool to cull on (not null)
+     */
+    public ParallelSceneCuller(ForkJoinPool pool) {
+        if (pool == null) {
+            throw new IllegalArgumentException("pool cannot be null");
+        }
+        this.pool = pool;
+    }
+
+    /**
+     * Returns the pool used for culling.
+     *
+     * @return the pre-existing pool
+     */
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Sets the minimum number of children a node must have before its
+     * children are culled by separate tasks. Smaller nodes are culled by
+     * the task that reached them.
+     *
+     * @param splitThreshold the minimum number of children (&ge;2,
+     *     default={@value #DEFAULT_SPLIT_THRESHOLD})
+     */
+    public void setSplitThreshold(int splitThreshold) {
+        if (splitThreshold < 2) {
+            throw new IllegalArgumentException("splitThreshold must be at least 2");
+        }
+        this.splitThreshold = splitThreshold;
+    }
+
+    /**
+     * Returns the minimum number of children a node must have before its
+     * children are culled by separate tasks.
+     *
+     * @return the threshold
+     */
+    public int getSplitThreshold() {
+        return splitThreshold;
+    }
+
+    /**
+     * Sets the maximum depth (below the scene root) at which nodes are
+     * split into separate tasks. Deeper nodes are culled by the task that
+     * reached them.
+     *
+     * @param maxSplitDepth the maximum depth (&ge;0,
+     *     default={@value #DEFAULT_MAX_SPLIT_DEPTH})
+     */
+    public void setMaxSplitDepth(int maxSplitDepth) {
+        if (maxSplitDepth < 0) {
+            throw new IllegalArgumentException("maxSplitDepth cannot be negative");
+        }
+        this.maxSplitDepth = maxSplitDepth;
+    }
+
+    /**
+     * Returns the maximum depth at which nodes are split into separate
+     * tasks.
+     *
+     * @return the depth
+     */
+    public int getMaxSplitDepth() {
+        return maxSplitDepth;
+    }
+
+    /**
+     * Culls the given scene against the camera of the ViewPort and adds
+     * the visible geometries to the ViewPort's queue.
+     *
+     * @param scene the scene to flatten (not null, geometric state updated)
+     * @param vp the ViewPort providing the camera and the queue (not null)
+     * @param rm the RenderManager used for sequentially culled subtrees
+     *     (not null)
+     */
+    public void renderScene(Spatial scene, ViewPort vp, RenderManager rm) {
+        Camera cam = vp.getCamera();
+        CullTask root = new CullTask(cam, Collections.singletonList(scene), 0, 1, 1, 0, 0);
+        if (ForkJoinTask.inForkJoinPool()) {
+            root.invoke();
+        } else {
+            pool.invoke(root);
+        }
+        merge(root, vp, rm);
+    }
+
+    private void merge(CullTask task, ViewPort vp, RenderManager rm) {
+        RenderQueue queue = vp.getQueue();
+        ArrayList<Object> results = task.results;
+        for (int i = 0, size = results.size(); i < size; i++) {
+            Object result = results.get(i);
+            if (result instanceof Geometry) {
+                Geometry geometry = (Geometry) result;
+                if (!rm.isOccluded(geometry)) {
+                    queue.addToQueue(geometry, geometry.getQueueBucket());
+                }
+            } else if (result instanceof CullTask) {
+                merge((CullTask) result, vp, rm);
+            } else {
+                DeferredSubtree deferred = (DeferredSubtree) result;
+                vp.getCamera().setPlaneState(deferred.planeState);
+                rm.renderSubScene(deferred.spatial, vp);
+            }
+        }
+    }
+
+    /**
+     * Returns this thread's private camera, copied from the given one.
+     */
+    private Camera workerCamera(Camera source) {
+        Camera cam = workerCameras.get();
+        if (cam == null) {
+            cam = source.clone();
+            workerCameras.set(cam);
+        } else {
+            cam.copyFrom(source);
+        }
+        return cam;
+    }
+
+    /**
+     * A subtree with controls, to be culled by the calling thread.
+     */
+    private static final class DeferredSubtree {
+        final Spatial spatial;
+        final int planeState;
+
+        DeferredSubtree(Spatial spatial, int planeState) {
+            this.spatial = spatial;
+            this.planeState = planeState;
+        }
+    }
+
+    /**
+     * Culls a range of siblings and records the visible geometries, the
+     * subtrees split off to other tasks and the deferred subtrees, in
+     * scene order.
+     */
+    private final class CullTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Camera source;
+        private final List<Spatial> spatials;
+        private final int from;
+        private final int to;
+        private final int grain;
+        private final int planeState;
+        private final int depth;
+        private final ArrayList<Object> results = new ArrayList<>();
+        private final ArrayList<CullTask> forked = new ArrayList<>();
+
+        CullTask(Camera source, List<Spatial> spatials, int from, int to, int grain,
+                int planeState, int depth) {
+            this.source = source;
+            this.spatials = spatials;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+            this.planeState = planeState;
+            this.depth = depth;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > grain) {
+                int mid = (from + to) >>> 1;
+                CullTask left = new CullTask(source, spatials, from, mid, grain, planeState, depth);
+                CullTask right = new CullTask(source, spatials, mid, to, grain, planeState, depth);
+                results.add(left);
+                results.add(right);
+                invokeAll(left, right);
+                return;
+            }
+
+            Camera cam = workerCamera(source);
+            for (int i = from; i < to; i++) {
+                cull(spatials.get(i), cam, planeState, depth);
+            }
+            for (int i = forked.size() - 1; i >= 0; i--) {
+                forked.get(i).join();
+            }
+        }
+
+        private void cull(Spatial spatial, Camera cam, int state, int level) {
+            if (spatial.getNumControls() > 0) {
+                results.add(new DeferredSubtree(spatial, state));
+                return;
+            }
+            cam.setPlaneState(state);
+            if (!spatial.checkCulling(cam)) {
+                return;
+            }
+            if (spatial instanceof Node) {
+                List<Spatial> children = ((Node) spatial).getChildren();
+                int size = children.size();
+                int childState = cam.getPlaneState();
+                if (size >= splitThreshold && level < maxSplitDepth) {
+                    int childGrain = Math.max(splitThreshold, size / (pool.getParallelism() * 4));
+                    CullTask task = new CullTask(source, children, 0, size, childGrain, childState, level + 1);
+                    results.add(task);
+                    forked.add(task);
+                    task.fork();
+                } else {
+                    for (int i = 0; i < size; i++) {
+                        cull(children.get(i), cam, childState, level);
+                    }
+                }
+            } else if (spatial instanceof Geometry) {
+                Geometry geometry = (Geometry) spatial;
+                if (geometry.getMaterial() == null) {
+                    throw new IllegalStateException("No material is set for Geometry: " + geometry.getName());
+                }
+                results.add(geometry);
+            }
+        }
+    }
+}
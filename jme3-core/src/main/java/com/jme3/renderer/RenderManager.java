@@ -46,10 +46,12 @@ import com.jme3.post.SceneProcessor;
 import com.jme3.profile.AppProfiler;
 import com.jme3.profile.AppStep;
 import com.jme3.profile.VpStep;
+import com.jme3.renderer.occlusion.OcclusionCuller;
 import com.jme3.renderer.pipeline.DefaultPipelineContext;
 import com.jme3.renderer.pipeline.ForwardPipeline;
 import com.jme3.renderer.pipeline.PipelineContext;
 import com.jme3.renderer.pipeline.RenderPipeline;
+import com.jme3.renderer.queue.AutoInstancer;
 import com.jme3.renderer.queue.GeometryList;
 import com.jme3.renderer.queue.RenderQueue;
 import com.jme3.renderer.queue.RenderQueue.Bucket;
@@ -132,6 +134,9 @@ public class RenderManager {
     private int maxSinglePassLightBatchSize = 16;
     private final MatParamOverride boundDrawBufferId = new MatParamOverride(VarType.Int, "BoundDrawBuffer", 0);
     private Predicate<Geometry> renderFilter;
+    private ParallelSceneCuller parallelCuller;
+    private OcclusionCuller occlusionCuller;
+    private AutoInstancer autoInstancer;
 
 
     /**
@@ -1015,7 +1020,53 @@ public class RenderManager {
         // (must be 0 for the first note of the scene to be rendered)
         vp.getCamera().setPlaneState(0);
         // queue the scene for rendering
-        renderSubScene(scene, vp);
+        if (parallelCuller != null) {
+            parallelCuller.renderScene(scene, vp, this);
+        } else {
+            renderSubScene(scene, vp);
+        }
+    }
+
+    /**
+     * Sets the culler used by {@link #renderScene(Spatial, ViewPort)} to
+     * cull independent parts of the scene concurrently.
+     *
+     * @param parallelCuller the culler to use, or null to cull the scene
+     *     sequentially on the render thread (default=null)
+     */
+    public void setParallelCuller(ParallelSceneCuller parallelCuller) {
+        this.parallelCuller = parallelCuller;
+    }
+
+    /**
+     * Returns the culler used by {@link #renderScene(Spatial, ViewPort)}.
+     *
+     * @return the culler, or null if the scene is culled sequentially
+     * @see #setParallelCuller(ParallelSceneCuller)
+     */
+    public ParallelSceneCuller getParallelCuller() {
+        return parallelCuller;
+    }
+
+    /**
+     * Sets the instancer used to draw matching geometries of the opaque
+     * bucket with a single instanced draw call.
+     *
+     * @param autoInstancer the instancer to use, or null to draw every
+     *     geometry separately (default=null)
+     */
+    public void setAutoInstancer(AutoInstancer autoInstancer) {
+        this.autoInstancer = autoInstancer;
+    }
+
+    /**
+     * Returns the instancer used for the opaque bucket.
+     *
+     * @return the instancer, or null if automatic instancing is disabled
+     * @see #setAutoInstancer(AutoInstancer)
+     */
+    public AutoInstancer getAutoInstancer() {
+        return autoInstancer;
     }
 
     /**
@@ -1024,11 +1075,14 @@ public class RenderManager {
      * @param scene the scene to be rendered (not null)
      * @param vp the ViewPort to render in (not null)
      */
-    private void renderSubScene(Spatial scene, ViewPort vp) {
+    void renderSubScene(Spatial scene, ViewPort vp) {
         // check culling first
         if (!scene.checkCulling(vp.getCamera())) {
             return;
         }
+        if (isOccluded(scene)) {
+            return;
+        }
         scene.runControlRender(this, vp);
         if (scene instanceof Node) {
             // Recurse for all children
@@ -1051,6 +1105,47 @@ public class RenderManager {
         }
     }
 
+    /**
+     * Tests a spatial against the occlusion culler, if any, and records the
+     * result in the renderer's statistics.
+     *
+     * @param spatial the spatial to test (not null)
+     * @return true if the spatial is hidden behind the occluders
+     */
+    boolean isOccluded(Spatial spatial) {
+        if (occlusionCuller == null || spatial.getCullHint() == Spatial.CullHint.Never) {
+            return false;
+        }
+        boolean occluded = occlusionCuller.isOccluded(spatial);
+        renderer.getStatistics().onOcclusionTest(occluded);
+        return occluded;
+    }
+
+    /**
+     * Sets the occlusion culler used by {@link #renderScene(Spatial, ViewPort)}
+     * to reject hidden spatials before they enter the render queue.
+     *
+     * <p>The culler must have been {@link OcclusionCuller#prepare(Camera) prepared}
+     * for the camera of the ViewPort being rendered. {@link ForwardPipeline}
+     * installs and prepares its own culler around each view, see
+     * {@link ForwardPipeline#setOcclusionCuller(OcclusionCuller)}.</p>
+     *
+     * @param occlusionCuller the culler to use, or null to disable
+     *     occlusion culling (default=null)
+     */
+    public void setOcclusionCuller(OcclusionCuller occlusionCuller) {
+        this.occlusionCuller = occlusionCuller;
+    }
+
+    /**
+     * Returns the occlusion culler used by {@link #renderScene(Spatial, ViewPort)}.
+     *
+     * @return the culler, or null if occlusion culling is disabled
+     */
+    public OcclusionCuller getOcclusionCuller() {
+        return occlusionCuller;
+    }
+
     /**
      * Returns the camera currently used for rendering.
      *
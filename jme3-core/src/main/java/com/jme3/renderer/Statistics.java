@@ -31,6 +31,7 @@
  */
 package com.jme3.renderer;
 
+import com.jme3.material.RenderState;
 import com.jme3.scene.Mesh;
 import com.jme3.shader.Shader;
 import com.jme3.texture.FrameBuffer;
@@ -67,10 +68,20 @@ public class Statistics {
      * Number of shader switches during the current frame.
      */
     protected int numShaderSwitches;
+    /**
+     * Number of shader uses that did not require a switch during the
+     * current frame.
+     */
+    protected int numShaderSwitchesAvoided;
     /**
      * Number of texture binds during the current frame.
      */
     protected int numTextureBinds;
+    /**
+     * Number of texture uses that did not require a bind during the
+     * current frame.
+     */
+    protected int numTextureBindsAvoided;
     /**
      * Number of FBO switches during the current frame.
      */
@@ -79,6 +90,35 @@ public class Statistics {
      * Number of uniforms set during the current frame.
      */
     protected int numUniformsSet;
+    /**
+     * Number of render states applied that differed from the previous one
+     * during the current frame.
+     */
+    protected int numRenderStateChanges;
+    /**
+     * Number of render states applied that were identical to the previous
+     * one during the current frame.
+     */
+    protected int numRenderStateChangesAvoided;
+    /**
+     * Number of spatials rejected by occlusion culling during the current
+     * frame.
+     */
+    protected int numOcclusionHits;
+    /**
+     * Number of spatials tested for occlusion and found potentially visible
+     * during the current frame.
+     */
+    protected int numOcclusionMisses;
+    /**
+     * Number of automatically instanced draw calls during the current frame.
+     */
+    protected int numInstancedBatches;
+    /**
+     * Number of geometries drawn as part of automatically instanced draw
+     * calls during the current frame.
+     */
+    protected int numInstancedGeometries;
 
     /**
      * Number of active shaders.
@@ -111,6 +151,11 @@ public class Statistics {
      */
     protected int lastShader = -1;
 
+    /**
+     * Content hash of the most recently applied render state.
+     */
+    protected int lastRenderStateHash = -1;
+
     /**
      * Returns a list of labels corresponding to each statistic.
      *
@@ -192,6 +237,42 @@ public class Statistics {
         onMeshDrawn(mesh, lod, 1);
     }
 
+    /**
+     * Called by the RenderManager when a spatial has been tested for
+     * occlusion.
+     *
+     * @param occluded true if the spatial was rejected as hidden, false if
+     *     it may be visible
+     * @see com.jme3.renderer.occlusion.OcclusionCuller
+     */
+    public void onOcclusionTest(boolean occluded) {
+        if (!enabled) {
+            return;
+        }
+
+        if (occluded) {
+            numOcclusionHits++;
+        } else {
+            numOcclusionMisses++;
+        }
+    }
+
+    /**
+     * Called by the AutoInstancer when several geometries have been drawn
+     * with a single instanced draw call.
+     *
+     * @param instances the number of geometries in the batch
+     * @see com.jme3.renderer.queue.AutoInstancer
+     */
+    public void onInstancedBatch(int instances) {
+        if (!enabled) {
+            return;
+        }
+
+        numInstancedBatches++;
+        numInstancedGeometries += instances;
+    }
+
     /**
      * Called by the Renderer when a shader has been utilized.
      *
@@ -216,6 +297,8 @@ public class Statistics {
 
         if (wasSwitched) {
             numShaderSwitches++;
+        } else {
+            numShaderSwitchesAvoided++;
         }
     }
 
@@ -248,6 +331,29 @@ public class Statistics {
 
         if (wasSwitched) {
             numTextureBinds++;
+        } else {
+            numTextureBindsAvoided++;
+        }
+    }
+
+    /**
+     * Called by the Renderer when a render state is about to be applied.
+     * A state with the same content as the previously applied one counts
+     * as an avoided change.
+     *
+     * @param state The render state being applied
+     */
+    public void onRenderStateUse(RenderState state) {
+        if (!enabled) {
+            return;
+        }
+
+        int hash = state.contentHashCode();
+        if (hash != lastRenderStateHash) {
+            lastRenderStateHash = hash;
+            numRenderStateChanges++;
+        } else {
+            numRenderStateChangesAvoided++;
         }
     }
 
@@ -287,11 +393,20 @@ public class Statistics {
         numTriangles = 0;
         numVertices = 0;
         numShaderSwitches = 0;
+        numShaderSwitchesAvoided = 0;
         numTextureBinds = 0;
+        numTextureBindsAvoided = 0;
         numFboSwitches = 0;
         numUniformsSet = 0;
+        numOcclusionHits = 0;
+        numOcclusionMisses = 0;
+        numRenderStateChanges = 0;
+        numRenderStateChangesAvoided = 0;
+        numInstancedBatches = 0;
+        numInstancedGeometries = 0;
 
         lastShader = -1;
+        lastRenderStateHash = -1;
     }
 
     /**
@@ -363,6 +478,92 @@ public class Statistics {
         memoryTextures = 0;
     }
 
+    /**
+     * Returns the number of spatials rejected by occlusion culling during
+     * the current frame. Not part of {@link #getLabels() } so the default
+     * statistics display stays unchanged.
+     *
+     * @return the number of occluded spatials
+     * @see com.jme3.renderer.occlusion.OcclusionCuller
+     */
+    public int getOcclusionHits() {
+        return numOcclusionHits;
+    }
+
+    /**
+     * Returns the number of spatials tested for occlusion and found
+     * potentially visible during the current frame.
+     *
+     * @return the number of spatials that passed the occlusion test
+     * @see com.jme3.renderer.occlusion.OcclusionCuller
+     */
+    public int getOcclusionMisses() {
+        return numOcclusionMisses;
+    }
+
+    /**
+     * Returns the number of shader uses that did not require a switch
+     * during the current frame.
+     *
+     * @return the number of avoided shader switches
+     */
+    public int getShaderSwitchesAvoided() {
+        return numShaderSwitchesAvoided;
+    }
+
+    /**
+     * Returns the number of texture uses that did not require a bind
+     * during the current frame.
+     *
+     * @return the number of avoided texture binds
+     */
+    public int getTextureBindsAvoided() {
+        return numTextureBindsAvoided;
+    }
+
+    /**
+     * Returns the number of render states applied during the current frame
+     * that differed from the previous one.
+     *
+     * @return the number of render state changes
+     */
+    public int getRenderStateChanges() {
+        return numRenderStateChanges;
+    }
+
+    /**
+     * Returns the number of render states applied during the current frame
+     * that were identical to the previous one.
+     *
+     * @return the number of avoided render state changes
+     */
+    public int getRenderStateChangesAvoided() {
+        return numRenderStateChangesAvoided;
+    }
+
+    /**
+     * Returns the number of automatically instanced draw calls during the
+     * current frame. Not part of {@link #getLabels() } so the default
+     * statistics display stays unchanged.
+     *
+     * @return the number of instanced batches
+     * @see com.jme3.renderer.queue.AutoInstancer
+     */
+    public int getInstancedBatches() {
+        return numInstancedBatches;
+    }
+
+    /**
+     * Returns the number of geometries drawn as part of automatically
+     * instanced draw calls during the current frame.
+     *
+     * @return the number of instanced geometries
+     * @see com.jme3.renderer.queue.AutoInstancer
+     */
+    public int getInstancedGeometries() {
+        return numInstancedGeometries;
+    }
+
     /**
      * Enables or disables updates.
      *
@@ -0,0 +1,182 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.renderer.occlusion;
+
+import com.jme3.bounding.BoundingVolume;
+import com.jme3.renderer.Camera;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Spatial;
+import com.jme3.util.SafeArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Rejects spatials that are hidden behind a set of designated occluder
+ * geometries, before they are added to the render queue.
+ *
+ * <p>Once per view, {@link #prepare(Camera)} rasterizes the occluders that
+ * are inside the camera frustum into a {@link SoftwareDepthBuffer}. The
+ * world bounds of spatials are then tested against that buffer with
+ * {@link #isOccluded(Spatial)}. When installed on a
+ * {@link com.jme3.renderer.pipeline.ForwardPipeline}, nodes are tested
+ * before their children, so a hidden subtree is rejected with one test.</p>
+ *
+ * <p>Good occluders are large, simple, opaque geometries such as walls,
+ * terrain or building shells. Occluders themselves are never culled by
+ * the buffer.</p>
+ */
+public class OcclusionCuller {
+
+    /**
+     * The default width of the depth buffer, in pixels.
+     */
+    public static final int DEFAULT_WIDTH = 256;
+    /**
+     * The default height of the depth buffer, in pixels.
+     */
+    public static final int DEFAULT_HEIGHT = 128;
+
+    private final SoftwareDepthBuffer depthBuffer;
+    private final SafeArrayList<Geometry> occluders = new SafeArrayList<>(Geometry.class);
+    private final Set<Spatial> occluderSet = Collections.newSetFromMap(new IdentityHashMap<Spatial, Boolean>());
+    private boolean prepared;
+
+    /**
+     * Creates a culler with a {@value #DEFAULT_WIDTH}x{@value #DEFAULT_HEIGHT}
+     * depth buffer.
+     */
+    public OcclusionCuller() {
+        this(DEFAULT_WIDTH, DEFAULT_HEIGHT);
+    }
+
+    /**
+     * Creates a culler with a depth buffer of the given resolution. The
+     * buffer is stretched over the whole view, so its aspect ratio should
+     * roughly match the viewport's.
+     *
+     * @param width the width of the depth buffer in pixels (&gt;0)
+     * @param height the height of the depth buffer in pixels (&gt;0)
+     */
+    public OcclusionCuller(int width, int height) {
+        this.depthBuffer = new SoftwareDepthBuffer(width, height);
+    }
+
+    /**
+     * Designates a geometry as an occluder.
+     *
+     * @param occluder the geometry to add (not null)
+     */
+    public void addOccluder(Geometry occluder) {
+        if (occluder == null) {
+            throw new IllegalArgumentException("occluder cannot be null");
+        }
+        if (occluderSet.add(occluder)) {
+            occluders.add(occluder);
+        }
+    }
+
+    /**
+     * Removes a geometry from the occluders.
+     *
+     * @param occluder the geometry to remove
+     * @return true if the geometry was an occluder
+     */
+    public boolean removeOccluder(Geometry occluder) {
+        if (occluderSet.remove(occluder)) {
+            occluders.remove(occluder);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Returns the designated occluders.
+     *
+     * @return an unmodifiable list of occluders
+     */
+    public List<Geometry> getOccluders() {
+        return Collections.unmodifiableList(occluders);
+    }
+
+    /**
+     * Returns the depth buffer the occluders are rasterized into.
+     *
+     * @return the pre-existing buffer
+     */
+    public SoftwareDepthBuffer getDepthBuffer() {
+        return depthBuffer;
+    }
+
+    /**
+     * Rasterizes the occluders that are inside the frustum of the given
+     * camera. Must be called once per view, after the scene's geometric
+     * state has been updated and before testing.
+     *
+     * @param cam the camera the view is rendered with (not null, updated)
+     */
+    public void prepare(Camera cam) {
+        depthBuffer.clear();
+        depthBuffer.setViewProjection(cam.getViewProjectionMatrix());
+        int planeState = cam.getPlaneState();
+        for (Geometry occluder : occluders.getArray()) {
+            BoundingVolume bound = occluder.getWorldBound();
+            if (occluder.getMesh() == null || occluder.getCullHint() == Spatial.CullHint.Always) {
+                continue;
+            }
+            cam.setPlaneState(0);
+            if (bound != null && cam.contains(bound) == Camera.FrustumIntersect.Outside) {
+                continue;
+            }
+            depthBuffer.rasterize(occluder.getMesh(), occluder.getWorldMatrix());
+        }
+        cam.setPlaneState(planeState);
+        depthBuffer.updateHierarchy();
+        prepared = true;
+    }
+
+    /**
+     * Tests whether a spatial is entirely hidden behind the occluders
+     * rasterized by the last call to {@link #prepare(Camera)}.
+     *
+     * @param spatial the spatial to test (not null, world bound updated)
+     * @return true if the spatial is hidden, false if it may be visible
+     */
+    public boolean isOccluded(Spatial spatial) {
+        if (!prepared || occluderSet.contains(spatial)) {
+            return false;
+        }
+        BoundingVolume bound = spatial.getWorldBound();
+        return bound != null && depthBuffer.isOccluded(bound);
+    }
+}
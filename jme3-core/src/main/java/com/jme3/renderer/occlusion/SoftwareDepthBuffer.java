@@ -0,0 +1,361 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.renderer.occlusion;
+
+import com.jme3.bounding.BoundingBox;
+import com.jme3.bounding.BoundingSphere;
+import com.jme3.bounding.BoundingVolume;
+import com.jme3.math.Matrix4f;
+import com.jme3.math.Vector3f;
+import com.jme3.scene.Mesh;
+import com.jme3.scene.VertexBuffer;
+import com.jme3.scene.mesh.IndexBuffer;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+
+/**
+ * A small depth buffer that occluder meshes are rasterized into on the CPU,
+ * and that bounding volumes can be tested against.
+ *
+ * <p>Depths are normalized device coordinates (z/w after projection), so
+ * they interpolate linearly across the screen. The buffer also keeps the
+ * farthest depth of each {@value #TILE_SIZE}x{@value #TILE_SIZE} pixel tile,
+ * so most tests can accept or reject whole tiles without looking at
+ * individual pixels.</p>
+ *
+ * <p>All tests are conservative: a volume is only reported as occluded if
+ * every pixel its screen-space rectangle touches holds a nearer depth.
+ * Occluder triangles that cross the near plane are skipped rather than
+ * clipped, which can only make the buffer occlude less.</p>
+ */
+public class SoftwareDepthBuffer {
+
+    /**
+     * The width and height of a tile of the hierarchical depth buffer, in
+     * pixels.
+     */
+    public static final int TILE_SIZE = 8;
+
+    /**
+     * The smallest clip-space w of a vertex that is considered to be in
+     * front of the camera.
+     */
+    private static final float MIN_W = 1e-5f;
+
+    private final int width;
+    private final int height;
+    private final int tilesX;
+    private final int tilesY;
+    private final float[] depth;
+    private final float[] tileMaxDepth;
+    private final Matrix4f viewProjection = new Matrix4f();
+    private final Matrix4f modelViewProjection = new Matrix4f();
+    private final float[] screen = new float[12];
+    private final Vector3f tempVector = new Vector3f();
+
+    /**
+     * Creates a depth buffer of the given resolution.
+     *
+     * @param width the width in pixels (&gt;0)
+     * @param height the height in pixels (&gt;0)
+     */
+    public SoftwareDepthBuffer(int width, int height) {
+        if (width <= 0 || height <= 0) {
+            throw new IllegalArgumentException("width and height must be positive");
+        }
+        this.width = width;
+        this.height = height;
+        this.tilesX = (width + TILE_SIZE - 1) / TILE_SIZE;
+        this.tilesY = (height + TILE_SIZE - 1) / TILE_SIZE;
+        this.depth = new float[width * height];
+        this.tileMaxDepth = new float[tilesX * tilesY];
+        clear();
+    }
+
+    /**
+     * Returns the width of the buffer.
+     *
+     * @return the width in pixels
+     */
+    public int getWidth() {
+        return width;
+    }
+
+    /**
+     * Returns the height of the buffer.
+     *
+     * @return the height in pixels
+     */
+    public int getHeight() {
+        return height;
+    }
+
+    /**
+     * Resets every pixel to the far depth.
+     */
+    public void clear() {
+        Arrays.fill(depth, Float.POSITIVE_INFINITY);
+        Arrays.fill(tileMaxDepth, Float.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Sets the view-projection matrix used to rasterize and test.
+     *
+     * @param viewProjection the matrix to copy (not null, unaffected)
+     */
+    public void setViewProjection(Matrix4f viewProjection) {
+        this.viewProjection.set(viewProjection);
+    }
+
+    /**
+     * Returns the depth stored for the given pixel.
+     *
+     * @param x the pixel column (&ge;0, &lt;width)
+     * @param y the pixel row, from the bottom (&ge;0, &lt;height)
+     * @return the normalized device depth, or positive infinity if nothing
+     *     was rasterized there
+     */
+    public float getDepth(int x, int y) {
+        return depth[y * width + x];
+    }
+
+    /**
+     * Rasterizes the triangles of a mesh into the buffer. Meshes that are
+     * not made of triangles, or that have no float positions, are ignored.
+     *
+     * <p>{@link #updateHierarchy()} must be called after the last occluder
+     * has been rasterized and before testing.</p>
+     *
+     * @param mesh the mesh to rasterize (not null, unaffected)
+     * @param worldMatrix the model-to-world matrix (not null, unaffected)
+     */
+    public void rasterize(Mesh mesh, Matrix4f worldMatrix) {
+        switch (mesh.getMode()) {
+            case Triangles:
+            case TriangleStrip:
+            case TriangleFan:
+                break;
+            default:
+                return;
+        }
+        VertexBuffer positions = mesh.getBuffer(VertexBuffer.Type.Position);
+        if (positions == null || positions.getFormat() != VertexBuffer.Format.Float
+                || positions.getNumComponents() != 3) {
+            return;
+        }
+        FloatBuffer data = (FloatBuffer) positions.getData();
+        IndexBuffer indices = mesh.getIndicesAsList();
+        viewProjection.mult(worldMatrix, modelViewProjection);
+
+        int numIndices = indices.size() - indices.size() % 3;
+        for (int i = 0; i < numIndices; i += 3) {
+            if (transform(data, indices.get(i), 0)
+                    && transform(data, indices.get(i + 1), 4)
+                    && transform(data, indices.get(i + 2), 8)) {
+                rasterizeTriangle();
+            }
+        }
+    }
+
+    /**
+     * Recomputes the farthest depth of every tile. Must be called after
+     * rasterizing and before testing.
+     */
+    public void updateHierarchy() {
+        for (int ty = 0; ty < tilesY; ty++) {
+            int y0 = ty * TILE_SIZE;
+            int y1 = Math.min(y0 + TILE_SIZE, height);
+            for (int tx = 0; tx < tilesX; tx++) {
+                int x0 = tx * TILE_SIZE;
+                int x1 = Math.min(x0 + TILE_SIZE, width);
+                float max = Float.NEGATIVE_INFINITY;
+                for (int y = y0; y < y1; y++) {
+                    int row = y * width;
+                    for (int x = x0; x < x1; x++) {
+                        max = Math.max(max, depth[row + x]);
+                    }
+                }
+                tileMaxDepth[ty * tilesX + tx] = max;
+            }
+        }
+    }
+
+    /**
+     * Tests whether a bounding volume is entirely hidden behind the
+     * rasterized occluders.
+     *
+     * @param bound the world bound to test (not null, unaffected)
+     * @return true if the volume is hidden, false if it may be visible
+     */
+    public boolean isOccluded(BoundingVolume bound) {
+        float ex;
+        float ey;
+        float ez;
+        if (bound instanceof BoundingBox) {
+            BoundingBox box = (BoundingBox) bound;
+            ex = box.getXExtent();
+            ey = box.getYExtent();
+            ez = box.getZExtent();
+        } else if (bound instanceof BoundingSphere) {
+            ex = ey = ez = ((BoundingSphere) bound).getRadius();
+        } else {
+            return false;
+        }
+        Vector3f center = bound.getCenter();
+        Matrix4f m = viewProjection;
+
+        float minX = Float.POSITIVE_INFINITY;
+        float minY = Float.POSITIVE_INFINITY;
+        float maxX = Float.NEGATIVE_INFINITY;
+        float maxY = Float.NEGATIVE_INFINITY;
+        float minZ = Float.POSITIVE_INFINITY;
+        for (int corner = 0; corner < 8; corner++) {
+            float x = center.x + ((corner & 1) == 0 ? -ex : ex);
+            float y = center.y + ((corner & 2) == 0 ? -ey : ey);
+            float z = center.z + ((corner & 4) == 0 ? -ez : ez);
+            float w = m.m30 * x + m.m31 * y + m.m32 * z + m.m33;
+            if (w < MIN_W) {
+                // the volume crosses the near plane
+                return false;
+            }
+            float invW = 1f / w;
+            float sx = (m.m00 * x + m.m01 * y + m.m02 * z + m.m03) * invW;
+            float sy = (m.m10 * x + m.m11 * y + m.m12 * z + m.m13) * invW;
+            float sz = (m.m20 * x + m.m21 * y + m.m22 * z + m.m23) * invW;
+            minX = Math.min(minX, sx);
+            maxX = Math.max(maxX, sx);
+            minY = Math.min(minY, sy);
+            maxY = Math.max(maxY, sy);
+            minZ = Math.min(minZ, sz);
+        }
+
+        int x0 = Math.max(0, (int) Math.floor((minX * 0.5f + 0.5f) * width));
+        int x1 = Math.min(width - 1, (int) Math.floor((maxX * 0.5f + 0.5f) * width));
+        int y0 = Math.max(0, (int) Math.floor((minY * 0.5f + 0.5f) * height));
+        int y1 = Math.min(height - 1, (int) Math.floor((maxY * 0.5f + 0.5f) * height));
+        if (x0 > x1 || y0 > y1) {
+            // entirely off screen, leave it to frustum culling
+            return false;
+        }
+
+        for (int ty = y0 / TILE_SIZE, tyEnd = y1 / TILE_SIZE; ty <= tyEnd; ty++) {
+            for (int tx = x0 / TILE_SIZE, txEnd = x1 / TILE_SIZE; tx <= txEnd; tx++) {
+                if (tileMaxDepth[ty * tilesX + tx] < minZ) {
+                    // the whole tile is nearer than the volume
+                    continue;
+                }
+                int px0 = Math.max(x0, tx * TILE_SIZE);
+                int px1 = Math.min(x1, tx * TILE_SIZE + TILE_SIZE - 1);
+                int py0 = Math.max(y0, ty * TILE_SIZE);
+                int py1 = Math.min(y1, ty * TILE_SIZE + TILE_SIZE - 1);
+                for (int y = py0; y <= py1; y++) {
+                    int row = y * width;
+                    for (int x = px0; x <= px1; x++) {
+                        if (depth[row + x] >= minZ) {
+                            return false;
+                        }
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Transforms a vertex to screen space and stores (x, y, z) in pixels and
+     * normalized depth at the given offset of {@link #screen}.
+     *
+     * @return false if the vertex is behind the near plane
+     */
+    private boolean transform(FloatBuffer data, int vertex, int offset) {
+        Vector3f v = tempVector;
+        v.x = data.get(vertex * 3);
+        v.y = data.get(vertex * 3 + 1);
+        v.z = data.get(vertex * 3 + 2);
+        Matrix4f m = modelViewProjection;
+        float w = m.m30 * v.x + m.m31 * v.y + m.m32 * v.z + m.m33;
+        if (w < MIN_W) {
+            return false;
+        }
+        float invW = 1f / w;
+        screen[offset] = ((m.m00 * v.x + m.m01 * v.y + m.m02 * v.z + m.m03) * invW * 0.5f + 0.5f) * width;
+        screen[offset + 1] = ((m.m10 * v.x + m.m11 * v.y + m.m12 * v.z + m.m13) * invW * 0.5f + 0.5f) * height;
+        screen[offset + 2] = (m.m20 * v.x + m.m21 * v.y + m.m22 * v.z + m.m23) * invW;
+        return true;
+    }
+
+    /**
+     * Rasterizes the triangle in {@link #screen}, writing the nearest depth
+     * at every covered pixel center. Both windings are accepted.
+     */
+    private void rasterizeTriangle() {
+        float x0 = screen[0], y0 = screen[1], z0 = screen[2];
+        float x1 = screen[4], y1 = screen[5], z1 = screen[6];
+        float x2 = screen[8], y2 = screen[9], z2 = screen[10];
+
+        float area = (x1 - x0) * (y2 - y0) - (x2 - x0) * (y1 - y0);
+        if (area == 0f) {
+            return;
+        }
+        if (area < 0f) {
+            float t = x1; x1 = x2; x2 = t;
+            t = y1; y1 = y2; y2 = t;
+            t = z1; z1 = z2; z2 = t;
+            area = -area;
+        }
+        float invArea = 1f / area;
+
+        int minX = Math.max(0, (int) Math.floor(Math.min(x0, Math.min(x1, x2))));
+        int maxX = Math.min(width - 1, (int) Math.ceil(Math.max(x0, Math.max(x1, x2))));
+        int minY = Math.max(0, (int) Math.floor(Math.min(y0, Math.min(y1, y2))));
+        int maxY = Math.min(height - 1, (int) Math.ceil(Math.max(y0, Math.max(y1, y2))));
+
+        for (int y = minY; y <= maxY; y++) {
+            float py = y + 0.5f;
+            int row = y * width;
+            for (int x = minX; x <= maxX; x++) {
+                float px = x + 0.5f;
+                float w0 = (x2 - x1) * (py - y1) - (y2 - y1) * (px - x1);
+                float w1 = (x0 - x2) * (py - y2) - (y0 - y2) * (px - x2);
+                float w2 = (x1 - x0) * (py - y0) - (y1 - y0) * (px - x0);
+                if (w0 < 0f || w1 < 0f || w2 < 0f) {
+                    continue;
+                }
+                float z = (w0 * z0 + w1 * z1 + w2 * z2) * invArea;
+                int index = row + x;
+                if (z < depth[index]) {
+                    depth[index] = z;
+                }
+            }
+        }
+    }
+}
@@ -994,6 +994,7 @@ public final class GLRenderer implements Renderer {
 
     @Override
     public void applyRenderState(RenderState state) {
+        statistics.onRenderStateUse(state);
         if (gl2 != null) {
             if (state.isWireframe() && !context.wireframe) {
                 gl2.glPolygonMode(GL.GL_FRONT_AND_BACK, GL2.GL_LINE);
@@ -1693,7 +1694,12 @@ public final class GLRenderer implements Renderer {
     protected void updateShaderBufferBlocks(final Shader shader) {
         final ListMap<String, ShaderBufferBlock> bufferBlocks = shader.getBufferBlockMap();
         for (int i = 0; i < bufferBlocks.size(); i++) {
-            updateShaderBufferBlock(shader, bufferBlocks.getValue(i));
+            ShaderBufferBlock bufferBlock = bufferBlocks.getValue(i);
+            if (bufferBlock.getBufferObject() == null) {
+                // e.g. a world binding block that was never bound
+                continue;
+            }
+            updateShaderBufferBlock(shader, bufferBlock);
         }
     }
 
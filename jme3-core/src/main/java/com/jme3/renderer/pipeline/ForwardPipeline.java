@@ -37,6 +37,7 @@ import com.jme3.profile.SpStep;
 import com.jme3.profile.VpStep;
 import com.jme3.renderer.RenderManager;
 import com.jme3.renderer.ViewPort;
+import com.jme3.renderer.occlusion.OcclusionCuller;
 import com.jme3.scene.Spatial;
 import com.jme3.util.SafeArrayList;
 import java.util.List;
@@ -49,6 +50,29 @@ import java.util.List;
 public class ForwardPipeline implements RenderPipeline<PipelineContext> {
 
     private boolean rendered = false;
+    private OcclusionCuller occlusionCuller;
+    
+    /**
+     * Sets the occlusion culler used to reject hidden spatials while the
+     * scenes of each view are flattened into the render queue. The culler
+     * is prepared for the camera of each view before its scenes are
+     * flattened.
+     * 
+     * @param occlusionCuller the culler to use, or null to disable
+     *     occlusion culling (default=null)
+     */
+    public void setOcclusionCuller(OcclusionCuller occlusionCuller) {
+        this.occlusionCuller = occlusionCuller;
+    }
+    
+    /**
+     * Returns the occlusion culler used by this pipeline.
+     * 
+     * @return the culler, or null if occlusion culling is disabled
+     */
+    public OcclusionCuller getOcclusionCuller() {
+        return occlusionCuller;
+    }
     
     @Override
     public PipelineContext fetchPipelineContext(RenderManager rm) {
@@ -95,9 +119,23 @@ public class ForwardPipeline implements RenderPipeline<PipelineContext> {
             prof.vpStep(VpStep.RenderScene, vp, null);
         }
         // flatten scenes into render queue
-        List<Spatial> scenes = vp.getScenes();
-        for (int i = scenes.size() - 1; i >= 0; i--) {
-            rm.renderScene(scenes.get(i), vp);
+        OcclusionCuller previousCuller = null;
+        if (occlusionCuller != null) {
+            occlusionCuller.prepare(vp.getCamera());
+            previousCuller = rm.getOcclusionCuller();
+            rm.setOcclusionCuller(occlusionCuller);
+        }
+        try {
+            List<Spatial> scenes = vp.getScenes();
+            for (int i = scenes.size() - 1; i >= 0; i--) {
+                rm.renderScene(scenes.get(i), vp);
+            }
+        } finally {
+            // restore the culler even if a scene fails to render, so it does
+            // not leak into viewports rendered by other pipelines
+            if (occlusionCuller != null) {
+                rm.setOcclusionCuller(previousCuller);
+            }
         }
         if (processors != null) {
             if (prof != null) {
@@ -0,0 +1,397 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.renderer.queue;
+
+import com.jme3.bounding.BoundingBox;
+import com.jme3.bounding.BoundingVolume;
+import com.jme3.light.LightList;
+import com.jme3.material.MatParamOverride;
+import com.jme3.material.Material;
+import com.jme3.math.Matrix4f;
+import com.jme3.renderer.RenderManager;
+import com.jme3.renderer.Statistics;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Mesh;
+import com.jme3.scene.instancing.InstancedGeometry;
+import com.jme3.shader.VarType;
+import com.jme3.util.SafeArrayList;
+import com.jme3.util.TempVars;
+import java.nio.FloatBuffer;
+import java.util.ArrayList;
+import java.util.function.Predicate;
+
+/**
+ * Draws runs of geometries that share a mesh and a material with a single
+ * instanced draw call.
+ *
+ * <p>When set on the {@link RenderManager} with
+ * {@link RenderManager#setAutoInstancer(AutoInstancer)}, the opaque bucket
+ * is rendered through {@link #render(GeometryList, RenderManager)} after it
+ * has been sorted. Within each range of geometries using the same
+ * {@link Material} instance, geometries that also share mesh, LOD level,
+ * lights and material parameter overrides are gathered and drawn through a
+ * transient {@link InstancedGeometry}, whose instance buffer is refilled
+ * every frame with the world transforms of the members. Unlike
+ * {@link com.jme3.scene.instancing.InstancedNode} this requires no change to
+ * the scene graph.
+ *
+ * <p>Only materials whose definition declares a <code>UseInstancing</code>
+ * parameter (such as Lighting, Unshaded and PBRLighting) are instanced; the
+ * parameter is switched on for the batches with a {@link MatParamOverride},
+ * so the material itself is left untouched. Batching is skipped while a
+ * forced material or technique is set on the render manager.
+ *
+ * @see InstancedGeometry
+ */
+public class AutoInstancer {
+
+    /**
+     * The default minimum number of geometries that are drawn as a batch.
+     */
+    public static final int DEFAULT_MIN_INSTANCES = 4;
+    /**
+     * The default maximum number of instances drawn in one call.
+     */
+    public static final int DEFAULT_MAX_INSTANCES = 1024;
+
+    private static final String USE_INSTANCING = "UseInstancing";
+
+    private final ArrayList<InstanceBatch> batches = new ArrayList<>();
+    private int batchesUsed;
+    private int minInstances = DEFAULT_MIN_INSTANCES;
+    private int maxInstances = DEFAULT_MAX_INSTANCES;
+    private boolean[] consumed = new boolean[32];
+    private Geometry[] members = new Geometry[32];
+
+    /**
+     * Sets the minimum number of matching geometries required to draw them
+     * as an instanced batch. Smaller groups are drawn one by one.
+     *
+     * @param minInstances the minimum batch size (&ge;2, default=4)
+     */
+    public void setMinInstances(int minInstances) {
+        if (minInstances < 2) {
+            throw new IllegalArgumentException("minInstances must be 2 or higher");
+        }
+        this.minInstances = minInstances;
+    }
+
+    /**
+     * Returns the minimum number of matching geometries drawn as a batch.
+     *
+     * @return the minimum batch size
+     */
+    public int getMinInstances() {
+        return minInstances;
+    }
+
+    /**
+     * Sets the maximum number of instances drawn in one call. Larger groups
+     * are split into several batches. Changing it discards the instance
+     * buffers allocated so far.
+     *
+     * @param maxInstances the maximum batch size (&ge;1, default=1024)
+     */
+    public void setMaxInstances(int maxInstances) {
+        if (maxInstances < 1) {
+            throw new IllegalArgumentException("maxInstances must be 1 or higher");
+        }
+        if (maxInstances != this.maxInstances) {
+            this.maxInstances = maxInstances;
+            batches.clear();
+        }
+    }
+
+    /**
+     * Returns the maximum number of instances drawn in one call.
+     *
+     * @return the maximum batch size
+     */
+    public int getMaxInstances() {
+        return maxInstances;
+    }
+
+    /**
+     * Tests whether the given geometry may be drawn as part of an
+     * automatically instanced batch.
+     *
+     * @param geom the geometry to test (not null)
+     * @return true if the geometry can be instanced
+     */
+    public boolean isInstanceable(Geometry geom) {
+        if (geom instanceof InstancedGeometry || geom.isIgnoreTransform()) {
+            return false;
+        }
+        Mesh mesh = geom.getMesh();
+        Material material = geom.getMaterial();
+        if (mesh == null || material == null || mesh.hasMorphTargets()) {
+            return false;
+        }
+        return material.getMaterialDef().getMaterialParam(USE_INSTANCING) != null;
+    }
+
+    /**
+     * Renders the given sorted list, drawing matching geometries as
+     * instanced batches and every other geometry with
+     * {@link RenderManager#renderGeometry(Geometry)}.
+     *
+     * @param list the sorted list to render (not null)
+     * @param rm the render manager to render with (not null)
+     */
+    public void render(GeometryList list, RenderManager rm) {
+        batchesUsed = 0;
+        int size = list.size();
+        if (rm.getForcedMaterial() != null || rm.getForcedTechnique() != null) {
+            for (int i = 0; i < size; i++) {
+                rm.renderGeometry(list.get(i));
+            }
+            return;
+        }
+
+        int i = 0;
+        while (i < size) {
+            Material material = list.get(i).getMaterial();
+            int end = i + 1;
+            while (end < size && list.get(end).getMaterial() == material) {
+                end++;
+            }
+            if (end - i < minInstances) {
+                for (; i < end; i++) {
+                    rm.renderGeometry(list.get(i));
+                }
+            } else {
+                renderRange(list, i, end, rm);
+                i = end;
+            }
+        }
+    }
+
+    /**
+     * Renders a range of geometries that all use the same material.
+     */
+    private void renderRange(GeometryList list, int start, int end, RenderManager rm) {
+        int length = end - start;
+        if (consumed.length < length) {
+            consumed = new boolean[Math.max(length, consumed.length * 2)];
+        }
+        if (members.length < length) {
+            members = new Geometry[Math.max(length, members.length * 2)];
+        }
+        Predicate<Geometry> filter = rm.getRenderFilter();
+
+        for (int i = 0; i < length; i++) {
+            consumed[i] = false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (consumed[i]) {
+                continue;
+            }
+            Geometry first = list.get(start + i);
+            consumed[i] = true;
+            if (!isInstanceable(first)) {
+                rm.renderGeometry(first);
+                continue;
+            }
+            if (filter != null && !filter.test(first)) {
+                continue;
+            }
+
+            int count = 0;
+            members[count++] = first;
+            for (int j = i + 1; j < length; j++) {
+                if (consumed[j]) {
+                    continue;
+                }
+                Geometry geom = list.get(start + j);
+                if (isCompatible(first, geom) && (filter == null || filter.test(geom))) {
+                    consumed[j] = true;
+                    members[count++] = geom;
+                }
+            }
+
+            if (count < minInstances) {
+                for (int j = 0; j < count; j++) {
+                    rm.renderGeometry(members[j]);
+                }
+            } else {
+                Statistics stats = rm.getRenderer().getStatistics();
+                for (int offset = 0; offset < count; offset += maxInstances) {
+                    int n = Math.min(maxInstances, count - offset);
+                    InstanceBatch batch = nextBatch();
+                    batch.set(members, offset, n);
+                    rm.renderGeometry(batch);
+                    batch.release();
+                    stats.onInstancedBatch(n);
+                }
+            }
+        }
+        for (int i = 0; i < length; i++) {
+            members[i] = null;
+        }
+    }
+
+    private boolean isCompatible(Geometry first, Geometry geom) {
+        return geom.getMesh() == first.getMesh()
+                && geom.getLodLevel() == first.getLodLevel()
+                && isInstanceable(geom)
+                && sameOverrides(first.getWorldMatParamOverrides(), geom.getWorldMatParamOverrides())
+                && sameLights(first.getWorldLightList(), geom.getWorldLightList());
+    }
+
+    private static boolean sameOverrides(SafeArrayList<MatParamOverride> a,
+            SafeArrayList<MatParamOverride> b) {
+        if (a.size() != b.size()) {
+            return false;
+        }
+        MatParamOverride[] arrayA = a.getArray();
+        MatParamOverride[] arrayB = b.getArray();
+        for (int i = 0; i < arrayA.length; i++) {
+            if (arrayA[i] != arrayB[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Light lists are compared as sets, since each geometry sorts its own
+     * list by distance.
+     */
+    private static boolean sameLights(LightList a, LightList b) {
+        if (a == b) {
+            return true;
+        }
+        int size = a.size();
+        if (size != b.size()) {
+            return false;
+        }
+        outer:
+        for (int i = 0; i < size; i++) {
+            if (a.get(i) == b.get(i)) {
+                continue;
+            }
+            for (int j = 0; j < size; j++) {
+                if (a.get(i) == b.get(j)) {
+                    continue outer;
+                }
+            }
+            return false;
+        }
+        return true;
+    }
+
+    private InstanceBatch nextBatch() {
+        if (batchesUsed == batches.size()) {
+            batches.add(new InstanceBatch(maxInstances));
+        }
+        return batches.get(batchesUsed++);
+    }
+
+    /**
+     * A transient instanced geometry standing in for a group of geometries.
+     */
+    private static final class InstanceBatch extends InstancedGeometry {
+
+        private final MatParamOverride useInstancing
+                = new MatParamOverride(VarType.Boolean, USE_INSTANCING, true);
+        private final Geometry[] instances;
+        private int numInstances;
+
+        InstanceBatch(int capacity) {
+            super("AutoInstanceBatch");
+            setMaxNumInstances(capacity);
+            instances = new Geometry[capacity];
+        }
+
+        void set(Geometry[] source, int offset, int count) {
+            Geometry first = source[offset];
+            setMesh(first.getMesh());
+            setMaterial(first.getMaterial());
+            lodLevel = first.getLodLevel();
+            worldLights = first.getWorldLightList();
+            worldOverrides.clear();
+            worldOverrides.addAll(first.getWorldMatParamOverrides());
+            worldOverrides.add(useInstancing);
+
+            FloatBuffer fb = (FloatBuffer) getTransformUserInstanceData().getData();
+            fb.clear();
+            TempVars vars = TempVars.get();
+            float[] temp = vars.matrixWrite;
+            for (int i = 0; i < count; i++) {
+                Geometry geom = source[offset + i];
+                instances[i] = geom;
+                Matrix4f worldMatrix = geom.getWorldMatrix();
+                updateInstance(worldMatrix, temp, 0, vars.tempMat3, vars.quat1);
+                fb.put(temp);
+            }
+            vars.release();
+            fb.flip();
+            getTransformUserInstanceData().updateData(fb);
+
+            numInstances = count;
+            setBoundRefresh();
+        }
+
+        void release() {
+            for (int i = 0; i < numInstances; i++) {
+                instances[i] = null;
+            }
+            worldLights = null;
+        }
+
+        @Override
+        public int getNumVisibleInstances() {
+            return numInstances;
+        }
+
+        @Override
+        protected void updateWorldBound() {
+            refreshFlags &= ~RF_BOUND;
+            BoundingVolume resultBound = null;
+            for (int i = 0; i < numInstances; i++) {
+                BoundingVolume bound = instances[i].getWorldBound();
+                if (bound == null) {
+                    continue;
+                }
+                if (resultBound == null) {
+                    resultBound = bound.clone(worldBound);
+                } else {
+                    resultBound.mergeLocal(bound);
+                }
+            }
+            if (resultBound == null) {
+                resultBound = new BoundingBox(getWorldTranslation(), 0f, 0f, 0f);
+            }
+            worldBound = resultBound;
+        }
+    }
+}
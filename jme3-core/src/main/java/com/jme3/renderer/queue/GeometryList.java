@@ -37,6 +37,7 @@ import java.util.NoSuchElementException;
 import com.jme3.renderer.Camera;
 import com.jme3.scene.Geometry;
 import com.jme3.util.ListSort;
+import com.jme3.util.RadixSort;
 
 /**
  * This class is a special purpose list of {@link Geometry} objects for render
@@ -50,8 +51,16 @@ public class GeometryList implements Iterable<Geometry>{
 
     private static final int DEFAULT_SIZE = 32;
 
+    /**
+     * The default minimum size for which lists sorted by a
+     * {@link SortKeyComparator} use a radix sort.
+     */
+    public static final int DEFAULT_RADIX_SORT_THRESHOLD = 256;
+
     private Geometry[] geometries;
     private final ListSort listSort;
+    private RadixSort<Geometry> radixSort;
+    private int radixSortThreshold = DEFAULT_RADIX_SORT_THRESHOLD;
     private int size;
     private GeometryComparator comparator;
 
@@ -92,6 +101,32 @@ public class GeometryList implements Iterable<Geometry>{
         this.comparator.setCamera(cam);
     }
 
+    /**
+     * Sets the minimum list size from which the list is sorted with a radix
+     * sort over the keys of its {@link SortKeyComparator}, rather than with
+     * a comparison sort. Has no effect for other comparators.
+     *
+     * @param radixSortThreshold the minimum size (&ge;2, or
+     *     Integer.MAX_VALUE to always use the comparison sort,
+     *     default={@value #DEFAULT_RADIX_SORT_THRESHOLD})
+     */
+    public void setRadixSortThreshold(int radixSortThreshold) {
+        if (radixSortThreshold < 2) {
+            throw new IllegalArgumentException("radixSortThreshold must be at least 2");
+        }
+        this.radixSortThreshold = radixSortThreshold;
+    }
+
+    /**
+     * Returns the minimum list size from which a radix sort is used.
+     *
+     * @return the threshold
+     * @see #setRadixSortThreshold(int)
+     */
+    public int getRadixSortThreshold() {
+        return radixSortThreshold;
+    }
+
     /**
      * Returns the number of elements in this GeometryList.
      *
@@ -150,10 +185,14 @@ public class GeometryList implements Iterable<Geometry>{
 
     /**
      * Sorts the elements in the list according to their Comparator.
+     * Lists of at least {@link #getRadixSortThreshold()} elements with a
+     * {@link SortKeyComparator} are radix sorted by key instead.
      */
     @SuppressWarnings("unchecked")
     public void sort() {
-        if (size > 1) {
+        if (size >= radixSortThreshold && comparator instanceof SortKeyComparator) {
+            radixSort();
+        } else if (size > 1) {
             // sort the spatial list using the comparator
             if (listSort.getLength() != size) {
                 listSort.allocateStack(size);
@@ -162,6 +201,18 @@ public class GeometryList implements Iterable<Geometry>{
         }
     }
 
+    private void radixSort() {
+        if (radixSort == null) {
+            radixSort = new RadixSort<>();
+        }
+        SortKeyComparator keyComparator = (SortKeyComparator) comparator;
+        long[] keys = radixSort.getKeys(size);
+        for (int i = 0; i < size; i++) {
+            keys[i] = keyComparator.getSortKey(geometries[i]);
+        }
+        radixSort.sort(geometries, size);
+    }
+
     @Override
     public Iterator<Geometry> iterator() {
         return new Iterator<Geometry>() {
@@ -36,7 +36,7 @@ import com.jme3.math.Vector3f;
 import com.jme3.renderer.Camera;
 import com.jme3.scene.Geometry;
 
-public class OpaqueComparator implements GeometryComparator {
+public class OpaqueComparator implements SortKeyComparator {
 
     private Camera cam;
     private final Vector3f tempVec  = new Vector3f();
@@ -92,4 +92,23 @@ public class OpaqueComparator implements GeometryComparator {
             return compareResult;
         }
     }
+
+    /**
+     * Packs the material sort id (high 32 bits) and the distance to the
+     * camera (low 32 bits) into a key that orders geometries exactly like
+     * {@link #compare(Geometry, Geometry)}.
+     *
+     * @param geom the geometry to compute the key for (not null)
+     * @return the key, compared as an unsigned value
+     */
+    @Override
+    public long getSortKey(Geometry geom) {
+        // flipping the sign bit makes signed ids sort correctly as unsigned
+        long sortId = (geom.getMaterial().getSortId() ^ 0x80000000) & 0xFFFFFFFFL;
+        // adding zero turns -0 into +0, which compare() treats as equal
+        int bits = Float.floatToIntBits(distanceToCam(geom) + 0f);
+        // positive floats: set the sign bit; negative floats: flip all bits
+        bits ^= (bits >> 31) | 0x80000000;
+        return (sortId << 32) | (bits & 0xFFFFFFFFL);
+    }
 }
@@ -265,12 +265,22 @@ public class RenderQueue {
     }
 
     private void renderGeometryList(GeometryList list, RenderManager rm, Camera cam, boolean flush) {
+        renderGeometryList(list, rm, cam, flush, null);
+    }
+
+    private void renderGeometryList(GeometryList list, RenderManager rm, Camera cam, boolean flush,
+            AutoInstancer instancer) {
         list.setCamera(cam); // select camera for sorting
         list.sort();
+        if (instancer != null) {
+            instancer.render(list, rm);
+        }
         for (int i = 0; i < list.size(); i++) {
             Geometry obj = list.get(i);
             assert obj != null;
-            rm.renderGeometry(obj);
+            if (instancer == null) {
+                rm.renderGeometry(obj);
+            }
             obj.queueDistance = Float.NEGATIVE_INFINITY;
         }
         if (flush) {
@@ -312,7 +322,7 @@ public class RenderQueue {
                 renderGeometryList(guiList, rm, cam, clear);
                 break;
             case Opaque:
-                renderGeometryList(opaqueList, rm, cam, clear);
+                renderGeometryList(opaqueList, rm, cam, clear, rm.getAutoInstancer());
                 break;
             case Sky:
                 renderGeometryList(skyList, rm, cam, clear);
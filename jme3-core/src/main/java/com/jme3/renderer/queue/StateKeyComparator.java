@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.renderer.queue;
+
+import com.jme3.material.Material;
+import com.jme3.math.Vector3f;
+import com.jme3.renderer.Camera;
+import com.jme3.scene.Geometry;
+
+/**
+ * Sorts opaque geometries by a packed render key to minimize GPU state
+ * changes, then front-to-back.
+ *
+ * <p>The 64-bit key holds, from the most significant bits down:</p>
+ * <ul>
+ * <li>16 bits identifying the shader (technique and defines),</li>
+ * <li>16 bits identifying the bound textures,</li>
+ * <li>8 bits identifying the additional render state of the material,</li>
+ * <li>24 bits of depth between the camera's near and far planes.</li>
+ * </ul>
+ *
+ * <p>The first 32 bits are {@link Material#getSortId()}. Compared to
+ * {@link OpaqueComparator}, geometries that share a shader and textures
+ * are additionally grouped by render state, and depth is quantized, so
+ * geometries at nearly the same depth may be drawn in any order.</p>
+ *
+ * <p>Install it with
+ * {@link RenderQueue#setGeometryComparator(RenderQueue.Bucket, GeometryComparator)}.
+ * Large lists are sorted with a radix sort over the keys.</p>
+ */
+public class StateKeyComparator implements SortKeyComparator {
+
+    private static final int DEPTH_BITS = 24;
+    private static final int MAX_DEPTH = (1 << DEPTH_BITS) - 1;
+
+    private Camera cam;
+    private final Vector3f tempVec = new Vector3f();
+    private final Vector3f tempVec2 = new Vector3f();
+
+    @Override
+    public void setCamera(Camera cam) {
+        this.cam = cam;
+    }
+
+    @Override
+    public int compare(Geometry o1, Geometry o2) {
+        return Long.compareUnsigned(getSortKey(o1), getSortKey(o2));
+    }
+
+    @Override
+    public long getSortKey(Geometry geom) {
+        Material material = geom.getMaterial();
+        long key = (material.getSortId() & 0xFFFFFFFFL) << 32;
+
+        int stateHash = material.getAdditionalRenderState().contentHashCode();
+        stateHash ^= stateHash >>> 16;
+        stateHash ^= stateHash >>> 8;
+        key |= (long) (stateHash & 0xFF) << DEPTH_BITS;
+
+        return key | quantizeDepth(geom);
+    }
+
+    /**
+     * Maps the distance of a geometry along the view direction to
+     * [0, 2^24-1], front to back.
+     */
+    private int quantizeDepth(Geometry geom) {
+        float distance = geom.queueDistance;
+        if (distance == Float.NEGATIVE_INFINITY) {
+            Vector3f position = geom.getWorldBound() != null
+                    ? geom.getWorldBound().getCenter()
+                    : geom.getWorldTranslation();
+            distance = position.subtract(cam.getLocation(), tempVec).dot(cam.getDirection(tempVec2));
+            geom.queueDistance = distance;
+        }
+        float near = cam.getFrustumNear();
+        float far = cam.getFrustumFar();
+        float t = (distance - near) / (far - near);
+        if (!(t > 0f)) {
+            return 0;
+        }
+        if (t >= 1f) {
+            return MAX_DEPTH;
+        }
+        return (int) (t * MAX_DEPTH);
+    }
+}
@@ -47,6 +47,9 @@ import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Queue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -80,6 +83,16 @@ public class Node extends Spatial {
      * a whole list every time the scene graph changes.
      */
     private boolean updateListValid = false;
+    /**
+     * True if the geometric state of this node's child subtrees may be
+     * updated concurrently.
+     */
+    private boolean parallelUpdate = false;
+    /**
+     * The pool used for parallel geometric updates, or null to use the
+     * common fork-join pool.
+     */
+    private transient ForkJoinPool updatePool = null;
 
     /**
      * Instantiate a <code>Node</code> with no name, no parent, and no children.
@@ -313,25 +326,165 @@ public class Node extends Spatial {
             // a round-trip later on.
             // NOTE 9/19/09
             // Although it does save a round trip,
-            for (Spatial child : children.getArray()) {
-                if (updateGlobalLights){
-                    // we might have new global lights coming from a different
-                    // branch of the scene graph, so we need to propagate the
-                    // refresh flags down to all the children of every branch
-                    child.refreshFlags |= RF_LIGHTLIST;
-                    child.refreshFlags |= RF_GLOBAL_LIGHTS;
+            Spatial[] childArray = children.getArray();
+            if (parallelUpdate && childArray.length > 1 && !isInGeometryGroup()) {
+                if (updateGlobalLights) {
+                    for (Spatial child : childArray) {
+                        child.refreshFlags |= RF_LIGHTLIST;
+                        child.refreshFlags |= RF_GLOBAL_LIGHTS;
+                    }
+                }
+                updateChildrenInParallel(childArray);
+            } else {
+                for (Spatial child : childArray) {
+                    if (updateGlobalLights){
+                        // we might have new global lights coming from a different
+                        // branch of the scene graph, so we need to propagate the
+                        // refresh flags down to all the children of every branch
+                        child.refreshFlags |= RF_LIGHTLIST;
+                        child.refreshFlags |= RF_GLOBAL_LIGHTS;
+                    }
+                    child.updateGeometricState();
                 }
-                child.updateGeometricState();
             }
         }
 
         if ((refreshFlags & RF_BOUND) != 0) {
-            updateWorldBound();
+            refreshWorldBound();
         }
 
         assert refreshFlags == 0;
     }
 
+    /**
+     * Updates the geometric state of the given children on the update pool
+     * and waits for all of them to finish. Each child subtree is updated by
+     * exactly one thread; this node's own world bound is merged afterwards,
+     * in child order, by the calling thread.
+     */
+    private void updateChildrenInParallel(Spatial[] childArray) {
+        ForkJoinPool pool = updatePool != null ? updatePool : ForkJoinPool.commonPool();
+        int grain = Math.max(1, childArray.length / (pool.getParallelism() * 4));
+        UpdateChildrenTask task = new UpdateChildrenTask(childArray, 0, childArray.length, grain);
+        if (ForkJoinTask.inForkJoinPool()) {
+            // nested parallel node, already running on a worker
+            task.invoke();
+        } else {
+            pool.invoke(task);
+        }
+    }
+
+    /**
+     * Tests whether this node is below a {@link GeometryGroupNode}. The
+     * geometries of such a subtree share the group node's buffers, which
+     * {@link GeometryGroupNode#onTransformChange(Geometry)} updates without
+     * synchronization, so they must be updated by a single thread.
+     */
+    private boolean isInGeometryGroup() {
+        for (Node node = parent; node != null; node = node.getParent()) {
+            if (node instanceof GeometryGroupNode) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Enables or disables parallel geometric updates of this node's
+     * children. When enabled, {@link #updateGeometricState()} updates the
+     * world transforms, light lists and world bounds of sibling subtrees
+     * concurrently on a fork-join pool, and then merges the children's
+     * bounds on the calling thread exactly as a sequential update would.
+     *
+     * <p>Only geometric state is affected; controls are still updated
+     * sequentially by {@link #updateLogicalState(float)}. The children must
+     * be independent: no subtree may modify the scene graph or touch the
+     * renderer from its geometric update. This is not the case for
+     * {@link com.jme3.audio.AudioNode}s. A {@link GeometryGroupNode}, such
+     * as a {@link BatchNode}, and every node below one update their
+     * children sequentially even when this flag is set, because the
+     * group node's geometries share its buffers. Scene graph
+     * mutations made from a worker thread are reported by the
+     * {@link SceneGraphThreadWarden} when assertions are enabled.</p>
+     *
+     * <p>Parallel updates pay off for nodes with many children or a few
+     * large subtrees, typically the direct children of the root node.</p>
+     *
+     * @param parallelUpdate true to update child subtrees concurrently,
+     *     false to update them one after another (default=false)
+     * @see #setUpdatePool(java.util.concurrent.ForkJoinPool)
+     */
+    public void setParallelUpdate(boolean parallelUpdate) {
+        this.parallelUpdate = parallelUpdate && !(this instanceof GeometryGroupNode);
+    }
+
+    /**
+     * Tests whether the geometric state of this node's children is updated
+     * concurrently.
+     *
+     * @return true if parallel updates are enabled, otherwise false
+     * @see #setParallelUpdate(boolean)
+     */
+    public boolean isParallelUpdate() {
+        return parallelUpdate;
+    }
+
+    /**
+     * Sets the pool used for parallel geometric updates of this node's
+     * children.
+     *
+     * @param updatePool the pool to use, or null to use
+     *     {@link ForkJoinPool#commonPool()} (default=null)
+     * @see #setParallelUpdate(boolean)
+     */
+    public void setUpdatePool(ForkJoinPool updatePool) {
+        this.updatePool = updatePool;
+    }
+
+    /**
+     * Returns the pool used for parallel geometric updates of this node's
+     * children.
+     *
+     * @return the pool, or null if the common pool is used
+     */
+    public ForkJoinPool getUpdatePool() {
+        return updatePool;
+    }
+
+    /**
+     * Updates the geometric state of a range of children, splitting the
+     * range until it is no larger than the grain size.
+     */
+    private static final class UpdateChildrenTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Spatial[] children;
+        private final int from;
+        private final int to;
+        private final int grain;
+
+        UpdateChildrenTask(Spatial[] children, int from, int to, int grain) {
+            this.children = children;
+            this.from = from;
+            this.to = to;
+            this.grain = grain;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= grain) {
+                for (int i = from; i < to; i++) {
+                    children[i].updateGeometricState();
+                }
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(new UpdateChildrenTask(children, from, mid, grain),
+                    new UpdateChildrenTask(children, mid, to, grain));
+        }
+    }
+
     /**
      * <code>getTriangleCount</code> returns the number of triangles contained
      * in all sub-branches of this node that contain geometry.
@@ -73,6 +73,16 @@ public abstract class Spatial implements Savable, Cloneable, Collidable,
         CloneableSmartAsset, JmeCloneable, HasLocalTransform {
     private static final Logger logger = Logger.getLogger(Spatial.class.getName());
 
+    private static final IdentityCloneFunction<Material> SHARED_MATERIAL = new IdentityCloneFunction<>();
+    private static final IdentityCloneFunction<Mesh> SHARED_MESH = new IdentityCloneFunction<>();
+
+    /**
+     * A cloner per thread that clone() and deepClone() reuse, so that
+     * spawning copies of a large prefab doesn't grow a new index each time.
+     * It is taken out while in use, so nested clones create their own.
+     */
+    private static final ThreadLocal<Cloner> spareCloner = new ThreadLocal<>();
+
     /**
      * Specifies how frustum culling should be handled by
      * this spatial.
@@ -182,6 +192,15 @@ public abstract class Spatial implements Savable, Cloneable, Collidable,
      * as it's supposed to be class-specific and not runtime state.
      */
     private boolean requiresUpdates = true;
+    /**
+     * The store the world transform and world bound are written through
+     * to, or null if none.
+     */
+    transient TransformBoundsStore transformStore;
+    /**
+     * The slot index in {@link #transformStore}, or -1 if none.
+     */
+    transient int transformStoreIndex = -1;
 
     /**
      * Serialization only. Do not use.
@@ -689,6 +708,28 @@ public abstract class Spatial implements Savable, Cloneable, Collidable,
             worldTransform.combineWithParent(parent.worldTransform);
             refreshFlags &= ~RF_TRANSFORM;
         }
+        storeWorldTransform();
+    }
+
+    /**
+     * Writes the world transform through to the {@link TransformBoundsStore}
+     * this Spatial is registered with, if any.
+     */
+    private void storeWorldTransform() {
+        if (transformStore != null) {
+            transformStore.setTransform(transformStoreIndex, worldTransform);
+        }
+    }
+
+    /**
+     * Updates the world bound and writes it through to the
+     * {@link TransformBoundsStore} this Spatial is registered with, if any.
+     */
+    final void refreshWorldBound() {
+        updateWorldBound();
+        if (transformStore != null) {
+            transformStore.setBound(transformStoreIndex, worldBound);
+        }
     }
 
     /**
@@ -703,6 +744,7 @@ public abstract class Spatial implements Savable, Cloneable, Collidable,
         if (parent == null) {
             worldTransform.set(localTransform);
             refreshFlags &= ~RF_TRANSFORM;
+            storeWorldTransform();
         } else {
             TempVars vars = TempVars.get();
 
@@ -714,6 +756,7 @@ public abstract class Spatial implements Savable, Cloneable, Collidable,
                 if (hisParent == null) {
                     rootNode.worldTransform.set(rootNode.localTransform);
                     rootNode.refreshFlags &= ~RF_TRANSFORM;
+                    rootNode.storeWorldTransform();
                     i--;
                     break;
                 }
@@ -762,7 +805,7 @@ public abstract class Spatial implements Savable, Cloneable, Collidable,
         }
 
         // All children's bounds have been updated. Update my own now.
-        updateWorldBound();
+        refreshWorldBound();
     }
 
     private void runControlUpdate(float tpf) {
@@ -981,7 +1024,7 @@ public abstract class Spatial implements Savable, Cloneable, Collidable,
             updateWorldTransforms();
         }
         if ((refreshFlags & RF_BOUND) != 0) {
-            updateWorldBound();
+            refreshWorldBound();
         }
         if ((refreshFlags & RF_MATPARAM_OVERRIDE) != 0) {
             updateMatParamOverrides();
@@ -1468,7 +1511,7 @@ public abstract class Spatial implements Savable, Cloneable, Collidable,
      */
     public Spatial clone(boolean cloneMaterial) {
         // Set up the cloner for the type of cloning we want to do.
-        Cloner cloner = new Cloner();
+        Cloner cloner = obtainCloner();
 
         // First, we definitely do not want to clone our own parent
         cloner.setClonedValue(parent, null);
@@ -1476,16 +1519,21 @@ public abstract class Spatial implements Savable, Cloneable, Collidable,
         // If we aren't cloning materials then we will make sure those
         // aren't cloned also
         if (!cloneMaterial) {
-            cloner.setCloneFunction(Material.class, new IdentityCloneFunction<Material>());
+            cloner.setCloneFunction(Material.class, SHARED_MATERIAL);
         }
 
         // By default, the meshes are not cloned.  The geometry
         // may choose to selectively force them to be cloned, but
         // normally they will be shared.
-        cloner.setCloneFunction(Mesh.class, new IdentityCloneFunction<Mesh>());
+        cloner.setCloneFunction(Mesh.class, SHARED_MESH);
 
         // Clone it!
-        Spatial clone = cloner.clone(this);
+        Spatial clone;
+        try {
+            clone = cloner.clone(this);
+        } finally {
+            releaseCloner(cloner);
+        }
 
         // Because we've nulled the parent out we need to make sure
         // the transforms and stuff get refreshed.
@@ -1530,12 +1578,17 @@ public abstract class Spatial implements Savable, Cloneable, Collidable,
      */
     public Spatial deepClone() {
         // Set up the cloner for the type of cloning we want to do.
-        Cloner cloner = new Cloner();
+        Cloner cloner = obtainCloner();
 
         // First, we definitely do not want to clone our own parent
         cloner.setClonedValue(parent, null);
 
-        Spatial clone = cloner.clone(this);
+        Spatial clone;
+        try {
+            clone = cloner.clone(this);
+        } finally {
+            releaseCloner(cloner);
+        }
 
         // Because we've nulled the parent out we need to make sure
         // the transforms and stuff get refreshed.
@@ -1546,6 +1599,22 @@ public abstract class Spatial implements Savable, Cloneable, Collidable,
         return clone;
     }
 
+    private static Cloner obtainCloner() {
+        Cloner cloner = spareCloner.get();
+        if (cloner == null) {
+            return new Cloner();
+        }
+        spareCloner.set(null);
+        return cloner;
+    }
+
+    private static void releaseCloner(Cloner cloner) {
+        // Don't hold on to the cloned objects or to any functions
+        // registered during the clone
+        cloner.reset();
+        spareCloner.set(cloner);
+    }
+
     /**
      *  Called internally by com.jme3.util.clone.Cloner.  Do not call directly.
      */
@@ -1577,6 +1646,10 @@ public abstract class Spatial implements Savable, Cloneable, Collidable,
         this.localOverrides = cloner.clone(localOverrides);
         this.controls = cloner.clone(controls);
 
+        // A clone is not registered with the original's store
+        this.transformStore = null;
+        this.transformStoreIndex = -1;
+
         // Cloner doesn't handle maps on its own just yet.
         // Note: this is more advanced cloning than the old clone() method
         // did because it just shallow cloned the map.  In this case, we want
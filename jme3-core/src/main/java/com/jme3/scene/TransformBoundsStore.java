@@ -0,0 +1,478 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.scene;
+
+import com.jme3.bounding.BoundingBox;
+import com.jme3.bounding.BoundingSphere;
+import com.jme3.bounding.BoundingVolume;
+import com.jme3.math.Matrix4f;
+import com.jme3.math.Plane;
+import com.jme3.math.Quaternion;
+import com.jme3.math.Transform;
+import com.jme3.math.Vector3f;
+import com.jme3.renderer.Camera;
+import com.jme3.scene.threadwarden.SceneGraphThreadWarden;
+import java.nio.FloatBuffer;
+import java.util.Arrays;
+
+/**
+ * A flat, data-oriented copy of the world transforms and world bounds of a
+ * set of spatials.
+ *
+ * <p>Each registered {@link Spatial} is given a slot in a set of primitive
+ * arrays: its world matrix is kept as 12 consecutive floats (the top three
+ * rows of the 4x4 matrix, row-major) and its world bound as an axis-aligned
+ * box in six separate min/max arrays. Whenever the spatial recomputes its
+ * world transform or world bound during
+ * {@link Spatial#updateGeometricState()}, the new values are written through
+ * to its slot.</p>
+ *
+ * <p>This lets code that works on many spatials at once, such as culling or
+ * uploading instance transforms, read contiguous memory instead of chasing
+ * {@link Transform} and {@link BoundingVolume} objects all over the heap.
+ * See {@link #cull(Camera, int[])} and
+ * {@link #copyTransforms(int[], int, FloatBuffer)}.</p>
+ *
+ * <p>A spatial can be registered with at most one store. Slots are kept
+ * dense: removing a spatial moves the last one into its slot, so slot
+ * indices are only stable while the set of spatials does not change.</p>
+ */
+public class TransformBoundsStore {
+
+    /**
+     * The number of floats used to store one world matrix.
+     */
+    public static final int MATRIX_SIZE = 12;
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private Spatial[] spatials;
+    private float[] matrices;
+    private float[] minX;
+    private float[] minY;
+    private float[] minZ;
+    private float[] maxX;
+    private float[] maxY;
+    private float[] maxZ;
+    private boolean[] bounded;
+    private int size;
+
+    /**
+     * Creates an empty store.
+     */
+    public TransformBoundsStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty store with room for the given number of spatials.
+     *
+     * @param initialCapacity the initial number of slots (&ge;0)
+     */
+    public TransformBoundsStore(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity cannot be negative");
+        }
+        spatials = new Spatial[initialCapacity];
+        matrices = new float[initialCapacity * MATRIX_SIZE];
+        minX = new float[initialCapacity];
+        minY = new float[initialCapacity];
+        minZ = new float[initialCapacity];
+        maxX = new float[initialCapacity];
+        maxY = new float[initialCapacity];
+        maxZ = new float[initialCapacity];
+        bounded = new boolean[initialCapacity];
+    }
+
+    /**
+     * Registers a spatial with this store and copies its current world
+     * transform and world bound into a new slot.
+     *
+     * @param spatial the spatial to add (not null, not already registered
+     *     with a store)
+     * @return the index of the new slot
+     */
+    public int add(Spatial spatial) {
+        assert SceneGraphThreadWarden.assertOnCorrectThread(spatial);
+        if (spatial.transformStore != null) {
+            throw new IllegalStateException("Spatial " + spatial.getName()
+                    + " is already registered with a TransformBoundsStore");
+        }
+        if (size == spatials.length) {
+            grow(Math.max(DEFAULT_CAPACITY, size * 2));
+        }
+        int index = size++;
+        spatials[index] = spatial;
+        spatial.transformStore = this;
+        spatial.transformStoreIndex = index;
+        setTransform(index, spatial.worldTransform);
+        setBound(index, spatial.worldBound);
+        return index;
+    }
+
+    /**
+     * Unregisters a spatial from this store. The last slot is moved into
+     * the freed one.
+     *
+     * @param spatial the spatial to remove
+     * @return true if the spatial was registered with this store
+     */
+    public boolean remove(Spatial spatial) {
+        if (spatial == null || spatial.transformStore != this) {
+            return false;
+        }
+        assert SceneGraphThreadWarden.assertOnCorrectThread(spatial);
+        int index = spatial.transformStoreIndex;
+        int last = --size;
+        if (index != last) {
+            Spatial moved = spatials[last];
+            spatials[index] = moved;
+            moved.transformStoreIndex = index;
+            System.arraycopy(matrices, last * MATRIX_SIZE, matrices, index * MATRIX_SIZE, MATRIX_SIZE);
+            minX[index] = minX[last];
+            minY[index] = minY[last];
+            minZ[index] = minZ[last];
+            maxX[index] = maxX[last];
+            maxY[index] = maxY[last];
+            maxZ[index] = maxZ[last];
+            bounded[index] = bounded[last];
+        }
+        spatials[last] = null;
+        spatial.transformStore = null;
+        spatial.transformStoreIndex = -1;
+        return true;
+    }
+
+    /**
+     * Unregisters all spatials from this store.
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            spatials[i].transformStore = null;
+            spatials[i].transformStoreIndex = -1;
+            spatials[i] = null;
+        }
+        size = 0;
+    }
+
+    /**
+     * Returns the number of registered spatials.
+     *
+     * @return the count (&ge;0)
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the spatial stored in the given slot.
+     *
+     * @param index the slot index (&ge;0, &lt;size)
+     * @return the pre-existing spatial
+     */
+    public Spatial getSpatial(int index) {
+        checkIndex(index);
+        return spatials[index];
+    }
+
+    /**
+     * Returns the slot index of a spatial.
+     *
+     * @param spatial the spatial to look up
+     * @return the slot index, or -1 if the spatial is not registered with
+     *     this store
+     */
+    public int indexOf(Spatial spatial) {
+        if (spatial == null || spatial.transformStore != this) {
+            return -1;
+        }
+        return spatial.transformStoreIndex;
+    }
+
+    /**
+     * Copies the world matrix stored in the given slot.
+     *
+     * @param index the slot index (&ge;0, &lt;size)
+     * @param store storage for the result (modified if not null)
+     * @return the world matrix (either store or a new instance)
+     */
+    public Matrix4f getWorldMatrix(int index, Matrix4f store) {
+        checkIndex(index);
+        if (store == null) {
+            store = new Matrix4f();
+        }
+        int m = index * MATRIX_SIZE;
+        store.set(matrices[m], matrices[m + 1], matrices[m + 2], matrices[m + 3],
+                matrices[m + 4], matrices[m + 5], matrices[m + 6], matrices[m + 7],
+                matrices[m + 8], matrices[m + 9], matrices[m + 10], matrices[m + 11],
+                0f, 0f, 0f, 1f);
+        return store;
+    }
+
+    /**
+     * Copies the minimum corner of the world bound stored in the given slot.
+     *
+     * @param index the slot index (&ge;0, &lt;size)
+     * @param store storage for the result (modified if not null)
+     * @return the minimum corner (either store or a new instance)
+     */
+    public Vector3f getBoundsMin(int index, Vector3f store) {
+        checkIndex(index);
+        if (store == null) {
+            store = new Vector3f();
+        }
+        return store.set(minX[index], minY[index], minZ[index]);
+    }
+
+    /**
+     * Copies the maximum corner of the world bound stored in the given slot.
+     *
+     * @param index the slot index (&ge;0, &lt;size)
+     * @param store storage for the result (modified if not null)
+     * @return the maximum corner (either store or a new instance)
+     */
+    public Vector3f getBoundsMax(int index, Vector3f store) {
+        checkIndex(index);
+        if (store == null) {
+            store = new Vector3f();
+        }
+        return store.set(maxX[index], maxY[index], maxZ[index]);
+    }
+
+    /**
+     * Tests whether the given slot has a world bound. Spatials without a
+     * world bound, or with a bound that is neither a box nor a sphere, are
+     * treated as always visible by {@link #cull(Camera, int[])}.
+     *
+     * @param index the slot index (&ge;0, &lt;size)
+     * @return true if the slot holds a world bound
+     */
+    public boolean hasBound(int index) {
+        checkIndex(index);
+        return bounded[index];
+    }
+
+    /**
+     * Tests the stored world bounds against the frustum of the given camera
+     * and collects the indices of the slots that are at least partially
+     * inside it.
+     *
+     * <p>Only the bounds are tested: cull hints and the camera's plane
+     * state are ignored, and the camera must have been updated.</p>
+     *
+     * @param cam the camera to cull against (not null, unaffected)
+     * @param store storage for the visible slot indices (not null, length
+     *     &ge;size)
+     * @return the number of visible slots written to store
+     */
+    public int cull(Camera cam, int[] store) {
+        if (store.length < size) {
+            throw new IllegalArgumentException("store must have room for " + size + " indices");
+        }
+        float[] planes = new float[24];
+        for (int p = 0; p < 6; p++) {
+            Plane plane = cam.getWorldPlane(p);
+            Vector3f normal = plane.getNormal();
+            planes[p * 4] = normal.x;
+            planes[p * 4 + 1] = normal.y;
+            planes[p * 4 + 2] = normal.z;
+            planes[p * 4 + 3] = plane.getConstant();
+        }
+
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (!bounded[i]) {
+                store[count++] = i;
+                continue;
+            }
+            float cx = (minX[i] + maxX[i]) * 0.5f;
+            float cy = (minY[i] + maxY[i]) * 0.5f;
+            float cz = (minZ[i] + maxZ[i]) * 0.5f;
+            float ex = (maxX[i] - minX[i]) * 0.5f;
+            float ey = (maxY[i] - minY[i]) * 0.5f;
+            float ez = (maxZ[i] - minZ[i]) * 0.5f;
+            boolean inside = true;
+            for (int p = 0; p < 24; p += 4) {
+                float nx = planes[p];
+                float ny = planes[p + 1];
+                float nz = planes[p + 2];
+                float radius = Math.abs(ex * nx) + Math.abs(ey * ny) + Math.abs(ez * nz);
+                float distance = nx * cx + ny * cy + nz * cz - planes[p + 3];
+                if (distance < -radius) {
+                    inside = false;
+                    break;
+                }
+            }
+            if (inside) {
+                store[count++] = i;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Writes the world matrices of all slots to the given buffer, as
+     * column-major 4x4 matrices (16 floats each), in slot order.
+     *
+     * @param store the buffer to write to (not null, modified, at least
+     *     16*size floats remaining)
+     */
+    public void copyTransforms(FloatBuffer store) {
+        for (int i = 0; i < size; i++) {
+            putMatrix(i, store);
+        }
+    }
+
+    /**
+     * Writes the world matrices of the given slots to the given buffer, as
+     * column-major 4x4 matrices (16 floats each). Typically used with the
+     * result of {@link #cull(Camera, int[])} to upload the transforms of
+     * visible instances.
+     *
+     * @param indices the slot indices (not null, unaffected)
+     * @param count the number of indices to use (&ge;0)
+     * @param store the buffer to write to (not null, modified, at least
+     *     16*count floats remaining)
+     */
+    public void copyTransforms(int[] indices, int count, FloatBuffer store) {
+        for (int i = 0; i < count; i++) {
+            int index = indices[i];
+            checkIndex(index);
+            putMatrix(index, store);
+        }
+    }
+
+    /**
+     * Writes a world transform to the given slot, as a 3x4 matrix.
+     *
+     * @param index the slot index
+     * @param transform the world transform (not null, unaffected)
+     */
+    void setTransform(int index, Transform transform) {
+        Quaternion rotation = transform.getRotation();
+        Vector3f scale = transform.getScale();
+        Vector3f translation = transform.getTranslation();
+        float x = rotation.getX();
+        float y = rotation.getY();
+        float z = rotation.getZ();
+        float w = rotation.getW();
+
+        // same as Quaternion.toRotationMatrix(), without the temporaries
+        float norm = x * x + y * y + z * z + w * w;
+        float s = (norm == 1f) ? 2f : (norm > 0f) ? 2f / norm : 0f;
+        float xs = x * s;
+        float ys = y * s;
+        float zs = z * s;
+        float xx = x * xs;
+        float xy = x * ys;
+        float xz = x * zs;
+        float xw = w * xs;
+        float yy = y * ys;
+        float yz = y * zs;
+        float yw = w * ys;
+        float zz = z * zs;
+        float zw = w * zs;
+
+        float[] m = matrices;
+        int o = index * MATRIX_SIZE;
+        m[o] = (1 - (yy + zz)) * scale.x;
+        m[o + 1] = (xy - zw) * scale.y;
+        m[o + 2] = (xz + yw) * scale.z;
+        m[o + 3] = translation.x;
+        m[o + 4] = (xy + zw) * scale.x;
+        m[o + 5] = (1 - (xx + zz)) * scale.y;
+        m[o + 6] = (yz - xw) * scale.z;
+        m[o + 7] = translation.y;
+        m[o + 8] = (xz - yw) * scale.x;
+        m[o + 9] = (yz + xw) * scale.y;
+        m[o + 10] = (1 - (xx + yy)) * scale.z;
+        m[o + 11] = translation.z;
+    }
+
+    /**
+     * Writes a world bound to the given slot, as an axis-aligned box.
+     *
+     * @param index the slot index
+     * @param bound the world bound (may be null, unaffected)
+     */
+    void setBound(int index, BoundingVolume bound) {
+        float ex;
+        float ey;
+        float ez;
+        if (bound instanceof BoundingBox) {
+            BoundingBox box = (BoundingBox) bound;
+            ex = box.getXExtent();
+            ey = box.getYExtent();
+            ez = box.getZExtent();
+        } else if (bound instanceof BoundingSphere) {
+            ex = ey = ez = ((BoundingSphere) bound).getRadius();
+        } else {
+            bounded[index] = false;
+            return;
+        }
+        Vector3f center = bound.getCenter();
+        minX[index] = center.x - ex;
+        minY[index] = center.y - ey;
+        minZ[index] = center.z - ez;
+        maxX[index] = center.x + ex;
+        maxY[index] = center.y + ey;
+        maxZ[index] = center.z + ez;
+        bounded[index] = true;
+    }
+
+    private void putMatrix(int index, FloatBuffer store) {
+        float[] m = matrices;
+        int o = index * MATRIX_SIZE;
+        store.put(m[o]).put(m[o + 4]).put(m[o + 8]).put(0f);
+        store.put(m[o + 1]).put(m[o + 5]).put(m[o + 9]).put(0f);
+        store.put(m[o + 2]).put(m[o + 6]).put(m[o + 10]).put(0f);
+        store.put(m[o + 3]).put(m[o + 7]).put(m[o + 11]).put(1f);
+    }
+
+    private void grow(int capacity) {
+        spatials = Arrays.copyOf(spatials, capacity);
+        matrices = Arrays.copyOf(matrices, capacity * MATRIX_SIZE);
+        minX = Arrays.copyOf(minX, capacity);
+        minY = Arrays.copyOf(minY, capacity);
+        minZ = Arrays.copyOf(minZ, capacity);
+        maxX = Arrays.copyOf(maxX, capacity);
+        maxY = Arrays.copyOf(maxY, capacity);
+        maxZ = Arrays.copyOf(maxZ, capacity);
+        bounded = Arrays.copyOf(bounded, capacity);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("index " + index + " out of range [0, " + size + ")");
+        }
+    }
+}
@@ -164,7 +164,17 @@ public class InstancedGeometry extends Geometry {
         return transformInstanceData;
     }
 
-    private void updateInstance(Matrix4f worldMatrix, float[] store,
+    /**
+     * Encodes a world matrix into the instance data layout expected by the
+     * instancing shaders.
+     *
+     * @param worldMatrix the world matrix to encode (not null, unaffected)
+     * @param store the array to write the 16 encoded floats to (not null)
+     * @param offset the index of the first float to write
+     * @param tempMat3 temporary storage (not null, modified)
+     * @param tempQuat temporary storage (not null, modified)
+     */
+    protected void updateInstance(Matrix4f worldMatrix, float[] store,
                                 int offset, Matrix3f tempMat3,
                                 Quaternion tempQuat) {
         worldMatrix.toRotationMatrix(tempMat3);
@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.shader;
+
+import com.jme3.math.Matrix4f;
+import com.jme3.math.Vector2f;
+import com.jme3.math.Vector3f;
+import com.jme3.math.Vector4f;
+import com.jme3.renderer.Caps;
+import com.jme3.util.struct.Struct;
+import com.jme3.util.struct.fields.FloatField;
+import com.jme3.util.struct.fields.Matrix4fField;
+import com.jme3.util.struct.fields.Vector2fField;
+import com.jme3.util.struct.fields.Vector3fField;
+import com.jme3.util.struct.fields.Vector4fField;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * The camera and time {@link UniformBinding bindings} that are the same for
+ * every geometry of a view, laid out as the <code>g_FrameUniforms</code>
+ * uniform block.
+ *
+ * <p>Techniques opt in by importing {@link #LIBRARY} in all of their
+ * shaders; it declares the block in place of the matching uniforms when
+ * {@link #DEFINE} is set.
+ * The define is set, and the block bound, when the renderer supports
+ * uniform buffer objects and the shader language is GLSL 1.40 or GLSL ES
+ * 3.00 or later. These values are then uploaded once per view instead of
+ * once per shader, and the covered {@link #BINDINGS} are not bound as
+ * separate uniforms. The GLSL declaration must match the order of the
+ * fields below.</p>
+ */
+public class FrameUniforms implements Struct {
+
+    /**
+     * The name of the uniform block in GLSL.
+     */
+    public static final String BLOCK_NAME = "g_FrameUniforms";
+
+    /**
+     * The define set in shaders that declare the block.
+     */
+    public static final String DEFINE = "FRAME_UNIFORMS";
+
+    /**
+     * The GLSL library that declares the block.
+     */
+    public static final String LIBRARY = "Common/ShaderLib/FrameUniforms.glsllib";
+
+    /**
+     * The world parameters that are members of the block.
+     */
+    public static final Set<UniformBinding> BINDINGS = Collections.unmodifiableSet(EnumSet.of(
+            UniformBinding.ViewMatrix, UniformBinding.ProjectionMatrix,
+            UniformBinding.ViewProjectionMatrix, UniformBinding.ViewPort,
+            UniformBinding.CameraPosition, UniformBinding.Time,
+            UniformBinding.CameraDirection, UniformBinding.Tpf,
+            UniformBinding.CameraLeft, UniformBinding.Aspect,
+            UniformBinding.CameraUp, UniformBinding.FrameRate,
+            UniformBinding.Resolution, UniformBinding.ResolutionInverse,
+            UniformBinding.FrustumNearFar));
+
+    /**
+     * Tests whether shaders in the given language can declare the block.
+     *
+     * @param language the shader language, for example "GLSL150"
+     * @return true for GLSL 1.40 and GLSL ES 3.00 or later
+     */
+    public static boolean isSupported(String language) {
+        switch (Caps.valueOf(language)) {
+            case GLSL100:
+            case GLSL110:
+            case GLSL120:
+            case GLSL130:
+                return false;
+            default:
+                return true;
+        }
+    }
+
+    public final Matrix4fField viewMatrix = new Matrix4fField(0, "g_ViewMatrix", new Matrix4f());
+    public final Matrix4fField projectionMatrix = new Matrix4fField(1, "g_ProjectionMatrix", new Matrix4f());
+    public final Matrix4fField viewProjectionMatrix = new Matrix4fField(2, "g_ViewProjectionMatrix", new Matrix4f());
+    public final Vector4fField viewPort = new Vector4fField(3, "g_ViewPort", new Vector4f());
+    public final Vector3fField cameraPosition = new Vector3fField(4, "g_CameraPosition", new Vector3f());
+    public final FloatField time = new FloatField(5, "g_Time", 0f);
+    public final Vector3fField cameraDirection = new Vector3fField(6, "g_CameraDirection", new Vector3f());
+    public final FloatField tpf = new FloatField(7, "g_Tpf", 0f);
+    public final Vector3fField cameraLeft = new Vector3fField(8, "g_CameraLeft", new Vector3f());
+    public final FloatField aspect = new FloatField(9, "g_Aspect", 0f);
+    public final Vector3fField cameraUp = new Vector3fField(10, "g_CameraUp", new Vector3f());
+    public final FloatField frameRate = new FloatField(11, "g_FrameRate", 0f);
+    public final Vector2fField resolution = new Vector2fField(12, "g_Resolution", new Vector2f());
+    public final Vector2fField resolutionInverse = new Vector2fField(13, "g_ResolutionInverse", new Vector2f());
+    public final Vector2fField frustumNearFar = new Vector2fField(14, "g_FrustumNearFar", new Vector2f());
+}
@@ -309,7 +309,7 @@ public final class Shader extends NativeObject {
      */
     public ShaderBufferBlock getBufferBlock(final String name) {
 
-        assert name.startsWith("m_");
+        assert name.startsWith("m_") || name.startsWith("g_");
 
         ShaderBufferBlock block = bufferBlocks.get(name);
 
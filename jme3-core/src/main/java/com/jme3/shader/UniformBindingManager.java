@@ -34,8 +34,16 @@ package com.jme3.shader;
 import com.jme3.material.Material;
 import com.jme3.math.*;
 import com.jme3.renderer.Camera;
+import com.jme3.renderer.RenderContext;
 import com.jme3.renderer.RenderManager;
 import com.jme3.system.Timer;
+import com.jme3.util.ListMap;
+import com.jme3.util.struct.StructStd140BufferObject;
+import com.jme3.util.struct.fields.FloatField;
+import com.jme3.util.struct.fields.Matrix4fField;
+import com.jme3.util.struct.fields.Vector2fField;
+import com.jme3.util.struct.fields.Vector3fField;
+import com.jme3.util.struct.fields.Vector4fField;
 
 import java.util.ArrayList;
 
@@ -51,6 +59,13 @@ import java.util.ArrayList;
  */
 public class UniformBindingManager {
 
+    /**
+     * The buffer binding point reserved for the {@link FrameUniforms} block.
+     * Materials bind their own uniform buffer objects from binding point 0
+     * upwards.
+     */
+    public static final int FRAME_UNIFORMS_BINDING = RenderContext.maxBufferObjectUnits - 1;
+
     private Timer timer;
     private float near, far;
     private Float time, tpf;
@@ -80,6 +95,9 @@ public class UniformBindingManager {
     private final Vector2f resolution = new Vector2f();
     private final Vector2f resolutionInv = new Vector2f();
     private final Vector2f nearFar = new Vector2f();
+    private final FrameUniforms frameUniforms = new FrameUniforms();
+    private StructStd140BufferObject frameUniformsBuffer;
+    private boolean frameUniformsChanged = true;
 
     /**
      * Internal use only.
@@ -89,6 +107,15 @@ public class UniformBindingManager {
      * @param shader (not null)
      */
     public void updateUniformBindings(Shader shader) {
+        ListMap<String, ShaderBufferBlock> blocks = shader.getBufferBlockMap();
+        if (!blocks.isEmpty()) {
+            ShaderBufferBlock frameBlock = blocks.get(FrameUniforms.BLOCK_NAME);
+            if (frameBlock != null) {
+                frameBlock.setBufferObject(ShaderBufferBlock.BufferType.UniformBufferObject,
+                        getFrameUniformsBuffer());
+            }
+        }
+
         ArrayList<Uniform> params = shader.getBoundUniforms();
         for (int i = 0; i < params.size(); i++) {
             Uniform u = params.get(i);
@@ -221,6 +248,76 @@ public class UniformBindingManager {
         }
     }
 
+    /**
+     * Returns the uniform buffer holding the {@link FrameUniforms} of the
+     * current view, updating it first if the camera, the viewport or the
+     * frame time changed. Only the fields that changed are marked for
+     * upload.
+     *
+     * @return the buffer object (bound to {@link #FRAME_UNIFORMS_BINDING})
+     */
+    public StructStd140BufferObject getFrameUniformsBuffer() {
+        if (frameUniformsBuffer == null) {
+            frameUniformsBuffer = new StructStd140BufferObject();
+            frameUniformsBuffer.setBinding(FRAME_UNIFORMS_BINDING);
+        }
+        if (frameUniformsChanged) {
+            FrameUniforms f = frameUniforms;
+            setIfChanged(f.viewMatrix, viewMatrix);
+            setIfChanged(f.projectionMatrix, projMatrix);
+            setIfChanged(f.viewProjectionMatrix, viewProjMatrix);
+            viewPort.set(viewX, viewY, viewWidth, viewHeight);
+            setIfChanged(f.viewPort, viewPort);
+            setIfChanged(f.cameraPosition, camLoc);
+            setIfChanged(f.cameraDirection, camDir);
+            setIfChanged(f.cameraLeft, camLeft);
+            setIfChanged(f.cameraUp, camUp);
+            setIfChanged(f.time, time);
+            setIfChanged(f.tpf, tpf);
+            setIfChanged(f.aspect, ((float) viewWidth) / viewHeight);
+            setIfChanged(f.frameRate, timer != null ? timer.getFrameRate() : 0f);
+            resolution.set(viewWidth, viewHeight);
+            setIfChanged(f.resolution, resolution);
+            resolutionInv.set(1f / viewWidth, 1f / viewHeight);
+            setIfChanged(f.resolutionInverse, resolutionInv);
+            nearFar.set(near, far);
+            setIfChanged(f.frustumNearFar, nearFar);
+            frameUniformsBuffer.update(frameUniforms);
+            frameUniformsChanged = false;
+        }
+        return frameUniformsBuffer;
+    }
+
+    private static void setIfChanged(Matrix4fField field, Matrix4f value) {
+        if (!field.getValue().equals(value)) {
+            field.getValueForUpdate().set(value);
+        }
+    }
+
+    private static void setIfChanged(Vector4fField field, Vector4f value) {
+        if (!field.getValue().equals(value)) {
+            field.getValueForUpdate().set(value);
+        }
+    }
+
+    private static void setIfChanged(Vector3fField field, Vector3f value) {
+        if (!field.getValue().equals(value)) {
+            field.getValueForUpdate().set(value);
+        }
+    }
+
+    private static void setIfChanged(Vector2fField field, Vector2f value) {
+        if (!field.getValue().equals(value)) {
+            field.getValueForUpdate().set(value);
+        }
+    }
+
+    private static void setIfChanged(FloatField field, Float value) {
+        if (value != null && !value.equals(field.getValue())) {
+            field.setValue(value);
+        }
+    }
+
     /**
      * Internal use only. Sets the world matrix to use for future
      * rendering. This has no effect unless objects are rendered manually
@@ -254,6 +351,7 @@ public class UniformBindingManager {
 
         near = cam.getFrustumNear();
         far = cam.getFrustumFar();
+        frameUniformsChanged = true;
     }
 
     public void setViewPort(int viewX, int viewY, int viewWidth, int viewHeight) {
@@ -261,6 +359,7 @@ public class UniformBindingManager {
         this.viewY = viewY;
         this.viewWidth = viewWidth;
         this.viewHeight = viewHeight;
+        frameUniformsChanged = true;
     }
  
     /**
@@ -272,5 +371,6 @@ public class UniformBindingManager {
         // time for this frame to avoid inter-frame drift.
         time = timer.getTimeInSeconds();
         tpf = timer.getTimePerFrame();
+        frameUniformsChanged = true;
     }
 }
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.util;
+
+import java.util.Arrays;
+
+/**
+ * Stable least-significant-digit radix sort of values by unsigned 64-bit
+ * keys.
+ *
+ * <p>Like {@link ListSort}, a RadixSort is meant to be kept alongside the
+ * list it sorts: its scratch arrays grow with the list and are reused
+ * between sorts, so steady-state sorting does not allocate.</p>
+ *
+ * <p>Keys are sorted one byte at a time, lowest byte first. Passes over
+ * bytes that are identical for every key are skipped, so keys that only
+ * use part of their 64 bits cost fewer passes.</p>
+ *
+ * @param <T> Type of sorted entries
+ */
+public class RadixSort<T> {
+
+    private static final int RADIX_BITS = 8;
+    private static final int BUCKETS = 1 << RADIX_BITS;
+    private static final int PASSES = Long.SIZE / RADIX_BITS;
+
+    private final int[] counts = new int[BUCKETS * PASSES];
+    private long[] keys = new long[0];
+    private long[] tmpKeys = new long[0];
+    private Object[] tmpValues = new Object[0];
+
+    /**
+     * Returns the key array, grown to hold at least the given number of
+     * keys. Fill it with the key of each value before calling
+     * {@link #sort(Object[], int)}.
+     *
+     * @param size the number of values to sort (&ge;0)
+     * @return the internal key array (length &ge;size)
+     */
+    public long[] getKeys(int size) {
+        if (keys.length < size) {
+            int capacity = Math.max(size, keys.length * 2);
+            keys = new long[capacity];
+            tmpKeys = new long[capacity];
+            tmpValues = new Object[capacity];
+        }
+        return keys;
+    }
+
+    /**
+     * Sorts the first size values by the keys previously stored in
+     * {@link #getKeys(int)}, comparing keys as unsigned values. Values with
+     * equal keys keep their relative order. On return, the key array is
+     * sorted too.
+     *
+     * @param values the values to sort (not null, modified)
+     * @param size the number of values to sort (&ge;0, &le;the size passed
+     *     to getKeys)
+     */
+    @SuppressWarnings("unchecked")
+    public void sort(T[] values, int size) {
+        if (size < 2) {
+            return;
+        }
+        long[] srcKeys = keys;
+        long[] dstKeys = tmpKeys;
+        Object[] srcValues = values;
+        Object[] dstValues = tmpValues;
+
+        // one pass over the keys computes the histograms of all bytes
+        int[] count = counts;
+        Arrays.fill(count, 0);
+        for (int i = 0; i < size; i++) {
+            long key = srcKeys[i];
+            for (int pass = 0; pass < PASSES; pass++) {
+                count[pass * BUCKETS + (int) ((key >>> (pass * RADIX_BITS)) & (BUCKETS - 1))]++;
+            }
+        }
+
+        for (int pass = 0; pass < PASSES; pass++) {
+            int offset = pass * BUCKETS;
+            int shift = pass * RADIX_BITS;
+            if (count[offset + (int) ((srcKeys[0] >>> shift) & (BUCKETS - 1))] == size) {
+                // every key has the same byte here, nothing to reorder
+                continue;
+            }
+            int sum = 0;
+            for (int b = 0; b < BUCKETS; b++) {
+                int c = count[offset + b];
+                count[offset + b] = sum;
+                sum += c;
+            }
+            for (int i = 0; i < size; i++) {
+                long key = srcKeys[i];
+                int index = count[offset + (int) ((key >>> shift) & (BUCKETS - 1))]++;
+                dstKeys[index] = key;
+                dstValues[index] = srcValues[i];
+            }
+            long[] swapKeys = srcKeys;
+            srcKeys = dstKeys;
+            dstKeys = swapKeys;
+            Object[] swapValues = srcValues;
+            srcValues = dstValues;
+            dstValues = swapValues;
+        }
+
+        if (srcValues != values) {
+            System.arraycopy(srcValues, 0, values, 0, size);
+            System.arraycopy(srcKeys, 0, keys, 0, size);
+        }
+        // don't hold on to the sorted values
+        Arrays.fill(tmpValues, 0, size, null);
+    }
+}
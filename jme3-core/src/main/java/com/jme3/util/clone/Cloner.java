@@ -32,9 +32,10 @@
 
 package com.jme3.util.clone;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.Array;
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
 import java.util.HashMap;
 import java.util.IdentityHashMap;
 import java.util.logging.Logger;
@@ -89,6 +90,7 @@ import java.util.concurrent.ConcurrentHashMap;
  *  Foo fooClone = cloner.clone(foo);
  *  cloner.clearIndex(); // prepare it for reuse
  *  Foo fooClone2 = cloner.clone(foo);
+ *  cloner.reset(); // also drop any custom clone functions
  *
  *  // Example 2: using the utility method that self-instantiates a temporary cloner.
  *  Foo fooClone = Cloner.deepClone(foo);
@@ -101,6 +103,19 @@ public class Cloner {
 
     private static final Logger log = Logger.getLogger(Cloner.class.getName());
 
+    /**
+     *  Stands in the index for objects that were cloned as null, so that
+     *  a single lookup tells whether an object has been cloned.
+     */
+    private static final Object NULL_CLONE = new Object();
+
+    /**
+     *  Stands in the function cache for types without a custom function.
+     */
+    private static final CloneFunction NO_FUNCTION = new IdentityCloneFunction();
+
+    private static final MethodType CLONE_TYPE = MethodType.methodType(Object.class, Object.class);
+
     /**
      *  Keeps track of the objects that have been cloned so far.
      */
@@ -111,16 +126,26 @@ public class Cloner {
      */
     private final Map<Class, CloneFunction> functions = new HashMap<>();
 
+    /**
+     *  The function found for each type looked up so far, including the
+     *  types without one.  Cleared whenever the functions change.
+     */
+    private final Map<Class, CloneFunction> functionCache = new HashMap<>();
+
     /**
      *  Cache the clone methods once for all cloners.
      */
-    private static final Map<Class, Method> methodCache = new ConcurrentHashMap<>();
+    private static final Map<Class, MethodHandle> methodCache = new ConcurrentHashMap<>();
 
     /**
      *  Creates a new cloner with only default clone functions and an empty
      *  object index.
      */
     public Cloner() {
+        registerDefaultFunctions();
+    }
+
+    private void registerDefaultFunctions() {
         // Register some standard types
         ListCloneFunction listFunction = new ListCloneFunction();
         functions.put(java.util.ArrayList.class, listFunction);
@@ -221,7 +246,10 @@ public class Cloner {
 
         // Check the index to see if we already have it
         Object clone = index.get(object);
-        if (clone != null || index.containsKey(object)) {
+        if (clone != null) {
+            if (clone == NULL_CLONE) {
+                clone = null;
+            }
             if (log.isLoggable(Level.FINER)) {
                 log.finer("cloned:" + object.getClass() + "@" + System.identityHashCode(object)
                             + " as cached:" + (clone == null ? "null" : (clone.getClass() + "@" + System.identityHashCode(clone))));
@@ -236,7 +264,7 @@ public class Cloner {
 
             // Store the object in the identity map so that any circular references
             // are resolvable.
-            index.put(object, result);
+            setClonedValue(object, result);
 
             // Now call the function again to deep clone the fields
             f.cloneFields(this, result, object);
@@ -304,10 +332,14 @@ public class Cloner {
      * setting
      */
     public <T> void setCloneFunction(Class<T> type, CloneFunction<T> function) {
+        CloneFunction previous;
         if (function == null) {
-            functions.remove(type);
+            previous = functions.remove(type);
         } else {
-            functions.put(type, function);
+            previous = functions.put(type, function);
+        }
+        if (previous != function) {
+            functionCache.clear();
         }
     }
 
@@ -321,21 +353,22 @@ public class Cloner {
      */
     @SuppressWarnings("unchecked")
     public <T> CloneFunction<T> getCloneFunction(Class<T> type) {
-        CloneFunction<T> result = functions.get(type);
+        CloneFunction<T> result = functionCache.get(type);
         if (result == null) {
-            // Do a more exhaustive search
-            for (Map.Entry<Class, CloneFunction> e : functions.entrySet()) {
-                if (e.getKey().isAssignableFrom(type)) {
-                    result = e.getValue();
-                    break;
+            result = functions.get(type);
+            if (result == null) {
+                // Do a more exhaustive search
+                for (Map.Entry<Class, CloneFunction> e : functions.entrySet()) {
+                    if (e.getKey().isAssignableFrom(type)) {
+                        result = e.getValue();
+                        break;
+                    }
                 }
             }
-            if (result != null) {
-                // Cache it for later
-                functions.put(type, result);
-            }
+            // Cache it for later, including the lack of a function
+            functionCache.put(type, result == null ? NO_FUNCTION : result);
         }
-        return result;
+        return result == NO_FUNCTION ? null : result;
     }
 
     /**
@@ -350,7 +383,7 @@ public class Cloner {
      * @param clone the instance to be returned (alias created)
      */
     public <T> void setClonedValue(T original, T clone) {
-        index.put(original, clone);
+        index.put(original, clone == null ? NULL_CLONE : clone);
     }
 
     /**
@@ -374,6 +407,20 @@ public class Cloner {
         index.clear();
     }
 
+    /**
+     *  Clears the object index and restores the default clone functions,
+     *  leaving the cloner in the state of a new one.  Unlike a new cloner,
+     *  a reset one keeps the storage its index grew to, so reusing a cloner
+     *  for repeated clones of large object graphs avoids growing the index
+     *  again for every clone.
+     */
+    public void reset() {
+        index.clear();
+        functions.clear();
+        functionCache.clear();
+        registerDefaultFunctions();
+    }
+
     /**
      *  Performs a raw shallow Java clone using reflection.  This call does NOT
      *  check against the clone index and so will return new objects every time
@@ -392,13 +439,17 @@ public class Cloner {
         if (object == null) {
             return null;
         }
-        Method m = methodCache.get(object.getClass());
+        MethodHandle m = methodCache.get(object.getClass());
         if (m == null) {
             try {
-                // Lookup the method and cache it
-                m = object.getClass().getMethod("clone");
+                // Lookup the method and cache it as a handle, which skips
+                // the access checks of reflective calls
+                m = MethodHandles.lookup().unreflect(object.getClass().getMethod("clone"))
+                        .asType(CLONE_TYPE);
             } catch (NoSuchMethodException e) {
                 throw new CloneNotSupportedException("No public clone method found for:" + object.getClass());
+            } catch (IllegalAccessException e) {
+                throw new RuntimeException("Error cloning object of type:" + object.getClass(), e);
             }
             methodCache.put(object.getClass(), m);
 
@@ -407,8 +458,8 @@ public class Cloner {
 
         try {
             Class<? extends T> type = objectClass(object);
-            return type.cast(m.invoke(object));
-        } catch (IllegalAccessException | InvocationTargetException e) {
+            return type.cast((Object) m.invokeExact((Object) object));
+        } catch (Throwable e) {
             throw new RuntimeException("Error cloning object of type:" + object.getClass(), e);
         }
     }
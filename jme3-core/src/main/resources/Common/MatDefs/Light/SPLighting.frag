@@ -1,4 +1,5 @@
 #import "Common/ShaderLib/GLSLCompat.glsllib"
+#import "Common/ShaderLib/FrameUniforms.glsllib"
 #import "Common/ShaderLib/Parallax.glsllib"
 #import "Common/ShaderLib/Optics.glsllib"
 #ifndef VERTEX_LIGHTING
@@ -21,7 +22,9 @@ varying vec4 DiffuseSum;
 varying vec3 SpecularSum;
 
 #ifndef VERTEX_LIGHTING
-    uniform mat4 g_ViewMatrix;
+    #ifndef FRAME_UNIFORMS_GLSLLIB
+        uniform mat4 g_ViewMatrix;
+    #endif
     uniform vec4 g_LightData[NB_LIGHTS];
     uniform int g_LightCount;
     varying vec3 vPos; 
@@ -1,4 +1,5 @@
 #import "Common/ShaderLib/GLSLCompat.glsllib"
+#import "Common/ShaderLib/FrameUniforms.glsllib"
 #import "Common/ShaderLib/Instancing.glsllib"
 #import "Common/ShaderLib/Skinning.glsllib"
 #import "Common/ShaderLib/Lighting.glsllib"
@@ -11,8 +12,10 @@
 // fog - jayfella
 #ifdef USE_FOG
 varying float fogDistance;
+#ifndef FRAME_UNIFORMS_GLSLLIB
 uniform vec3 g_CameraPosition;
 #endif
+#endif
 
 uniform vec4 m_Ambient;
 uniform vec4 m_Diffuse;
@@ -57,7 +60,9 @@ attribute vec3 inNormal;
 #endif
 
 #ifdef USE_REFLECTION
-    uniform vec3 g_CameraPosition;
+    #ifndef FRAME_UNIFORMS_GLSLLIB
+        uniform vec3 g_CameraPosition;
+    #endif
     uniform vec3 m_FresnelParams;
     varying vec4 refVec;
 
@@ -120,6 +120,23 @@ import java.util.logging.Logger;
  * <p>19. "capsule data" - X bytes of data, where X = the number of bytes from
  * item 18
  *
+ * <p>When a chunk size is set, the version in item 2 has the
+ * {@link FormatVersion#FLAG_CHUNKED} flag set and the capsules are grouped
+ * into chunks that can be decoded independently of each other.  Items 17
+ * to 19 are unchanged, data locations still count from the start of the
+ * capsule-data section, and these items come between items 16 and 17:
+ *
+ * <p>16a. "number of chunks" - 4 bytes
+ *
+ * <p>16b. "chunk length" - 4 bytes for each chunk - the number of bytes
+ * of capsule data in the chunk.  Chunks are stored one after another in
+ * the capsule-data section.
+ *
+ * <p>When a buffer encoding policy selects an encoding for any buffer
+ * field, the version in item 2 has the
+ * {@link FormatVersion#FLAG_ENCODED_BUFFERS} flag set, and those fields
+ * are stored as encoded blocks.
+ *
  * @author Joshua Slack
  */
 public class BinaryExporter implements JmeExporter {
@@ -139,6 +156,11 @@ public class BinaryExporter implements JmeExporter {
     public static boolean debug = false;
     public static boolean useFastBufs = true;
 
+    private int chunkSize;
+    private BufferEncodingPolicy bufferEncodingPolicy;
+    // true once a buffer of the current save has been encoded
+    boolean encodedBuffers;
+
     /**
      * Constructs a new {@code BinaryExporter}.
      */
@@ -154,6 +176,65 @@ public class BinaryExporter implements JmeExporter {
         return new BinaryExporter();
     }
 
+    /**
+     * Sets the approximate number of bytes of object data per chunk.  With
+     * a chunk size, objects are saved in the chunked layout, which the
+     * importer can decode on several threads and partially.  Objects are
+     * chunked in the order they are first reached from the root, so that
+     * a subtree tends to be stored in few chunks.
+     *
+     * @param chunkSize the chunk size in bytes, or 0 for the sequential
+     *     layout that older versions can read (default=0)
+     */
+    public void setChunkSize(int chunkSize) {
+        if (chunkSize < 0) {
+            throw new IllegalArgumentException("Chunk size cannot be negative: " + chunkSize);
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * @return the approximate chunk size in bytes, or 0 for the sequential layout
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * Sets the policy that selects an encoding for each buffer field, which
+     * can make files with large meshes and images much smaller at the cost
+     * of export and import time.  See {@link BufferEncodingPolicy#LOSSLESS}
+     * and {@link BufferEncodingPolicy#COMPACT}.
+     *
+     * @param bufferEncodingPolicy the policy, or null to write all buffers
+     *     as is, which older versions can read (default=null).  Older
+     *     versions reject files with encoded buffers as a newer version.
+     */
+    public void setBufferEncodingPolicy(BufferEncodingPolicy bufferEncodingPolicy) {
+        this.bufferEncodingPolicy = bufferEncodingPolicy;
+    }
+
+    /**
+     * @return the buffer encoding policy, or null if buffers are written as is
+     */
+    public BufferEncodingPolicy getBufferEncodingPolicy() {
+        return bufferEncodingPolicy;
+    }
+
+    /**
+     * Returns the id that the last save gave the specified object, which
+     * can be passed to {@link BinaryImporter#loadObject(File, int)} to load
+     * that object and the objects it references without the rest of the
+     * file.
+     *
+     * @param object an object that was saved (not null)
+     * @return the id, or -1 if the object was not saved
+     */
+    public int getSavedId(Savable object) {
+        BinaryIdContentPair pair = contentTable.get(object);
+        return pair == null ? -1 : pair.getId();
+    }
+
     /**
      * Saves the object into memory then loads it from memory.
      * Used by tests to check if the persistence system is working.
@@ -190,13 +271,22 @@ public class BinaryExporter implements JmeExporter {
         contentTable.clear();
         locationTable.clear();
         contentKeys.clear();
-
-        // write signature and version
-        os.write(ByteUtils.convertToBytes(FormatVersion.SIGNATURE)); // 1. "signature"
-        os.write(ByteUtils.convertToBytes(FormatVersion.VERSION));   // 2. "version"
+        encodedBuffers = false;
 
         int id = processBinarySavable(object);
 
+        // write signature and version, which flags the encoded buffers
+        // found while processing
+        os.write(ByteUtils.convertToBytes(FormatVersion.SIGNATURE)); // 1. "signature"
+        int versionWord = FormatVersion.VERSION;
+        if (chunkSize > 0) {
+            versionWord |= FormatVersion.FLAG_CHUNKED;
+        }
+        if (encodedBuffers) {
+            versionWord |= FormatVersion.FLAG_ENCODED_BUFFERS;
+        }
+        os.write(ByteUtils.convertToBytes(versionWord)); // 2. "version"
+
         // write out tag table
         int classTableSize = 0;
         int classNum = classes.keySet().size();
@@ -243,6 +333,8 @@ public class BinaryExporter implements JmeExporter {
         int location = 0;
         // keep track of location for each piece
         HashMap<String, ArrayList<BinaryIdContentPair>> alreadySaved = new HashMap<>(contentTable.size());
+        ArrayList<Integer> chunkLengths = new ArrayList<>();
+        int chunkStart = 0;
         for (Savable savable : contentKeys) {
             // look back at previous written data for matches
             String savableName = savable.getClass().getName();
@@ -254,6 +346,11 @@ public class BinaryExporter implements JmeExporter {
                 continue;
             }
 
+            if (chunkSize > 0 && location - chunkStart >= chunkSize) {
+                chunkLengths.add(location - chunkStart);
+                chunkStart = location;
+            }
+
             locationTable.put(pair.getId(), location);
             if (bucket == null) {
                 bucket = new ArrayList<BinaryIdContentPair>();
@@ -287,6 +384,16 @@ public class BinaryExporter implements JmeExporter {
         // write out root id
         os.write(ByteUtils.convertToBytes(id)); // 16. "root id"
 
+        if (chunkSize > 0) {
+            if (location > chunkStart) {
+                chunkLengths.add(location - chunkStart);
+            }
+            os.write(ByteUtils.convertToBytes(chunkLengths.size())); // 16a. "number of chunks"
+            for (int length : chunkLengths) {
+                os.write(ByteUtils.convertToBytes(length));          // 16b. "chunk length"
+            }
+        }
+
         // append stream to the output stream
         out.writeTo(os);
 
@@ -373,7 +480,7 @@ public class BinaryExporter implements JmeExporter {
         if (contentTable.get(object) != null) {
             return (contentTable.get(object).getId());
         }
-        BinaryIdContentPair newPair = generateIdContentPair(bco);
+        BinaryIdContentPair newPair = generateIdContentPair(bco, object);
         BinaryIdContentPair old = contentTable.put(object, newPair);
         if (old == null) {
             contentKeys.add(object);
@@ -397,9 +504,9 @@ public class BinaryExporter implements JmeExporter {
         return bytes;
     }
 
-    private BinaryIdContentPair generateIdContentPair(BinaryClassObject bco) {
+    private BinaryIdContentPair generateIdContentPair(BinaryClassObject bco, Savable object) {
         BinaryIdContentPair pair = new BinaryIdContentPair(idCount++,
-                new BinaryOutputCapsule(this, bco));
+                new BinaryOutputCapsule(this, object, bco));
         return pair;
     }
 }
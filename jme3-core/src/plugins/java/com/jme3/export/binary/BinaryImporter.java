@@ -37,9 +37,20 @@ import com.jme3.export.*;
 import com.jme3.math.FastMath;
 import java.io.*;
 import java.net.URL;
+import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -69,10 +80,28 @@ public final class BinaryImporter implements JmeImporter {
 
     public static boolean debug = false;
 
-    private byte[] dataArray;
+    /**
+     * The default size in bytes from which buffers are mapped by
+     * {@link #loadMapped(File)} instead of copied.
+     */
+    public static final int DEFAULT_MAP_THRESHOLD = 64 * 1024;
+
+    private ByteBuffer data;
     private int aliasWidth;
     private int formatVersion;
 
+    private Executor executor = ForkJoinPool.commonPool();
+    //Offsets of the chunks in the data plus the end offset, null if not chunked
+    private int[] chunkOffsets;
+    private boolean[] chunkDecoded;
+    //Key - location in the data, object - capsule decoded ahead of its savable
+    private final Map<Integer, BinaryInputCapsule> decodedCapsules
+            = new ConcurrentHashMap<>();
+
+    private int mapThreshold = DEFAULT_MAP_THRESHOLD;
+    private FileChannel mapChannel;
+    private long mapDataOffset;
+
     private static final boolean fastRead = ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN;
     
     public BinaryImporter() {
@@ -121,6 +150,43 @@ public final class BinaryImporter implements JmeImporter {
         return classFilter;
     }
 
+    /**
+     * Sets the executor used to decode the chunks of J3O files saved in the
+     * chunked layout (see {@link BinaryExporter#setChunkSize(int)}) in
+     * parallel.  The objects themselves are still created and read on the
+     * loading thread.
+     *
+     * @param executor the executor, or null to decode on the loading thread
+     *     (default={@link ForkJoinPool#commonPool()})
+     */
+    public void setExecutor(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * @return the executor that decodes chunks, or null for the loading thread
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
+
+    /**
+     * Sets the size from which {@link #loadMapped(File)} maps NIO buffer
+     * fields from the file instead of copying them.
+     *
+     * @param bytes the minimum buffer size in bytes to map
+     */
+    public void setMapThreshold(int bytes) {
+        this.mapThreshold = bytes;
+    }
+
+    /**
+     * @return the minimum buffer size in bytes that is mapped
+     */
+    public int getMapThreshold() {
+        return mapThreshold;
+    }
+
     @Override
     public Object load(AssetInfo info){
 //        if (!(info.getKey() instanceof ModelKey))
@@ -157,9 +223,277 @@ public final class BinaryImporter implements JmeImporter {
     public Savable load(InputStream is, ReadListener listener, ByteArrayOutputStream baos) throws IOException {
         contentTable.clear();
         BufferedInputStream bis = new BufferedInputStream(is);
-        
+
+        int id = readHeader(bis, listener);
+
+        if (baos == null) {
+                baos = new ByteArrayOutputStream();
+        } else {
+                baos.reset();
+        }
+        int size = -1;
+        byte[] cache = new byte[4096];
+        while((size = bis.read(cache)) != -1) {
+            baos.write(cache, 0, size);
+            if (listener != null) listener.readBytes(size);
+        }
+        bis = null;
+
+        data = ByteBuffer.wrap(baos.toByteArray());
+        baos = null;
+
+        try {
+            decodeChunks();
+            return readRoot(id);
+        } finally {
+            endLoad();
+        }
+    }
+
+    /**
+     * Loads a J3O file through a read-only memory mapping instead of
+     * reading it into memory first.  Only the class and object tables are
+     * read up front.  Each object is decoded when it is first referenced,
+     * straight from the mapped file, and NIO buffer fields of at least
+     * {@link #getMapThreshold()} bytes, such as vertex and image data,
+     * are mapped from the file rather than copied.
+     *
+     * <p>Mapped buffers are read-only, so the file is opened for reading
+     * only and never changes.  The data of vertex buffers with a usage
+     * other than {@link com.jme3.scene.VertexBuffer.Usage#Static} is
+     * copied instead, since the engine updates such buffers in place, for
+     * example for software skinning.  A mapped file may not be deleted or
+     * replaced on some platforms until its buffers have been garbage
+     * collected.</p>
+     *
+     * @param f the J3O file
+     * @return the root object
+     * @throws IOException if the file cannot be read or is not a valid J3O
+     */
+    public Savable loadMapped(File f) throws IOException {
+        return loadMapped(f, null);
+    }
+
+    /**
+     * Loads a J3O file through a read-only memory mapping, see
+     * {@link #loadMapped(File)}.
+     *
+     * @param f the J3O file
+     * @param listener notified of the bytes read, or null
+     * @return the root object
+     * @throws IOException if the file cannot be read or is not a valid J3O
+     */
+    public Savable loadMapped(File f, ReadListener listener) throws IOException {
+        return loadMapped(f, listener, -1);
+    }
+
+    /**
+     * Loads one object of a J3O file and the objects it references, such
+     * as a subtree of a scene, through a memory mapping like
+     * {@link #loadMapped(File)}.  Other objects are not decoded, and for
+     * files in the chunked layout only the chunks holding the loaded
+     * objects are read.
+     *
+     * @param f the J3O file
+     * @param id the id of the object, see {@link BinaryExporter#getSavedId(Savable)}
+     * @return the object
+     * @throws IOException if the file cannot be read, is not a valid J3O
+     *     or has no object with the id
+     */
+    public Savable loadObject(File f, int id) throws IOException {
+        return loadMapped(f, null, id);
+    }
+
+    /**
+     * Loads the root object, decoding all chunks up front, or only the
+     * specified object, decoding chunks as they are needed.
+     */
+    private Savable loadMapped(File f, ReadListener listener, int id) throws IOException {
+        contentTable.clear();
+
+        FileChannel channel = FileChannel.open(f.toPath(), StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                throw new IOException("J3O file too large to map: " + f);
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            int rootId = readHeader(new MappedInputStream(mapped), listener);
+
+            mapDataOffset = mapped.position();
+            data = mapped.slice();
+            mapChannel = channel;
+            if (listener != null) listener.readBytes(data.limit());
+
+            if (id < 0) {
+                decodeChunks();
+                return readRoot(rootId);
+            }
+            checkChunks();
+            if (!locationTable.containsKey(id)) {
+                throw new IOException("No J3O object with id: " + id);
+            }
+            return readRoot(id);
+        } finally {
+            endLoad();
+            mapChannel = null;
+            channel.close();
+        }
+    }
+
+    /**
+     * Returns a new read-only mapping of the specified bytes of the object
+     * data, or null if the importer is not loading a mapped file or the
+     * size is below the threshold.
+     *
+     * @param offset the offset of the bytes in the object data
+     * @param size the number of bytes
+     * @return the mapped bytes in native order, or null to copy them
+     */
+    ByteBuffer mapBuffer(int offset, int size) {
+        if (mapChannel == null || size < mapThreshold) {
+            return null;
+        }
+        try {
+            return mapChannel.map(FileChannel.MapMode.READ_ONLY, mapDataOffset + offset, size)
+                    .order(ByteOrder.nativeOrder());
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "Copying J3O buffer that could not be mapped", e);
+            return null;
+        }
+    }
+
+    private void endLoad() {
+        data = null;
+        chunkOffsets = null;
+        chunkDecoded = null;
+        decodedCapsules.clear();
+    }
+
+    private void checkChunks() throws IOException {
+        if (chunkOffsets != null && chunkOffsets[chunkOffsets.length - 1] > data.limit()) {
+            throw new IOException("J3O chunks extend past the payload: "
+                    + chunkOffsets[chunkOffsets.length - 1] + " > " + data.limit());
+        }
+    }
+
+    /**
+     * Decodes the capsules of all chunks, in parallel if there is an
+     * executor.  Does nothing for the sequential layout.
+     */
+    private void decodeChunks() throws IOException {
+        if (chunkOffsets == null) {
+            return;
+        }
+        checkChunks();
+        int count = chunkOffsets.length - 1;
+        if (executor == null || count < 2) {
+            for (int i = 0; i < count; i++) {
+                decodeChunk(i);
+            }
+            return;
+        }
+
+        CompletableFuture<?>[] tasks = new CompletableFuture<?>[count];
+        for (int i = 0; i < count; i++) {
+            final int chunk = i;
+            tasks[i] = CompletableFuture.runAsync(() -> {
+                try {
+                    decodeChunk(chunk);
+                } catch (IOException e) {
+                    throw new CompletionException(e);
+                }
+            }, executor);
+        }
+        try {
+            CompletableFuture.allOf(tasks).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException("Error decoding J3O chunk", e.getCause());
+        }
+    }
+
+    /**
+     * Decodes the capsules of every object stored in the specified chunk.
+     */
+    private void decodeChunk(int chunk) throws IOException {
+        int end = chunkOffsets[chunk + 1];
+        for (int loc = chunkOffsets[chunk]; loc < end; ) {
+            int start = loc;
+            String alias = readString(aliasWidth, loc);
+            loc += aliasWidth;
+
+            BinaryClassObject bco = classes.get(alias);
+            if (bco == null) {
+                throw new IOException("Unknown J3O class alias at payload offset: " + start);
+            }
+            if (loc + 4 > end) {
+                throw new IOException("Truncated J3O object length at payload offset: " + loc);
+            }
+            int dataLength = data.getInt(loc);
+            loc += 4;
+            if (dataLength < 0 || loc + dataLength < loc || loc + dataLength > end) {
+                throw new IOException("Invalid J3O object data length: " + dataLength);
+            }
+
+            BinaryInputCapsule cap = new BinaryInputCapsule(this, null, bco);
+            cap.setContent(data, loc, loc + dataLength);
+            decodedCapsules.put(start, cap);
+            loc += dataLength;
+        }
+        chunkDecoded[chunk] = true;
+    }
+
+    /**
+     * Returns the capsule decoded ahead for the object at the specified
+     * location, decoding its chunk first if needed.  Each capsule is only
+     * handed out once, so objects that share their data still get their
+     * own copy of it.
+     *
+     * @return the capsule, or null to decode the object directly
+     */
+    private BinaryInputCapsule takeDecodedCapsule(int loc) throws IOException {
+        if (chunkOffsets == null) {
+            return null;
+        }
+        int chunk = Arrays.binarySearch(chunkOffsets, 0, chunkOffsets.length - 1, loc);
+        if (chunk < 0) {
+            chunk = -chunk - 2;
+        }
+        if (chunk < 0) {
+            return null;
+        }
+        if (!chunkDecoded[chunk]) {
+            decodeChunk(chunk);
+        }
+        return decodedCapsules.remove(loc);
+    }
+
+    private Savable readRoot(int id) {
+        Savable rVal = readObject(id);
+        if (debug) {
+            logger.fine("Importer Stats: ");
+            logger.log(Level.FINE, "Tags: {0}", classes.size());
+            logger.log(Level.FINE, "Objects: {0}", locationTable.size());
+            logger.log(Level.FINE, "Data Size: {0}", data.limit());
+        }
+        return rVal;
+    }
+
+    /**
+     * Reads the class and object tables, leaving the stream at the start
+     * of the object data.
+     *
+     * @return the id of the root object
+     */
+    private int readHeader(InputStream bis, ReadListener listener) throws IOException {
         int numClasses;
-        
+        chunkOffsets = null;
+        chunkDecoded = null;
+        boolean chunked = false;
+
         // Try to read signature
         int maybeSignature = ByteUtils.readInt(bis);
         if (maybeSignature == FormatVersion.SIGNATURE){
@@ -170,6 +504,14 @@ public final class BinaryImporter implements JmeImporter {
             if (formatVersion < 0) {
                 throw new IOException("Invalid J3O format version: " + formatVersion);
             }
+            // the bits above the version number flag layout features
+            int flags = formatVersion & ~FormatVersion.VERSION_MASK;
+            formatVersion &= FormatVersion.VERSION_MASK;
+            if ((flags & ~(FormatVersion.FLAG_CHUNKED | FormatVersion.FLAG_ENCODED_BUFFERS)) != 0) {
+                throw new IOException("Unsupported J3O layout flags: 0x"
+                                      + Integer.toHexString(flags));
+            }
+            chunked = (flags & FormatVersion.FLAG_CHUNKED) != 0;
             // check if this binary is from the future
             if (formatVersion > FormatVersion.VERSION){
                 throw new IOException("The binary file is of newer version than expected! " + 
@@ -262,33 +604,25 @@ public final class BinaryImporter implements JmeImporter {
         int numbIDs = ByteUtils.readInt(bis); // XXX: NOT CURRENTLY USED
         int id = ByteUtils.readInt(bis);
         bytes += 8;
-        if (listener != null) listener.readBytes(bytes);
-
-        if (baos == null) {
-                baos = new ByteArrayOutputStream(bytes);
-        } else {
-                baos.reset();
-        }
-        int size = -1;
-        byte[] cache = new byte[4096];
-        while((size = bis.read(cache)) != -1) {
-            baos.write(cache, 0, size);
-            if (listener != null) listener.readBytes(size);
-        }
-        bis = null;
-
-        dataArray = baos.toByteArray();
-        baos = null;
 
-        Savable rVal = readObject(id);
-        if (debug) {
-            logger.fine("Importer Stats: ");
-            logger.log(Level.FINE, "Tags: {0}", numClasses);
-            logger.log(Level.FINE, "Objects: {0}", numLocs);
-            logger.log(Level.FINE, "Data Size: {0}", dataArray.length);
+        if (chunked) {
+            int numChunks = ByteUtils.readInt(bis);
+            checkLength(numChunks);
+            int[] offsets = new int[numChunks + 1];
+            for (int i = 0; i < numChunks; i++) {
+                int length = ByteUtils.readInt(bis);
+                checkLength(length);
+                offsets[i + 1] = offsets[i] + length;
+                if (offsets[i + 1] < offsets[i]) {
+                    throw new IOException("Invalid J3O chunk length: " + length);
+                }
+            }
+            bytes += 4 + numChunks * 4;
+            chunkOffsets = offsets;
+            chunkDecoded = new boolean[numChunks];
         }
-        dataArray = null;
-        return rVal;
+        if (listener != null) listener.readBytes(bytes);
+        return id;
     }
 
     public Savable load(URL f) throws IOException {
@@ -339,15 +673,15 @@ public final class BinaryImporter implements JmeImporter {
 
     protected String readString(int length, int offset) throws IOException {
         checkLength(length);
-        if (offset < 0 || offset + length < offset || offset + length > dataArray.length) {
+        if (offset < 0 || offset + length < offset || offset + length > data.limit()) {
             throw new IOException("String outside J3O payload: offset=" + offset + ", length=" + length);
         }
-        byte[] data = new byte[length];
+        byte[] bytes = new byte[length];
         for(int j = 0; j < length; j++) {
-            data[j] = dataArray[j+offset];
+            bytes[j] = data.get(j+offset);
         }
 
-        return new String(data);
+        return new String(bytes);
     }
 
     private void checkLength(int length) throws IOException {
@@ -376,33 +710,40 @@ public final class BinaryImporter implements JmeImporter {
                 throw new IOException("Missing J3O object location for id: " + id);
             }
             int loc = objectLocation;
-            if (loc < 0 || loc >= dataArray.length) {
+            if (loc < 0 || loc >= data.limit()) {
                 throw new IOException("J3O object location outside payload: " + loc);
             }
 
-            String alias = readString(aliasWidth, loc);
-            loc+=aliasWidth;
+            BinaryInputCapsule cap = takeDecodedCapsule(loc);
+            Savable out;
+            if (cap != null) {
+                out = SavableClassUtil.fromName(cap.cObj.className, classFilter, assetManager == null ? null : assetManager.getClassLoaders());
+                cap.setSavable(out);
+            } else {
+                String alias = readString(aliasWidth, loc);
+                loc+=aliasWidth;
 
-            BinaryClassObject bco = classes.get(alias);
+                BinaryClassObject bco = classes.get(alias);
 
-            if(bco == null) {
-                logger.logp(Level.SEVERE, this.getClass().toString(), "readObject(int id)", "NULL class object: " + alias);
-                return null;
-            }
+                if(bco == null) {
+                    logger.logp(Level.SEVERE, this.getClass().toString(), "readObject(int id)", "NULL class object: " + alias);
+                    return null;
+                }
 
-            if (loc + 4 > dataArray.length) {
-                throw new IOException("Truncated J3O object length at payload offset: " + loc);
-            }
-            int dataLength = ByteUtils.convertIntFromBytes(dataArray, loc);
-            loc+=4;
-            if (dataLength < 0 || loc + dataLength < loc || loc + dataLength > dataArray.length) {
-                throw new IOException("Invalid J3O object data length: " + dataLength);
-            }
+                if (loc + 4 > data.limit()) {
+                    throw new IOException("Truncated J3O object length at payload offset: " + loc);
+                }
+                int dataLength = data.getInt(loc);
+                loc+=4;
+                if (dataLength < 0 || loc + dataLength < loc || loc + dataLength > data.limit()) {
+                    throw new IOException("Invalid J3O object data length: " + dataLength);
+                }
 
-            Savable  out = SavableClassUtil.fromName(bco.className, classFilter, assetManager == null ? null : assetManager.getClassLoaders());
+                out = SavableClassUtil.fromName(bco.className, classFilter, assetManager == null ? null : assetManager.getClassLoaders());
 
-            BinaryInputCapsule cap = new BinaryInputCapsule(this, out, bco);
-            cap.setContent(dataArray, loc, loc+dataLength);
+                cap = new BinaryInputCapsule(this, out, bco);
+                cap.setContent(data, loc, loc+dataLength);
+            }
 
             capsuleTable.put(out, cap);
             contentTable.put(id, out);
@@ -418,4 +759,33 @@ public final class BinaryImporter implements JmeImporter {
             return null;
         }
     }
+
+    /**
+     * Reads the header of a mapped file.
+     */
+    private static class MappedInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        MappedInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) {
+            if (len == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            len = Math.min(len, buffer.remaining());
+            buffer.get(b, off, len);
+            return len;
+        }
+    }
 }
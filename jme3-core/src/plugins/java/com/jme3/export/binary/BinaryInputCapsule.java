@@ -34,10 +34,12 @@ package com.jme3.export.binary;
 import com.jme3.export.InputCapsule;
 import com.jme3.export.Savable;
 import com.jme3.export.SavableClassUtil;
+import com.jme3.scene.VertexBuffer;
 import com.jme3.util.BufferUtils;
 import com.jme3.util.IntMap;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
 import java.nio.ShortBuffer;
@@ -65,10 +67,38 @@ final class BinaryInputCapsule implements InputCapsule {
         this.savable = savable;
     }
 
+    /**
+     * Sets the object whose fields this capsule holds, for capsules that
+     * were decoded before the object was created.
+     *
+     * @param savable the object being read
+     */
+    void setSavable(Savable savable) {
+        this.savable = savable;
+    }
+
     public void setContent(byte[] content, int start, int limit) throws IOException {
+        setContent(ByteBuffer.wrap(content), start, limit);
+    }
+
+    /**
+     * Parses the fields of this capsule from the specified region of a
+     * big-endian buffer, which may be a memory-mapped file.  Large NIO
+     * buffer fields may be mapped instead of copied, see
+     * {@link BinaryImporter#loadMapped(java.io.File)}.
+     *
+     * @param content the J3O object data (not null, absolute reads only)
+     * @param start the offset of the first field
+     * @param limit the offset just past the last field
+     * @throws IOException if the data is malformed
+     */
+    public void setContent(ByteBuffer content, int start, int limit) throws IOException {
+        if (content.order() != ByteOrder.BIG_ENDIAN) {
+            content = content.duplicate().order(ByteOrder.BIG_ENDIAN);
+        }
         fieldData = new HashMap<Byte, Object>();
         for (index = start; index < limit;) {
-            byte alias = content[index];
+            byte alias = content.get(index);
 
             index++;
 
@@ -784,13 +814,13 @@ final class BinaryInputCapsule implements InputCapsule {
         return length;
     }
 
-    private void requireRemaining(byte[] content, int bytes) throws IOException {
-        if (bytes < 0 || index + bytes < index || index + bytes > content.length) {
+    private void requireRemaining(ByteBuffer content, int bytes) throws IOException {
+        if (bytes < 0 || index + bytes < index || index + bytes > content.limit()) {
             throw new IOException("Truncated J3O payload at offset " + index);
         }
     }
 
-    private int checkedByteCount(int length, int elementSize, byte[] content) throws IOException {
+    private int checkedByteCount(int length, int elementSize, ByteBuffer content) throws IOException {
         checkedLength(length);
         long bytes = (long) length * (long) elementSize;
         if (bytes > Integer.MAX_VALUE) {
@@ -802,21 +832,21 @@ final class BinaryInputCapsule implements InputCapsule {
 
     // byte primitive
 
-    protected byte readByte(byte[] content) throws IOException {
+    protected byte readByte(ByteBuffer content) throws IOException {
         requireRemaining(content, 1);
-        byte value = content[index];
+        byte value = content.get(index);
         index++;
         return value;
     }
 
-    protected byte readByteForBuffer(byte[] content) throws IOException {
+    protected byte readByteForBuffer(ByteBuffer content) throws IOException {
         requireRemaining(content, 1);
-        byte value = content[index];
+        byte value = content.get(index);
         index++;
         return value;
     }
 
-    protected byte[] readByteArray(byte[] content) throws IOException {
+    protected byte[] readByteArray(ByteBuffer content) throws IOException {
         int length = checkedLength(readInt(content));
         if (length == BinaryOutputCapsule.NULL_OBJECT)
             return null;
@@ -827,7 +857,7 @@ final class BinaryInputCapsule implements InputCapsule {
         return value;
     }
 
-    protected byte[][] readByteArray2D(byte[] content) throws IOException {
+    protected byte[][] readByteArray2D(ByteBuffer content) throws IOException {
         int length = checkedLength(readInt(content));
         if (length == BinaryOutputCapsule.NULL_OBJECT)
             return null;
@@ -839,17 +869,17 @@ final class BinaryInputCapsule implements InputCapsule {
 
     // int primitive
 
-    protected int readIntForBuffer(byte[] content) throws IOException {
+    protected int readIntForBuffer(ByteBuffer content) throws IOException {
         requireRemaining(content, 4);
-        int number = ((content[index+3] & 0xFF) << 24)
-                   + ((content[index+2] & 0xFF) << 16)
-                   + ((content[index+1] & 0xFF) << 8)
-                   +  (content[index]   & 0xFF);
+        int number = ((content.get(index+3) & 0xFF) << 24)
+                   + ((content.get(index+2) & 0xFF) << 16)
+                   + ((content.get(index+1) & 0xFF) << 8)
+                   +  (content.get(index)   & 0xFF);
         index += 4;
         return number;
     }
 
-    protected int readInt(byte[] content) throws IOException {
+    protected int readInt(ByteBuffer content) throws IOException {
         byte[] bytes = inflateFrom(content, index);
         index += 1 + bytes.length;
         if (bytes.length > 4) {
@@ -863,7 +893,7 @@ final class BinaryInputCapsule implements InputCapsule {
         return value;
     }
 
-    protected int[] readIntArray(byte[] content) throws IOException {
+    protected int[] readIntArray(ByteBuffer content) throws IOException {
         int length = checkedLength(readInt(content));
         if (length == BinaryOutputCapsule.NULL_OBJECT)
             return null;
@@ -874,7 +904,7 @@ final class BinaryInputCapsule implements InputCapsule {
         return value;
     }
 
-    protected int[][] readIntArray2D(byte[] content) throws IOException {
+    protected int[][] readIntArray2D(ByteBuffer content) throws IOException {
         int length = checkedLength(readInt(content));
         if (length == BinaryOutputCapsule.NULL_OBJECT)
             return null;
@@ -886,19 +916,19 @@ final class BinaryInputCapsule implements InputCapsule {
 
     // float primitive
 
-    protected float readFloat(byte[] content) throws IOException {
+    protected float readFloat(ByteBuffer content) throws IOException {
         requireRemaining(content, 4);
-        float value = ByteUtils.convertFloatFromBytes(content, index);
+        float value = content.getFloat(index);
         index += 4;
         return value;
     }
 
-    protected float readFloatForBuffer(byte[] content) throws IOException {
+    protected float readFloatForBuffer(ByteBuffer content) throws IOException {
         int number = readIntForBuffer(content);
         return Float.intBitsToFloat(number);
     }
 
-    protected float[] readFloatArray(byte[] content) throws IOException {
+    protected float[] readFloatArray(ByteBuffer content) throws IOException {
         int length = checkedLength(readInt(content));
         if (length == BinaryOutputCapsule.NULL_OBJECT)
             return null;
@@ -909,7 +939,7 @@ final class BinaryInputCapsule implements InputCapsule {
         return value;
     }
 
-    protected float[][] readFloatArray2D(byte[] content) throws IOException {
+    protected float[][] readFloatArray2D(ByteBuffer content) throws IOException {
         int length = checkedLength(readInt(content));
         if (length == BinaryOutputCapsule.NULL_OBJECT)
             return null;
@@ -921,14 +951,14 @@ final class BinaryInputCapsule implements InputCapsule {
 
     // double primitive
 
-    protected double readDouble(byte[] content) throws IOException {
+    protected double readDouble(ByteBuffer content) throws IOException {
         requireRemaining(content, 8);
-        double value = ByteUtils.convertDoubleFromBytes(content, index);
+        double value = content.getDouble(index);
         index += 8;
         return value;
     }
 
-    protected double[] readDoubleArray(byte[] content) throws IOException {
+    protected double[] readDoubleArray(ByteBuffer content) throws IOException {
         int length = checkedLength(readInt(content));
         if (length == BinaryOutputCapsule.NULL_OBJECT)
             return null;
@@ -939,7 +969,7 @@ final class BinaryInputCapsule implements InputCapsule {
         return value;
     }
 
-    protected double[][] readDoubleArray2D(byte[] content) throws IOException {
+    protected double[][] readDoubleArray2D(ByteBuffer content) throws IOException {
         int length = checkedLength(readInt(content));
         if (length == BinaryOutputCapsule.NULL_OBJECT)
             return null;
@@ -951,7 +981,7 @@ final class BinaryInputCapsule implements InputCapsule {
 
     // long primitive
 
-    protected long readLong(byte[] content) throws IOException {
+    protected long readLong(ByteBuffer content) throws IOException {
         byte[] bytes = inflateFrom(content, index);
         index += 1 + bytes.length;
         if (bytes.length > 8) {
@@ -962,7 +992,7 @@ final class BinaryInputCapsule implements InputCapsule {
         return value;
     }
 
-    protected long[] readLongArray(byte[] content) throws IOException {
+    protected long[] readLongArray(ByteBuffer content) throws IOException {
         int length = checkedLength(readInt(content));
         if (length == BinaryOutputCapsule.NULL_OBJECT)
             return null;
@@ -973,7 +1003,7 @@ final class BinaryInputCapsule implements InputCapsule {
         return value;
     }
 
-    protected long[][] readLongArray2D(byte[] content) throws IOException {
+    protected long[][] readLongArray2D(ByteBuffer content) throws IOException {
         int length = checkedLength(readInt(content));
         if (length == BinaryOutputCapsule.NULL_OBJECT)
             return null;
@@ -985,22 +1015,22 @@ final class BinaryInputCapsule implements InputCapsule {
 
     // short primitive
 
-    protected short readShort(byte[] content) throws IOException {
+    protected short readShort(ByteBuffer content) throws IOException {
         requireRemaining(content, 2);
-        short value = ByteUtils.convertShortFromBytes(content, index);
+        short value = content.getShort(index);
         index += 2;
         return value;
     }
 
-    protected short readShortForBuffer(byte[] content) throws IOException {
+    protected short readShortForBuffer(ByteBuffer content) throws IOException {
         requireRemaining(content, 2);
-        short number = (short) ((content[index+0] & 0xFF)
-                             + ((content[index+1] & 0xFF) << 8));
+        short number = (short) ((content.get(index+0) & 0xFF)
+                             + ((content.get(index+1) & 0xFF) << 8));
         index += 2;
         return number;
     }
 
-    protected short[] readShortArray(byte[] content) throws IOException {
+    protected short[] readShortArray(ByteBuffer content) throws IOException {
         int length = checkedLength(readInt(content));
         if (length == BinaryOutputCapsule.NULL_OBJECT)
             return null;
@@ -1011,7 +1041,7 @@ final class BinaryInputCapsule implements InputCapsule {
         return value;
     }
 
-    protected short[][] readShortArray2D(byte[] content) throws IOException {
+    protected short[][] readShortArray2D(ByteBuffer content) throws IOException {
         int length = checkedLength(readInt(content));
         if (length == BinaryOutputCapsule.NULL_OBJECT)
             return null;
@@ -1023,14 +1053,14 @@ final class BinaryInputCapsule implements InputCapsule {
 
     // boolean primitive
 
-    protected boolean readBoolean(byte[] content) throws IOException {
+    protected boolean readBoolean(ByteBuffer content) throws IOException {
         requireRemaining(content, 1);
-        boolean value = ByteUtils.convertBooleanFromBytes(content, index);
+        boolean value = content.get(index) != 0;
         index += 1;
         return value;
     }
 
-    protected boolean[] readBooleanArray(byte[] content) throws IOException {
+    protected boolean[] readBooleanArray(ByteBuffer content) throws IOException {
         int length = checkedLength(readInt(content));
         if (length == BinaryOutputCapsule.NULL_OBJECT)
             return null;
@@ -1041,7 +1071,7 @@ final class BinaryInputCapsule implements InputCapsule {
         return value;
     }
 
-    protected boolean[][] readBooleanArray2D(byte[] content) throws IOException {
+    protected boolean[][] readBooleanArray2D(ByteBuffer content) throws IOException {
         int length = checkedLength(readInt(content));
         if (length == BinaryOutputCapsule.NULL_OBJECT)
             return null;
@@ -1051,21 +1081,22 @@ final class BinaryInputCapsule implements InputCapsule {
         return value;
     }
 
-    protected String readString(byte[] content) throws IOException {
+    protected String readString(ByteBuffer content) throws IOException {
         int length = checkedLength(readInt(content));
         if (length == BinaryOutputCapsule.NULL_OBJECT)
             return null;
 
         requireRemaining(content, length);
         byte[] bytes = new byte[length];
-        for (int x = 0; x < length; x++) {
-            bytes[x] =  content[index++];
-        }
+        ByteBuffer src = content.duplicate();
+        src.position(index);
+        src.get(bytes);
+        index += length;
 
         return new String(bytes, StandardCharsets.UTF_8);
     }
 
-    protected String[] readStringArray(byte[] content) throws IOException {
+    protected String[] readStringArray(ByteBuffer content) throws IOException {
         int length = checkedLength(readInt(content));
         if (length == BinaryOutputCapsule.NULL_OBJECT)
             return null;
@@ -1076,7 +1107,7 @@ final class BinaryInputCapsule implements InputCapsule {
         return value;
     }
 
-    protected String[][] readStringArray2D(byte[] content) throws IOException {
+    protected String[][] readStringArray2D(ByteBuffer content) throws IOException {
         int length = checkedLength(readInt(content));
         if (length == BinaryOutputCapsule.NULL_OBJECT)
             return null;
@@ -1088,7 +1119,7 @@ final class BinaryInputCapsule implements InputCapsule {
 
     // BitSet
 
-    protected BitSet readBitSet(byte[] content) throws IOException {
+    protected BitSet readBitSet(ByteBuffer content) throws IOException {
         int length = checkedLength(readInt(content));
         if (length == BinaryOutputCapsule.NULL_OBJECT)
             return null;
@@ -1101,11 +1132,11 @@ final class BinaryInputCapsule implements InputCapsule {
 
     // INFLATOR for int and long
 
-    protected static byte[] inflateFrom(byte[] contents, int index) throws IOException {
-        if (index < 0 || index >= contents.length) {
+    protected static byte[] inflateFrom(ByteBuffer contents, int index) throws IOException {
+        if (index < 0 || index >= contents.limit()) {
             throw new IOException("Truncated J3O compressed number at payload offset " + index);
         }
-        byte firstByte = contents[index];
+        byte firstByte = contents.get(index);
         if (firstByte == BinaryOutputCapsule.NULL_OBJECT)
             return ByteUtils.convertToBytes(BinaryOutputCapsule.NULL_OBJECT);
         else if (firstByte == BinaryOutputCapsule.DEFAULT_OBJECT)
@@ -1114,19 +1145,19 @@ final class BinaryInputCapsule implements InputCapsule {
             return new byte[0];
         else {
             int length = firstByte & 0xff;
-            if (index + 1 + length < index || index + 1 + length > contents.length) {
+            if (index + 1 + length < index || index + 1 + length > contents.limit()) {
                 throw new IOException("Truncated J3O compressed number at payload offset " + index);
             }
             byte[] rVal = new byte[length];
             for (int x = 0; x < rVal.length; x++)
-                rVal[x] = contents[x + 1 + index];
+                rVal[x] = contents.get(x + 1 + index);
             return rVal;
         }
     }
 
     // BinarySavable
 
-    protected ID readSavable(byte[] content) throws IOException {
+    protected ID readSavable(ByteBuffer content) throws IOException {
         int id = readInt(content);
         if (id == BinaryOutputCapsule.NULL_OBJECT) {
             return null;
@@ -1137,7 +1168,7 @@ final class BinaryInputCapsule implements InputCapsule {
 
     // BinarySavable array
 
-    protected ID[] readSavableArray(byte[] content) throws IOException {
+    protected ID[] readSavableArray(ByteBuffer content) throws IOException {
         int elements = checkedLength(readInt(content));
         if (elements == BinaryOutputCapsule.NULL_OBJECT)
             return null;
@@ -1149,7 +1180,7 @@ final class BinaryInputCapsule implements InputCapsule {
         return rVal;
     }
 
-    protected ID[][] readSavableArray2D(byte[] content) throws IOException {
+    protected ID[][] readSavableArray2D(ByteBuffer content) throws IOException {
         int elements = checkedLength(readInt(content));
         if (elements == BinaryOutputCapsule.NULL_OBJECT)
             return null;
@@ -1160,7 +1191,7 @@ final class BinaryInputCapsule implements InputCapsule {
         return rVal;
     }
 
-    protected ID[][][] readSavableArray3D(byte[] content) throws IOException {
+    protected ID[][][] readSavableArray3D(ByteBuffer content) throws IOException {
         int elements = checkedLength(readInt(content));
         if (elements == BinaryOutputCapsule.NULL_OBJECT)
             return null;
@@ -1173,7 +1204,7 @@ final class BinaryInputCapsule implements InputCapsule {
 
     // BinarySavable map
 
-    protected ID[][] readSavableMap(byte[] content) throws IOException {
+    protected ID[][] readSavableMap(ByteBuffer content) throws IOException {
         int elements = checkedLength(readInt(content));
         if (elements == BinaryOutputCapsule.NULL_OBJECT)
             return null;
@@ -1184,7 +1215,7 @@ final class BinaryInputCapsule implements InputCapsule {
         return rVal;
     }
 
-    protected StringIDMap readStringSavableMap(byte[] content) throws IOException {
+    protected StringIDMap readStringSavableMap(ByteBuffer content) throws IOException {
         int elements = checkedLength(readInt(content));
         if (elements == BinaryOutputCapsule.NULL_OBJECT)
             return null;
@@ -1196,7 +1227,7 @@ final class BinaryInputCapsule implements InputCapsule {
         return rVal;
     }
 
-    protected IntIDMap readIntSavableMap(byte[] content) throws IOException {
+    protected IntIDMap readIntSavableMap(ByteBuffer content) throws IOException {
         int elements = checkedLength(readInt(content));
         if (elements == BinaryOutputCapsule.NULL_OBJECT)
             return null;
@@ -1211,7 +1242,7 @@ final class BinaryInputCapsule implements InputCapsule {
 
     // ArrayList<FloatBuffer>
 
-    protected ArrayList<FloatBuffer> readFloatBufferArrayList(byte[] content)
+    protected ArrayList<FloatBuffer> readFloatBufferArrayList(ByteBuffer content)
             throws IOException {
         int length = checkedLength(readInt(content));
         if (length == BinaryOutputCapsule.NULL_OBJECT) {
@@ -1226,7 +1257,7 @@ final class BinaryInputCapsule implements InputCapsule {
 
     // ArrayList<ByteBuffer>
 
-    protected ArrayList<ByteBuffer> readByteBufferArrayList(byte[] content)
+    protected ArrayList<ByteBuffer> readByteBufferArrayList(ByteBuffer content)
             throws IOException {
         int length = checkedLength(readInt(content));
         if (length == BinaryOutputCapsule.NULL_OBJECT) {
@@ -1242,17 +1273,17 @@ final class BinaryInputCapsule implements InputCapsule {
     // NIO BUFFERS
     // float buffer
 
-    protected FloatBuffer readFloatBuffer(byte[] content) throws IOException {
-        int length = checkedLength(readInt(content));
+    protected FloatBuffer readFloatBuffer(ByteBuffer content) throws IOException {
+        int length = readInt(content);
+        if (length == BinaryOutputCapsule.ENCODED_BUFFER)
+            return readEncodedBuffer(content, 4).asFloatBuffer();
+        checkedLength(length);
         if (length == BinaryOutputCapsule.NULL_OBJECT)
             return null;
 
         if (BinaryImporter.canUseFastBuffers()){
             int byteCount = checkedByteCount(length, 4, content);
-            ByteBuffer value = BufferUtils.createByteBuffer(byteCount);
-            value.put(content, index, byteCount).rewind();
-            index += byteCount;
-            return value.asFloatBuffer();
+            return readBufferBytes(content, byteCount).asFloatBuffer();
         }else{
             FloatBuffer value = BufferUtils.createFloatBuffer(length);
             for (int x = 0; x < length; x++) {
@@ -1265,17 +1296,17 @@ final class BinaryInputCapsule implements InputCapsule {
 
     // int buffer
 
-    protected IntBuffer readIntBuffer(byte[] content) throws IOException {
-        int length = checkedLength(readInt(content));
+    protected IntBuffer readIntBuffer(ByteBuffer content) throws IOException {
+        int length = readInt(content);
+        if (length == BinaryOutputCapsule.ENCODED_BUFFER)
+            return readEncodedBuffer(content, 4).asIntBuffer();
+        checkedLength(length);
         if (length == BinaryOutputCapsule.NULL_OBJECT)
             return null;
 
         if (BinaryImporter.canUseFastBuffers()){
             int byteCount = checkedByteCount(length, 4, content);
-            ByteBuffer value = BufferUtils.createByteBuffer(byteCount);
-            value.put(content, index, byteCount).rewind();
-            index += byteCount;
-            return value.asIntBuffer();
+            return readBufferBytes(content, byteCount).asIntBuffer();
         }else{
             IntBuffer value = BufferUtils.createIntBuffer(length);
             for (int x = 0; x < length; x++) {
@@ -1288,17 +1319,17 @@ final class BinaryInputCapsule implements InputCapsule {
 
     // byte buffer
 
-    protected ByteBuffer readByteBuffer(byte[] content) throws IOException {
-        int length = checkedLength(readInt(content));
+    protected ByteBuffer readByteBuffer(ByteBuffer content) throws IOException {
+        int length = readInt(content);
+        if (length == BinaryOutputCapsule.ENCODED_BUFFER)
+            return readEncodedBuffer(content, 1);
+        checkedLength(length);
         if (length == BinaryOutputCapsule.NULL_OBJECT)
             return null;
 
         if (BinaryImporter.canUseFastBuffers()){
             requireRemaining(content, length);
-            ByteBuffer value = BufferUtils.createByteBuffer(length);
-            value.put(content, index, length).rewind();
-            index += length;
-            return value;
+            return readBufferBytes(content, length);
         }else{
             ByteBuffer value = BufferUtils.createByteBuffer(length);
             for (int x = 0; x < length; x++) {
@@ -1309,19 +1340,68 @@ final class BinaryInputCapsule implements InputCapsule {
         }
     }
 
+    /**
+     * Reads and decodes a buffer written with a {@link BufferEncoding}.
+     */
+    private ByteBuffer readEncodedBuffer(ByteBuffer content, int elementSize) throws IOException {
+        requireRemaining(content, 4);
+        int blockSize = content.getInt(index);
+        index += 4;
+        requireRemaining(content, blockSize);
+        ByteBuffer block = content.duplicate();
+        block.limit(index + blockSize);
+        block.position(index);
+        index += blockSize;
+        return BufferCodec.decode(block.slice(), elementSize);
+    }
+
+    /**
+     * Reads the raw bytes of a buffer field into a new direct buffer in
+     * native order.  Large buffers are mapped read-only from the file when
+     * the importer is loading a mapped file, others are copied.
+     */
+    private ByteBuffer readBufferBytes(ByteBuffer content, int byteCount) {
+        ByteBuffer value = isUpdatedInPlace() ? null : importer.mapBuffer(index, byteCount);
+        if (value == null) {
+            ByteBuffer src = content.duplicate();
+            src.limit(index + byteCount);
+            src.position(index);
+            value = BufferUtils.createByteBuffer(byteCount);
+            value.put(src).rewind();
+        }
+        index += byteCount;
+        return value;
+    }
+
+    /**
+     * Tests whether the buffer being parsed belongs to a vertex buffer that
+     * the engine may update in place, so that it must be a mutable copy
+     * rather than a read-only mapping.  The usage field is written, and so
+     * parsed, before the data, and omitted when it has the default value
+     * {@link VertexBuffer.Usage#Dynamic}.
+     */
+    private boolean isUpdatedInPlace() {
+        if (!VertexBuffer.class.getName().equals(cObj.className)) {
+            return false;
+        }
+        BinaryClassField usage = cObj.nameFields.get("usage");
+        Object value = usage == null ? null : fieldData.get(usage.alias);
+        return !VertexBuffer.Usage.Static.name().equals(value);
+    }
+
     // short buffer
 
-    protected ShortBuffer readShortBuffer(byte[] content) throws IOException {
-        int length = checkedLength(readInt(content));
+    protected ShortBuffer readShortBuffer(ByteBuffer content) throws IOException {
+        int length = readInt(content);
+        if (length == BinaryOutputCapsule.ENCODED_BUFFER)
+            return readEncodedBuffer(content, 2).asShortBuffer();
+        checkedLength(length);
         if (length == BinaryOutputCapsule.NULL_OBJECT)
             return null;
 
         if (BinaryImporter.canUseFastBuffers()){
             int byteCount = checkedByteCount(length, 2, content);
-            ByteBuffer value = BufferUtils.createByteBuffer(byteCount);
-            value.put(content, index, byteCount).rewind();
-            index += byteCount;
-            return value.asShortBuffer();
+            return readBufferBytes(content, byteCount).asShortBuffer();
         }else{
             ShortBuffer value = BufferUtils.createShortBuffer(length);
             for (int x = 0; x < length; x++) {
@@ -33,10 +33,12 @@ package com.jme3.export.binary;
 
 import com.jme3.export.OutputCapsule;
 import com.jme3.export.Savable;
+import com.jme3.scene.VertexBuffer;
 import com.jme3.util.IntMap;
 import com.jme3.util.IntMap.Entry;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.nio.Buffer;
 import java.nio.ByteBuffer;
 import java.nio.FloatBuffer;
 import java.nio.IntBuffer;
@@ -54,6 +56,10 @@ final class BinaryOutputCapsule implements OutputCapsule {
 
     public static final int NULL_OBJECT = -1;
     public static final int DEFAULT_OBJECT = -2;
+    /**
+     * Written in place of a buffer length when an encoded block follows.
+     */
+    public static final int ENCODED_BUFFER = -3;
 
     public static byte[] NULL_BYTES = new byte[] { (byte) -1 };
     public static byte[] DEFAULT_BYTES = new byte[] { (byte) -2 };
@@ -62,10 +68,16 @@ final class BinaryOutputCapsule implements OutputCapsule {
     protected byte[] bytes;
     protected BinaryExporter exporter;
     protected BinaryClassObject cObj;
+    protected Savable savable;
 
     public BinaryOutputCapsule(BinaryExporter exporter, BinaryClassObject bco) {
+        this(exporter, null, bco);
+    }
+
+    public BinaryOutputCapsule(BinaryExporter exporter, Savable savable, BinaryClassObject bco) {
         this.baos = new ByteArrayOutputStream();
         this.exporter = exporter;
+        this.savable = savable;
         this.cObj = bco;
     }
 
@@ -324,7 +336,8 @@ final class BinaryOutputCapsule implements OutputCapsule {
         if (value == defVal)
             return;
         writeAlias(name, BinaryClassField.FLOATBUFFER);
-        write(value);
+        if (!writeEncoded(value, name))
+            write(value);
     }
 
     @Override
@@ -333,7 +346,8 @@ final class BinaryOutputCapsule implements OutputCapsule {
         if (value == defVal)
             return;
         writeAlias(name, BinaryClassField.INTBUFFER);
-        write(value);
+        if (!writeEncoded(value, name))
+            write(value);
     }
 
     @Override
@@ -342,7 +356,8 @@ final class BinaryOutputCapsule implements OutputCapsule {
         if (value == defVal)
             return;
         writeAlias(name, BinaryClassField.BYTEBUFFER);
-        write(value);
+        if (!writeEncoded(value, name))
+            write(value);
     }
 
     @Override
@@ -351,7 +366,8 @@ final class BinaryOutputCapsule implements OutputCapsule {
         if (value == defVal)
             return;
         writeAlias(name, BinaryClassField.SHORTBUFFER);
-        write(value);
+        if (!writeEncoded(value, name))
+            write(value);
     }
 
     @Override
@@ -360,7 +376,7 @@ final class BinaryOutputCapsule implements OutputCapsule {
         if (array == defVal)
             return;
         writeAlias(name, BinaryClassField.FLOATBUFFER_ARRAYLIST);
-        writeFloatBufferArrayList(array);
+        writeFloatBufferArrayList(array, name);
     }
 
     @Override
@@ -369,7 +385,7 @@ final class BinaryOutputCapsule implements OutputCapsule {
         if (array == defVal)
             return;
         writeAlias(name, BinaryClassField.BYTEBUFFER_ARRAYLIST);
-        writeByteBufferArrayList(array);
+        writeByteBufferArrayList(array, name);
     }
 
     @Override
@@ -879,7 +895,7 @@ final class BinaryOutputCapsule implements OutputCapsule {
 
     // ArrayList<FloatBuffer>
 
-    protected void writeFloatBufferArrayList(ArrayList<FloatBuffer> array)
+    protected void writeFloatBufferArrayList(ArrayList<FloatBuffer> array, String name)
             throws IOException {
         if (array == null) {
             write(NULL_OBJECT);
@@ -887,13 +903,14 @@ final class BinaryOutputCapsule implements OutputCapsule {
         }
         write(array.size());
         for (FloatBuffer buf : array) {
-            write(buf);
+            if (!writeEncoded(buf, name))
+                write(buf);
         }
     }
 
     // ArrayList<FloatBuffer>
 
-    protected void writeByteBufferArrayList(ArrayList<ByteBuffer> array)
+    protected void writeByteBufferArrayList(ArrayList<ByteBuffer> array, String name)
             throws IOException {
         if (array == null) {
             write(NULL_OBJECT);
@@ -901,11 +918,41 @@ final class BinaryOutputCapsule implements OutputCapsule {
         }
         write(array.size());
         for (ByteBuffer buf : array) {
-            write(buf);
+            if (!writeEncoded(buf, name))
+                write(buf);
         }
     }
 
     // NIO BUFFERS
+
+    /**
+     * Writes a buffer with the encoding that the exporter's policy selects
+     * for it, if any.
+     *
+     * @return true if the buffer was written, false if it must be written
+     *     as is
+     */
+    protected boolean writeEncoded(Buffer value, String name) throws IOException {
+        BufferEncodingPolicy policy = exporter.getBufferEncodingPolicy();
+        if (value == null || policy == null) {
+            return false;
+        }
+        BufferEncoding encoding = policy.select(savable, name, value);
+        if (encoding == null) {
+            return false;
+        }
+        int components = 1;
+        if (savable instanceof VertexBuffer) {
+            components = Math.max(((VertexBuffer) savable).getNumComponents(), 1);
+        }
+        byte[] block = BufferCodec.encode(encoding, value, components);
+        exporter.encodedBuffers = true;
+        write(ENCODED_BUFFER);
+        baos.write(ByteUtils.convertToBytes(block.length));
+        baos.write(block);
+        return true;
+    }
+
     // float buffer
 
     protected void write(FloatBuffer value) throws IOException {
@@ -0,0 +1,501 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.export.binary;
+
+import com.jme3.util.BufferUtils;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Encodes and decodes the blocks written for buffers with a
+ * {@link BufferEncoding}.  A block is laid out big-endian as:
+ * <pre>
+ * byte  encoding id
+ * byte  element size in bytes (1, 2 or 4)
+ * byte  components per vertex
+ * int   element count
+ * int   size of the uncompressed body
+ * ...   encoding specific header
+ * ...   Deflate compressed body
+ * </pre>
+ */
+final class BufferCodec {
+
+    private static final int HEADER_SIZE = 11;
+
+    /**
+     * Deflate cannot expand data by more than about 1032:1, larger claims
+     * come from corrupt files.
+     */
+    private static final long MAX_INFLATE_RATIO = 1032L;
+
+    private BufferCodec() {
+    }
+
+    /**
+     * Encodes the elements of a buffer up to its limit.
+     *
+     * @param encoding the requested encoding (not null)
+     * @param data the buffer to encode (not null, unaffected)
+     * @param components the number of components per vertex (&ge;1)
+     * @return the encoded block
+     */
+    static byte[] encode(BufferEncoding encoding, Buffer data, int components) {
+        int count = data.limit();
+        int elementSize = elementSize(data);
+        int[] values = toInts(data);
+        ByteBuffer header = ByteBuffer.allocate(8 * components);
+        byte[] body;
+
+        if (encoding == BufferEncoding.QUANTIZED_16 || encoding == BufferEncoding.OCTAHEDRAL_16) {
+            if (!(data instanceof FloatBuffer)) {
+                body = null;
+            } else if (encoding == BufferEncoding.QUANTIZED_16) {
+                body = quantize((FloatBuffer) data, components, header);
+            } else {
+                body = octahedral((FloatBuffer) data, components);
+            }
+            if (body == null) {
+                encoding = BufferEncoding.VERTEX_DELTA;
+                header.clear();
+            }
+        } else {
+            body = null;
+        }
+        switch (encoding) {
+            case DEFLATE:
+                body = interleave(values, elementSize);
+                break;
+            case VERTEX_DELTA:
+                body = deltaPlanes(values, elementSize, components);
+                break;
+            case INDEX_DELTA:
+                body = indexDelta(values);
+                break;
+            default:
+                break;
+        }
+        header.flip();
+
+        Deflater deflater = new Deflater();
+        deflater.setInput(body);
+        deflater.finish();
+        ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 2 + 64);
+        ByteBuffer fixed = ByteBuffer.allocate(HEADER_SIZE);
+        fixed.put(encoding.id).put((byte) elementSize).put((byte) components)
+                .putInt(count).putInt(body.length);
+        out.write(fixed.array(), 0, HEADER_SIZE);
+        out.write(header.array(), 0, header.limit());
+        byte[] chunk = new byte[8192];
+        while (!deflater.finished()) {
+            int n = deflater.deflate(chunk);
+            out.write(chunk, 0, n);
+        }
+        deflater.end();
+        return out.toByteArray();
+    }
+
+    /**
+     * Decodes a block written by {@link #encode(BufferEncoding, Buffer, int)}.
+     *
+     * @param block the block, from its position to its limit (not null)
+     * @param elementSize the element size the field requires
+     * @return a new direct buffer in native order holding the elements
+     * @throws IOException if the block is corrupt or doesn't match the field
+     */
+    static ByteBuffer decode(ByteBuffer block, int elementSize) throws IOException {
+        if (block.remaining() < HEADER_SIZE) {
+            throw new IOException("Truncated J3O encoded buffer");
+        }
+        int start = block.position();
+        BufferEncoding encoding = BufferEncoding.fromId(block.get(start));
+        int size = block.get(start + 1);
+        int components = block.get(start + 2);
+        int count = block.getInt(start + 3);
+        int rawLength = block.getInt(start + 7);
+        if (encoding == null) {
+            throw new IOException("Unknown J3O buffer encoding: " + block.get(start));
+        }
+        if (size != elementSize || components < 1 || count < 0
+                || (long) count * elementSize > Integer.MAX_VALUE) {
+            throw new IOException("Invalid J3O encoded buffer header");
+        }
+        boolean floats = encoding == BufferEncoding.QUANTIZED_16
+                || encoding == BufferEncoding.OCTAHEDRAL_16;
+        if (floats && elementSize != 4) {
+            throw new IOException("Invalid J3O encoded buffer header");
+        }
+        int headerSize = encoding == BufferEncoding.QUANTIZED_16 ? 8 * components : 0;
+        int bodyStart = start + HEADER_SIZE + headerSize;
+        if (bodyStart > block.limit()) {
+            throw new IOException("Truncated J3O encoded buffer");
+        }
+
+        long expected;
+        switch (encoding) {
+            case QUANTIZED_16:
+                expected = 2L * count;
+                break;
+            case OCTAHEDRAL_16:
+                expected = count % 3 == 0 ? 4L * (count / 3) : -1;
+                break;
+            case INDEX_DELTA:
+                expected = rawLength >= count && rawLength <= 5L * count ? rawLength : -1;
+                break;
+            default:
+                expected = (long) count * elementSize;
+                break;
+        }
+        long compressed = block.limit() - bodyStart;
+        if (expected != rawLength || rawLength > compressed * MAX_INFLATE_RATIO + 64) {
+            throw new IOException("Invalid J3O encoded buffer header");
+        }
+        byte[] body = inflate(block, bodyStart, rawLength);
+
+        ByteBuffer result = BufferUtils.createByteBuffer(count * elementSize);
+        switch (encoding) {
+            case DEFLATE:
+                putInts(result, deinterleave(body, elementSize, count), elementSize);
+                break;
+            case VERTEX_DELTA:
+                putInts(result, undeltaPlanes(body, elementSize, components, count), elementSize);
+                break;
+            case INDEX_DELTA:
+                putInts(result, undeltaIndices(body, count), elementSize);
+                break;
+            case QUANTIZED_16: {
+                int[] q = undeltaPlanes(body, 2, components, count);
+                for (int i = 0; i < count; i++) {
+                    int c = i % components;
+                    float min = block.getFloat(start + HEADER_SIZE + 8 * c);
+                    float max = block.getFloat(start + HEADER_SIZE + 8 * c + 4);
+                    float value = q[i] == 65535 ? max : min + q[i] * ((max - min) / 65535f);
+                    result.putFloat(i * 4, value);
+                }
+                break;
+            }
+            case OCTAHEDRAL_16: {
+                int[] q = undeltaPlanes(body, 2, 2, count / 3 * 2);
+                for (int i = 0, o = 0; i < count; i += 3, o += 2) {
+                    float u = Math.max((short) q[o] / 32767f, -1f);
+                    float v = Math.max((short) q[o + 1] / 32767f, -1f);
+                    float z = 1f - Math.abs(u) - Math.abs(v);
+                    if (z < 0f) {
+                        float fu = (1f - Math.abs(v)) * sign(u);
+                        v = (1f - Math.abs(u)) * sign(v);
+                        u = fu;
+                    }
+                    float length = (float) Math.sqrt(u * u + v * v + z * z);
+                    result.putFloat(i * 4, u / length);
+                    result.putFloat(i * 4 + 4, v / length);
+                    result.putFloat(i * 4 + 8, z / length);
+                }
+                break;
+            }
+            default:
+                break;
+        }
+        return result;
+    }
+
+    private static byte[] inflate(ByteBuffer block, int offset, int rawLength) throws IOException {
+        byte[] input = new byte[block.limit() - offset];
+        ByteBuffer src = block.duplicate();
+        src.position(offset);
+        src.get(input);
+        byte[] body = new byte[rawLength];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(input);
+            int read = 0;
+            while (read < rawLength) {
+                int n = inflater.inflate(body, read, rawLength - read);
+                if (n == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary())) {
+                    break;
+                }
+                read += n;
+            }
+            if (read == rawLength && !inflater.finished() && inflater.inflate(new byte[1]) > 0) {
+                read++;
+            }
+            if (read != rawLength || !inflater.finished()) {
+                throw new IOException("Corrupt J3O encoded buffer");
+            }
+        } catch (DataFormatException ex) {
+            throw new IOException("Corrupt J3O encoded buffer", ex);
+        } finally {
+            inflater.end();
+        }
+        return body;
+    }
+
+    private static int elementSize(Buffer data) {
+        if (data instanceof ByteBuffer) {
+            return 1;
+        } else if (data instanceof ShortBuffer) {
+            return 2;
+        } else if (data instanceof FloatBuffer || data instanceof IntBuffer) {
+            return 4;
+        }
+        throw new IllegalArgumentException("Unsupported buffer: " + data.getClass().getName());
+    }
+
+    /**
+     * Returns the elements of a buffer as unsigned bit patterns.
+     */
+    private static int[] toInts(Buffer data) {
+        int count = data.limit();
+        int[] values = new int[count];
+        if (data instanceof FloatBuffer) {
+            FloatBuffer buffer = (FloatBuffer) data;
+            for (int i = 0; i < count; i++) {
+                values[i] = Float.floatToRawIntBits(buffer.get(i));
+            }
+        } else if (data instanceof IntBuffer) {
+            IntBuffer buffer = (IntBuffer) data;
+            for (int i = 0; i < count; i++) {
+                values[i] = buffer.get(i);
+            }
+        } else if (data instanceof ShortBuffer) {
+            ShortBuffer buffer = (ShortBuffer) data;
+            for (int i = 0; i < count; i++) {
+                values[i] = buffer.get(i) & 0xffff;
+            }
+        } else {
+            ByteBuffer buffer = (ByteBuffer) data;
+            for (int i = 0; i < count; i++) {
+                values[i] = buffer.get(i) & 0xff;
+            }
+        }
+        return values;
+    }
+
+    private static void putInts(ByteBuffer result, int[] values, int elementSize) {
+        for (int i = 0; i < values.length; i++) {
+            if (elementSize == 4) {
+                result.putInt(i * 4, values[i]);
+            } else if (elementSize == 2) {
+                result.putShort(i * 2, (short) values[i]);
+            } else {
+                result.put(i, (byte) values[i]);
+            }
+        }
+    }
+
+    private static byte[] interleave(int[] values, int elementSize) {
+        byte[] out = new byte[values.length * elementSize];
+        for (int i = 0; i < values.length; i++) {
+            for (int k = 0; k < elementSize; k++) {
+                out[i * elementSize + k] = (byte) (values[i] >>> (8 * k));
+            }
+        }
+        return out;
+    }
+
+    private static int[] deinterleave(byte[] body, int elementSize, int count) {
+        int[] values = new int[count];
+        for (int i = 0; i < count; i++) {
+            for (int k = 0; k < elementSize; k++) {
+                values[i] |= (body[i * elementSize + k] & 0xff) << (8 * k);
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Stores each value as the zigzag encoded difference to the same
+     * component of the previous vertex, with the bytes of all values split
+     * into planes so that the mostly zero high bytes compress well.
+     */
+    private static byte[] deltaPlanes(int[] values, int elementSize, int components) {
+        int count = values.length;
+        int shift = 32 - 8 * elementSize;
+        byte[] out = new byte[count * elementSize];
+        for (int i = 0; i < count; i++) {
+            int previous = i >= components ? values[i - components] : 0;
+            int delta = (values[i] - previous) << shift >> shift;
+            int zigzag = (delta << 1) ^ (delta >> 31);
+            for (int k = 0; k < elementSize; k++) {
+                out[k * count + i] = (byte) (zigzag >>> (8 * k));
+            }
+        }
+        return out;
+    }
+
+    private static int[] undeltaPlanes(byte[] body, int elementSize, int components, int count) {
+        int mask = elementSize == 4 ? -1 : (1 << (8 * elementSize)) - 1;
+        int[] values = new int[count];
+        for (int i = 0; i < count; i++) {
+            int zigzag = 0;
+            for (int k = 0; k < elementSize; k++) {
+                zigzag |= (body[k * count + i] & 0xff) << (8 * k);
+            }
+            int delta = (zigzag >>> 1) ^ -(zigzag & 1);
+            int previous = i >= components ? values[i - components] : 0;
+            values[i] = (previous + delta) & mask;
+        }
+        return values;
+    }
+
+    /**
+     * Stores each index as the zigzag varint of its difference to the
+     * previous index.
+     */
+    private static byte[] indexDelta(int[] values) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(values.length * 2);
+        int previous = 0;
+        for (int value : values) {
+            int delta = value - previous;
+            int zigzag = (delta << 1) ^ (delta >> 31);
+            while ((zigzag & ~0x7f) != 0) {
+                out.write((zigzag & 0x7f) | 0x80);
+                zigzag >>>= 7;
+            }
+            out.write(zigzag);
+            previous = value;
+        }
+        return out.toByteArray();
+    }
+
+    private static int[] undeltaIndices(byte[] body, int count) throws IOException {
+        int[] values = new int[count];
+        int previous = 0;
+        int offset = 0;
+        for (int i = 0; i < count; i++) {
+            int zigzag = 0;
+            for (int shift = 0; ; shift += 7) {
+                if (offset == body.length || shift > 28) {
+                    throw new IOException("Corrupt J3O encoded buffer");
+                }
+                byte b = body[offset++];
+                zigzag |= (b & 0x7f) << shift;
+                if (b >= 0) {
+                    break;
+                }
+            }
+            previous += (zigzag >>> 1) ^ -(zigzag & 1);
+            values[i] = previous;
+        }
+        if (offset != body.length) {
+            throw new IOException("Corrupt J3O encoded buffer");
+        }
+        return values;
+    }
+
+    /**
+     * Quantizes each component to 16 bits within its range, writing the
+     * ranges to the header.
+     *
+     * @return the delta encoded planes, or null if a value isn't finite
+     */
+    private static byte[] quantize(FloatBuffer data, int components, ByteBuffer header) {
+        int count = data.limit();
+        float[] min = new float[components];
+        float[] max = new float[components];
+        Arrays.fill(min, Float.POSITIVE_INFINITY);
+        Arrays.fill(max, Float.NEGATIVE_INFINITY);
+        for (int i = 0; i < count; i++) {
+            float value = data.get(i);
+            if (Float.isNaN(value) || Float.isInfinite(value)) {
+                return null;
+            }
+            int c = i % components;
+            min[c] = Math.min(min[c], value);
+            max[c] = Math.max(max[c], value);
+        }
+        for (int c = 0; c < components; c++) {
+            if (min[c] > max[c]) {
+                min[c] = max[c] = 0f;
+            } else if (Float.isInfinite(max[c] - min[c])) {
+                return null;
+            }
+            header.putFloat(min[c]).putFloat(max[c]);
+        }
+        int[] q = new int[count];
+        for (int i = 0; i < count; i++) {
+            int c = i % components;
+            float range = max[c] - min[c];
+            q[i] = range == 0f ? 0 : Math.round((data.get(i) - min[c]) / range * 65535f);
+        }
+        return deltaPlanes(q, 2, components);
+    }
+
+    /**
+     * Maps each unit vector onto the octahedron and stores the two
+     * coordinates as 16-bit signed normalized values.
+     *
+     * @return the delta encoded planes, or null if the buffer doesn't hold
+     * finite 3-component vectors
+     */
+    private static byte[] octahedral(FloatBuffer data, int components) {
+        int count = data.limit();
+        if (components != 3 || count % 3 != 0) {
+            return null;
+        }
+        int[] q = new int[count / 3 * 2];
+        for (int i = 0, o = 0; i < count; i += 3, o += 2) {
+            float x = data.get(i);
+            float y = data.get(i + 1);
+            float z = data.get(i + 2);
+            float norm = Math.abs(x) + Math.abs(y) + Math.abs(z);
+            if (Float.isNaN(norm) || Float.isInfinite(norm)) {
+                return null;
+            }
+            float u = 0f, v = 0f;
+            if (norm > 0f) {
+                u = x / norm;
+                v = y / norm;
+                if (z < 0f) {
+                    float fu = (1f - Math.abs(v)) * sign(u);
+                    v = (1f - Math.abs(u)) * sign(v);
+                    u = fu;
+                }
+            }
+            q[o] = Math.round(u * 32767f) & 0xffff;
+            q[o + 1] = Math.round(v * 32767f) & 0xffff;
+        }
+        return deltaPlanes(q, 2, 2);
+    }
+
+    private static float sign(float value) {
+        return value >= 0f ? 1f : -1f;
+    }
+}
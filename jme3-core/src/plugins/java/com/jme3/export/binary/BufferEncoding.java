@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.export.binary;
+
+/**
+ * Encodings that {@link BinaryExporter} can apply to NIO buffer fields
+ * to make J3O files smaller, selected by a {@link BufferEncodingPolicy}.
+ * {@link BinaryImporter} decodes them transparently back into the same
+ * kind of buffer, so savables read them like any other buffer.
+ *
+ * <p>Files with encoded buffers cannot be read by versions of the engine
+ * that predate these encodings.</p>
+ */
+public enum BufferEncoding {
+
+    /**
+     * Lossless: the raw buffer contents compressed with Deflate.  Suits
+     * image data and other buffers without a per-vertex structure.
+     */
+    DEFLATE(1),
+
+    /**
+     * Lossless: the bytes of each element are split into planes and each
+     * plane is delta encoded against the same component of the previous
+     * vertex before compressing, in the spirit of meshoptimizer's vertex
+     * codec.  Suits any vertex attribute.
+     */
+    VERTEX_DELTA(2),
+
+    /**
+     * Lossless: each index is stored as the zigzag varint of its
+     * difference to the previous index before compressing, in the spirit
+     * of meshoptimizer's index codec.  Suits index buffers.
+     */
+    INDEX_DELTA(3),
+
+    /**
+     * Lossy: every component of a float buffer is quantized to 16 bits
+     * within its range in the buffer.  Suits positions and texture
+     * coordinates.  Other buffers are written with {@link #VERTEX_DELTA}.
+     */
+    QUANTIZED_16(4),
+
+    /**
+     * Lossy: unit vectors of a float buffer with 3 components are stored
+     * as two 16-bit octahedral coordinates and renormalized when read.
+     * Suits normals.  Other buffers are written with {@link #VERTEX_DELTA}.
+     */
+    OCTAHEDRAL_16(5);
+
+    final byte id;
+
+    private BufferEncoding(int id) {
+        this.id = (byte) id;
+    }
+
+    static BufferEncoding fromId(byte id) {
+        for (BufferEncoding encoding : values()) {
+            if (encoding.id == id) {
+                return encoding;
+            }
+        }
+        return null;
+    }
+}
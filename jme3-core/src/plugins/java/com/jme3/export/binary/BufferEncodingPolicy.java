@@ -0,0 +1,107 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.export.binary;
+
+import com.jme3.export.Savable;
+import com.jme3.scene.VertexBuffer;
+import com.jme3.texture.Image;
+import java.nio.Buffer;
+import java.nio.FloatBuffer;
+
+/**
+ * Selects how {@link BinaryExporter} encodes each NIO buffer field, see
+ * {@link BinaryExporter#setBufferEncodingPolicy(BufferEncodingPolicy)}.
+ */
+public interface BufferEncodingPolicy {
+
+    /**
+     * Buffers with fewer elements are not worth encoding.
+     */
+    public static final int MIN_ELEMENTS = 64;
+
+    /**
+     * Encodes vertex, index and image buffers without losing any data.
+     */
+    public static final BufferEncodingPolicy LOSSLESS = (owner, name, data) -> {
+        if (data.limit() < MIN_ELEMENTS) {
+            return null;
+        }
+        if (owner instanceof VertexBuffer) {
+            return ((VertexBuffer) owner).getBufferType() == VertexBuffer.Type.Index
+                    ? BufferEncoding.INDEX_DELTA : BufferEncoding.VERTEX_DELTA;
+        }
+        if (owner instanceof Image) {
+            return BufferEncoding.DEFLATE;
+        }
+        return null;
+    };
+
+    /**
+     * Like {@link #LOSSLESS} but quantizes float positions and texture
+     * coordinates to 16 bits and stores float normals as 16-bit
+     * octahedral coordinates.
+     */
+    public static final BufferEncodingPolicy COMPACT = (owner, name, data) -> {
+        BufferEncoding lossless = LOSSLESS.select(owner, name, data);
+        if (lossless != BufferEncoding.VERTEX_DELTA || !(data instanceof FloatBuffer)) {
+            return lossless;
+        }
+        switch (((VertexBuffer) owner).getBufferType()) {
+            case Position:
+            case BindPosePosition:
+            case TexCoord:
+            case TexCoord2:
+            case TexCoord3:
+            case TexCoord4:
+            case TexCoord5:
+            case TexCoord6:
+            case TexCoord7:
+            case TexCoord8:
+                return BufferEncoding.QUANTIZED_16;
+            case Normal:
+            case BindPoseNormal:
+                return BufferEncoding.OCTAHEDRAL_16;
+            default:
+                return lossless;
+        }
+    };
+
+    /**
+     * Returns the encoding for a buffer field.
+     *
+     * @param owner the savable writing the field
+     * @param name the name of the field
+     * @param data the buffer (not null)
+     * @return the encoding, or null to write the buffer as is
+     */
+    public BufferEncoding select(Savable owner, String name, Buffer data);
+}
@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.anim;
+
+import com.jme3.export.binary.BinaryExporter;
+import com.jme3.export.binary.BinaryImporter;
+import com.jme3.math.FastMath;
+import com.jme3.math.Quaternion;
+import com.jme3.math.Transform;
+import com.jme3.math.Vector3f;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares {@link CompactTransformTrack} samples against the track it was
+ * created from.
+ */
+public class CompactTransformTrackTest {
+
+    private static final int FRAMES = 61;
+
+    private static TransformTrack createTrack() {
+        float[] times = new float[FRAMES];
+        Vector3f[] translations = new Vector3f[FRAMES];
+        Quaternion[] rotations = new Quaternion[FRAMES];
+        Vector3f[] scales = new Vector3f[FRAMES];
+        for (int i = 0; i < FRAMES; i++) {
+            times[i] = i / 30f;
+            // Linear in x, curved in y
+            translations[i] = new Vector3f(i * 0.5f, FastMath.sin(i * 0.2f) * 3f, 1f);
+            rotations[i] = new Quaternion().fromAngles(0f, i * 0.1f, FastMath.sin(i * 0.3f));
+            scales[i] = new Vector3f(2f, 2f, 2f);
+        }
+        return new TransformTrack(new Joint("joint"), times, translations, rotations, scales);
+    }
+
+    private static void assertSamplesMatch(TransformTrack expected, TransformTrack actual, float delta) {
+        Transform e = new Transform();
+        Transform a = new Transform();
+        for (float t = -0.1f; t < 2.2f; t += 0.013f) {
+            expected.getDataAtTime(t, e);
+            actual.getDataAtTime(t, a);
+            assertEquals(e.getTranslation().x, a.getTranslation().x, delta);
+            assertEquals(e.getTranslation().y, a.getTranslation().y, delta);
+            assertEquals(e.getTranslation().z, a.getTranslation().z, delta);
+            assertEquals(1f, Math.abs(e.getRotation().dot(a.getRotation())), delta);
+            assertEquals(e.getScale().x, a.getScale().x, delta);
+        }
+    }
+
+    @Test
+    public void testExact() {
+        TransformTrack track = createTrack();
+        CompactTransformTrack compact = new CompactTransformTrack(track, 0f, false);
+        assertSamplesMatch(track, compact, 1e-5f);
+        assertEquals(track.getLength(), compact.getLength());
+        assertSame(track.getTimes(), compact.getTimes());
+        assertSame(track.getTarget(), compact.getTarget());
+        assertFalse(compact.isQuantized());
+
+        // The constant scales keep a single keyframe
+        int[] counts = compact.getKeyframeCounts();
+        assertEquals(1, counts[2]);
+        assertEquals(FRAMES, compact.getScales().length);
+        assertEquals(new Vector3f(2f, 2f, 2f), compact.getScales()[FRAMES - 1]);
+    }
+
+    @Test
+    public void testReducedAndQuantized() {
+        TransformTrack track = createTrack();
+        CompactTransformTrack compact = new CompactTransformTrack(track, 1e-2f, true);
+        assertTrue(compact.isQuantized());
+        assertSamplesMatch(track, compact, 2e-2f);
+        int[] counts = compact.getKeyframeCounts();
+        assertTrue(counts[0] < FRAMES);
+        assertTrue(counts[1] < FRAMES);
+        assertEquals(1, counts[2]);
+    }
+
+    @Test
+    public void testSaveAndLoad() throws IOException {
+        TransformTrack track = createTrack();
+        for (boolean quantize : new boolean[]{false, true}) {
+            CompactTransformTrack compact = new CompactTransformTrack(track, 1e-3f, quantize);
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            BinaryExporter.getInstance().save(compact, out);
+            CompactTransformTrack loaded = (CompactTransformTrack) BinaryImporter.getInstance().load(out.toByteArray());
+            assertSamplesMatch(compact, loaded, 1e-6f);
+            assertArrayEquals(compact.getKeyframeCounts(), loaded.getKeyframeCounts());
+            assertEquals("joint", ((Joint) loaded.getTarget()).getName());
+        }
+    }
+
+    @Test
+    public void testClip() {
+        TransformTrack track = createTrack();
+        AnimClip clip = new AnimClip("clip");
+        clip.setTracks(new AnimTrack[]{track});
+        clip.compactTransformTracks(0f, false);
+        assertTrue(clip.getTracks()[0] instanceof CompactTransformTrack);
+        assertEquals(track.getLength(), clip.getLength());
+
+        CompactTransformTrack compact = (CompactTransformTrack) clip.getTracks()[0];
+        assertThrows(UnsupportedOperationException.class, () -> compact.setTimes(new float[]{0f}));
+        assertThrows(IllegalArgumentException.class, () -> new CompactTransformTrack(track, -1f, false));
+    }
+}
@@ -0,0 +1,249 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.asset;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Verifies ordering, cancellation, dependencies and dispatch budgeting of
+ * {@link StreamingAssetLoader}.
+ */
+public class StreamingAssetLoaderTest {
+
+    private static final List<String> loadOrder = Collections.synchronizedList(new ArrayList<String>());
+    private static volatile CountDownLatch gate;
+
+    private StreamingAssetLoader streamer;
+
+    /**
+     * Locates every asset as an empty stream.
+     */
+    public static class EmptyLocator implements AssetLocator {
+        @Override
+        public void setRootPath(String rootPath) {
+        }
+
+        @Override
+        public AssetInfo locate(AssetManager manager, AssetKey key) {
+            return new AssetInfo(manager, key) {
+                @Override
+                public InputStream openStream() {
+                    return new ByteArrayInputStream(new byte[0]);
+                }
+            };
+        }
+    }
+
+    /**
+     * Returns the asset name, blocking on the gate for names starting with
+     * "block" and failing for names starting with "fail".
+     */
+    public static class GatedLoader implements AssetLoader {
+        @Override
+        public Object load(AssetInfo assetInfo) throws IOException {
+            String name = assetInfo.getKey().getName();
+            if (name.startsWith("block")) {
+                try {
+                    gate.await();
+                } catch (InterruptedException ex) {
+                    throw new IOException(ex);
+                }
+            }
+            loadOrder.add(name);
+            if (name.startsWith("fail")) {
+                throw new IOException("cannot load " + name);
+            }
+            return name;
+        }
+    }
+
+    @BeforeEach
+    public void setUp() {
+        loadOrder.clear();
+        gate = new CountDownLatch(1);
+        AssetManager assetManager = new DesktopAssetManager(false);
+        assetManager.registerLocator("/", EmptyLocator.class);
+        assetManager.registerLoader(GatedLoader.class, "txt");
+        streamer = new StreamingAssetLoader(assetManager, 1);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        gate.countDown();
+        streamer.shutdown();
+    }
+
+    private static AssetKey<Object> key(String name) {
+        return new AssetKey<>(name + ".txt");
+    }
+
+    @Test
+    public void testLoadsInPriorityOrder() throws Exception {
+        AssetRequest<Object> blocker = streamer.request(key("block"), 0f);
+        AssetRequest<Object> far = streamer.request(key("far"), 30f);
+        AssetRequest<Object> near = streamer.request(key("near"), 10f);
+        AssetRequest<Object> middle = streamer.request(key("middle"), 20f);
+        gate.countDown();
+
+        far.get(5, TimeUnit.SECONDS);
+        assertEquals("near.txt", near.get());
+        assertEquals("middle.txt", middle.get());
+        assertTrue(blocker.isDone());
+        assertEquals(4, loadOrder.size());
+        assertEquals("near.txt", loadOrder.get(1));
+        assertEquals("middle.txt", loadOrder.get(2));
+        assertEquals("far.txt", loadOrder.get(3));
+    }
+
+    @Test
+    public void testPriorityCanChangeWhileQueued() throws Exception {
+        streamer.request(key("block"), 0f);
+        AssetRequest<Object> first = streamer.request(key("first"), 1f);
+        AssetRequest<Object> second = streamer.request(key("second"), 2f);
+        second.setPriority(0.5f);
+        gate.countDown();
+
+        first.get(5, TimeUnit.SECONDS);
+        second.get(5, TimeUnit.SECONDS);
+        assertEquals("second.txt", loadOrder.get(1));
+        assertEquals("first.txt", loadOrder.get(2));
+    }
+
+    @Test
+    public void testCancelledRequestIsNeverLoaded() throws Exception {
+        streamer.request(key("block"), 0f);
+        List<Object> dispatched = new ArrayList<>();
+        AssetRequest<Object> cancelled = streamer.request(key("cancelled"), 1f, dispatched::add);
+        AssetRequest<Object> kept = streamer.request(key("kept"), 2f, dispatched::add);
+
+        assertTrue(cancelled.cancel());
+        assertFalse(cancelled.cancel());
+        gate.countDown();
+        kept.get(5, TimeUnit.SECONDS);
+        streamer.update();
+
+        assertTrue(cancelled.isCancelled());
+        assertThrows(CancellationException.class, cancelled::get);
+        assertFalse(loadOrder.contains("cancelled.txt"));
+        assertEquals(Collections.singletonList("kept.txt"), dispatched);
+        assertFalse(kept.cancel());
+    }
+
+    @Test
+    public void testDependenciesLoadFirst() throws Exception {
+        AssetRequest<Object> model = streamer.request(key("model"), 1f, null,
+                key("texture"), key("material"));
+        model.get(5, TimeUnit.SECONDS);
+
+        assertEquals(3, loadOrder.size());
+        assertEquals("model.txt", loadOrder.get(2));
+    }
+
+    @Test
+    public void testDependencyFailureFailsDependant() throws Exception {
+        List<AssetKey<?>> failures = new ArrayList<>();
+        streamer.setFailureHandler((key, error) -> failures.add(key));
+        AssetRequest<Object> model = streamer.request(key("model"), 1f, asset -> fail("loaded"),
+                key("texture"), key("failing"));
+
+        try {
+            model.get(5, TimeUnit.SECONDS);
+            fail("expected ExecutionException");
+        } catch (ExecutionException ex) {
+            assertTrue(ex.getCause().getMessage().contains("failing.txt"), ex.getCause().getMessage());
+        }
+        assertEquals(AssetRequest.State.Failed, model.getState());
+        assertFalse(loadOrder.contains("model.txt"));
+
+        assertEquals(1, streamer.update());
+        assertEquals(Collections.singletonList(key("model")), failures);
+    }
+
+    @Test
+    public void testUpdateRespectsBudget() throws Exception {
+        List<Object> dispatched = new ArrayList<>();
+        List<AssetRequest<Object>> requests = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            requests.add(streamer.request(key("asset" + i), i, dispatched::add));
+        }
+        for (AssetRequest<Object> request : requests) {
+            request.get(5, TimeUnit.SECONDS);
+        }
+
+        streamer.setMaxDispatchesPerFrame(2);
+        assertEquals(2, streamer.update());
+        assertEquals(2, dispatched.size());
+        assertEquals("asset0.txt", dispatched.get(0));
+        assertEquals(AssetRequest.State.Dispatched, requests.get(0).getState());
+        assertEquals(AssetRequest.State.Loaded, requests.get(4).getState());
+
+        streamer.setMaxDispatchesPerFrame(10);
+        assertEquals(3, streamer.update());
+        assertEquals(5, dispatched.size());
+        assertEquals(0, streamer.update());
+    }
+
+    @Test
+    public void testFailureIsReported() throws Exception {
+        List<AssetKey<?>> failures = new ArrayList<>();
+        streamer.setFailureHandler((key, error) -> failures.add(key));
+        AssetRequest<Object> request = streamer.request(key("fail"), 0f, asset -> fail("loaded"));
+
+        try {
+            request.get(5, TimeUnit.SECONDS);
+            fail("expected ExecutionException");
+        } catch (ExecutionException ex) {
+            assertSame(request.getError(), ex.getCause());
+        }
+        assertEquals(1, streamer.update());
+        assertEquals(Collections.singletonList(key("fail")), failures);
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.asset.cache;
+
+import com.jme3.asset.AssetKey;
+import com.jme3.asset.TextureKey;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Node;
+import com.jme3.scene.shape.Quad;
+import com.jme3.texture.Image;
+import com.jme3.texture.Texture2D;
+import com.jme3.texture.image.ColorSpace;
+import com.jme3.util.BufferUtils;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies size accounting and least recently used eviction of
+ * {@link LruAssetCache}.
+ */
+public class LruAssetCacheTest {
+
+    private static Texture2D texture(int size) {
+        Image image = new Image(Image.Format.RGBA8, size, size,
+                BufferUtils.createByteBuffer(size * size * 4), ColorSpace.Linear);
+        return new Texture2D(image);
+    }
+
+    @Test
+    public void testEstimatesTextureAndModelSizes() {
+        LruAssetCache cache = new LruAssetCache();
+        TextureKey textureKey = new TextureKey("a.png");
+        cache.addToCache(textureKey, texture(64));
+        assertEquals(64 * 64 * 4, cache.getSize());
+
+        Node model = new Node("model");
+        Quad quad = new Quad(1f, 1f);
+        model.attachChild(new Geometry("a", quad));
+        model.attachChild(new Geometry("b", quad));
+        long quadSize = 4 * 3 * 4 + 4 * 3 * 4 + 4 * 2 * 4 + 6 * 2;
+        cache.addToCache(new AssetKey<>("model.j3o"), model);
+        assertEquals(64 * 64 * 4 + Math.max(quadSize, LruAssetCache.DEFAULT_ASSET_SIZE),
+                cache.getSize());
+        assertEquals(2, cache.getAssetCount());
+
+        assertTrue(cache.deleteFromCache(textureKey));
+        assertFalse(cache.deleteFromCache(textureKey));
+        assertEquals(Math.max(quadSize, LruAssetCache.DEFAULT_ASSET_SIZE), cache.getSize());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        long textureSize = 32 * 32 * 4;
+        LruAssetCache cache = new LruAssetCache(3 * textureSize);
+        TextureKey a = new TextureKey("a.png");
+        TextureKey b = new TextureKey("b.png");
+        TextureKey c = new TextureKey("c.png");
+        TextureKey d = new TextureKey("d.png");
+        cache.addToCache(a, texture(32));
+        cache.addToCache(b, texture(32));
+        cache.addToCache(c, texture(32));
+
+        // touch "a" so that "b" becomes the eldest entry
+        assertNotNull(cache.getFromCache(a));
+        cache.addToCache(d, texture(32));
+
+        assertNull(cache.getFromCache(b));
+        assertNotNull(cache.getFromCache(a));
+        assertNotNull(cache.getFromCache(c));
+        assertNotNull(cache.getFromCache(d));
+        assertEquals(3 * textureSize, cache.getSize());
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(4, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+
+        cache.setBudget(textureSize);
+        assertEquals(1, cache.getAssetCount());
+        assertNotNull(cache.getFromCache(d));
+        assertEquals(3, cache.getEvictionCount());
+
+        cache.resetStatistics();
+        assertEquals(0, cache.getHitCount());
+        cache.clearCache();
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    public void testReplacingAnAssetUpdatesSize() {
+        LruAssetCache cache = new LruAssetCache();
+        TextureKey key = new TextureKey("a.png");
+        cache.addToCache(key, texture(32));
+        Texture2D larger = texture(64);
+        cache.addToCache(key, larger);
+
+        assertEquals(64 * 64 * 4, cache.getSize());
+        assertSame(larger, cache.getFromCache(key));
+    }
+}
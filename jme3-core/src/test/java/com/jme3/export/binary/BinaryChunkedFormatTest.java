@@ -0,0 +1,181 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.export.binary;
+
+import com.jme3.export.FormatVersion;
+import com.jme3.math.Vector3f;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Mesh;
+import com.jme3.scene.Node;
+import com.jme3.scene.Spatial;
+import com.jme3.scene.VertexBuffer;
+import com.jme3.scene.shape.Box;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Saves and loads J3O files in the chunked layout written when
+ * {@link BinaryExporter#setChunkSize(int)} is set.
+ */
+public class BinaryChunkedFormatTest {
+
+    private static Node createScene() {
+        Mesh shared = new Box(1, 1, 1);
+        Node root = new Node("root");
+        for (int i = 0; i < 8; i++) {
+            Node group = new Node("group" + i);
+            group.setLocalTranslation(i, 0, 0);
+            for (int j = 0; j < 8; j++) {
+                Geometry geom = new Geometry("geom" + i + "-" + j, j == 0 ? shared : new Box(1, j, 1));
+                geom.setUserData("index", i * 8 + j);
+                group.attachChild(geom);
+            }
+            root.attachChild(group);
+        }
+        return root;
+    }
+
+    private static byte[] save(Node scene, int chunkSize) throws IOException {
+        BinaryExporter exporter = new BinaryExporter();
+        exporter.setChunkSize(chunkSize);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.save(scene, out);
+        return out.toByteArray();
+    }
+
+    private static void assertSameScene(Node expected, Node actual) {
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getQuantity(), actual.getQuantity());
+        for (int i = 0; i < expected.getQuantity(); i++) {
+            Spatial e = expected.getChild(i);
+            Spatial a = actual.getChild(i);
+            assertEquals(e.getName(), a.getName());
+            assertEquals(e.getLocalTranslation(), a.getLocalTranslation());
+            if (e instanceof Node) {
+                assertSameScene((Node) e, (Node) a);
+            } else {
+                assertEquals((Object) e.getUserData("index"), a.getUserData("index"));
+                FloatBuffer ep = ((Geometry) e).getMesh().getFloatBuffer(VertexBuffer.Type.Position);
+                FloatBuffer ap = ((Geometry) a).getMesh().getFloatBuffer(VertexBuffer.Type.Position);
+                assertEquals(ep.limit(), ap.limit());
+                for (int k = 0; k < ep.limit(); k++) {
+                    assertEquals(ep.get(k), ap.get(k));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testVersions() throws IOException {
+        Node scene = createScene();
+        assertEquals(FormatVersion.VERSION, ByteBuffer.wrap(save(scene, 0)).getInt(4));
+        byte[] chunked = save(scene, 512);
+        assertEquals(FormatVersion.VERSION | FormatVersion.FLAG_CHUNKED, ByteBuffer.wrap(chunked).getInt(4));
+        assertThrows(IllegalArgumentException.class, () -> new BinaryExporter().setChunkSize(-1));
+
+        // the layout flag does not change the reported format version
+        BinaryImporter importer = BinaryImporter.getInstance();
+        importer.load(chunked);
+        assertEquals(FormatVersion.VERSION, importer.getFormatVersion());
+
+        // newer version numbers and unknown layout flags are rejected
+        ByteBuffer.wrap(chunked).putInt(4, FormatVersion.VERSION + 1);
+        assertThrows(IOException.class, () -> BinaryImporter.getInstance().load(chunked));
+        ByteBuffer.wrap(chunked).putInt(4, FormatVersion.VERSION | 0x40000000);
+        assertThrows(IOException.class, () -> BinaryImporter.getInstance().load(chunked));
+    }
+
+    @Test
+    public void testLoadsLikeSequentialLayout() throws IOException {
+        Node scene = createScene();
+        Node sequential = (Node) BinaryImporter.getInstance().load(save(scene, 0));
+
+        for (int chunkSize : new int[]{1, 512, 1 << 20}) {
+            byte[] chunked = save(scene, chunkSize);
+
+            BinaryImporter parallel = new BinaryImporter();
+            Node a = (Node) parallel.load(new ByteArrayInputStream(chunked));
+            assertEquals(FormatVersion.VERSION, parallel.getFormatVersion());
+            assertSameScene(sequential, a);
+
+            BinaryImporter single = new BinaryImporter();
+            single.setExecutor(null);
+            Node b = (Node) single.load(new ByteArrayInputStream(chunked));
+            assertSameScene(sequential, b);
+
+            // Shared objects are still loaded once
+            Mesh first = ((Geometry) ((Node) a.getChild(0)).getChild(0)).getMesh();
+            Mesh second = ((Geometry) ((Node) a.getChild(1)).getChild(0)).getMesh();
+            assertTrue(first == second);
+        }
+    }
+
+    @Test
+    public void testLoadsSubtreeById() throws IOException {
+        Node scene = createScene();
+        File file = File.createTempFile("chunked", ".j3o");
+        try {
+            BinaryExporter exporter = new BinaryExporter();
+            exporter.setChunkSize(256);
+            exporter.save(scene, file);
+            Node group = (Node) scene.getChild("group5");
+            int id = exporter.getSavedId(group);
+            assertTrue(id > 0);
+            assertEquals(-1, exporter.getSavedId(new Node("unsaved")));
+
+            Node loaded = (Node) BinaryImporter.getInstance().loadObject(file, id);
+            assertNotNull(loaded);
+            assertEquals("group5", loaded.getName());
+            assertNull(loaded.getParent());
+            assertEquals(new Vector3f(5, 0, 0), loaded.getLocalTranslation());
+            assertSameScene(group, loaded);
+
+            Node root = (Node) BinaryImporter.getInstance().loadMapped(file);
+            assertSameScene(scene, root);
+
+            assertThrows(IOException.class, () -> BinaryImporter.getInstance().loadObject(file, 100000));
+        } finally {
+            file.delete();
+        }
+    }
+}
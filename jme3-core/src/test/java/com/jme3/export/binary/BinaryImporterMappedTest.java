@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.export.binary;
+
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Mesh;
+import com.jme3.scene.Node;
+import com.jme3.scene.VertexBuffer;
+import com.jme3.util.BufferUtils;
+import java.io.File;
+import java.io.IOException;
+import java.nio.FloatBuffer;
+import java.nio.ShortBuffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Loads J3O files through {@link BinaryImporter#loadMapped(File)}.
+ */
+public class BinaryImporterMappedTest {
+
+    private static final int VERTICES = 10000;
+
+    private File file;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        file = File.createTempFile("mapped", ".j3o");
+
+        FloatBuffer positions = BufferUtils.createFloatBuffer(VERTICES * 3);
+        for (int i = 0; i < VERTICES * 3; i++) {
+            positions.put(i * 0.5f);
+        }
+        ShortBuffer indexes = BufferUtils.createShortBuffer(6);
+        indexes.put(new short[]{0, 1, 2, 2, 3, 0}).rewind();
+
+        Mesh mesh = new Mesh();
+        mesh.setBuffer(VertexBuffer.Type.Position, 3, positions);
+        mesh.setBuffer(VertexBuffer.Type.Index, 3, indexes);
+        mesh.updateBound();
+
+        Node root = new Node("root");
+        Node child = new Node("child");
+        child.attachChild(new Geometry("first", mesh));
+        child.attachChild(new Geometry("second", mesh));
+        root.attachChild(child);
+        root.setUserData("label", "mapped");
+
+        BinaryExporter.getInstance().save(root, file);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Test
+    public void testLoadsSameGraphAsStream() throws IOException {
+        Node mapped = (Node) BinaryImporter.getInstance().loadMapped(file);
+        Node copied = (Node) BinaryImporter.getInstance().load(file);
+
+        assertEquals("mapped", mapped.getUserData("label"));
+        Node child = (Node) mapped.getChild("child");
+        assertNotNull(child);
+        Geometry first = (Geometry) child.getChild("first");
+        Geometry second = (Geometry) child.getChild("second");
+        // Shared objects are still decoded only once
+        assertTrue(first.getMesh() == second.getMesh());
+
+        FloatBuffer expected = ((Geometry) copied.getChild("first")).getMesh().getFloatBuffer(VertexBuffer.Type.Position);
+        FloatBuffer actual = first.getMesh().getFloatBuffer(VertexBuffer.Type.Position);
+        assertEquals(VERTICES * 3, actual.limit());
+        for (int i = 0; i < VERTICES * 3; i++) {
+            assertEquals(expected.get(i), actual.get(i));
+        }
+        assertTrue(actual.isDirect());
+        assertEquals(2, first.getMesh().getTriangleCount());
+        assertEquals(copied.getWorldBound(), mapped.getWorldBound());
+    }
+
+    @Test
+    public void testChangesDoNotReachTheFile() throws IOException {
+        BinaryImporter importer = BinaryImporter.getInstance();
+        importer.setMapThreshold(1);
+        Node mapped = (Node) importer.loadMapped(file);
+        Geometry first = (Geometry) mapped.getChild("first");
+        FloatBuffer positions = first.getMesh().getFloatBuffer(VertexBuffer.Type.Position);
+        ShortBuffer indexes = (ShortBuffer) first.getMesh().getBuffer(VertexBuffer.Type.Index).getData();
+        assertEquals(6, indexes.limit());
+        assertEquals(3, indexes.get(4));
+
+        // dynamic buffers are copied, so they can be changed
+        assertFalse(positions.isReadOnly());
+        positions.put(0, 42f);
+        assertEquals(42f, positions.get(0));
+
+        Node reloaded = (Node) BinaryImporter.getInstance().loadMapped(file);
+        Geometry again = (Geometry) reloaded.getChild("first");
+        assertEquals(0f, again.getMesh().getFloatBuffer(VertexBuffer.Type.Position).get(0));
+        assertEquals(0.5f, again.getMesh().getFloatBuffer(VertexBuffer.Type.Position).get(1));
+    }
+
+    @Test
+    public void testStaticBuffersAreMappedReadOnly() throws IOException {
+        Node root = (Node) BinaryImporter.getInstance().load(file);
+        ((Geometry) root.getChild("first")).getMesh().setStatic();
+        BinaryExporter.getInstance().save(root, file);
+
+        BinaryImporter importer = BinaryImporter.getInstance();
+        importer.setMapThreshold(1);
+        Node mapped = (Node) importer.loadMapped(file);
+        FloatBuffer positions = ((Geometry) mapped.getChild("first")).getMesh()
+                .getFloatBuffer(VertexBuffer.Type.Position);
+        assertTrue(positions.isReadOnly());
+        assertTrue(positions.isDirect());
+        assertEquals(0.5f, positions.get(1));
+    }
+}
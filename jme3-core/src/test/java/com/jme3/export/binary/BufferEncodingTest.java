@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.export.binary;
+
+import com.jme3.export.FormatVersion;
+import com.jme3.export.Savable;
+import com.jme3.scene.Mesh;
+import com.jme3.scene.VertexBuffer;
+import com.jme3.scene.shape.Sphere;
+import com.jme3.texture.Image;
+import com.jme3.texture.image.ColorSpace;
+import com.jme3.util.BufferUtils;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.ShortBuffer;
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Saves and loads buffers with the encodings selected by a
+ * {@link BufferEncodingPolicy}.
+ */
+public class BufferEncodingTest {
+
+    private static byte[] save(Savable object, BufferEncodingPolicy policy) throws IOException {
+        BinaryExporter exporter = new BinaryExporter();
+        exporter.setBufferEncodingPolicy(policy);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exporter.save(object, out);
+        return out.toByteArray();
+    }
+
+    private static Image createImage() {
+        ByteBuffer data = BufferUtils.createByteBuffer(64 * 64 * 4);
+        for (int y = 0; y < 64; y++) {
+            for (int x = 0; x < 64; x++) {
+                data.put((byte) (x * 4)).put((byte) (y * 4)).put((byte) 128).put((byte) 255);
+            }
+        }
+        data.flip();
+        return new Image(Image.Format.RGBA8, 64, 64, data, ColorSpace.Linear);
+    }
+
+    private static int[] bits(Buffer buffer) {
+        int[] bits = new int[buffer.limit()];
+        for (int i = 0; i < bits.length; i++) {
+            if (buffer instanceof FloatBuffer) {
+                bits[i] = Float.floatToRawIntBits(((FloatBuffer) buffer).get(i));
+            } else if (buffer instanceof IntBuffer) {
+                bits[i] = ((IntBuffer) buffer).get(i);
+            } else if (buffer instanceof ShortBuffer) {
+                bits[i] = ((ShortBuffer) buffer).get(i);
+            } else {
+                bits[i] = ((ByteBuffer) buffer).get(i);
+            }
+        }
+        return bits;
+    }
+
+    private static Buffer roundTrip(BufferEncoding encoding, Buffer data, int components) throws IOException {
+        byte[] block = BufferCodec.encode(encoding, data, components);
+        int elementSize = data instanceof ByteBuffer ? 1 : data instanceof ShortBuffer ? 2 : 4;
+        ByteBuffer decoded = BufferCodec.decode(ByteBuffer.wrap(block), elementSize);
+        if (data instanceof FloatBuffer) {
+            return decoded.asFloatBuffer();
+        } else if (data instanceof IntBuffer) {
+            return decoded.asIntBuffer();
+        } else if (data instanceof ShortBuffer) {
+            return decoded.asShortBuffer();
+        }
+        return decoded;
+    }
+
+    @Test
+    public void testDefaultOutputUnchanged() throws IOException {
+        Mesh mesh = new Sphere(16, 16, 1f);
+        byte[] plain = save(mesh, null);
+        assertArrayEquals(plain, save(mesh, (owner, name, data) -> null));
+    }
+
+    @Test
+    public void testLosslessEncodings() throws IOException {
+        Random random = new Random(1);
+        FloatBuffer floats = BufferUtils.createFloatBuffer(300);
+        IntBuffer ints = BufferUtils.createIntBuffer(300);
+        ShortBuffer shorts = BufferUtils.createShortBuffer(300);
+        ByteBuffer bytes = BufferUtils.createByteBuffer(300);
+        for (int i = 0; i < 300; i++) {
+            floats.put(i % 7 == 0 ? Float.NaN : random.nextFloat() * 200f - 100f);
+            ints.put(random.nextInt());
+            shorts.put((short) random.nextInt());
+            bytes.put((byte) random.nextInt());
+        }
+        floats.flip();
+        ints.flip();
+        shorts.flip();
+        bytes.flip();
+
+        // The lossy encodings fall back to a lossless one for NaN values
+        // and for buffers that aren't float buffers
+        for (BufferEncoding encoding : BufferEncoding.values()) {
+            for (Buffer data : new Buffer[]{floats, ints, shorts, bytes}) {
+                assertArrayEquals(bits(data), bits(roundTrip(encoding, data, 3)), encoding + " " + data);
+            }
+        }
+    }
+
+    @Test
+    public void testMeshAndImage() throws IOException {
+        Mesh mesh = new Sphere(32, 32, 2f);
+        byte[] plain = save(mesh, null);
+        byte[] lossless = save(mesh, BufferEncodingPolicy.LOSSLESS);
+        byte[] compact = save(mesh, BufferEncodingPolicy.COMPACT);
+        assertTrue(lossless.length < plain.length);
+        assertTrue(compact.length < lossless.length);
+
+        // older importers must reject files with encoded buffers as newer
+        assertEquals(FormatVersion.VERSION, ByteBuffer.wrap(plain).getInt(4));
+        assertEquals(FormatVersion.VERSION | FormatVersion.FLAG_ENCODED_BUFFERS,
+                ByteBuffer.wrap(lossless).getInt(4));
+
+        Mesh exact = (Mesh) BinaryImporter.getInstance().load(lossless);
+        Mesh approx = (Mesh) BinaryImporter.getInstance().load(compact);
+        for (VertexBuffer vb : mesh.getBufferList()) {
+            Buffer expected = vb.getData();
+            assertArrayEquals(bits(expected), bits(exact.getBuffer(vb.getBufferType()).getData()));
+            Buffer actual = approx.getBuffer(vb.getBufferType()).getData();
+            assertEquals(expected.limit(), actual.limit());
+            if (vb.getBufferType() == VertexBuffer.Type.Normal) {
+                FloatBuffer e = (FloatBuffer) expected;
+                FloatBuffer a = (FloatBuffer) actual;
+                for (int i = 0; i < e.limit(); i += 3) {
+                    float dot = e.get(i) * a.get(i) + e.get(i + 1) * a.get(i + 1) + e.get(i + 2) * a.get(i + 2);
+                    assertEquals(1f, dot, 1e-4f);
+                }
+            } else if (expected instanceof FloatBuffer) {
+                for (int i = 0; i < expected.limit(); i++) {
+                    assertEquals(((FloatBuffer) expected).get(i), ((FloatBuffer) actual).get(i), 4f / 65535f);
+                }
+            } else {
+                assertArrayEquals(bits(expected), bits(actual));
+            }
+        }
+
+        Image image = createImage();
+        byte[] encodedImage = save(image, BufferEncodingPolicy.LOSSLESS);
+        assertTrue(encodedImage.length < save(image, null).length / 2);
+        Image loaded = (Image) BinaryImporter.getInstance().load(encodedImage);
+        assertArrayEquals(bits(image.getData(0)), bits(loaded.getData(0)));
+    }
+
+    @Test
+    public void testCorruptBlock() {
+        ShortBuffer indices = BufferUtils.createShortBuffer(256);
+        for (int i = 0; i < 256; i++) {
+            indices.put((short) i);
+        }
+        indices.flip();
+        byte[] block = BufferCodec.encode(BufferEncoding.INDEX_DELTA, indices, 1);
+        assertThrows(IOException.class, () -> BufferCodec.decode(ByteBuffer.wrap(block), 4));
+        byte[] truncated = Arrays.copyOf(block, block.length - 2);
+        assertThrows(IOException.class, () -> BufferCodec.decode(ByteBuffer.wrap(truncated), 2));
+        byte[] unknown = block.clone();
+        unknown[0] = 42;
+        assertThrows(IOException.class, () -> BufferCodec.decode(ByteBuffer.wrap(unknown), 2));
+    }
+}
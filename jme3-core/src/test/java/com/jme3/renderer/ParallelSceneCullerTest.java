@@ -0,0 +1,175 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.renderer;
+
+import com.jme3.material.Material;
+import com.jme3.material.MaterialDef;
+import com.jme3.math.Vector3f;
+import com.jme3.renderer.queue.GeometryList;
+import com.jme3.renderer.queue.RenderQueue.Bucket;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Mesh;
+import com.jme3.scene.Node;
+import com.jme3.scene.control.AbstractControl;
+import com.jme3.scene.shape.Box;
+import com.jme3.system.NullRenderer;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies that {@link ParallelSceneCuller} fills the render queue exactly
+ * like the sequential culling pass of {@link RenderManager}.
+ */
+class ParallelSceneCullerTest {
+
+    private static final Thread mainThread = Thread.currentThread();
+
+    private ForkJoinPool pool;
+    private RenderManager renderManager;
+    private ViewPort viewPort;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ForkJoinPool(4);
+        renderManager = new RenderManager(new NullRenderer());
+        Camera cam = new Camera(640, 480);
+        cam.setFrustumPerspective(60f, 640f / 480f, 1f, 500f);
+        cam.setLocation(new Vector3f(0f, 0f, 100f));
+        cam.lookAtDirection(new Vector3f(0f, 0f, -1f), Vector3f.UNIT_Y);
+        cam.update();
+        viewPort = renderManager.createMainView("main", cam);
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.shutdown();
+    }
+
+    @Test
+    void testQueueMatchesSequentialCulling() {
+        Node scene = createScene();
+        CountingControl control = new CountingControl();
+        Geometry controlled = (Geometry) ((Node) scene.getChild(2)).getChild(0);
+        controlled.setLocalTranslation(0f, 0f, 0f);
+        controlled.addControl(control);
+        scene.updateGeometricState();
+
+        renderManager.renderScene(scene, viewPort);
+        GeometryList[] expected = snapshot();
+        assertEquals(1, control.renderCount);
+
+        ParallelSceneCuller culler = new ParallelSceneCuller(pool);
+        culler.setMaxSplitDepth(2);
+        renderManager.setParallelCuller(culler);
+        renderManager.renderScene(scene, viewPort);
+        GeometryList[] actual = snapshot();
+        assertEquals(2, control.renderCount);
+
+        assertTrue(expected[0].size() > 0);
+        assertTrue(expected[0].size() < 800);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i].size(), actual[i].size());
+            for (int j = 0; j < expected[i].size(); j++) {
+                assertSame(expected[i].get(j), actual[i].get(j));
+            }
+        }
+    }
+
+    @Test
+    void testUnupdatedSceneIsRejected() {
+        Node scene = createScene();
+        scene.updateGeometricState();
+        ((Node) scene.getChild(1)).getChild(3).move(1f, 0f, 0f);
+
+        renderManager.setParallelCuller(new ParallelSceneCuller(pool));
+        assertThrows(IllegalStateException.class, () -> renderManager.renderScene(scene, viewPort));
+    }
+
+    private GeometryList[] snapshot() {
+        Bucket[] buckets = {Bucket.Opaque, Bucket.Transparent};
+        GeometryList[] lists = new GeometryList[buckets.length];
+        for (int i = 0; i < buckets.length; i++) {
+            GeometryList source = viewPort.getQueue().getList(buckets[i]);
+            lists[i] = new GeometryList(source.getComparator());
+            for (Geometry geometry : source) {
+                lists[i].add(geometry);
+            }
+        }
+        viewPort.getQueue().clear();
+        return lists;
+    }
+
+    private static Node createScene() {
+        Random random = new Random(42);
+        Mesh mesh = new Box(1f, 1f, 1f);
+        Material material = new Material(new MaterialDef(null, "Test"));
+        Node scene = new Node("scene");
+        for (int i = 0; i < 4; i++) {
+            Node zone = new Node("zone" + i);
+            zone.setLocalTranslation((i - 2) * 100f, 0f, 0f);
+            for (int j = 0; j < 200; j++) {
+                Geometry geometry = new Geometry("geom" + i + "_" + j, mesh);
+                geometry.setMaterial(material);
+                geometry.setLocalTranslation(random.nextFloat() * 100f - 50f,
+                        random.nextFloat() * 100f - 50f, random.nextFloat() * -300f);
+                if (j % 7 == 0) {
+                    geometry.setQueueBucket(Bucket.Transparent);
+                }
+                zone.attachChild(geometry);
+            }
+            scene.attachChild(zone);
+        }
+        return scene;
+    }
+
+    private static class CountingControl extends AbstractControl {
+        int renderCount;
+
+        @Override
+        protected void controlUpdate(float tpf) {
+        }
+
+        @Override
+        protected void controlRender(RenderManager rm, ViewPort vp) {
+            assertSame(Thread.currentThread(), mainThread);
+            renderCount++;
+        }
+    }
+}
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.renderer.occlusion;
+
+import com.jme3.bounding.BoundingBox;
+import com.jme3.bounding.BoundingSphere;
+import com.jme3.material.Material;
+import com.jme3.material.MaterialDef;
+import com.jme3.math.Vector3f;
+import com.jme3.renderer.Camera;
+import com.jme3.renderer.RenderManager;
+import com.jme3.renderer.Statistics;
+import com.jme3.renderer.ViewPort;
+import com.jme3.renderer.queue.GeometryList;
+import com.jme3.renderer.queue.RenderQueue.Bucket;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Node;
+import com.jme3.scene.Spatial;
+import com.jme3.scene.shape.Box;
+import com.jme3.system.NullRenderer;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies the software depth buffer based {@link OcclusionCuller} and its
+ * integration with {@link RenderManager}.
+ */
+class OcclusionCullerTest {
+
+    private Camera cam;
+    private Node scene;
+    private Geometry wall;
+    private OcclusionCuller culler;
+
+    @BeforeEach
+    void setUp() {
+        cam = new Camera(640, 480);
+        cam.setFrustumPerspective(60f, 640f / 480f, 1f, 500f);
+        cam.setLocation(new Vector3f(0f, 0f, 20f));
+        cam.lookAtDirection(new Vector3f(0f, 0f, -1f), Vector3f.UNIT_Y);
+        cam.update();
+
+        scene = new Node("scene");
+        wall = createBox("wall", 0f, 0f, 0f, 5f);
+        wall.setLocalScale(1f, 1f, 0.05f);
+        scene.attachChild(wall);
+
+        culler = new OcclusionCuller(128, 96);
+        culler.addOccluder(wall);
+    }
+
+    @Test
+    void testBoxesBehindWallAreOccluded() {
+        Geometry hidden = createBox("hidden", 0f, 0f, -10f, 1f);
+        Geometry hiddenSphere = createBox("hiddenSphere", 5f, -5f, -30f, 2f);
+        hiddenSphere.setModelBound(new BoundingSphere());
+        hiddenSphere.updateModelBound();
+        Geometry inFront = createBox("inFront", 0f, 0f, 5f, 1f);
+        Geometry beside = createBox("beside", 60f, 0f, -200f, 10f);
+        Geometry straddling = createBox("straddling", 0f, 0f, -5f, 6f);
+        scene.attachChild(hidden);
+        scene.attachChild(hiddenSphere);
+        scene.attachChild(inFront);
+        scene.attachChild(beside);
+        scene.attachChild(straddling);
+        scene.updateGeometricState();
+        culler.prepare(cam);
+
+        assertTrue(culler.isOccluded(hidden));
+        assertTrue(culler.isOccluded(hiddenSphere));
+        assertFalse(culler.isOccluded(inFront));
+        assertFalse(culler.isOccluded(beside));
+        assertFalse(culler.isOccluded(straddling));
+        assertFalse(culler.isOccluded(wall));
+        assertFalse(culler.isOccluded(scene));
+    }
+
+    @Test
+    void testNothingIsOccludedWithoutPreparation() {
+        Geometry hidden = createBox("hidden", 0f, 0f, -10f, 1f);
+        scene.attachChild(hidden);
+        scene.updateGeometricState();
+        assertFalse(culler.isOccluded(hidden));
+
+        culler.removeOccluder(wall);
+        culler.prepare(cam);
+        assertFalse(culler.isOccluded(hidden));
+    }
+
+    @Test
+    void testOccluderOutsideFrustumIsSkipped() {
+        Geometry hidden = createBox("hidden", 0f, 0f, -10f, 1f);
+        scene.attachChild(hidden);
+        wall.setLocalTranslation(0f, 0f, 40f);
+        scene.updateGeometricState();
+        culler.prepare(cam);
+        assertFalse(culler.isOccluded(hidden));
+    }
+
+    @Test
+    void testRenderManagerSkipsOccludedSubtrees() {
+        RenderManager renderManager = new RenderManager(new NullRenderer());
+        ViewPort viewPort = renderManager.createMainView("main", cam);
+        Statistics statistics = renderManager.getRenderer().getStatistics();
+        statistics.setEnabled(true);
+
+        Node city = new Node("city");
+        for (int i = 0; i < 10; i++) {
+            city.attachChild(createBox("building" + i, i - 5f, 0f, -20f, 0.4f));
+        }
+        Geometry visible = createBox("visible", 0f, 25f, -50f, 1f);
+        Geometry never = createBox("never", 0f, 0f, -10f, 1f);
+        never.setCullHint(Spatial.CullHint.Never);
+        scene.attachChild(city);
+        scene.attachChild(visible);
+        scene.attachChild(never);
+        scene.updateGeometricState();
+
+        culler.prepare(cam);
+        renderManager.setOcclusionCuller(culler);
+        renderManager.renderScene(scene, viewPort);
+
+        Set<String> queued = new HashSet<>();
+        GeometryList opaque = viewPort.getQueue().getList(Bucket.Opaque);
+        for (Geometry geometry : opaque) {
+            queued.add(geometry.getName());
+        }
+        assertEquals(3, queued.size(), queued.toString());
+        assertTrue(queued.contains("wall"));
+        assertTrue(queued.contains("visible"));
+        assertTrue(queued.contains("never"));
+
+        // scene, wall, city (hit) and visible are tested; the city's
+        // children and the never-culled box are not
+        assertEquals(1, statistics.getOcclusionHits());
+        assertEquals(3, statistics.getOcclusionMisses());
+    }
+
+    private static Geometry createBox(String name, float x, float y, float z, float size) {
+        Geometry geometry = new Geometry(name, new Box(size, size, size));
+        geometry.setMaterial(new Material(new MaterialDef(null, "Test")));
+        geometry.setLocalTranslation(x, y, z);
+        return geometry;
+    }
+}
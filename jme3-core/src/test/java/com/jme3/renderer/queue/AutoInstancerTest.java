@@ -0,0 +1,172 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.renderer.queue;
+
+import com.jme3.asset.AssetManager;
+import com.jme3.material.Material;
+import com.jme3.math.Vector3f;
+import com.jme3.renderer.Camera;
+import com.jme3.renderer.RenderManager;
+import com.jme3.renderer.Statistics;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Mesh;
+import com.jme3.scene.Node;
+import com.jme3.scene.VertexBuffer;
+import com.jme3.scene.shape.Box;
+import com.jme3.system.NullRenderer;
+import com.jme3.system.TestUtil;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Verifies that {@link AutoInstancer} merges geometries sharing a mesh and
+ * a material into instanced draw calls.
+ */
+public class AutoInstancerTest {
+
+    private final List<Integer> drawCounts = new ArrayList<>();
+    private final List<VertexBuffer[]> drawInstanceData = new ArrayList<>();
+    private final Statistics statistics = new Statistics();
+    private final NullRenderer renderer = new NullRenderer() {
+        @Override
+        public void renderMesh(Mesh mesh, int lod, int count, VertexBuffer[] instanceData) {
+            drawCounts.add(count);
+            drawInstanceData.add(instanceData);
+        }
+
+        @Override
+        public Statistics getStatistics() {
+            return statistics;
+        }
+    };
+    private final RenderManager renderManager = TestUtil.createRenderManager(renderer);
+    private final RenderQueue queue = new RenderQueue();
+    private final Camera cam = new Camera(640, 480);
+    private final Node root = new Node("Root");
+    private Material material;
+
+    @BeforeEach
+    public void setUp() {
+        cam.setFrustumPerspective(60f, 640f / 480f, 1f, 1000f);
+        cam.lookAtDirection(new Vector3f(0f, 0f, -1f), Vector3f.UNIT_Y);
+        cam.update();
+        statistics.setEnabled(true);
+
+        AssetManager assetManager = TestUtil.createAssetManager();
+        material = new Material(assetManager, "Common/MatDefs/Misc/Unshaded.j3md");
+    }
+
+    private void addGeometries(Mesh mesh, int count) {
+        for (int i = 0; i < count; i++) {
+            Geometry geom = new Geometry("Geom", mesh);
+            geom.setMaterial(material);
+            geom.setLocalTranslation(i * 3f, 0f, -20f);
+            root.attachChild(geom);
+        }
+    }
+
+    private void render() {
+        root.updateGeometricState();
+        for (int i = 0; i < root.getQuantity(); i++) {
+            queue.addToQueue((Geometry) root.getChild(i), RenderQueue.Bucket.Opaque);
+        }
+        queue.renderQueue(RenderQueue.Bucket.Opaque, renderManager, cam);
+    }
+
+    @Test
+    public void testSharedMeshIsDrawnOnce() {
+        renderManager.setAutoInstancer(new AutoInstancer());
+        addGeometries(new Box(1f, 1f, 1f), 6);
+        render();
+
+        assertEquals(1, drawCounts.size());
+        assertEquals(6, (int) drawCounts.get(0));
+        assertNotNull(drawInstanceData.get(0));
+        VertexBuffer transforms = drawInstanceData.get(0)[0];
+        assertEquals(6 * 16, transforms.getData().limit());
+
+        assertEquals(1, statistics.getInstancedBatches());
+        assertEquals(6, statistics.getInstancedGeometries());
+    }
+
+    @Test
+    public void testSmallGroupsAreDrawnSeparately() {
+        renderManager.setAutoInstancer(new AutoInstancer());
+        addGeometries(new Box(1f, 1f, 1f), 5);
+        addGeometries(new Box(2f, 2f, 2f), 2);
+        render();
+
+        assertEquals(3, drawCounts.size());
+        int instanced = 0;
+        for (int i = 0; i < drawCounts.size(); i++) {
+            if (drawInstanceData.get(i) != null) {
+                instanced++;
+                assertEquals(5, (int) drawCounts.get(i));
+            } else {
+                assertEquals(1, (int) drawCounts.get(i));
+            }
+        }
+        assertEquals(1, instanced);
+    }
+
+    @Test
+    public void testBatchesAreSplitAtMaxInstances() {
+        AutoInstancer instancer = new AutoInstancer();
+        instancer.setMaxInstances(4);
+        renderManager.setAutoInstancer(instancer);
+        addGeometries(new Box(1f, 1f, 1f), 10);
+        render();
+
+        assertEquals(3, drawCounts.size());
+        assertEquals(4, (int) drawCounts.get(0));
+        assertEquals(4, (int) drawCounts.get(1));
+        assertEquals(2, (int) drawCounts.get(2));
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        addGeometries(new Box(1f, 1f, 1f), 6);
+        render();
+
+        assertEquals(6, drawCounts.size());
+        for (int i = 0; i < drawCounts.size(); i++) {
+            assertEquals(1, (int) drawCounts.get(i));
+            assertNull(drawInstanceData.get(i));
+        }
+    }
+}
@@ -0,0 +1,136 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.renderer.queue;
+
+import com.jme3.material.Material;
+import com.jme3.material.MaterialDef;
+import com.jme3.material.RenderState;
+import com.jme3.material.TechniqueDef;
+import com.jme3.math.Vector3f;
+import com.jme3.renderer.Camera;
+import com.jme3.renderer.RenderManager;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Mesh;
+import com.jme3.scene.shape.Box;
+import com.jme3.system.NullRenderer;
+import java.util.Random;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies that {@link GeometryList} gives the same order with its radix
+ * sort path as with its comparison sort path.
+ */
+public class GeometryListSortTest {
+
+    private final Camera cam = new Camera(640, 480);
+    private Geometry[] geometries;
+
+    @BeforeEach
+    public void setUp() {
+        cam.setFrustumPerspective(60f, 640f / 480f, 1f, 1000f);
+        cam.lookAtDirection(new Vector3f(0f, 0f, -1f), Vector3f.UNIT_Y);
+        cam.update();
+
+        RenderManager renderManager = new RenderManager(new NullRenderer());
+        Material[] materials = new Material[12];
+        for (int i = 0; i < materials.length; i++) {
+            MaterialDef def = new MaterialDef(null, "Test" + (i / 3));
+            TechniqueDef techniqueDef = new TechniqueDef(TechniqueDef.DEFAULT_TECHNIQUE_NAME, i / 3);
+            techniqueDef.setLightMode(renderManager.getPreferredLightMode());
+            def.addTechniqueDef(techniqueDef);
+            materials[i] = new Material(def);
+            materials[i].selectTechnique(TechniqueDef.DEFAULT_TECHNIQUE_NAME, renderManager);
+            materials[i].getAdditionalRenderState().setBlendMode(RenderState.BlendMode.values()[i % 3]);
+        }
+
+        Random random = new Random(3);
+        Mesh mesh = new Box(0.5f, 0.5f, 0.5f);
+        geometries = new Geometry[2000];
+        for (int i = 0; i < geometries.length; i++) {
+            Geometry geom = new Geometry("geom" + i, mesh);
+            geom.setMaterial(materials[random.nextInt(materials.length)]);
+            // some geometries share a depth, some are behind the camera
+            float z = (i % 10 == 0) ? -50f : 20f - random.nextFloat() * 900f;
+            geom.setLocalTranslation(random.nextFloat() * 100f - 50f, 0f, z);
+            geom.updateGeometricState();
+            geometries[i] = geom;
+        }
+    }
+
+    @Test
+    public void testOpaqueRadixSortMatchesListSort() {
+        GeometryList radix = fill(new OpaqueComparator(), 2);
+        GeometryList comparison = fill(new OpaqueComparator(), Integer.MAX_VALUE);
+        radix.sort();
+        comparison.sort();
+        for (int i = 0; i < geometries.length; i++) {
+            assertSame(comparison.get(i), radix.get(i));
+        }
+    }
+
+    @Test
+    public void testStateKeyRadixSortMatchesListSort() {
+        StateKeyComparator comparator = new StateKeyComparator();
+        GeometryList radix = fill(comparator, 2);
+        GeometryList comparison = fill(comparator, Integer.MAX_VALUE);
+        radix.sort();
+        comparison.sort();
+        int stateChanges = 0;
+        for (int i = 0; i < geometries.length; i++) {
+            assertSame(comparison.get(i), radix.get(i));
+            if (i > 0 && (comparator.getSortKey(radix.get(i)) >>> 24)
+                    != (comparator.getSortKey(radix.get(i - 1)) >>> 24)) {
+                stateChanges++;
+            }
+        }
+        // 4 shaders with 3 render states each
+        assertEquals(11, stateChanges);
+        assertTrue(Long.compareUnsigned(comparator.getSortKey(radix.get(0)),
+                comparator.getSortKey(radix.get(1))) <= 0);
+    }
+
+    private GeometryList fill(GeometryComparator comparator, int radixSortThreshold) {
+        GeometryList list = new GeometryList(comparator);
+        list.setRadixSortThreshold(radixSortThreshold);
+        list.setCamera(cam);
+        for (Geometry geom : geometries) {
+            geom.queueDistance = Float.NEGATIVE_INFINITY;
+            list.add(geom);
+        }
+        return list;
+    }
+}
@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.scene;
+
+import com.jme3.bounding.BoundingVolume;
+import com.jme3.light.LightList;
+import com.jme3.light.PointLight;
+import com.jme3.math.Quaternion;
+import com.jme3.math.Vector3f;
+import com.jme3.scene.shape.Box;
+import com.jme3.scene.threadwarden.IllegalThreadSceneGraphMutation;
+import com.jme3.scene.threadwarden.SceneGraphThreadWarden;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies that parallel geometric updates (see
+ * {@link Node#setParallelUpdate(boolean)}) produce exactly the same world
+ * state as sequential updates.
+ */
+public class NodeParallelUpdateTest {
+
+    private ForkJoinPool pool;
+
+    @BeforeEach
+    public void setUp() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.shutdown();
+        SceneGraphThreadWarden.reset();
+    }
+
+    @Test
+    public void testParallelUpdateMatchesSequential() {
+        Node sequential = createTree(false);
+        Node parallel = createTree(true);
+
+        sequential.updateGeometricState();
+        parallel.updateGeometricState();
+        assertSameWorldState(sequential, parallel);
+
+        // move a few subtrees and update again
+        Quaternion spin = new Quaternion().fromAngles(0.3f, 0.2f, 0.1f);
+        for (Node root : new Node[] {sequential, parallel}) {
+            root.getChild(1).rotate(spin);
+            ((Node) root.getChild(3)).getChild(2).move(5f, 0f, -2f);
+            root.setLocalScale(2f);
+        }
+        sequential.updateGeometricState();
+        parallel.updateGeometricState();
+        assertSameWorldState(sequential, parallel);
+    }
+
+    @Test
+    public void testSharedLightsAreSortedPerGeometry() {
+        Node root = createTree(true);
+        PointLight near = new PointLight(new Vector3f(-40f, 0f, 0f));
+        PointLight far = new PointLight(new Vector3f(40f, 0f, 0f));
+        root.addLight(far);
+        root.addLight(near);
+        root.updateGeometricState();
+
+        List<Geometry> geometries = new ArrayList<>();
+        root.depthFirstTraversal(spatial -> {
+            if (spatial instanceof Geometry) {
+                geometries.add((Geometry) spatial);
+            }
+        });
+        for (Geometry geometry : geometries) {
+            LightList lights = geometry.getWorldLightList();
+            float x = geometry.getWorldBound().getCenter().x;
+            assertSame(x < 0f ? near : far, lights.get(0));
+        }
+    }
+
+    @Test
+    public void testGeometryGroupNodeStaysSequential() {
+        BatchNode batchNode = new BatchNode("batch");
+        batchNode.setParallelUpdate(true);
+        assertFalse(batchNode.isParallelUpdate());
+
+        Node node = new Node("node");
+        node.setParallelUpdate(true);
+        assertTrue(node.isParallelUpdate());
+    }
+
+    @Test
+    public void testParallelNodeInsideGeometryGroupStaysSequential() {
+        RecordingGroupNode group = new RecordingGroupNode();
+        Node root = createTree(true);
+        group.attachChild(root);
+        root.depthFirstTraversal(spatial -> {
+            if (spatial instanceof Geometry) {
+                ((Geometry) spatial).associateWithGroupNode(group, 0);
+            }
+        });
+
+        group.updateGeometricState();
+        assertEquals(128, group.calls);
+        assertEquals(1, group.threads.size());
+        assertTrue(group.threads.contains(Thread.currentThread()));
+    }
+
+    @Test
+    public void testMutationFromParallelUpdateIsDetected() {
+        Node root = createTree(true);
+        Geometry mutating = new Geometry("mutating", new Box(1f, 1f, 1f)) {
+            @Override
+            protected void updateWorldBound() {
+                super.updateWorldBound();
+                setLocalTranslation(getLocalTranslation());
+            }
+        };
+        ((Node) root.getChild(0)).attachChild(mutating);
+        SceneGraphThreadWarden.setup(root);
+
+        assertThrows(IllegalThreadSceneGraphMutation.class, root::updateGeometricState);
+    }
+
+    /**
+     * Records the threads that report transform changes of its geometries.
+     */
+    private static class RecordingGroupNode extends GeometryGroupNode {
+        final Set<Thread> threads = Collections.synchronizedSet(new HashSet<Thread>());
+        int calls;
+
+        @Override
+        public void onTransformChange(Geometry geom) {
+            threads.add(Thread.currentThread());
+            calls++;
+        }
+
+        @Override
+        public void onMaterialChange(Geometry geom) {
+        }
+
+        @Override
+        public void onMeshChange(Geometry geom) {
+        }
+
+        @Override
+        public void onGeometryUnassociated(Geometry geom) {
+        }
+    }
+
+    private Node createTree(boolean parallel) {
+        Mesh mesh = new Box(0.5f, 0.5f, 0.5f);
+        Node root = new Node("root");
+        root.setParallelUpdate(parallel);
+        root.setUpdatePool(pool);
+        for (int i = 0; i < 8; i++) {
+            Node branch = new Node("branch" + i);
+            branch.setParallelUpdate(parallel);
+            branch.setLocalTranslation((i - 4) * 10f, i, 0f);
+            branch.setLocalRotation(new Quaternion().fromAngles(0f, i * 0.4f, 0f));
+            for (int j = 0; j < 16; j++) {
+                Geometry geometry = new Geometry("geom" + i + "_" + j, mesh);
+                geometry.setLocalTranslation(j % 4, j / 4, j * 0.25f);
+                branch.attachChild(geometry);
+            }
+            root.attachChild(branch);
+        }
+        return root;
+    }
+
+    private static void assertSameWorldState(Spatial expected, Spatial actual) {
+        assertEquals(expected.getWorldTransform(), actual.getWorldTransform());
+        BoundingVolume expectedBound = expected.getWorldBound();
+        BoundingVolume actualBound = actual.getWorldBound();
+        assertEquals(expectedBound.getCenter(), actualBound.getCenter());
+        assertEquals(expectedBound.getVolume(), actualBound.getVolume(), 1e-6f);
+        assertEquals(0, actual.refreshFlags);
+        if (expected instanceof Node) {
+            Node expectedNode = (Node) expected;
+            Node actualNode = (Node) actual;
+            assertEquals(expectedNode.getQuantity(), actualNode.getQuantity());
+            for (int i = 0; i < expectedNode.getQuantity(); i++) {
+                assertSameWorldState(expectedNode.getChild(i), actualNode.getChild(i));
+            }
+        }
+    }
+}
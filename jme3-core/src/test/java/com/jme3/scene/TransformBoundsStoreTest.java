@@ -0,0 +1,199 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.scene;
+
+import com.jme3.bounding.BoundingBox;
+import com.jme3.bounding.BoundingSphere;
+import com.jme3.math.Matrix4f;
+import com.jme3.math.Quaternion;
+import com.jme3.math.Vector3f;
+import com.jme3.renderer.Camera;
+import com.jme3.scene.shape.Box;
+import com.jme3.util.BufferUtils;
+import java.nio.FloatBuffer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies that {@link TransformBoundsStore} mirrors the world state of
+ * registered spatials.
+ */
+class TransformBoundsStoreTest {
+
+    private static final float EPSILON = 1e-5f;
+
+    @Test
+    void testWriteThroughOnUpdate() {
+        Node root = new Node("root");
+        Node pivot = new Node("pivot");
+        Geometry geometry = new Geometry("box", new Box(1f, 2f, 3f));
+        pivot.attachChild(geometry);
+        root.attachChild(pivot);
+
+        TransformBoundsStore store = new TransformBoundsStore(1);
+        int geometryIndex = store.add(geometry);
+        int pivotIndex = store.add(pivot);
+
+        pivot.setLocalTranslation(5f, 0f, -2f);
+        pivot.setLocalRotation(new Quaternion().fromAngles(0.3f, 1.1f, -0.4f));
+        geometry.setLocalScale(2f, 1f, 0.5f);
+        geometry.setLocalTranslation(1f, 1f, 1f);
+        root.updateGeometricState();
+
+        assertMatrix(geometry.getWorldMatrix(), store.getWorldMatrix(geometryIndex, null));
+        assertMatrix(pivot.getWorldTransform().toTransformMatrix(), store.getWorldMatrix(pivotIndex, null));
+        assertBounds((BoundingBox) geometry.getWorldBound(), store, geometryIndex);
+        assertBounds((BoundingBox) pivot.getWorldBound(), store, pivotIndex);
+
+        // lazy updates through the getters are written through too
+        pivot.move(0f, 10f, 0f);
+        geometry.getWorldTranslation();
+        assertMatrix(geometry.getWorldMatrix(), store.getWorldMatrix(geometryIndex, null));
+        geometry.getWorldBound();
+        assertBounds((BoundingBox) geometry.getWorldBound(), store, geometryIndex);
+    }
+
+    @Test
+    void testRemoveMovesLastSlot() {
+        TransformBoundsStore store = new TransformBoundsStore();
+        Geometry[] geometries = new Geometry[3];
+        for (int i = 0; i < geometries.length; i++) {
+            geometries[i] = new Geometry("box" + i, new Box(1f, 1f, 1f));
+            geometries[i].setLocalTranslation(i * 10f, 0f, 0f);
+            geometries[i].updateGeometricState();
+            store.add(geometries[i]);
+        }
+
+        assertTrue(store.remove(geometries[0]));
+        assertFalse(store.remove(geometries[0]));
+        assertEquals(2, store.size());
+        assertEquals(-1, store.indexOf(geometries[0]));
+        assertEquals(0, store.indexOf(geometries[2]));
+        assertSame(geometries[2], store.getSpatial(0));
+        assertEquals(20f, store.getWorldMatrix(0, null).m03, EPSILON);
+
+        // a removed spatial no longer writes through
+        geometries[0].setLocalTranslation(-50f, 0f, 0f);
+        geometries[0].updateGeometricState();
+        assertEquals(20f, store.getWorldMatrix(0, null).m03, EPSILON);
+
+        assertThrows(IllegalStateException.class, () -> store.add(geometries[1]));
+        Spatial clone = geometries[1].clone();
+        assertEquals(-1, store.indexOf(clone));
+        store.add(clone);
+        assertEquals(3, store.size());
+
+        store.clear();
+        assertEquals(0, store.size());
+        assertEquals(-1, store.indexOf(geometries[1]));
+    }
+
+    @Test
+    void testCullMatchesCamera() {
+        Camera cam = new Camera(640, 480);
+        cam.setFrustumPerspective(45f, 640f / 480f, 1f, 100f);
+        cam.setLocation(new Vector3f(0f, 0f, 10f));
+        cam.lookAtDirection(new Vector3f(0f, 0f, -1f), Vector3f.UNIT_Y);
+        cam.update();
+
+        Node root = new Node("root");
+        TransformBoundsStore store = new TransformBoundsStore();
+        for (int x = -10; x <= 10; x++) {
+            for (int z = -10; z <= 10; z++) {
+                Geometry geometry = new Geometry("box", new Box(0.5f, 0.5f, 0.5f));
+                if ((x + z) % 3 == 0) {
+                    geometry.setModelBound(new BoundingSphere());
+                }
+                geometry.setLocalTranslation(x * 8f, 0f, z * 8f);
+                root.attachChild(geometry);
+                store.add(geometry);
+            }
+        }
+        root.updateModelBound();
+        root.updateGeometricState();
+
+        int[] visible = new int[store.size()];
+        int count = store.cull(cam, visible);
+        int expected = 0;
+        for (int i = 0; i < store.size(); i++) {
+            cam.setPlaneState(0);
+            if (cam.contains(store.getSpatial(i).getWorldBound()) != Camera.FrustumIntersect.Outside) {
+                assertEquals(i, visible[expected]);
+                expected++;
+            }
+        }
+        assertEquals(expected, count);
+        assertTrue(count > 0 && count < store.size());
+
+        FloatBuffer buffer = BufferUtils.createFloatBuffer(count * 16);
+        store.copyTransforms(visible, count, buffer);
+        buffer.flip();
+        Matrix4f matrix = new Matrix4f();
+        matrix.readFloatBuffer(buffer, true);
+        assertMatrix(((Geometry) store.getSpatial(visible[0])).getWorldMatrix(), matrix);
+    }
+
+    @Test
+    void testUnboundedSpatialIsAlwaysVisible() {
+        Camera cam = new Camera(640, 480);
+        cam.update();
+        Node node = new Node("empty");
+        TransformBoundsStore store = new TransformBoundsStore();
+        store.add(node);
+        assertNull(node.worldBound);
+        assertFalse(store.hasBound(0));
+        assertEquals(1, store.cull(cam, new int[1]));
+    }
+
+    private static void assertMatrix(Matrix4f expected, Matrix4f actual) {
+        for (int row = 0; row < 4; row++) {
+            for (int column = 0; column < 4; column++) {
+                assertEquals(expected.get(row, column), actual.get(row, column), EPSILON,
+                        "element " + row + "," + column);
+            }
+        }
+    }
+
+    private static void assertBounds(BoundingBox expected, TransformBoundsStore store, int index) {
+        Vector3f min = expected.getMin(null);
+        Vector3f max = expected.getMax(null);
+        assertTrue(min.distance(store.getBoundsMin(index, null)) < EPSILON);
+        assertTrue(max.distance(store.getBoundsMax(index, null)) < EPSILON);
+        assertTrue(store.hasBound(index));
+    }
+}
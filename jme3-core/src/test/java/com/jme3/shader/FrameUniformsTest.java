@@ -0,0 +1,227 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.shader;
+
+import com.jme3.asset.AssetKey;
+import com.jme3.asset.AssetManager;
+import com.jme3.material.MaterialDef;
+import com.jme3.material.TechniqueDef;
+import com.jme3.math.Vector3f;
+import com.jme3.renderer.Camera;
+import com.jme3.renderer.Caps;
+import com.jme3.shader.bufferobject.BufferObject;
+import com.jme3.shader.bufferobject.BufferRegion;
+import com.jme3.shader.bufferobject.DirtyRegionsIterator;
+import com.jme3.system.TestUtil;
+import com.jme3.util.struct.StructStd140BufferObject;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies that {@link UniformBindingManager} provides the camera bindings
+ * through the {@link FrameUniforms} block and only re-uploads what changed.
+ */
+public class FrameUniformsTest {
+
+    private static final String[] STOCK_MATDEFS = {
+        "Common/MatDefs/Misc/Unshaded.j3md",
+        "Common/MatDefs/Light/Lighting.j3md"
+    };
+    private static final EnumSet<Caps> NO_UBO_CAPS = EnumSet.of(Caps.GLSL100, Caps.GLSL110,
+            Caps.GLSL120, Caps.GLSL130, Caps.GLSL140, Caps.GLSL150);
+    private static final EnumSet<Caps> UBO_CAPS = EnumSet.of(Caps.GLSL100, Caps.GLSL110,
+            Caps.GLSL120, Caps.GLSL130, Caps.GLSL140, Caps.GLSL150, Caps.UniformBufferObject);
+
+    private final UniformBindingManager manager = new UniformBindingManager();
+    private final Camera cam = new Camera(800, 600);
+
+    @BeforeEach
+    public void setUp() {
+        cam.setFrustumPerspective(45f, 800f / 600f, 1f, 100f);
+        cam.setLocation(new Vector3f(1f, 2f, 3f));
+        cam.update();
+        manager.setCamera(cam, cam.getViewMatrix(), cam.getProjectionMatrix(), cam.getViewProjectionMatrix());
+        manager.setViewPort(0, 0, 800, 600);
+    }
+
+    @Test
+    public void testStd140Layout() {
+        StructStd140BufferObject buffer = manager.getFrameUniformsBuffer();
+        int[] expectedStarts = {0, 64, 128, 192, 208, 220, 224, 236, 240, 252, 256, 268, 272, 280, 288};
+        for (int i = 0; i < expectedStarts.length; i++) {
+            assertEquals(expectedStarts[i], buffer.getRegion(i).getStart(), "field " + i);
+        }
+        assertEquals(UniformBindingManager.FRAME_UNIFORMS_BINDING, buffer.getBinding());
+
+        ByteBuffer data = buffer.getData();
+        assertEquals(1f, data.getFloat(208), 0f);
+        assertEquals(2f, data.getFloat(212), 0f);
+        assertEquals(3f, data.getFloat(216), 0f);
+        assertEquals(800f, data.getFloat(272), 0f);
+        assertEquals(100f, data.getFloat(292), 0f);
+    }
+
+    @Test
+    public void testBlockIsBoundInsteadOfUniforms() {
+        Shader shader = new Shader();
+        shader.getBufferBlock(FrameUniforms.BLOCK_NAME);
+        shader.addUniformBinding(UniformBinding.WorldMatrix);
+        assertNull(shader.getUniformMap().get("g_FrameUniforms"));
+
+        manager.updateUniformBindings(shader);
+        ShaderBufferBlock block = shader.getBufferBlockMap().get(FrameUniforms.BLOCK_NAME);
+        assertSame(manager.getFrameUniformsBuffer(), block.getBufferObject());
+        assertEquals(ShaderBufferBlock.BufferType.UniformBufferObject, block.getType());
+        assertTrue(shader.getUniformMap().get("g_WorldMatrix").isUpdateNeeded());
+    }
+
+    @Test
+    public void testOnlyChangedFieldsAreUploaded() {
+        StructStd140BufferObject buffer = manager.getFrameUniformsBuffer();
+        clearDirty(buffer);
+
+        // same camera again: nothing to upload
+        manager.setCamera(cam, cam.getViewMatrix(), cam.getProjectionMatrix(), cam.getViewProjectionMatrix());
+        manager.getFrameUniformsBuffer();
+        assertFalse(buffer.isUpdateNeeded());
+
+        // new viewport size: only the viewport, aspect and resolution fields
+        manager.setViewPort(0, 0, 1024, 600);
+        manager.getFrameUniformsBuffer();
+        assertTrue(buffer.isUpdateNeeded());
+        assertTrue(buffer.getRegion(3).isDirty());
+        assertTrue(buffer.getRegion(9).isDirty());
+        assertTrue(buffer.getRegion(12).isDirty());
+        assertFalse(buffer.getRegion(0).isDirty());
+        assertFalse(buffer.getRegion(4).isDirty());
+        assertFalse(buffer.getRegion(14).isDirty());
+    }
+
+    @Test
+    public void testStockShadersUseBlock() {
+        for (String matDef : STOCK_MATDEFS) {
+            for (Shader shader : loadDefaultShaders(matDef, UBO_CAPS)) {
+                assertNotNull(shader.getBufferBlockMap().get(FrameUniforms.BLOCK_NAME), matDef);
+                assertTrue(getDefines(shader).contains("#define " + FrameUniforms.DEFINE + " 1"), matDef);
+                for (Uniform uniform : shader.getBoundUniforms()) {
+                    assertFalse(FrameUniforms.BINDINGS.contains(uniform.getBinding()), matDef);
+                }
+            }
+            for (Shader shader : loadDefaultShaders(matDef, NO_UBO_CAPS)) {
+                assertNull(shader.getBufferBlockMap().get(FrameUniforms.BLOCK_NAME), matDef);
+                assertFalse(getDefines(shader).contains(FrameUniforms.DEFINE), matDef);
+                assertNotNull(shader.getUniformMap().get("g_ViewProjectionMatrix"), matDef);
+            }
+        }
+    }
+
+    /**
+     * Counts the bound uniforms that the renderer would have to upload (and
+     * report to {@link com.jme3.renderer.Statistics}) while the camera moves,
+     * with and without the block.
+     */
+    @Test
+    public void testFewerUniformUploadsWithBlock() {
+        for (String matDef : STOCK_MATDEFS) {
+            List<Shader> withBlock = loadDefaultShaders(matDef, UBO_CAPS);
+            List<Shader> withoutBlock = loadDefaultShaders(matDef, NO_UBO_CAPS);
+            for (int i = 0; i < withBlock.size(); i++) {
+                int uploadsWithBlock = countUploadsWhileMoving(withBlock.get(i));
+                int uploadsWithoutBlock = countUploadsWhileMoving(withoutBlock.get(i));
+                assertTrue(uploadsWithBlock < uploadsWithoutBlock,
+                        matDef + ": " + uploadsWithBlock + " vs " + uploadsWithoutBlock);
+            }
+        }
+    }
+
+    private int countUploadsWhileMoving(Shader shader) {
+        int uploads = 0;
+        for (int frame = 0; frame < 10; frame++) {
+            cam.setLocation(new Vector3f(frame, 2f, 3f));
+            cam.update();
+            manager.setCamera(cam, cam.getViewMatrix(), cam.getProjectionMatrix(), cam.getViewProjectionMatrix());
+            manager.updateUniformBindings(shader);
+            for (Uniform uniform : shader.getBoundUniforms()) {
+                if (uniform.isUpdateNeeded()) {
+                    uploads++;
+                    uniform.clearUpdateNeeded();
+                }
+            }
+        }
+        return uploads;
+    }
+
+    /**
+     * Loads the GLSL150 shaders of the default techniques with a fresh asset
+     * manager, since technique definitions cache their shaders by defines only.
+     */
+    private static List<Shader> loadDefaultShaders(String matDef, EnumSet<Caps> caps) {
+        AssetManager assetManager = TestUtil.createAssetManager();
+        MaterialDef def = assetManager.loadAsset(new AssetKey<MaterialDef>(matDef));
+        List<Shader> shaders = new ArrayList<>();
+        for (TechniqueDef techniqueDef : def.getTechniqueDefs(TechniqueDef.DEFAULT_TECHNIQUE_NAME)) {
+            if (caps.containsAll(techniqueDef.getRequiredCaps())
+                    && techniqueDef.getRequiredCaps().contains(Caps.GLSL150)) {
+                shaders.add(techniqueDef.getShader(assetManager, caps, techniqueDef.createDefineList()));
+            }
+        }
+        assertFalse(shaders.isEmpty(), matDef);
+        return shaders;
+    }
+
+    private static String getDefines(Shader shader) {
+        StringBuilder defines = new StringBuilder();
+        for (Shader.ShaderSource source : shader.getSources()) {
+            defines.append(source.getDefines());
+        }
+        return defines.toString();
+    }
+
+    private static void clearDirty(BufferObject buffer) {
+        DirtyRegionsIterator it = buffer.getDirtyRegions();
+        for (BufferRegion region = it.next(); region != null; region = it.next()) {
+            region.clearDirty();
+        }
+        buffer.clearUpdateNeeded();
+    }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.util;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies that {@link RadixSort} is a stable sort by unsigned keys.
+ */
+public class RadixSortTest {
+
+    private static final class Entry {
+        final long key;
+        final int order;
+
+        Entry(long key, int order) {
+            this.key = key;
+            this.order = order;
+        }
+    }
+
+    @Test
+    public void testSortsUnsignedAndStable() {
+        Random random = new Random(7);
+        RadixSort<Entry> sort = new RadixSort<>();
+        for (int size : new int[]{0, 1, 2, 17, 1000}) {
+            Entry[] entries = new Entry[size + 3];
+            long[] keys = sort.getKeys(size);
+            for (int i = 0; i < size; i++) {
+                // few distinct keys, spread over the whole 64 bits
+                long key = (long) random.nextInt(50) * 0x0123456789ABCDEFL;
+                entries[i] = new Entry(key, i);
+                keys[i] = key;
+            }
+            Entry sentinel = new Entry(0, -1);
+            entries[size] = sentinel;
+
+            Entry[] expected = Arrays.copyOf(entries, size);
+            Arrays.sort(expected, (a, b) -> Long.compareUnsigned(a.key, b.key));
+
+            sort.sort(entries, size);
+            for (int i = 0; i < size; i++) {
+                assertSame(expected[i], entries[i]);
+                assertEquals(expected[i].key, sort.getKeys(size)[i]);
+                if (i > 0 && entries[i].key == entries[i - 1].key) {
+                    assertTrue(entries[i].order > entries[i - 1].order);
+                }
+            }
+            assertSame(sentinel, entries[size]);
+        }
+    }
+
+    @Test
+    public void testSkipsConstantBytes() {
+        RadixSort<Integer> sort = new RadixSort<>();
+        Integer[] values = {3, 1, 2};
+        long[] keys = sort.getKeys(3);
+        keys[0] = 0xFF00000000000003L;
+        keys[1] = 0xFF00000000000001L;
+        keys[2] = 0xFF00000000000002L;
+        sort.sort(values, 3);
+        assertEquals(Arrays.asList(1, 2, 3), Arrays.asList(values));
+    }
+}
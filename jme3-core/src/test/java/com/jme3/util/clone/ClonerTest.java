@@ -0,0 +1,121 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.util.clone;
+
+import com.jme3.math.Vector3f;
+import com.jme3.scene.Geometry;
+import com.jme3.scene.Node;
+import com.jme3.scene.Spatial;
+import com.jme3.scene.shape.Box;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies the lookup caches of {@link Cloner} and the reuse of cloners.
+ */
+public class ClonerTest {
+
+    @Test
+    public void testFunctionChangesAfterLookup() {
+        Cloner cloner = new Cloner();
+        Vector3f v = new Vector3f(1, 2, 3);
+        assertNull(cloner.getCloneFunction(Vector3f.class));
+        assertNotSame(v, cloner.clone(v));
+
+        // Registering a function for a super type must replace the cached miss
+        IdentityCloneFunction<Object> identity = new IdentityCloneFunction<>();
+        cloner.setCloneFunction(Object.class, identity);
+        cloner.clearIndex();
+        assertSame(identity, cloner.getCloneFunction(Vector3f.class));
+        assertSame(v, cloner.clone(v));
+
+        cloner.setCloneFunction(Object.class, null);
+        cloner.clearIndex();
+        assertNull(cloner.getCloneFunction(Vector3f.class));
+        assertNotSame(v, cloner.clone(v));
+    }
+
+    @Test
+    public void testNullClonedValue() {
+        Cloner cloner = new Cloner();
+        Vector3f v = new Vector3f();
+        cloner.setClonedValue(v, null);
+        assertTrue(cloner.isCloned(v));
+        assertNull(cloner.clone(v));
+        List<Vector3f> list = new ArrayList<>();
+        list.add(v);
+        assertNull(cloner.clone(list).get(0));
+    }
+
+    @Test
+    public void testReset() {
+        Cloner cloner = new Cloner();
+        Vector3f v = new Vector3f();
+        cloner.setCloneFunction(Vector3f.class, new IdentityCloneFunction<Vector3f>());
+        cloner.setCloneFunction(ArrayList.class, null);
+        cloner.clone(v);
+        cloner.reset();
+        assertFalse(cloner.isCloned(v));
+        assertNull(cloner.getCloneFunction(Vector3f.class));
+        assertTrue(cloner.getCloneFunction(ArrayList.class) instanceof ListCloneFunction);
+        assertNotSame(v, cloner.clone(v));
+    }
+
+    @Test
+    public void testRepeatedSpatialClones() {
+        Node parent = new Node("parent");
+        Node prefab = new Node("prefab");
+        parent.attachChild(prefab);
+        for (int i = 0; i < 10; i++) {
+            prefab.attachChild(new Geometry("geom" + i, new Box(1, 1, 1)));
+        }
+
+        Spatial first = prefab.clone(false);
+        Spatial second = prefab.clone(false);
+        Spatial deep = prefab.deepClone();
+        for (Spatial clone : new Spatial[]{first, second, deep}) {
+            assertNull(clone.getParent());
+            assertNotSame(prefab.getChild(0), ((Node) clone).getChild(0));
+        }
+        Geometry original = (Geometry) prefab.getChild(0);
+        assertSame(original.getMesh(), ((Geometry) ((Node) first).getChild(0)).getMesh());
+        assertNotSame(((Node) first).getChild(0), ((Node) second).getChild(0));
+        assertNotSame(original.getMesh(), ((Geometry) ((Node) deep).getChild(0)).getMesh());
+    }
+}
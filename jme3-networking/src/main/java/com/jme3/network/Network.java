@@ -36,10 +36,12 @@ import com.jme3.network.base.DefaultServer;
 import com.jme3.network.base.TcpConnectorFactory;
 import com.jme3.network.kernel.tcp.SelectorKernel;
 import com.jme3.network.kernel.tcp.SocketConnector;
+import com.jme3.network.kernel.udp.DatagramChannelKernel;
 import com.jme3.network.kernel.udp.UdpConnector;
 import com.jme3.network.kernel.udp.UdpKernel;
 import java.io.IOException;
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
 
 /**
  *  The main service provider for conveniently creating
@@ -117,6 +119,60 @@ public class Network
  
         return new DefaultServer( gameName, version, reliable, fast );       
     }
+
+    /**
+     *  Creates a named and versioned Server like {@link #createServer(String, int, int, int)}
+     *  but hosting the 'fast' UDP traffic with a {@link DatagramChannelKernel} that
+     *  receives on several threads.
+     *
+     *  @param gameName This is the name that identifies the game.  Connecting clients
+     *                  must use this name or be turned away.
+     *  @param version  This is a game-specific version that helps detect when out-of-date
+     *                  clients have connected to an incompatible server.
+     *  @param tcpPort  The port upon which the TCP hosting will listen for new connections.
+     *  @param udpPort  The port upon which the UDP hosting will listen for new 'fast' UDP
+     *                  messages.
+     *  @param udpThreads The number of UDP receive threads, each with its own
+     *                  SO_REUSEPORT channel where the platform supports it.
+     *  @return the created server
+     *  @throws IOException if the server cannot be created
+     */
+    public static Server createServer( String gameName, int version, int tcpPort, int udpPort,
+                                       int udpThreads ) throws IOException
+    {
+        DatagramChannelKernel fast = new DatagramChannelKernel( new InetSocketAddress(udpPort), udpThreads );
+        SelectorKernel reliable = new SelectorKernel(tcpPort);
+
+        return new DefaultServer( gameName, version, reliable, fast );
+    }
+
+    /**
+     *  Creates a named and versioned Server like {@link #createServer(String, int, int, int, int)}
+     *  but also spreading the TCP connections over several selector threads, so
+     *  that servers with many connections use more than one core for socket I/O.
+     *
+     *  @param gameName This is the name that identifies the game.  Connecting clients
+     *                  must use this name or be turned away.
+     *  @param version  This is a game-specific version that helps detect when out-of-date
+     *                  clients have connected to an incompatible server.
+     *  @param tcpPort  The port upon which the TCP hosting will listen for new connections.
+     *  @param udpPort  The port upon which the UDP hosting will listen for new 'fast' UDP
+     *                  messages.
+     *  @param tcpThreads The number of TCP I/O threads.  With more than one, a separate
+     *                  thread accepts the connections.
+     *  @param udpThreads The number of UDP receive threads, each with its own
+     *                  SO_REUSEPORT channel where the platform supports it.
+     *  @return the created server
+     *  @throws IOException if the server cannot be created
+     */
+    public static Server createServer( String gameName, int version, int tcpPort, int udpPort,
+                                       int tcpThreads, int udpThreads ) throws IOException
+    {
+        DatagramChannelKernel fast = new DatagramChannelKernel( new InetSocketAddress(udpPort), udpThreads );
+        SelectorKernel reliable = new SelectorKernel( new InetSocketAddress(tcpPort), tcpThreads );
+
+        return new DefaultServer( gameName, version, reliable, fast );
+    }
     
     /**
      *  Creates a client that can be connected at a later time.
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.network.base;
+
+import java.util.zip.Deflater;
+
+/**
+ *  Describes how a channel's data is compressed.  Passed to
+ *  DefaultServer.setCompression() and DefaultClient.setCompression()
+ *  which must be configured the same way on both ends.
+ *
+ *  <p>A preset dictionary primes the compressor with data that is
+ *  expected to show up in the traffic, such as serialized copies of
+ *  typical messages.  This helps the most for small messages and for
+ *  the unreliable channel where each datagram is compressed on its
+ *  own.</p>
+ */
+public final class CompressionSettings {
+
+    /**
+     *  Default compression level with no dictionary.
+     */
+    public static final CompressionSettings DEFAULT = new CompressionSettings(Deflater.DEFAULT_COMPRESSION, null);
+
+    private final int level;
+    private final byte[] dictionary;
+
+    /**
+     *  Creates compression settings.
+     *
+     *  @param level the Deflater compression level, 0-9 or -1 for the default
+     *  @param dictionary the preset dictionary, or null for none
+     */
+    public CompressionSettings( int level, byte[] dictionary ) {
+        if( level < Deflater.DEFAULT_COMPRESSION || level > Deflater.BEST_COMPRESSION ) {
+            throw new IllegalArgumentException("Invalid compression level:" + level);
+        }
+        this.level = level;
+        this.dictionary = dictionary == null ? null : dictionary.clone();
+    }
+
+    /**
+     *  Returns the Deflater compression level.
+     *
+     *  @return the compression level
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     *  Returns a copy of the preset dictionary.
+     *
+     *  @return the dictionary, or null if there is none
+     */
+    public byte[] getDictionary() {
+        return dictionary == null ? null : dictionary.clone();
+    }
+
+    /**
+     *  Creates a compressor for one end of one channel.  In stream mode
+     *  all data shares one compression stream so later messages can refer
+     *  back to earlier ones, which requires reliable, ordered delivery.
+     *  Otherwise each buffer is compressed on its own.
+     *
+     *  @param stream true to compress all data as one stream
+     *  @return a new compressor
+     */
+    public MessageCompressor createCompressor( boolean stream ) {
+        return new MessageCompressor(level, dictionary, stream);
+    }
+
+    /**
+     *  Creates the decompressor matching createCompressor() with the
+     *  same stream setting.
+     *
+     *  @param stream true to decompress all data as one stream
+     *  @return a new decompressor
+     */
+    public MessageDecompressor createDecompressor( boolean stream ) {
+        return new MessageDecompressor(dictionary, stream);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[level=" + level 
+                + ", dictionary=" + (dictionary == null ? 0 : dictionary.length) + " bytes]";
+    }
+}
@@ -36,6 +36,7 @@ import com.jme3.network.Message;
 import com.jme3.network.MessageListener;
 import com.jme3.network.kernel.Connector;
 import com.jme3.network.kernel.ConnectorException;
+import com.jme3.network.stats.ConnectionStats;
 import java.nio.ByteBuffer;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
@@ -75,6 +76,14 @@ public class ConnectorAdapter extends Thread
     // Marks the messages as reliable or not if they came
     // through this connector.
     private boolean reliable;
+
+    // Set when the channel is compressed.  The compressor is only
+    // used by the writer thread and the decompressor by the reader.
+    private volatile MessageCompressor compressor;
+    private volatile MessageDecompressor decompressor;
+
+    // Where received data is recorded, if anywhere
+    private volatile ConnectionStats stats;
  
     /**
      * Creates an adapter for a connector and starts a background writer thread.
@@ -125,6 +134,57 @@ public class ConnectorAdapter extends Thread
         writer.start();                                           
     }
  
+    /**
+     * Sets the statistics that received data and messages are
+     * recorded to.
+     *
+     * @param stats the stats to record to, or null to not record
+     */
+    public void setStats( ConnectionStats stats )
+    {
+        this.stats = stats;
+    }
+
+    /**
+     * Returns the statistics that received data is recorded to.
+     *
+     * @return the stats, or null
+     */
+    public ConnectionStats getStats()
+    {
+        return stats;
+    }
+
+    /**
+     * Sets the compression used for all data written and read by this
+     * adapter.  Reliable connectors compress their data as one stream
+     * while unreliable ones compress each datagram separately.  Must be
+     * called before anything is written or read.
+     *
+     * @param compression the compression settings, or null for none
+     */
+    public void setCompression( CompressionSettings compression )
+    {
+        if( compression == null ) {
+            this.compressor = null;
+            this.decompressor = null;
+        } else {
+            this.compressor = compression.createCompressor(reliable);
+            this.decompressor = compression.createDecompressor(reliable);
+        }
+    }
+
+    /**
+     * Returns the number of outbound buffers waiting for the writer
+     * thread.
+     *
+     * @return the current outbound backlog
+     */
+    public int getQueueDepth()
+    {
+        return outbound.size();
+    }
+
     /**
      * Closes the adapter and its underlying connector.
      */
@@ -197,12 +257,26 @@ public class ConnectorAdapter extends Thread
                     }
                 }
                 
+                if( decompressor != null ) {
+                    buffer = decompressor.decompress(buffer);
+                }
+
+                ConnectionStats stats = this.stats;
+                if( stats != null ) {
+                    stats.bytesReceived( buffer.remaining() );
+                }
+                
                 messageBuffer.addBytes(buffer);
                 
                 Message m = null;
+                long start = System.nanoTime();
                 while( (m = messageBuffer.pollMessage()) != null ) {
+                    if( stats != null ) {
+                        stats.messageReceived( m.getClass(), System.nanoTime() - start );
+                    }
                     m.setReliable( reliable );
                     dispatch( m );
+                    start = System.nanoTime();
                 }
             }
         } catch( Exception e ) {
@@ -233,7 +307,10 @@ public class ConnectorAdapter extends Thread
  
         private void write( ByteBuffer data )
         {
-            try {                                        
+            try {
+                if( compressor != null ) {
+                    data = compressor.compress(data);
+                }
                 connector.write(data);
             } catch( Exception e ) {
                 handleError( e );
@@ -40,9 +40,11 @@ import com.jme3.network.message.ClientRegistrationMessage;
 import com.jme3.network.message.DisconnectMessage;
 import com.jme3.network.service.ClientServiceManager;
 import com.jme3.network.service.serializer.ClientSerializerRegistrationsService;
+import com.jme3.network.stats.ConnectionStats;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.logging.Level;
@@ -55,7 +57,7 @@ import java.util.logging.Logger;
  *  @version   $Revision$
  *  @author    Paul Speed
  */
-public class DefaultClient implements Client
+public class DefaultClient implements Client, ConnectionStats.Provider
 {
     private static final Logger log = Logger.getLogger(DefaultClient.class.getName());
     
@@ -80,6 +82,18 @@ public class DefaultClient implements Client
     private final List<ErrorListener<? super Client>> errorListeners = new CopyOnWriteArrayList<>();
     private final Redispatch dispatcher = new Redispatch();
     private final List<ConnectorAdapter> channels = new ArrayList<>();    
+
+    // Per internal channel index, the batch size for sent messages
+    // or absent if that channel isn't batched
+    private final Map<Integer,Integer> batchSizes = new HashMap<>();
+    private final Map<Integer,MessageBatcher.Batch> batches = new ConcurrentHashMap<>();
+    private final MessageBatcher batcher = new MessageBatcher();
+
+    // Per internal channel index, the compression settings or absent
+    // if that channel isn't compressed
+    private final Map<Integer,CompressionSettings> compression = new HashMap<>();
+
+    private final ConnectionStats stats = new ConnectionStats();
  
     private ConnectorFactory connectorFactory;
     
@@ -141,15 +155,30 @@ public class DefaultClient implements Client
             throw new IllegalStateException( "Channels already exist." );
             
         this.connectorFactory = connectorFactory;
-        channels.add(new ConnectorAdapter(reliable, protocol, dispatcher, dispatcher, true));
+        channels.add(createAdapter(reliable, true));
         if( fast != null ) {
-            channels.add(new ConnectorAdapter(fast, protocol, dispatcher, dispatcher, false));
+            channels.add(createAdapter(fast, false));
         } else {
             // Add the null adapter to keep the indexes right
             channels.add(null);
         }
     }  
 
+    /**
+     * Creates the adapter that reads from and writes to the specified
+     * connector for this client.
+     *
+     * @param connector the transport connector
+     * @param reliable true if the connector is reliable
+     * @return the new adapter
+     */
+    protected ConnectorAdapter createAdapter( Connector connector, boolean reliable )
+    {
+        ConnectorAdapter result = new ConnectorAdapter(connector, protocol, dispatcher, dispatcher, reliable);
+        result.setStats(stats);
+        return result;
+    }
+
     /**
      * Ensures the client has been started.
      */
@@ -167,9 +196,11 @@ public class DefaultClient implements Client
             
         // Start up the threads and stuff for the
         // connectors that we have
-        for( ConnectorAdapter ca : channels ) {
+        for( int ch = 0; ch < channels.size(); ch++ ) {
+            ConnectorAdapter ca = channels.get(ch);
             if( ca == null )
                 continue;
+            ca.setCompression(compression.get(ch));
             ca.start();
         }
 
@@ -190,6 +221,10 @@ public class DefaultClient implements Client
 
         // Set it true here, so we can send some messages.
         isRunning = true;        
+
+        if( !batchSizes.isEmpty() ) {
+            batcher.start();
+        }
                 
         ClientRegistrationMessage reg;
         reg = new ClientRegistrationMessage();
@@ -216,6 +251,141 @@ public class DefaultClient implements Client
         return isRunning;
     }
 
+    /**
+     *  Enables batching on the specified channel so that messages sent
+     *  in quick succession are combined into a single write or datagram
+     *  of at most maxSize bytes.  Pending messages are sent when the
+     *  batch is full, when flush() is called, or after the batch flush
+     *  delay.  A maxSize of 0 disables batching.  Must be called before
+     *  the client is started.
+     *
+     *  @param channel the channel, CHANNEL_DEFAULT_RELIABLE,
+     *                 CHANNEL_DEFAULT_UNRELIABLE, or an added channel
+     *  @param maxSize the batch budget in bytes, or 0 to disable batching
+     */
+    public void setBatchSize( int channel, int maxSize )
+    {
+        if( isRunning )
+            throw new IllegalStateException( "Batching cannot be configured once client is started." );
+        if( channel < CHANNEL_DEFAULT_RELIABLE )
+            throw new IllegalArgumentException( "Channel is undefined:" + channel );
+        if( maxSize <= 0 ) {
+            batchSizes.remove(channel + CH_FIRST);
+        } else {
+            batchSizes.put(channel + CH_FIRST, maxSize);
+        }
+    }
+
+    /**
+     *  Returns the batch budget for the specified channel.
+     *
+     *  @param channel the channel
+     *  @return the batch budget in bytes, or 0 if the channel is not batched
+     */
+    public int getBatchSize( int channel )
+    {
+        Integer result = batchSizes.get(channel + CH_FIRST);
+        return result == null ? 0 : result;
+    }
+
+    /**
+     *  Sets the longest time in milliseconds that a message may wait
+     *  in a batch before being sent.  Zero or less means messages wait
+     *  until the batch is full or flush() is called.  Defaults to 10 ms.
+     *  Must be called before the client is started.
+     *
+     *  @param millis the flush delay in milliseconds
+     */
+    public void setBatchFlushDelay( long millis )
+    {
+        if( isRunning )
+            throw new IllegalStateException( "Batching cannot be configured once client is started." );
+        batcher.setFlushDelay(millis);
+    }
+
+    /**
+     *  Returns the longest time that a message may wait in a batch.
+     *
+     *  @return the flush delay in milliseconds
+     */
+    public long getBatchFlushDelay()
+    {
+        return batcher.getFlushDelay();
+    }
+
+    /**
+     *  Immediately sends any batched messages.
+     */
+    public void flush()
+    {
+        batcher.flush();
+    }
+
+    /**
+     *  Compresses all data sent and received on the specified channel.
+     *  This must match the server's compression settings for the same
+     *  channel or the client will not be able to connect.  Reliable
+     *  channels are compressed as one continuous stream while the
+     *  unreliable channel compresses each datagram on its own.  Must be
+     *  called before the client is started.
+     *
+     *  @param channel the channel, CHANNEL_DEFAULT_RELIABLE,
+     *                 CHANNEL_DEFAULT_UNRELIABLE, or an added channel
+     *  @param settings the compression settings, or null to disable compression
+     */
+    public void setCompression( int channel, CompressionSettings settings )
+    {
+        if( isRunning )
+            throw new IllegalStateException( "Compression cannot be configured once client is started." );
+        if( channel < CHANNEL_DEFAULT_RELIABLE )
+            throw new IllegalArgumentException( "Channel is undefined:" + channel );
+        if( settings == null ) {
+            compression.remove(channel + CH_FIRST);
+        } else {
+            compression.put(channel + CH_FIRST, settings);
+        }
+    }
+
+    /**
+     *  Returns the compression settings for the specified channel.
+     *
+     *  @param channel the channel
+     *  @return the compression settings, or null if the channel is not compressed
+     */
+    public CompressionSettings getCompression( int channel )
+    {
+        return compression.get(channel + CH_FIRST);
+    }
+
+    /**
+     *  Returns the traffic statistics for this client's connection
+     *  to the server.
+     *
+     *  @return the client's statistics
+     */
+    @Override
+    public ConnectionStats getStats()
+    {
+        return stats;
+    }
+
+    /**
+     *  Returns the number of outbound messages or batches waiting to
+     *  be written on the specified channel.
+     *
+     *  @param channel the channel, CHANNEL_DEFAULT_RELIABLE,
+     *                 CHANNEL_DEFAULT_UNRELIABLE, or an added channel
+     *  @return the current outbound backlog
+     */
+    public int getQueueDepth( int channel )
+    {
+        int index = channel + CH_FIRST;
+        ConnectorAdapter ca = index >= 0 && index < channels.size() ? channels.get(index) : null;
+        if( ca == null )
+            throw new IllegalArgumentException( "Channel is undefined:" + channel );
+        return ca.getQueueDepth();
+    }
+
     /**
      * Blocks until the client finishes connecting.
      */
@@ -319,7 +489,21 @@ public class DefaultClient implements Client
         buffer.clear();        
  
         // Convert the message to bytes
+        long start = System.nanoTime();
         buffer = protocol.toByteBuffer(message, buffer);
+        stats.messageSerialized( message.getClass(), System.nanoTime() - start );
+        stats.messageSent( message.getClass(), buffer.remaining() );
+
+        // Registration messages are sent before we are connected
+        // and shouldn't wait in a batch
+        Integer batchSize = waitForConnected ? batchSizes.get(channel) : null;
+        if( batchSize != null ) {
+            // The batch copies the data so the buffer can be reused
+            final ConnectorAdapter ca = channels.get(channel);
+            batches.computeIfAbsent(channel, 
+                                    k -> batcher.createBatch(batchSize, ca::write)).add(buffer);
+            return;
+        }
                 
         // Since we share the buffer between invocations, we will need to 
         // copy this message's part out of it.  This is because we actually
@@ -357,6 +541,9 @@ public class DefaultClient implements Client
             }
         
             // Send a close message
+
+            // Send anything still batched
+            batcher.stop();
     
             // Tell the thread it's ok to die
             for( ConnectorAdapter ca : channels ) {
@@ -496,9 +683,10 @@ public class DefaultClient implements Client
         try {               
             for( int i = 0; i < ports.length; i++ ) {
                 Connector c = connectorFactory.createConnector( i, ports[i] );
-                ConnectorAdapter ca = new ConnectorAdapter(c, protocol, dispatcher, dispatcher, true);
+                ConnectorAdapter ca = createAdapter(c, true);
                 int ch = channels.size(); 
                 channels.add( ca );
+                ca.setCompression(compression.get(ch));
                 
                 // Need to send the connection its hook-up registration
                 // and start it.
@@ -40,6 +40,8 @@ import com.jme3.network.message.ClientRegistrationMessage;
 import com.jme3.network.message.DisconnectMessage;
 import com.jme3.network.service.HostedServiceManager;
 import com.jme3.network.service.serializer.ServerSerializerRegistrationsService;
+import com.jme3.network.stats.ConnectionStats;
+import com.jme3.network.stats.Histogram;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.util.*;
@@ -83,6 +85,19 @@ public class DefaultServer implements Server
     // Keeps track of clients for whom we've only received the UDP
     // registration message
     private final Map<Long,Connection> connecting = new ConcurrentHashMap<>();
+
+    // Per internal channel index, the batch size for messages sent
+    // to each connection or absent if that channel isn't batched
+    private final Map<Integer,Integer> batchSizes = new HashMap<>();
+    private final MessageBatcher batcher = new MessageBatcher();
+
+    // Per internal channel index, the compression settings or absent
+    // if that channel isn't compressed
+    private final Map<Integer,CompressionSettings> compression = new HashMap<>();
+
+    // Totals across all connections, each connection's stats
+    // also record here
+    private final ConnectionStats stats = new ConnectionStats();
     
     private final MessageListenerRegistry<HostedConnection> messageListeners 
                             = new MessageListenerRegistry<>();                        
@@ -90,6 +105,7 @@ public class DefaultServer implements Server
     
     private HostedServiceManager services;
     private MessageProtocol protocol = new SerializerMessageProtocol();
+    private final ThreadLocal<ByteBuffer> dataBuffer = new ThreadLocal<>();
     
     /**
      * Creates a server with the specified game name, version, and primary kernels.
@@ -174,6 +190,182 @@ public class DefaultServer implements Server
         } 
     } 
 
+    /**
+     *  Enables batching on the specified channel so that messages sent
+     *  to a connection in quick succession are combined into a single
+     *  write or datagram of at most maxSize bytes.  Pending messages are
+     *  sent when the batch is full, when flush() is called, or after the
+     *  batch flush delay.  A maxSize of 0 disables batching.  Must be
+     *  called before the server is started.
+     *
+     *  <p>Batching is compatible with clients that do not batch.
+     *  For the unreliable channel, maxSize should stay below the
+     *  network MTU (around 1400 bytes) to avoid IP fragmentation.</p>
+     *
+     *  @param channel the channel, CHANNEL_DEFAULT_RELIABLE,
+     *                 CHANNEL_DEFAULT_UNRELIABLE, or an added channel
+     *  @param maxSize the batch budget in bytes, or 0 to disable batching
+     */
+    public void setBatchSize( int channel, int maxSize )
+    {
+        if( isRunning )
+            throw new IllegalStateException( "Batching cannot be configured once server is started." );
+        checkChannel(channel);
+        if( maxSize <= 0 ) {
+            batchSizes.remove(channel + CH_FIRST);
+        } else {
+            batchSizes.put(channel + CH_FIRST, maxSize);
+        }
+    }
+
+    /**
+     *  Returns the batch budget for the specified channel.
+     *
+     *  @param channel the channel
+     *  @return the batch budget in bytes, or 0 if the channel is not batched
+     */
+    public int getBatchSize( int channel )
+    {
+        Integer result = batchSizes.get(channel + CH_FIRST);
+        return result == null ? 0 : result;
+    }
+
+    /**
+     *  Sets the longest time in milliseconds that a message may wait
+     *  in a batch before being sent.  Zero or less means messages wait
+     *  until the batch is full or flush() is called.  Defaults to 10 ms.
+     *  Must be called before the server is started.
+     *
+     *  @param millis the flush delay in milliseconds
+     */
+    public void setBatchFlushDelay( long millis )
+    {
+        if( isRunning )
+            throw new IllegalStateException( "Batching cannot be configured once server is started." );
+        batcher.setFlushDelay(millis);
+    }
+
+    /**
+     *  Returns the longest time that a message may wait in a batch.
+     *
+     *  @return the flush delay in milliseconds
+     */
+    public long getBatchFlushDelay()
+    {
+        return batcher.getFlushDelay();
+    }
+
+    /**
+     *  Immediately sends any batched messages for all connections.
+     *  Games that enable batching will generally call this once at the
+     *  end of each server tick.
+     */
+    public void flush()
+    {
+        batcher.flush();
+    }
+
+    /**
+     *  Compresses all data sent and received on the specified channel.
+     *  Reliable channels are compressed as one continuous stream per
+     *  connection so repeated content costs little after the first time
+     *  it is sent.  The unreliable channel compresses each datagram on its
+     *  own, where a preset dictionary matters most.  Must be called before
+     *  the server is started.
+     *
+     *  <p>Unlike batching, clients must be configured with the same
+     *  settings for the same channels or they will not be able to
+     *  connect.  Changing these settings is a good reason to change the
+     *  server version.  Stream compression keeps a few hundred KB of
+     *  compression state per connection per channel.</p>
+     *
+     *  @param channel the channel, CHANNEL_DEFAULT_RELIABLE,
+     *                 CHANNEL_DEFAULT_UNRELIABLE, or an added channel
+     *  @param settings the compression settings, or null to disable compression
+     */
+    public void setCompression( int channel, CompressionSettings settings )
+    {
+        if( isRunning )
+            throw new IllegalStateException( "Compression cannot be configured once server is started." );
+        checkChannel(channel);
+        if( settings == null ) {
+            compression.remove(channel + CH_FIRST);
+        } else {
+            compression.put(channel + CH_FIRST, settings);
+        }
+    }
+
+    /**
+     *  Returns the compression settings for the specified channel.
+     *
+     *  @param channel the channel
+     *  @return the compression settings, or null if the channel is not compressed
+     */
+    public CompressionSettings getCompression( int channel )
+    {
+        return compression.get(channel + CH_FIRST);
+    }
+
+    /**
+     *  Returns the traffic statistics totaled across all connections,
+     *  including connections that have since closed.
+     *
+     *  @return the server's total statistics
+     */
+    public ConnectionStats getStats()
+    {
+        return stats;
+    }
+
+    /**
+     *  Returns the traffic statistics for the specified connection.  This
+     *  can be polled to find clients that are sending far more than they
+     *  should.
+     *
+     *  @param conn a connection of this server
+     *  @return the connection's statistics
+     */
+    public ConnectionStats getStats( HostedConnection conn )
+    {
+        return ((Connection)conn).stats;
+    }
+
+    /**
+     *  Returns the number of received envelopes that are waiting to be
+     *  processed on the specified channel.
+     *
+     *  @param channel the channel, CHANNEL_DEFAULT_RELIABLE,
+     *                 CHANNEL_DEFAULT_UNRELIABLE, or an added channel
+     *  @return the current backlog
+     */
+    public int getQueueDepth( int channel )
+    {
+        return getAdapter(channel).getQueueDepth();
+    }
+
+    /**
+     *  Returns the receive backlog of the specified channel as sampled
+     *  each time an envelope is read.
+     *
+     *  @param channel the channel, CHANNEL_DEFAULT_RELIABLE,
+     *                 CHANNEL_DEFAULT_UNRELIABLE, or an added channel
+     *  @return the backlog histogram
+     */
+    public Histogram getQueueDepths( int channel )
+    {
+        return getAdapter(channel).getQueueDepths();
+    }
+
+    private KernelAdapter getAdapter( int channel )
+    {
+        checkChannel(channel);
+        KernelAdapter result = channel == MessageConnection.CHANNEL_DEFAULT_UNRELIABLE 
+                             ? fastAdapter : channels.get(channel + CH_FIRST);
+        if( result == null )
+            throw new IllegalArgumentException( "Channel is undefined:" + channel );
+        return result;
+    }
+
     /**
      * Validates an alternate server channel index.
      *
@@ -197,6 +389,10 @@ public class DefaultServer implements Server
         for( KernelAdapter ka : channels ) {
             ka.initialize();
         }
+        for( Map.Entry<Integer,CompressionSettings> e : compression.entrySet() ) {
+            if( e.getKey() < channels.size() )
+                channels.get(e.getKey()).setCompression(e.getValue());
+        }
  
         // Start em up
         for( KernelAdapter ka : channels ) {
@@ -204,6 +400,10 @@ public class DefaultServer implements Server
         }
         
         isRunning = true;
+
+        if( !batchSizes.isEmpty() ) {
+            batcher.start();
+        }
         
         // Start the services
         services.start();             
@@ -224,6 +424,9 @@ public class DefaultServer implements Server
         // First stop the services since we are about to
         // kill the connections they are using
         services.stop();
+
+        // Send whatever the services left in the batches
+        batcher.stop();
  
         try {
             // Kill the adapters, they will kill the kernels
@@ -256,16 +459,24 @@ public class DefaultServer implements Server
         if( connections.isEmpty() )
             return;
  
-        ByteBuffer buffer = protocol.toByteBuffer(message, null);
+        ByteBuffer buffer = serializeForBroadcast(message);
+
+        int channel = message.isReliable() || fastAdapter == null ? CH_RELIABLE : CH_UNRELIABLE;
+        if( batchSizes.containsKey(channel) || compression.containsKey(channel) ) {
+            broadcastPerConnection( channel, filter, message, buffer );
+            return;
+        }
  
-        FilterAdapter adapter = filter == null ? null : new FilterAdapter(filter);
+        // The adapter also counts the message for each connection it goes to
+        FilterAdapter adapter = new FilterAdapter(filter, message.getClass(), buffer.remaining());
                
-        if( message.isReliable() || fastAdapter == null ) {
-            // Don't need to copy the data because message protocol is already
-            // giving us a fresh buffer
-            reliableAdapter.broadcast( adapter, buffer, true, false );
+        // The message was serialized into a shared buffer, so let the
+        // kernel copy it once into a pooled buffer that all of the
+        // endpoints send from
+        if( channel == CH_RELIABLE ) {
+            reliableAdapter.broadcast( adapter, buffer, true, true );
         } else {
-            fastAdapter.broadcast( adapter, buffer, false, false );
+            fastAdapter.broadcast( adapter, buffer, false, true );
         }               
     }
 
@@ -281,11 +492,61 @@ public class DefaultServer implements Server
 
         checkChannel(channel);
         
-        ByteBuffer buffer = protocol.toByteBuffer(message, null);
+        ByteBuffer buffer = serializeForBroadcast(message);
+
+        if( batchSizes.containsKey(channel + CH_FIRST) || compression.containsKey(channel + CH_FIRST) ) {
+            broadcastPerConnection( channel + CH_FIRST, filter, message, buffer );
+            return;
+        }
  
-        FilterAdapter adapter = filter == null ? null : new FilterAdapter(filter);
+        FilterAdapter adapter = new FilterAdapter(filter, message.getClass(), buffer.remaining());
 
-        channels.get(channel+CH_FIRST).broadcast( adapter, buffer, true, false );               
+        channels.get(channel+CH_FIRST).broadcast( adapter, buffer, true, true );               
+    }
+
+    /**
+     *  Sends an already serialized message to each matching connection
+     *  on the specified internal channel, one connection at a time.  This
+     *  is used instead of a kernel broadcast when the channel's data goes
+     *  through per-connection batches or compressors.
+     *
+     *  @param channel the internal channel index
+     *  @param filter the connection filter, or null for all connections
+     *  @param message the message that was serialized
+     *  @param buffer the serialized message
+     */
+    protected void broadcastPerConnection( int channel, Filter<? super HostedConnection> filter, 
+                                     Message message, ByteBuffer buffer )
+    {
+        for( HostedConnection hc : connections.values() ) {
+            if( filter != null && !filter.apply(hc) )
+                continue;
+            Connection conn = (Connection)hc;
+            conn.stats.messageSent( message.getClass(), buffer.remaining() );
+            conn.sendBytes( channel, buffer.duplicate(), true );
+        }
+    }
+
+    /**
+     *  Serializes the message into a buffer reused by the calling
+     *  thread.  The result is only valid until the next call on the
+     *  same thread, so it must be broadcast with 'copy' set.
+     *
+     *  @param message the message to serialize
+     *  @return the serialized message
+     */
+    protected ByteBuffer serializeForBroadcast( Message message )
+    {
+        ByteBuffer buffer = dataBuffer.get();
+        if( buffer == null ) {
+            buffer = ByteBuffer.allocate( SerializerMessageProtocol.MAX_MESSAGE_SIZE + 2 );
+            dataBuffer.set(buffer);
+        }
+        buffer.clear();
+        long start = System.nanoTime();
+        buffer = protocol.toByteBuffer(message, buffer);
+        stats.messageSerialized( message.getClass(), System.nanoTime() - start );
+        return buffer;
     }
 
     @Override
@@ -498,7 +759,10 @@ public class DefaultServer implements Server
             m = new ClientRegistrationMessage();
             m.setId(-1);
             m.setReliable(true);
-            addedConnection.send(m);            
+            addedConnection.send(m);
+
+            // The handshake is done so batching can start
+            addedConnection.startBatching();
         }            
     }
 
@@ -513,6 +777,20 @@ public class DefaultServer implements Server
         return endpointConnections.get(endpoint);       
     } 
 
+    /**
+     * Returns the stats that data received from the specified endpoint
+     * should be recorded to.  This is the server totals if the endpoint
+     * isn't part of a connection yet.
+     *
+     * @param endpoint the endpoint that received data
+     * @return the stats for that endpoint
+     */
+    ConnectionStats getEndpointStats( Endpoint endpoint )
+    {
+        Connection conn = (Connection)endpointConnections.get(endpoint);
+        return conn == null ? stats : conn.stats;
+    }
+
     /**
      * Removes partially connected state associated with the specified endpoint.
      *
@@ -580,12 +858,15 @@ public class DefaultServer implements Server
     /**
      * Hosted connection implementation backed by one or more endpoints.
      */
-    protected class Connection implements HostedConnection
+    protected class Connection implements HostedConnection, ConnectionStats.Provider
     {
         private final int id;
+        private final MessageCompressor[] compressors;
+        private final ConnectionStats stats = new ConnectionStats(DefaultServer.this.stats);
         private boolean closed;
         private Endpoint[] channels;
         private int setChannelCount = 0; 
+        private volatile MessageBatcher.Batch[] batches;
        
         private final Map<String,Object> sessionData = new ConcurrentHashMap<>();       
         
@@ -598,6 +879,10 @@ public class DefaultServer implements Server
         {
             id = nextId.getAndIncrement();
             channels = new Endpoint[channelCount];
+            compressors = new MessageCompressor[channelCount];
+            for( Map.Entry<Integer,CompressionSettings> e : compression.entrySet() ) {
+                compressors[e.getKey()] = e.getValue().createCompressor(e.getKey() != CH_UNRELIABLE);
+            }
         }
         
         boolean hasEndpoint( Endpoint p )
@@ -625,12 +910,94 @@ public class DefaultServer implements Server
         {
             return setChannelCount == channels.length;
         }
+
+        void startBatching()
+        {
+            if( batchSizes.isEmpty() )
+                return;
+            MessageBatcher.Batch[] array = new MessageBatcher.Batch[channels.length];
+            for( Map.Entry<Integer,Integer> e : batchSizes.entrySet() ) {
+                final int channel = e.getKey();
+                if( channels[channel] == null )
+                    continue;
+                array[channel] = batcher.createBatch( e.getValue(), data -> write(channel, data) );
+            }
+            batches = array;
+        }
+
+        void stopBatching()
+        {
+            MessageBatcher.Batch[] array = batches;
+            if( array == null )
+                return;
+            batches = null;
+            for( MessageBatcher.Batch b : array ) {
+                if( b == null )
+                    continue;
+                batcher.removeBatch(b);
+                if( !closed )
+                    b.flush();
+            }
+        }
+
+        /**
+         * Sends serialized message data on the specified internal channel,
+         * through that channel's batch if it has one.
+         *
+         * @param channel the internal channel index
+         * @param buffer the serialized message data
+         * @param shared true if the buffer is reused by the caller and
+         *               must be copied if it is sent directly
+         */
+        void sendBytes( int channel, ByteBuffer buffer, boolean shared )
+        {
+            MessageBatcher.Batch[] array = batches;
+            if( array != null && array[channel] != null ) {
+                array[channel].add(buffer);
+            } else if( channels[channel] != null ) {
+                if( shared && compressors[channel] == null ) {
+                    ByteBuffer copy = ByteBuffer.allocate(buffer.remaining());
+                    copy.put(buffer).flip();
+                    buffer = copy;
+                }
+                write( channel, buffer );
+            } 
+        }
+
+        /**
+         * Writes data to the endpoint of the specified internal channel,
+         * compressing it first if the channel is compressed.
+         *
+         * @param channel the internal channel index
+         * @param buffer the data to write
+         */
+        void write( int channel, ByteBuffer buffer )
+        {
+            MessageCompressor compressor = compressors[channel];
+            if( compressor == null ) {
+                channels[channel].send(buffer);
+                return;
+            }
+            // Stream compressed data must reach the endpoint in the
+            // order that it was compressed
+            synchronized( compressor ) {
+                if( closed )
+                    return;
+                channels[channel].send(compressor.compress(buffer));
+            }
+        }
  
         @Override
         public Server getServer()
         {   
             return DefaultServer.this;
         }     
+
+        @Override
+        public ConnectionStats getStats()
+        {
+            return stats;
+        }
        
         @Override
         public int getId()
@@ -650,11 +1017,11 @@ public class DefaultServer implements Server
             if( log.isLoggable(Level.FINER) ) {
                 log.log(Level.FINER, "send({0})", message);
             }
-            ByteBuffer buffer = protocol.toByteBuffer(message, null);
+            ByteBuffer buffer = serialize(message);
             if( message.isReliable() || channels[CH_UNRELIABLE] == null ) {
-                channels[CH_RELIABLE].send( buffer );
+                sendBytes( CH_RELIABLE, buffer, false );
             } else {
-                channels[CH_UNRELIABLE].send( buffer );
+                sendBytes( CH_UNRELIABLE, buffer, false );
             }
         }
 
@@ -665,8 +1032,17 @@ public class DefaultServer implements Server
                 log.log(Level.FINER, "send({0}, {1})", new Object[]{channel, message});
             }
             checkChannel(channel);
+            ByteBuffer buffer = serialize(message);
+            sendBytes( channel+CH_FIRST, buffer, false );
+        }
+
+        private ByteBuffer serialize( Message message )
+        {
+            long start = System.nanoTime();
             ByteBuffer buffer = protocol.toByteBuffer(message, null);
-            channels[channel+CH_FIRST].send(buffer);
+            stats.messageSerialized( message.getClass(), System.nanoTime() - start );
+            stats.messageSent( message.getClass(), buffer.remaining() );
+            return buffer;
         }
  
         /**
@@ -677,6 +1053,7 @@ public class DefaultServer implements Server
             if( closed ) 
                 return;
             closed = true;
+            stopBatching();
             
             // Make sure all endpoints are closed.  Note: reliable
             // should always already be closed through all paths that I
@@ -686,6 +1063,15 @@ public class DefaultServer implements Server
                     continue;
                 p.close();
             }
+
+            // Free the native compression state
+            for( MessageCompressor compressor : compressors ) {
+                if( compressor == null )
+                    continue;
+                synchronized( compressor ) {
+                    compressor.close();
+                }
+            }
         
             fireConnectionRemoved( this );
         }
@@ -698,6 +1084,10 @@ public class DefaultServer implements Server
             m.setType( DisconnectMessage.KICK );
             m.setReason( reason );
             m.setReliable( true );
+
+            // Send anything batched before the disconnect and then
+            // the disconnect itself directly
+            stopBatching();
             send( m );
             
             // Just close the reliable endpoint
@@ -763,6 +1153,8 @@ public class DefaultServer implements Server
     protected class FilterAdapter implements Filter<Endpoint>
     {
         private final Filter<? super HostedConnection> delegate;
+        private final Class<?> type;
+        private final int size;
         
         /**
          * Creates a filter adapter.
@@ -770,8 +1162,24 @@ public class DefaultServer implements Server
          * @param delegate the hosted-connection filter to delegate to
          */
         public FilterAdapter( Filter<? super HostedConnection> delegate )
+        {
+            this( delegate, null, 0 );
+        }
+
+        /**
+         * Creates a filter adapter that also records a sent message to
+         * the stats of each connection that it accepts.  A null delegate
+         * accepts every endpoint.
+         *
+         * @param delegate the hosted-connection filter to delegate to, or null
+         * @param type the class of the message being sent, or null to not record it
+         * @param size the serialized size of the message
+         */
+        public FilterAdapter( Filter<? super HostedConnection> delegate, Class<?> type, int size )
         {
             this.delegate = delegate;
+            this.type = type;
+            this.size = size;
         }
         
         @Override
@@ -779,8 +1187,12 @@ public class DefaultServer implements Server
         {
             HostedConnection conn = getConnection( input );
             if( conn == null )
+                return delegate == null;
+            if( delegate != null && !delegate.apply(conn) )
                 return false;
-            return delegate.apply(conn);
+            if( type != null )
+                ((Connection)conn).stats.messageSent( type, size );
+            return true;
         } 
     }     
 }
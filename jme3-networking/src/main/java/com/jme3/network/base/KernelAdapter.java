@@ -39,7 +39,10 @@ import com.jme3.network.kernel.Endpoint;
 import com.jme3.network.kernel.EndpointEvent;
 import com.jme3.network.kernel.Envelope;
 import com.jme3.network.kernel.Kernel;
+import com.jme3.network.kernel.AbstractKernel;
 import com.jme3.network.message.ClientRegistrationMessage;
+import com.jme3.network.stats.ConnectionStats;
+import com.jme3.network.stats.Histogram;
 import java.nio.ByteBuffer;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
@@ -80,6 +83,16 @@ public class KernelAdapter extends Thread
     // Marks the messages as reliable or not if they came
     // through this connector.
     private boolean reliable;
+
+    // Set when the channel is compressed.  Reliable channels keep a
+    // stream decompressor per endpoint while unreliable ones reuse a
+    // single packet decompressor.
+    private volatile CompressionSettings compression;
+    private Map<Endpoint, MessageDecompressor> decompressors = new ConcurrentHashMap<>();
+    private MessageDecompressor packetDecompressor;
+
+    // The kernel's envelope backlog sampled at each read
+    private final Histogram queueDepths = new Histogram();
     
     /**
      * Creates an adapter for a kernel used by {@link DefaultServer}.
@@ -112,6 +125,56 @@ public class KernelAdapter extends Thread
         return kernel;
     }
 
+    /**
+     * Returns the number of envelopes the kernel has received that this
+     * adapter hasn't processed yet, or 0 if the kernel doesn't
+     * report it.
+     *
+     * @return the current envelope backlog
+     */
+    public int getQueueDepth()
+    {
+        if( kernel instanceof AbstractKernel ) {
+            return ((AbstractKernel)kernel).getEnvelopeCount();
+        }
+        return 0;
+    }
+
+    /**
+     * Returns the envelope backlog sampled each time this adapter reads
+     * an envelope.  A backlog that keeps growing means that messages are
+     * arriving faster than the listeners can handle them.
+     *
+     * @return the backlog histogram
+     */
+    public Histogram getQueueDepths()
+    {
+        return queueDepths;
+    }
+
+    /**
+     * Sets the compression used for all data received by this adapter.
+     * Must be called before the adapter is started.
+     *
+     * @param compression the compression settings, or null for none
+     */
+    public void setCompression( CompressionSettings compression )
+    {
+        this.compression = compression;
+        this.packetDecompressor = compression == null || reliable 
+                                ? null : compression.createDecompressor(false);
+    }
+
+    /**
+     * Returns the compression used for data received by this adapter.
+     *
+     * @return the compression settings, or null for none
+     */
+    public CompressionSettings getCompression()
+    {
+        return compression;
+    }
+
     /**
      * Initializes the wrapped kernel.
      */
@@ -147,6 +210,11 @@ public class KernelAdapter extends Thread
         kernel.terminate();
         
         join();
+
+        for( MessageDecompressor decompressor : decompressors.values() ) {
+            decompressor.close();
+        }
+        decompressors.clear();
     }
 
     /**
@@ -189,6 +257,10 @@ public class KernelAdapter extends Thread
         // Remove any message buffer we've been accumulating 
         // on behalf of this endpoint
         messageBuffers.remove(p);
+        MessageDecompressor decompressor = decompressors.remove(p);
+        if( decompressor != null ) {
+            decompressor.close();
+        }
 
         log.log( Level.FINE, "Buffers size:{0}", messageBuffers.size() );
     
@@ -270,6 +342,31 @@ public class KernelAdapter extends Thread
         }
     }
 
+    /**
+     * Returns the data of an envelope, decompressed if this channel
+     * is compressed.
+     *
+     * @param env the received envelope
+     * @return the envelope's message data
+     */
+    protected ByteBuffer getData( Envelope env )
+    {
+        ByteBuffer buffer = ByteBuffer.wrap(env.getData());
+        CompressionSettings cs = compression;
+        if( cs == null ) {
+            return buffer;
+        }
+        if( !reliable ) {
+            return packetDecompressor.decompress(buffer);
+        }
+        MessageDecompressor decompressor = decompressors.get(env.getSource());
+        if( decompressor == null ) {
+            decompressor = cs.createDecompressor(true);
+            decompressors.put(env.getSource(), decompressor);
+        }
+        return decompressor.decompress(buffer);
+    }
+
     /**
      * Decodes an envelope into messages and dispatches them.
      *
@@ -278,9 +375,11 @@ public class KernelAdapter extends Thread
     protected void createAndDispatch( Envelope env )
     {
         MessageBuffer protocol = getMessageBuffer(env.getSource()); 
+        ConnectionStats stats = server.getEndpointStats(env.getSource());
     
         byte[] data = env.getData();
-        ByteBuffer buffer = ByteBuffer.wrap(data);
+        ByteBuffer buffer = getData(env);
+        stats.bytesReceived(buffer.remaining());
 
         if( !protocol.addBytes(buffer) ) {
             // This can happen if there was only a partial message
@@ -300,9 +399,12 @@ public class KernelAdapter extends Thread
         
         // Should be complete... and maybe we should check, but we don't.
         Message m = null;
+        long start = System.nanoTime();
         while( (m = protocol.pollMessage()) != null ) {
+            stats.messageReceived(m.getClass(), System.nanoTime() - start);
             m.setReliable(reliable);
             dispatch(env.getSource(), m);
+            start = System.nanoTime();
         }
     } 
 
@@ -347,6 +449,7 @@ public class KernelAdapter extends Thread
                 Envelope e = kernel.read();
                 if( e == Kernel.EVENTS_PENDING )
                     continue; // We'll catch it up above
+                queueDepths.record(getQueueDepth());
  
                 // Check for pending events that might have
                 // come in while we were blocking.  This is usually
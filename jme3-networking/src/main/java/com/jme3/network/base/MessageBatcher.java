@@ -0,0 +1,238 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.network.base;
+
+import java.nio.ByteBuffer;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+
+/**
+ *  Coalesces framed messages that are sent close together into a
+ *  single buffer per connection channel so that they go out as one
+ *  socket write or one datagram.
+ *
+ *  <p>Each Batch collects messages until adding another would exceed
+ *  its size budget, until it is flushed explicitly (usually once per
+ *  game tick), or until the flush delay elapses, whichever comes
+ *  first.  The receiving MessageBuffer already splits a buffer of
+ *  length-prefixed messages back apart so batching does not change
+ *  the protocol.</p>
+ */
+public class MessageBatcher {
+
+    private static final Logger log = Logger.getLogger(MessageBatcher.class.getName());
+
+    private final Set<Batch> batches = ConcurrentHashMap.newKeySet();
+    private long flushDelay = 10;
+    private ScheduledExecutorService timer;
+
+    /**
+     *  Creates a new message batcher.
+     */
+    public MessageBatcher() {
+    }
+
+    /**
+     *  Sets the longest time in milliseconds that a message may wait in
+     *  a batch before it is sent anyway.  Zero or less disables the
+     *  timer so that batches are only sent when full or flushed.
+     *  Takes effect on the next start().  Defaults to 10 ms.
+     *
+     *  @param millis the flush delay in milliseconds
+     */
+    public void setFlushDelay( long millis ) {
+        this.flushDelay = millis;
+    }
+
+    /**
+     *  Returns the longest time that a message may wait in a batch.
+     *
+     *  @return the flush delay in milliseconds
+     */
+    public long getFlushDelay() {
+        return flushDelay;
+    }
+
+    /**
+     *  Creates and tracks a new batch that sends to the specified sink.
+     *
+     *  @param maxSize the largest buffer, in bytes, that the batch will send
+     *  @param sink receives each completed batch as a new buffer
+     *  @return the new batch
+     */
+    public Batch createBatch( int maxSize, Consumer<ByteBuffer> sink ) {
+        Batch result = new Batch(maxSize, sink);
+        batches.add(result);
+        return result;
+    }
+
+    /**
+     *  Stops tracking the specified batch.  Anything still pending
+     *  in it is discarded.
+     *
+     *  @param batch the batch to remove
+     */
+    public void removeBatch( Batch batch ) {
+        batches.remove(batch);
+    }
+
+    /**
+     *  Sends all pending messages in all batches.
+     */
+    public void flush() {
+        for( Batch b : batches ) {
+            try {
+                b.flush();
+            } catch( RuntimeException e ) {
+                log.log(Level.WARNING, "Error flushing batch", e);
+            }
+        }
+    }
+
+    /**
+     *  Starts the flush timer if the flush delay is positive.
+     */
+    public synchronized void start() {
+        if( timer != null || flushDelay <= 0 ) {
+            return;
+        }
+        timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "jME3-network-batch-flusher");
+            t.setDaemon(true);
+            return t;
+        });
+        timer.scheduleWithFixedDelay(this::flush, flushDelay, flushDelay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     *  Stops the flush timer after sending anything that is pending.
+     */
+    public synchronized void stop() {
+        flush();
+        if( timer != null ) {
+            timer.shutdownNow();
+            timer = null;
+        }
+    }
+
+    /**
+     *  Accumulates framed messages for one channel of one connection.
+     */
+    public static class Batch {
+        private final ByteBuffer pending;
+        private final Consumer<ByteBuffer> sink;
+
+        /**
+         *  Creates a batch that is not tracked by any batcher.
+         *
+         *  @param maxSize the largest buffer, in bytes, that the batch will send
+         *  @param sink receives each completed batch as a new buffer
+         */
+        public Batch( int maxSize, Consumer<ByteBuffer> sink ) {
+            if( maxSize <= 0 ) {
+                throw new IllegalArgumentException("Invalid batch size:" + maxSize);
+            }
+            this.pending = ByteBuffer.allocate(maxSize);
+            this.sink = sink;
+        }
+
+        /**
+         *  Returns the largest buffer that this batch will send.
+         *
+         *  @return the size budget in bytes
+         */
+        public int getMaxSize() {
+            return pending.capacity();
+        }
+
+        /**
+         *  Copies the remaining bytes of the framed message into the
+         *  batch, first sending what is pending if they would not fit.
+         *  Messages larger than the whole budget are sent on their own.
+         *
+         *  @param framed one or more complete length-prefixed messages
+         */
+        public synchronized void add( ByteBuffer framed ) {
+            // Sends happen while holding the lock so that batches
+            // from different threads can't be reordered.
+            if( framed.remaining() > pending.remaining() ) {
+                flush();
+            }
+            if( framed.remaining() > pending.capacity() ) {
+                // Callers may reuse the buffer so it is copied
+                // even though it isn't batched.
+                ByteBuffer direct = ByteBuffer.allocate(framed.remaining());
+                direct.put(framed).flip();
+                sink.accept(direct);
+            } else {
+                pending.put(framed);
+            }
+        }
+
+        /**
+         *  Sends anything that is pending.
+         */
+        public synchronized void flush() {
+            ByteBuffer data = drain();
+            if( data != null ) {
+                sink.accept(data);
+            }
+        }
+
+        /**
+         *  Returns true if no messages are pending.
+         *
+         *  @return true if the batch is empty
+         */
+        public synchronized boolean isEmpty() {
+            return pending.position() == 0;
+        }
+
+        private ByteBuffer drain() {
+            if( pending.position() == 0 ) {
+                return null;
+            }
+            pending.flip();
+            ByteBuffer result = ByteBuffer.allocate(pending.remaining());
+            result.put(pending).flip();
+            pending.clear();
+            return result;
+        }
+    }
+}
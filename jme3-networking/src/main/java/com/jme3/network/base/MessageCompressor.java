@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.network.base;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.Deflater;
+
+/**
+ *  Compresses the outgoing data of one channel of one connection.
+ *  In stream mode, the compression state carries over from one call to
+ *  the next and each call ends with a sync flush so that the other end
+ *  can decompress everything sent so far.  Repetitive traffic then costs
+ *  a few bytes per message instead of a full message.  In packet mode,
+ *  each call produces a complete, independent zlib stream.
+ *
+ *  <p>The working arrays are kept and reused from call to call.
+ *  Instances are not thread safe and, in stream mode, the results must
+ *  be sent in the order they were produced.</p>
+ */
+public class MessageCompressor {
+
+    private final Deflater deflater;
+    private final byte[] dictionary;
+    private final boolean stream;
+    private boolean started;
+    private byte[] input = new byte[1024];
+    private byte[] output = new byte[1024];
+
+    /**
+     *  Creates a compressor.
+     *
+     *  @param level the Deflater compression level
+     *  @param dictionary the preset dictionary, or null for none
+     *  @param stream true to compress all data as one stream
+     */
+    public MessageCompressor( int level, byte[] dictionary, boolean stream ) {
+        this.deflater = new Deflater(level);
+        this.dictionary = dictionary;
+        this.stream = stream;
+    }
+
+    /**
+     *  Returns true if this compressor keeps its state between calls.
+     *
+     *  @return true for stream mode
+     */
+    public boolean isStream() {
+        return stream;
+    }
+
+    /**
+     *  Compresses the remaining bytes of the specified buffer into a new
+     *  buffer of exactly the compressed size.  The source buffer's
+     *  position is moved to its limit.
+     *
+     *  @param data the data to compress
+     *  @return the compressed data
+     */
+    public ByteBuffer compress( ByteBuffer data ) {
+        int length = data.remaining();
+        byte[] source;
+        int offset;
+        if( data.hasArray() ) {
+            source = data.array();
+            offset = data.arrayOffset() + data.position();
+            data.position(data.limit());
+        } else {
+            if( input.length < length ) {
+                input = new byte[Math.max(length, input.length * 2)];
+            }
+            data.get(input, 0, length);
+            source = input;
+            offset = 0;
+        }
+
+        if( !stream ) {
+            deflater.reset();
+        }
+        if( dictionary != null && (!stream || !started) ) {
+            deflater.setDictionary(dictionary);
+        }
+        started = true;
+        deflater.setInput(source, offset, length);
+        if( !stream ) {
+            deflater.finish();
+        }
+
+        int size = 0;
+        while( true ) {
+            if( size == output.length ) {
+                output = Arrays.copyOf(output, output.length * 2);
+            }
+            if( stream ) {
+                // Output is complete once the deflater stops filling
+                // the space it was given
+                size += deflater.deflate(output, size, output.length - size, Deflater.SYNC_FLUSH);
+                if( size < output.length ) {
+                    break;
+                }
+            } else {
+                size += deflater.deflate(output, size, output.length - size);
+                if( deflater.finished() ) {
+                    break;
+                }
+            }
+        }
+
+        // Deflater keeps a reference to the input until the next call
+        deflater.setInput(input, 0, 0);
+
+        ByteBuffer result = ByteBuffer.allocate(size);
+        result.put(output, 0, size);
+        result.flip();
+        return result;
+    }
+
+    /**
+     *  Releases the native compression resources.  The compressor cannot
+     *  be used afterwards.
+     */
+    public void close() {
+        deflater.end();
+    }
+}
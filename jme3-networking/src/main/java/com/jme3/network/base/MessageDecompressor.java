@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.network.base;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ *  Decompresses the incoming data of one channel of one connection
+ *  that was compressed by a MessageCompressor in the same mode.  In
+ *  stream mode, data can be passed in chunks of any size, as it arrives
+ *  from the network.  In packet mode, each call must be given one
+ *  complete result of MessageCompressor.compress().
+ *
+ *  <p>Instances are not thread safe.</p>
+ */
+public class MessageDecompressor {
+
+    private final Inflater inflater = new Inflater();
+    private final byte[] dictionary;
+    private final boolean stream;
+    private byte[] input = new byte[1024];
+    private byte[] output = new byte[4096];
+
+    /**
+     *  Creates a decompressor.
+     *
+     *  @param dictionary the preset dictionary, or null for none
+     *  @param stream true to decompress all data as one stream
+     */
+    public MessageDecompressor( byte[] dictionary, boolean stream ) {
+        this.dictionary = dictionary;
+        this.stream = stream;
+    }
+
+    /**
+     *  Returns true if this decompressor keeps its state between calls.
+     *
+     *  @return true for stream mode
+     */
+    public boolean isStream() {
+        return stream;
+    }
+
+    /**
+     *  Decompresses the remaining bytes of the specified buffer.  The
+     *  result wraps an internal array and is only valid until the next
+     *  call.  The source buffer's position is moved to its limit.
+     *
+     *  @param data the compressed data
+     *  @return the decompressed data
+     */
+    public ByteBuffer decompress( ByteBuffer data ) {
+        int length = data.remaining();
+        if( input.length < length ) {
+            input = new byte[Math.max(length, input.length * 2)];
+        }
+        // Copied because a stream can hold on to input it hasn't
+        // finished with and the caller may reuse its buffer
+        data.get(input, 0, length);
+
+        if( !stream ) {
+            inflater.reset();
+        }
+        inflater.setInput(input, 0, length);
+
+        int size = 0;
+        try {
+            while( true ) {
+                if( size == output.length ) {
+                    output = Arrays.copyOf(output, output.length * 2);
+                }
+                int count = inflater.inflate(output, size, output.length - size);
+                size += count;
+                if( count > 0 ) {
+                    continue;
+                }
+                if( inflater.needsDictionary() ) {
+                    if( dictionary == null ) {
+                        throw new RuntimeException("Compressed data requires a dictionary");
+                    }
+                    inflater.setDictionary(dictionary);
+                } else if( inflater.finished() || inflater.needsInput() ) {
+                    break;
+                }
+            }
+        } catch( DataFormatException e ) {
+            throw new RuntimeException("Error decompressing data", e);
+        }
+        return ByteBuffer.wrap(output, 0, size);
+    }
+
+    /**
+     *  Releases the native decompression resources.  The decompressor
+     *  cannot be used afterwards.
+     */
+    public void close() {
+        inflater.end();
+    }
+}
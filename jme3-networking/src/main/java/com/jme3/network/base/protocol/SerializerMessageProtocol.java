@@ -52,6 +52,8 @@ import com.jme3.network.serializing.Serializer;
 public class SerializerMessageProtocol implements MessageProtocol {
 
     public static final int MAX_MESSAGE_SIZE = Short.MAX_VALUE;
+
+    private static final ThreadLocal<ByteBuffer> scratch = new ThreadLocal<>();
  
     /**
      * Creates a serializer-backed message protocol.
@@ -62,14 +64,30 @@ public class SerializerMessageProtocol implements MessageProtocol {
     /**
      *  Converts a message to a ByteBuffer using the com.jme3.network.serializing.Serializer
      *  and the (short length) + data protocol.  If target is null
-     *  then a 32k byte buffer will be created and filled.
+     *  then the message is serialized into a per-thread scratch buffer
+     *  and a buffer of exactly the right size is returned.
      */
     @Override
     public ByteBuffer toByteBuffer( Message message, ByteBuffer target ) {
-    
-        // Could let the caller pass their own in       
-        ByteBuffer buffer = target == null ? ByteBuffer.allocate(MAX_MESSAGE_SIZE + 2) : target;
+        if( target != null ) {
+            return write(message, target);
+        }
         
+        ByteBuffer temp = scratch.get();
+        if( temp == null ) {
+            temp = ByteBuffer.allocate(MAX_MESSAGE_SIZE + 2);
+            scratch.set(temp);
+        }
+        temp.clear();
+        write(message, temp);
+        
+        ByteBuffer result = ByteBuffer.allocate(temp.remaining());
+        result.put(temp);
+        result.flip();
+        return result;
+    }
+    
+    private ByteBuffer write( Message message, ByteBuffer buffer ) {
         try {
             buffer.position(2);
             Serializer.writeClassAndObject(buffer, message);
@@ -118,6 +118,18 @@ public abstract class AbstractKernel implements Kernel
         return !envelopes.isEmpty();
     }
 
+    /**
+     *  Returns the number of envelopes waiting for the caller to read
+     *  them.  This is the backlog between the kernel's network threads
+     *  and the thread processing its messages.
+     *
+     *  @return the number of queued envelopes
+     */
+    public int getEnvelopeCount()
+    {
+        return envelopes.size();
+    }
+
     /**
      *  Removes one envelope from the received messages queue or
      *  blocks until one is available.
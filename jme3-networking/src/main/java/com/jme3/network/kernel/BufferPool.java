@@ -0,0 +1,209 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.network.kernel;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ *  A thread safe pool of byte buffers handed out as reference
+ *  counted {@link PooledBuffer}s.  Buffers are grouped in power of
+ *  two size classes from {@link #MIN_BUFFER_SIZE} to {@link #MAX_BUFFER_SIZE}
+ *  and a released buffer goes back to the free list of its class
+ *  as long as that list is not full.  Larger requests are served
+ *  with unpooled buffers.
+ *
+ *  <p>The kernels use a pool to copy outbound data once and share
+ *  the copy between all of the endpoints it is sent to.</p>
+ */
+public class BufferPool
+{
+    /**
+     *  The capacity of the smallest size class.
+     */
+    public static final int MIN_BUFFER_SIZE = 256;
+
+    /**
+     *  The capacity of the largest size class, big enough for any
+     *  message of the default message protocol.
+     */
+    public static final int MAX_BUFFER_SIZE = 65536;
+
+    /**
+     *  The default number of free buffers kept per size class.
+     */
+    public static final int DEFAULT_MAX_FREE = 256;
+
+    private static final int MIN_SHIFT = Integer.numberOfTrailingZeros(MIN_BUFFER_SIZE);
+
+    private final boolean direct;
+    private final int maxFree;
+    private final SizeClass[] classes;
+    private final AtomicLong allocated = new AtomicLong();
+
+    private static class SizeClass
+    {
+        final ConcurrentLinkedQueue<PooledBuffer> free = new ConcurrentLinkedQueue<>();
+        final AtomicInteger freeCount = new AtomicInteger();
+    }
+
+    /**
+     *  Creates a pool of direct buffers keeping up to {@link #DEFAULT_MAX_FREE}
+     *  free buffers per size class.
+     */
+    public BufferPool()
+    {
+        this(true, DEFAULT_MAX_FREE);
+    }
+
+    /**
+     *  Creates a pool.
+     *
+     *  @param direct true to pool direct buffers, false to pool heap
+     *                buffers with an accessible backing array
+     *  @param maxFree the maximum number of free buffers kept per size class
+     */
+    public BufferPool( boolean direct, int maxFree )
+    {
+        this.direct = direct;
+        this.maxFree = maxFree;
+        int count = Integer.numberOfTrailingZeros(MAX_BUFFER_SIZE) - MIN_SHIFT + 1;
+        this.classes = new SizeClass[count];
+        for( int i = 0; i < count; i++ ) {
+            classes[i] = new SizeClass();
+        }
+    }
+
+    /**
+     *  Returns true if this pool hands out direct buffers.
+     *
+     *  @return true for direct buffers, false for heap buffers
+     */
+    public boolean isDirect()
+    {
+        return direct;
+    }
+
+    /**
+     *  Returns the number of buffers this pool had to allocate
+     *  because no free buffer was available.
+     *
+     *  @return the allocation count
+     */
+    public long getAllocatedCount()
+    {
+        return allocated.get();
+    }
+
+    /**
+     *  Returns a buffer with at least the specified capacity, cleared
+     *  and with its limit set to the requested size.  The caller owns
+     *  the single reference to it and must release it when done.
+     *
+     *  @param size the number of bytes needed
+     *  @return the pooled buffer
+     */
+    public PooledBuffer acquire( int size )
+    {
+        if( size < 0 ) {
+            throw new IllegalArgumentException( "Size cannot be negative:" + size );
+        }
+        int index = classIndex(size);
+        PooledBuffer result = null;
+        if( index >= 0 ) {
+            SizeClass sc = classes[index];
+            result = sc.free.poll();
+            if( result != null ) {
+                sc.freeCount.decrementAndGet();
+            }
+        }
+        if( result == null ) {
+            int capacity = index >= 0 ? MIN_BUFFER_SIZE << index : size;
+            ByteBuffer buffer = direct ? ByteBuffer.allocateDirect(capacity)
+                                       : ByteBuffer.allocate(capacity);
+            result = new PooledBuffer(index >= 0 ? this : null, buffer);
+            allocated.incrementAndGet();
+        }
+        result.reset(size);
+        return result;
+    }
+
+    /**
+     *  Copies the remaining bytes of the specified buffer into a
+     *  pooled buffer.  The position of the source is not changed.
+     *
+     *  @param data the bytes to copy
+     *  @return a pooled buffer holding the copy, positioned at zero
+     */
+    public PooledBuffer copyOf( ByteBuffer data )
+    {
+        PooledBuffer result = acquire(data.remaining());
+        ByteBuffer target = result.getBuffer();
+        target.put(data.duplicate());
+        target.flip();
+        return result;
+    }
+
+    /**
+     *  Called by PooledBuffer when its last reference has been
+     *  released.
+     */
+    void recycle( PooledBuffer buffer )
+    {
+        SizeClass sc = classes[classIndex(buffer.getBuffer().capacity())];
+        if( sc.freeCount.incrementAndGet() > maxFree ) {
+            sc.freeCount.decrementAndGet();
+            return;
+        }
+        sc.free.add(buffer);
+    }
+
+    private static int classIndex( int size )
+    {
+        if( size > MAX_BUFFER_SIZE ) {
+            return -1;
+        }
+        if( size <= MIN_BUFFER_SIZE ) {
+            return 0;
+        }
+        int shift = 32 - Integer.numberOfLeadingZeros(size - 1);
+        return shift - MIN_SHIFT;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "BufferPool[direct=" + direct + ", allocated=" + allocated.get() + "]";
+    }
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.network.kernel;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ *  A reference counted byte buffer borrowed from a {@link BufferPool}.
+ *  Every holder of a reference calls {@link #release()} once it no
+ *  longer needs the data and the buffer returns to its pool when the
+ *  last reference is released.  Holders that need their own position
+ *  and limit, such as endpoints writing the same data at different
+ *  speeds, should work on {@link #duplicate()}s.
+ */
+public class PooledBuffer
+{
+    private final BufferPool pool;
+    private final ByteBuffer buffer;
+    private final AtomicInteger refs = new AtomicInteger();
+
+    PooledBuffer( BufferPool pool, ByteBuffer buffer )
+    {
+        this.pool = pool;
+        this.buffer = buffer;
+    }
+
+    void reset( int size )
+    {
+        buffer.clear();
+        buffer.limit(size);
+        refs.set(1);
+    }
+
+    /**
+     *  Returns the underlying buffer.
+     *
+     *  @return the buffer
+     */
+    public ByteBuffer getBuffer()
+    {
+        return buffer;
+    }
+
+    /**
+     *  Returns a new view of the buffer with independent position and
+     *  limit.
+     *
+     *  @return a duplicate of the buffer
+     */
+    public ByteBuffer duplicate()
+    {
+        return buffer.duplicate();
+    }
+
+    /**
+     *  Returns the current number of references.
+     *
+     *  @return the reference count
+     */
+    public int getReferenceCount()
+    {
+        return refs.get();
+    }
+
+    /**
+     *  Adds a reference to this buffer.
+     *
+     *  @return this buffer
+     */
+    public PooledBuffer retain()
+    {
+        int count;
+        do {
+            count = refs.get();
+            if( count <= 0 ) {
+                throw new IllegalStateException( "Buffer has already been released." );
+            }
+        } while( !refs.compareAndSet(count, count + 1) );
+        return this;
+    }
+
+    /**
+     *  Removes a reference from this buffer, returning it to its
+     *  pool if it was the last one.
+     */
+    public void release()
+    {
+        int count = refs.decrementAndGet();
+        if( count == 0 ) {
+            if( pool != null ) {
+                pool.recycle(this);
+            }
+        } else if( count < 0 ) {
+            throw new IllegalStateException( "Buffer released too many times." );
+        }
+    }
+
+    @Override
+    public String toString()
+    {
+        return "PooledBuffer[" + buffer + ", refs=" + refs.get() + "]";
+    }
+}
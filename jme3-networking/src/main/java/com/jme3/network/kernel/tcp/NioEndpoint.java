@@ -34,6 +34,7 @@ package com.jme3.network.kernel.tcp;
 import com.jme3.network.kernel.Endpoint;
 import com.jme3.network.kernel.Kernel;
 import com.jme3.network.kernel.KernelException;
+import com.jme3.network.kernel.PooledBuffer;
 import java.io.IOException;
 import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
@@ -58,7 +59,8 @@ public class NioEndpoint implements Endpoint
     private long id;
     private SocketChannel socket;
     private SelectorKernel kernel;
-    private ConcurrentLinkedQueue<ByteBuffer> outbound = new ConcurrentLinkedQueue<>();
+    private SelectorKernel.SelectorThread selectorThread;
+    private ConcurrentLinkedQueue<Outbound> outbound = new ConcurrentLinkedQueue<>();
     private boolean closing = false;
 
     /**
@@ -75,6 +77,28 @@ public class NioEndpoint implements Endpoint
         this.kernel = kernel;
     }
 
+    /**
+     * Sets the selector thread that reads and writes this endpoint's
+     * channel.
+     *
+     * @param selectorThread the owning selector thread
+     */
+    void setSelectorThread( SelectorKernel.SelectorThread selectorThread )
+    {
+        this.selectorThread = selectorThread;
+    }
+
+    /**
+     * Returns the selector thread that reads and writes this endpoint's
+     * channel.
+     *
+     * @return the owning selector thread, or null if not yet assigned
+     */
+    SelectorKernel.SelectorThread getSelectorThread()
+    {
+        return selectorThread;
+    }
+
     @Override
     public Kernel getKernel()
     {
@@ -142,21 +166,35 @@ public class NioEndpoint implements Endpoint
         // We create a ByteBuffer per endpoint since we
         // use it to track the data sent to each endpoint
         // separately.
-        ByteBuffer buffer;
         if( !copy ) {
-            buffer = data;
+            outbound.add(new Outbound(data, null));
         } else {
-            // Copy the buffer
-            buffer = ByteBuffer.allocate(data.remaining());
-            buffer.put(data);
-            buffer.flip();
+            // Copy the buffer into a pooled one that is released
+            // once it has been written
+            PooledBuffer pooled = kernel.getBufferPool().copyOf(data);
+            data.position(data.limit());
+            outbound.add(new Outbound(pooled.getBuffer(), pooled));
         }
 
-        // Queue it up
-        outbound.add(buffer);
+        if( wakeup )
+            kernel.wakeupSelector(this);
+    }
+
+    /**
+     *  Queues shared pooled data for sending.  A reference to the
+     *  pooled buffer is kept until the data has been written and this
+     *  endpoint tracks its progress on its own duplicate of the buffer,
+     *  so the same data can be queued on many endpoints without copying.
+     *
+     *  @param data the pooled bytes to queue
+     *  @param wakeup true to wake the selector after enqueueing
+     */
+    protected void send( PooledBuffer data, boolean wakeup )
+    {
+        outbound.add(new Outbound(data.duplicate(), data.retain()));
 
         if( wakeup )
-            kernel.wakeupSelector();
+            kernel.wakeupSelector(this);
     }
 
     /**
@@ -167,7 +205,8 @@ public class NioEndpoint implements Endpoint
      */
     protected ByteBuffer peekPending()
     {
-        return outbound.peek();
+        Outbound top = outbound.peek();
+        return top == null ? null : top.data;
     }
 
     /**
@@ -178,7 +217,23 @@ public class NioEndpoint implements Endpoint
      */
     protected ByteBuffer removePending()
     {
-        return outbound.poll();
+        Outbound top = outbound.poll();
+        if( top == null ) {
+            return null;
+        }
+        top.release();
+        return top.data;
+    }
+
+    /**
+     *  Called by the SelectorKernel when the endpoint has been closed
+     *  to release any pooled buffers that were still queued.
+     */
+    protected void discardPending()
+    {
+        for( Outbound top; (top = outbound.poll()) != null; ) {
+            top.release();
+        }
     }
 
     /**
@@ -208,4 +263,27 @@ public class NioEndpoint implements Endpoint
     {
         return "NioEndpoint[" + id + ", " + socket + "]";
     }
+
+    /**
+     *  An outbound buffer and the pooled buffer that owns its
+     *  bytes, if any.
+     */
+    private static class Outbound
+    {
+        final ByteBuffer data;
+        final PooledBuffer owner;
+
+        Outbound( ByteBuffer data, PooledBuffer owner )
+        {
+            this.data = data;
+            this.owner = owner;
+        }
+
+        void release()
+        {
+            if( owner != null ) {
+                owner.release();
+            }
+        }
+    }
 }
@@ -44,7 +44,9 @@ import java.nio.channels.spi.SelectorProvider;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -52,6 +54,14 @@ import java.util.logging.Logger;
 /**
  *  A Kernel implementation based on NIO selectors.
  *
+ *  <p>By default a single selector thread accepts connections and
+ *  does the reads and writes for every endpoint.  When created with
+ *  more than one I/O thread, one thread only accepts connections and
+ *  hands each new endpoint to the I/O thread with the fewest endpoints,
+ *  which then does all of that endpoint's reads and writes.  This lets
+ *  servers with many connections use more than one core for socket
+ *  I/O.</p>
+ *
  *  @version   $Revision$
  *  @author    Paul Speed
  */
@@ -60,10 +70,14 @@ public class SelectorKernel extends AbstractKernel
     private static final Logger log = Logger.getLogger(SelectorKernel.class.getName());
 
     private InetSocketAddress address;
+    private final int ioThreadCount;
     private SelectorThread thread;
+    private SelectorThread[] ioThreads;
 
     private Map<Long,NioEndpoint> endpoints = new ConcurrentHashMap<>();
 
+    private final BufferPool bufferPool = new BufferPool();
+
     /**
      * Creates a selector kernel for the specified host and port.
      *
@@ -75,6 +89,19 @@ public class SelectorKernel extends AbstractKernel
         this( new InetSocketAddress(host, port) );
     }
 
+    /**
+     * Creates a selector kernel for the specified host and port that
+     * spreads the endpoints over several I/O threads.
+     *
+     * @param host the local bind address
+     * @param port the local bind port
+     * @param ioThreads the number of I/O threads (&ge;1)
+     */
+    public SelectorKernel( InetAddress host, int port, int ioThreads )
+    {
+        this( new InetSocketAddress(host, port), ioThreads );
+    }
+
     /**
      * Creates a selector kernel bound to the specified port on the wildcard address.
      *
@@ -93,7 +120,62 @@ public class SelectorKernel extends AbstractKernel
      */
     public SelectorKernel( InetSocketAddress address )
     {
+        this( address, 1 );
+    }
+
+    /**
+     * Creates a selector kernel for the specified socket address.  With
+     * one I/O thread, the same thread accepts connections and does all
+     * of the I/O.  With more, an additional thread accepts the connections
+     * and the I/O threads share the endpoints.
+     *
+     * @param address the local socket address
+     * @param ioThreads the number of I/O threads (&ge;1)
+     */
+    public SelectorKernel( InetSocketAddress address, int ioThreads )
+    {
+        if( ioThreads < 1 )
+            throw new IllegalArgumentException( "At least one I/O thread is required." );
         this.address = address;
+        this.ioThreadCount = ioThreads;
+    }
+
+    /**
+     * Returns the number of threads that read and write endpoint data.
+     *
+     * @return the I/O thread count
+     */
+    public int getIoThreadCount()
+    {
+        return ioThreadCount;
+    }
+
+    /**
+     * Returns the local address the kernel is bound to, which includes the
+     * actual port when the kernel was created for port 0.
+     *
+     * @return the bound address, or the configured address if the kernel
+     *         is not initialized
+     */
+    public InetSocketAddress getLocalAddress()
+    {
+        SelectorThread t = thread;
+        if( t != null && t.serverChannel != null ) {
+            InetSocketAddress bound = (InetSocketAddress)t.serverChannel.socket().getLocalSocketAddress();
+            if( bound != null )
+                return bound;
+        }
+        return address;
+    }
+
+    /**
+     * Returns the pool of direct buffers used to copy outbound data.
+     *
+     * @return the buffer pool
+     */
+    public BufferPool getBufferPool()
+    {
+        return bufferPool;
     }
 
     /**
@@ -115,7 +197,20 @@ public class SelectorKernel extends AbstractKernel
         thread = createSelectorThread();
 
         try {
+            if( ioThreadCount > 1 ) {
+                ioThreads = new SelectorThread[ioThreadCount];
+                for( int i = 0; i < ioThreadCount; i++ ) {
+                    ioThreads[i] = createSelectorThread();
+                    ioThreads[i].setName( "Selector@" + address + "-io" + i );
+                    ioThreads[i].open();
+                }
+            }
             thread.connect();
+            if( ioThreads != null ) {
+                for( SelectorThread t : ioThreads ) {
+                    t.start();
+                }
+            }
             thread.start();
         } catch( IOException e ) {
             throw new KernelException( "Error hosting:" + address, e );
@@ -131,6 +226,13 @@ public class SelectorKernel extends AbstractKernel
         try {
             thread.close();
             thread = null;
+
+            if( ioThreads != null ) {
+                for( SelectorThread t : ioThreads ) {
+                    t.close();
+                }
+                ioThreads = null;
+            }
             
             // Need to let any caller waiting for a read() wakeup 
             wakeupReader();       
@@ -147,22 +249,31 @@ public class SelectorKernel extends AbstractKernel
             throw new UnsupportedOperationException( "Unreliable send not supported by this kernel." );
 
         if( copy ) {
-            // Copy the data just once
-            byte[] temp = new byte[data.remaining()];
-            System.arraycopy(data.array(), data.position(), temp, 0, data.remaining());
-            data = ByteBuffer.wrap(temp);
-        }
-
-        // Hand it to all of the endpoints that match our routing
-        for( NioEndpoint p : endpoints.values() ) {
-            // Does it match the filter?
-            if( filter != null && !filter.apply(p) )
-                continue;
+            // Copy the data just once into a pooled direct buffer that
+            // all of the endpoints share.  It goes back to the pool when
+            // the last endpoint has written it.
+            PooledBuffer pooled = bufferPool.copyOf(data);
+            try {
+                for( NioEndpoint p : endpoints.values() ) {
+                    if( filter != null && !filter.apply(p) )
+                        continue;
+                    p.send( pooled, false );
+                }
+            } finally {
+                pooled.release();
+            }
+        } else {
+            // Hand it to all of the endpoints that match our routing
+            for( NioEndpoint p : endpoints.values() ) {
+                // Does it match the filter?
+                if( filter != null && !filter.apply(p) )
+                    continue;
 
-            // Give it the data... but let each endpoint track their
-            // own completion over the shared array of bytes by
-            // duplicating it
-            p.send( ByteBufferUtils.duplicate(data), false, false );
+                // Give it the data... but let each endpoint track their
+                // own completion over the shared array of bytes by
+                // duplicating it
+                p.send( ByteBufferUtils.duplicate(data), false, false );
+            }
         }
 
         // Wake up the selector so it can reinitialize its
@@ -177,11 +288,25 @@ public class SelectorKernel extends AbstractKernel
      * @return the created endpoint
      */
     protected NioEndpoint addEndpoint( SocketChannel c )
+    {
+        return addEndpoint( c, thread );
+    }
+
+    /**
+     * Creates and registers a new endpoint for a channel whose I/O is
+     * done by the specified selector thread.
+     *
+     * @param c the accepted socket channel
+     * @param owner the selector thread that reads and writes the channel
+     * @return the created endpoint
+     */
+    protected NioEndpoint addEndpoint( SocketChannel c, SelectorThread owner )
     {
         // Note: we purposely do NOT put the key in the endpoint.
         //       SelectionKeys are dangerous outside the selector thread
         //       and this is safer.
         NioEndpoint p = new NioEndpoint( this, nextEndpointId(), c );
+        p.setSelectorThread( owner );
 
         endpoints.put( p.getId(), p );
 
@@ -200,6 +325,7 @@ public class SelectorKernel extends AbstractKernel
     protected void removeEndpoint( NioEndpoint p, SocketChannel c )
     {
         endpoints.remove( p.getId() );
+        p.discardPending();
         log.log( Level.FINE, "Endpoints size:{0}", endpoints.size() );
 
         // Enqueue an endpoint event for the listeners
@@ -218,16 +344,65 @@ public class SelectorKernel extends AbstractKernel
     {
         //log.log( Level.FINE, "Closing endpoint:{0}.", p );
             
-        thread.cancel(p);
+        selectorThread(p).cancel(p);
     }
 
     /**
      *  Used internally by the endpoints to wake up the selector
-     *  when they have data to send.
+     *  when they have data to send.  Wakes all of the I/O threads.
      */
     protected void wakeupSelector()
     {
-        thread.wakeupSelector();
+        SelectorThread[] threads = ioThreads;
+        if( threads == null ) {
+            thread.wakeupSelector();
+            return;
+        }
+        for( SelectorThread t : threads ) {
+            t.wakeupSelector();
+        }
+    }
+
+    /**
+     *  Used internally by an endpoint to wake up the selector
+     *  thread that writes its data.
+     *
+     *  @param p the endpoint that has data to send
+     */
+    protected void wakeupSelector( NioEndpoint p )
+    {
+        selectorThread(p).wakeupSelector();
+    }
+
+    /**
+     *  Returns the selector thread that does the I/O for the specified
+     *  endpoint.
+     */
+    private SelectorThread selectorThread( NioEndpoint p )
+    {
+        SelectorThread owner = p.getSelectorThread();
+        return owner != null ? owner : thread;
+    }
+
+    /**
+     *  Returns the thread that should do the I/O for a newly accepted
+     *  connection, which is the I/O thread with the fewest endpoints.
+     *  Channels handed over but not registered yet count as endpoints,
+     *  so a burst of accepts is spread over all of the threads.
+     *
+     *  @return the selector thread for the next connection
+     */
+    protected SelectorThread nextIoThread()
+    {
+        SelectorThread[] threads = ioThreads;
+        if( threads == null )
+            return thread;
+        SelectorThread best = threads[0];
+        for( int i = 1; i < threads.length; i++ ) {
+            if( threads[i].getEndpointCount() < best.getEndpointCount() )
+                best = threads[i];
+        }
+        return best;
     }
 
     /**
@@ -261,6 +436,8 @@ public class SelectorKernel extends AbstractKernel
      *  This class is purposely tucked neatly away because
      *  messing with the selector from other threads for any
      *  reason is very bad.  This is the safest architecture.
+     *  Channels accepted by another thread are handed over through
+     *  a queue and registered by the owning thread itself.
      */
     protected class SelectorThread extends Thread
     {
@@ -275,6 +452,18 @@ public class SelectorKernel extends AbstractKernel
          */
         private Map<NioEndpoint,SelectionKey> endpointKeys = new ConcurrentHashMap<>();
 
+        /**
+         *  Accepted channels waiting to be registered with this
+         *  thread's selector.
+         */
+        private ConcurrentLinkedQueue<SocketChannel> newChannels = new ConcurrentLinkedQueue<>();
+
+        /**
+         *  The number of channels in newChannels, counted separately
+         *  because the size of a concurrent queue isn't constant time.
+         */
+        private final AtomicInteger newChannelCount = new AtomicInteger();
+
         /**
          * Creates the selector thread.
          */
@@ -291,8 +480,7 @@ public class SelectorKernel extends AbstractKernel
          */
         public void connect() throws IOException
         {
-            // Create a new selector
-            this.selector = SelectorProvider.provider().openSelector();
+            open();
 
             // Create a new non-blocking server socket channel
             this.serverChannel = ServerSocketChannel.open();
@@ -308,6 +496,28 @@ public class SelectorKernel extends AbstractKernel
             log.log( Level.FINE, "Hosting TCP connection:{0}.", address );
         }
 
+        /**
+         * Opens the selector for a thread that only does endpoint I/O
+         * and does not accept connections.
+         *
+         * @throws IOException if the selector cannot be opened
+         */
+        public void open() throws IOException
+        {
+            this.selector = SelectorProvider.provider().openSelector();
+        }
+
+        /**
+         * Returns the number of endpoints whose I/O this thread does,
+         * including accepted channels that it hasn't registered yet.
+         *
+         * @return the endpoint count
+         */
+        public int getEndpointCount()
+        {
+            return endpointKeys.size() + newChannelCount.get();
+        }
+
         /**
          * Stops the selector thread and closes its resources.
          *
@@ -320,13 +530,20 @@ public class SelectorKernel extends AbstractKernel
             go.set(false);
 
             // Make sure the channel is closed
-            serverChannel.close();
+            if( serverChannel != null )
+                serverChannel.close();
 
             // Force the selector to stop blocking
             wakeupSelector();
 
             // And wait for it
             join();
+
+            // Close anything that was handed over too late to register
+            for( SocketChannel c; (c = newChannels.poll()) != null; ) {
+                newChannelCount.decrementAndGet();
+                c.close();
+            }
         }
 
         /**
@@ -380,16 +597,57 @@ public class SelectorKernel extends AbstractKernel
             Socket sock = remoteChan.socket();
             sock.setTcpNoDelay(true);
 
+            SelectorThread owner = nextIoThread();
+            if( owner == this ) {
+                register( remoteChan );
+            } else {
+                // Only the owning thread may register with its selector
+                owner.newChannelCount.incrementAndGet();
+                owner.newChannels.add( remoteChan );
+                owner.wakeupSelector();
+            }
+        }
+
+        /**
+         * Registers an accepted channel with this thread's selector and
+         * creates its endpoint.
+         *
+         * @param remoteChan the accepted channel
+         * @throws IOException if the channel cannot be registered
+         */
+        protected void register( SocketChannel remoteChan ) throws IOException
+        {
             // Let the selector know we're interested in reading
             // data from the channel
             SelectionKey endKey = remoteChan.register( selector, SelectionKey.OP_READ );
 
             // And now create a new endpoint
-            NioEndpoint p = addEndpoint( remoteChan );
+            NioEndpoint p = addEndpoint( remoteChan, this );
             endKey.attach(p);
             endpointKeys.put(p, endKey);
         }
 
+        /**
+         * Registers the channels handed over by the accepting thread.
+         */
+        protected void registerNewChannels()
+        {
+            for( SocketChannel c; (c = newChannels.poll()) != null; ) {
+                try {
+                    register( c );
+                    newChannelCount.decrementAndGet();
+                } catch( IOException e ) {
+                    newChannelCount.decrementAndGet();
+                    reportError( e );
+                    try {
+                        c.close();
+                    } catch( IOException e2 ) {
+                        log.log( Level.FINE, "Error closing channel:" + c, e2 );
+                    }
+                }
+            }
+        }
+
         /**
          * Cancels and closes the specified endpoint.
          *
@@ -551,6 +809,9 @@ public class SelectorKernel extends AbstractKernel
 
             // An atomic is safest and costs almost nothing
             while( go.get() ) {
+                // Pick up any connections accepted by another thread
+                registerNewChannels();
+
                 // Setup any queued option changes
                 setupSelectorOptions();
 
@@ -0,0 +1,146 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.network.kernel.udp;
+
+import com.jme3.network.kernel.Endpoint;
+import com.jme3.network.kernel.Kernel;
+import com.jme3.network.kernel.KernelException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+
+/**
+ *  Endpoint implementation for the {@link DatagramChannelKernel}
+ *  that tracks the remote address of a client and the channel
+ *  its datagrams arrive on.
+ */
+public class DatagramChannelEndpoint implements Endpoint
+{
+    private final long id;
+    private final SocketAddress address;
+    private final int shard;
+    private final DatagramChannelKernel kernel;
+    private volatile boolean connected = true; // it's connectionless but we track logical state
+
+    /**
+     * Creates an endpoint.
+     *
+     * @param kernel the owning kernel
+     * @param id the endpoint id
+     * @param address the remote socket address
+     * @param shard the index of the channel that received from the address
+     */
+    public DatagramChannelEndpoint( DatagramChannelKernel kernel, long id, SocketAddress address, int shard )
+    {
+        this.kernel = kernel;
+        this.id = id;
+        this.address = address;
+        this.shard = shard;
+    }
+
+    @Override
+    public Kernel getKernel()
+    {
+        return kernel;
+    }
+
+    /**
+     * Returns the remote socket address for this endpoint.
+     *
+     * @return the remote socket address
+     */
+    protected SocketAddress getRemoteAddress()
+    {
+        return address;
+    }
+
+    /**
+     * Returns the index of the channel this endpoint was first seen on.
+     *
+     * @return the shard index
+     */
+    protected int getShard()
+    {
+        return shard;
+    }
+
+    @Override
+    public void close()
+    {
+        close( false );
+    }
+
+    @Override
+    public void close( boolean flush )
+    {
+        // Outbound datagrams are never queued so there is
+        // nothing to flush.
+        kernel.closeEndpoint(this);
+        connected = false;
+    }
+
+    @Override
+    public long getId()
+    {
+        return id;
+    }
+
+    @Override
+    public String getAddress()
+    {
+        return String.valueOf(address);
+    }
+
+    @Override
+    public boolean isConnected()
+    {
+        return connected;
+    }
+
+    /**
+     *  Writes the data as one datagram before returning, so the caller
+     *  may reuse the buffer afterwards.
+     */
+    @Override
+    public void send( ByteBuffer data )
+    {
+        if( !isConnected() ) {
+            throw new KernelException( "Endpoint is not connected:" + this );
+        }
+        kernel.send( this, data );
+    }
+
+    @Override
+    public String toString()
+    {
+        return "DatagramChannelEndpoint[" + id + ", " + address + "]";
+    }
+}
@@ -0,0 +1,444 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.network.kernel.udp;
+
+import com.jme3.network.Filter;
+import com.jme3.network.kernel.*;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.SocketAddress;
+import java.net.SocketOption;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ *  A UDP Kernel implementation based on NIO DatagramChannels.
+ *
+ *  <p>Datagrams are received by several threads, each with its own
+ *  direct receive buffer.  Where the platform supports SO_REUSEPORT
+ *  (Linux and macOS on Java 9 or later) and sharding is enabled, every
+ *  receive thread gets its own channel bound to the same address
+ *  and the operating system spreads the incoming datagrams over them,
+ *  keeping all traffic of one remote address on the same channel.
+ *  Otherwise the receive threads share a single channel.</p>
+ *
+ *  <p>Outbound datagrams are written directly by the sending thread,
+ *  so broadcasts neither queue nor copy the data.  This kernel can be
+ *  used in place of {@link UdpKernel} as the 'fast' kernel of a
+ *  {@link com.jme3.network.base.DefaultServer}, see
+ *  {@link com.jme3.network.Network#createServer(String, int, int, int, int)}.</p>
+ */
+public class DatagramChannelKernel extends AbstractKernel
+{
+    private static final Logger log = Logger.getLogger(DatagramChannelKernel.class.getName());
+
+    private static final int RECEIVE_BUFFER_SIZE = 65536;
+
+    private final InetSocketAddress address;
+    private final int receiveThreads;
+    private boolean sharding = true;
+    private List<DatagramChannel> channels;
+    private List<ReceiveThread> threads;
+
+    private Map<SocketAddress,DatagramChannelEndpoint> socketEndpoints = new ConcurrentHashMap<>();
+
+    /**
+     * Creates a kernel for the specified host and port.
+     *
+     * @param host the local bind address
+     * @param port the local bind port
+     * @param receiveThreads the number of receive threads (&ge;1)
+     */
+    public DatagramChannelKernel( InetAddress host, int port, int receiveThreads )
+    {
+        this( new InetSocketAddress(host, port), receiveThreads );
+    }
+
+    /**
+     * Creates a kernel with a single receive thread bound to the specified
+     * port on the wildcard address.
+     *
+     * @param port the local bind port
+     */
+    public DatagramChannelKernel( int port )
+    {
+        this( new InetSocketAddress(port), 1 );
+    }
+
+    /**
+     * Creates a kernel for the specified socket address.
+     *
+     * @param address the local socket address
+     * @param receiveThreads the number of receive threads (&ge;1)
+     */
+    public DatagramChannelKernel( InetSocketAddress address, int receiveThreads )
+    {
+        if( receiveThreads < 1 )
+            throw new IllegalArgumentException( "At least one receive thread is required." );
+        this.address = address;
+        this.receiveThreads = receiveThreads;
+    }
+
+    /**
+     * Sets whether each receive thread should get its own SO_REUSEPORT
+     * channel when the platform supports it.  Must be called before
+     * {@link #initialize()}.
+     *
+     * @param sharding true to shard across channels (default=true)
+     */
+    public void setSharding( boolean sharding )
+    {
+        if( channels != null )
+            throw new IllegalStateException( "Kernel already initialized." );
+        this.sharding = sharding;
+    }
+
+    /**
+     * Returns whether receive threads use separate SO_REUSEPORT channels
+     * when supported.
+     *
+     * @return true if sharding is enabled
+     */
+    public boolean isSharding()
+    {
+        return sharding;
+    }
+
+    /**
+     * Returns the number of channels actually bound, which is one unless
+     * sharding is enabled and supported.
+     *
+     * @return the channel count, or 0 if the kernel is not initialized
+     */
+    public int getChannelCount()
+    {
+        List<DatagramChannel> list = channels;
+        return list == null ? 0 : list.size();
+    }
+
+    /**
+     * Returns the local address the kernel is bound to, which includes the
+     * actual port when the kernel was created for port 0.
+     *
+     * @return the bound address, or the configured address if the kernel
+     *         is not initialized
+     */
+    public InetSocketAddress getLocalAddress()
+    {
+        List<DatagramChannel> list = channels;
+        if( list != null ) {
+            try {
+                return (InetSocketAddress)list.get(0).getLocalAddress();
+            } catch( IOException e ) {
+                throw new KernelException( "Error querying address:" + address, e );
+            }
+        }
+        return address;
+    }
+
+    @Override
+    public void initialize()
+    {
+        if( channels != null )
+            throw new IllegalStateException( "Kernel already initialized." );
+
+        List<DatagramChannel> list = new ArrayList<>();
+        try {
+            SocketOption<Boolean> reusePort = sharding && receiveThreads > 1 ? findReusePort() : null;
+            DatagramChannel first = openChannel(address, reusePort);
+            list.add(first);
+            if( reusePort != null ) {
+                // Bind the other shards to the actual port in case
+                // the first one picked an ephemeral port
+                InetSocketAddress bound = new InetSocketAddress(address.getAddress(),
+                        ((InetSocketAddress)first.getLocalAddress()).getPort());
+                for( int i = 1; i < receiveThreads; i++ ) {
+                    list.add(openChannel(bound, reusePort));
+                }
+            }
+        } catch( IOException e ) {
+            closeChannels(list);
+            throw new KernelException( "Error hosting:" + address, e );
+        }
+        channels = list;
+
+        log.log( Level.FINE, "Hosting UDP connection:{0} with {1} channel(s).",
+                 new Object[] { address, list.size() } );
+
+        threads = new ArrayList<>();
+        for( int i = 0; i < receiveThreads; i++ ) {
+            ReceiveThread t = new ReceiveThread(list.get(i % list.size()), i);
+            threads.add(t);
+            t.start();
+        }
+    }
+
+    @Override
+    public void terminate() throws InterruptedException
+    {
+        if( channels == null )
+            throw new IllegalStateException( "Kernel not initialized." );
+
+        for( ReceiveThread t : threads ) {
+            t.go.set(false);
+        }
+        closeChannels(channels);
+        for( ReceiveThread t : threads ) {
+            t.join();
+        }
+        channels = null;
+        threads = null;
+
+        // Need to let any caller waiting for a read() wakeup
+        wakeupReader();
+    }
+
+    /**
+     *  Dispatches the data to all endpoints managed by the
+     *  kernel.  Since the datagrams are written before this method
+     *  returns, the data is never copied.
+     */
+    @Override
+    public void broadcast( Filter<? super Endpoint> filter, ByteBuffer data, boolean reliable,
+                           boolean copy )
+    {
+        if( reliable )
+            throw new UnsupportedOperationException( "Reliable send not supported by this kernel." );
+
+        for( DatagramChannelEndpoint p : socketEndpoints.values() ) {
+            // Does it match the filter?
+            if( filter != null && !filter.apply(p) )
+                continue;
+
+            send( p, data );
+        }
+    }
+
+    /**
+     * Writes one datagram to the remote address of the endpoint.
+     *
+     * @param p the target endpoint
+     * @param data the bytes to send, the position of which is not changed
+     */
+    protected void send( DatagramChannelEndpoint p, ByteBuffer data )
+    {
+        List<DatagramChannel> list = channels;
+        if( list == null )
+            throw new KernelException( "Kernel not initialized." );
+
+        try {
+            // Shards share the port so any channel will do, but
+            // staying on the receiving one keeps the traffic of an
+            // endpoint together.
+            list.get(p.getShard() % list.size()).send( data.duplicate(), p.getRemoteAddress() );
+        } catch( IOException e ) {
+            KernelException exc = new KernelException( "Error sending datagram to:" + p.getRemoteAddress(), e );
+            reportError(exc);
+        }
+    }
+
+    /**
+     * Returns the endpoint for the specified socket address, optionally creating it.
+     *
+     * @param address the remote socket address
+     * @param shard the index of the channel that received data from it
+     * @param create true to create the endpoint if missing
+     * @return the existing or newly created endpoint
+     */
+    protected Endpoint getEndpoint( SocketAddress address, int shard, boolean create )
+    {
+        DatagramChannelEndpoint p = socketEndpoints.get(address);
+        if( p == null && create ) {
+            DatagramChannelEndpoint created = new DatagramChannelEndpoint( this, nextEndpointId(), address, shard );
+            p = socketEndpoints.putIfAbsent( address, created );
+            if( p == null ) {
+                p = created;
+
+                // Add an event for it.
+                addEvent( EndpointEvent.createAdd( this, p ) );
+            }
+        }
+        return p;
+    }
+
+    /**
+     *  Called by the endpoints when they need to be closed.
+     *
+     *  @param p the endpoint to close
+     */
+    protected void closeEndpoint( DatagramChannelEndpoint p )
+    {
+        // Just book-keeping to do here.
+        if( socketEndpoints.remove( p.getRemoteAddress() ) == null )
+            return;
+
+        log.log( Level.FINE, "Closing endpoint:{0}.", p );
+
+        addEvent( EndpointEvent.createRemove( this, p ) );
+
+        wakeupReader();
+    }
+
+    /**
+     * Queues newly received datagram data as an envelope.
+     *
+     * @param source the remote address of the datagram
+     * @param shard the index of the channel that received it
+     * @param data the received bytes, positioned at the datagram start
+     */
+    protected void newData( SocketAddress source, int shard, ByteBuffer data )
+    {
+        Endpoint p = getEndpoint( source, shard, true );
+
+        byte[] bytes = new byte[data.remaining()];
+        data.get(bytes);
+
+        addEnvelope( new Envelope( p, bytes, false ) );
+    }
+
+    private static DatagramChannel openChannel( InetSocketAddress address,
+                                                SocketOption<Boolean> reusePort ) throws IOException
+    {
+        DatagramChannel channel = DatagramChannel.open();
+        try {
+            if( reusePort != null ) {
+                channel.setOption(reusePort, true);
+            }
+            channel.bind(address);
+            return channel;
+        } catch( IOException e ) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    private static void closeChannels( List<DatagramChannel> list )
+    {
+        for( DatagramChannel channel : list ) {
+            try {
+                channel.close();
+            } catch( IOException e ) {
+                log.log( Level.WARNING, "Error closing channel", e );
+            }
+        }
+    }
+
+    /**
+     *  Looks up SO_REUSEPORT, which only exists on Java 9 and later,
+     *  and checks that the platform supports it for datagram channels.
+     */
+    @SuppressWarnings("unchecked")
+    private static SocketOption<Boolean> findReusePort()
+    {
+        try {
+            SocketOption<Boolean> option
+                = (SocketOption<Boolean>)StandardSocketOptions.class.getField("SO_REUSEPORT").get(null);
+            try( DatagramChannel probe = DatagramChannel.open() ) {
+                if( probe.supportedOptions().contains(option) ) {
+                    return option;
+                }
+            }
+        } catch( ReflectiveOperationException | IOException e ) {
+            log.log( Level.FINE, "SO_REUSEPORT is not available", e );
+        }
+        return null;
+    }
+
+    @Override
+    public String toString()
+    {
+        return "DatagramChannelKernel[" + address + "]";
+    }
+
+    /**
+     * Thread that receives datagrams from one channel.
+     */
+    protected class ReceiveThread extends Thread
+    {
+        private final DatagramChannel channel;
+        private final int shard;
+        private final AtomicBoolean go = new AtomicBoolean(true);
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(RECEIVE_BUFFER_SIZE);
+
+        /**
+         * Creates a receive thread.
+         *
+         * @param channel the channel to receive from
+         * @param shard the index of the thread
+         */
+        public ReceiveThread( DatagramChannel channel, int shard )
+        {
+            this.channel = channel;
+            this.shard = shard;
+            setName( "UDP Channel Host@" + address + "#" + shard );
+            setDaemon(true);
+        }
+
+        @Override
+        public void run()
+        {
+            log.log( Level.FINE, "Kernel thread started for connection:{0}.", getName() );
+
+            while( go.get() ) {
+                try {
+                    buffer.clear();
+                    SocketAddress source = channel.receive(buffer);
+                    if( source == null ) {
+                        continue;
+                    }
+                    buffer.flip();
+                    newData( source, shard, buffer );
+                } catch( ClosedChannelException e ) {
+                    // Includes the asynchronous close from terminate()
+                    if( go.get() ) {
+                        reportError(e);
+                    }
+                    return;
+                } catch( IOException e ) {
+                    if( !go.get() )
+                        return;
+                    reportError(e);
+                }
+            }
+        }
+    }
+}
@@ -34,6 +34,7 @@ package com.jme3.network.kernel.udp;
 import com.jme3.network.kernel.Endpoint;
 import com.jme3.network.kernel.Kernel;
 import com.jme3.network.kernel.KernelException;
+import com.jme3.network.kernel.PooledBuffer;
 import java.io.IOException;
 import java.net.DatagramPacket;
 import java.net.DatagramSocket;
@@ -159,6 +160,26 @@ public class UdpEndpoint implements Endpoint
         }
     }
 
+    /**
+     *  Queues shared pooled data for sending without copying it.
+     *  A reference to the pooled buffer is held until the datagram
+     *  has been written.
+     *
+     *  @param data the pooled bytes to send, backed by an accessible array
+     */
+    protected void send( PooledBuffer data )
+    {
+        if( !isConnected() ) {
+            throw new KernelException( "Endpoint is not connected:" + this );
+        }
+
+        ByteBuffer buffer = data.getBuffer();
+        DatagramPacket p = new DatagramPacket( buffer.array(), 
+                                               buffer.arrayOffset() + buffer.position(),
+                                               buffer.remaining(), address );
+        kernel.enqueueWrite( this, p, data.retain() );
+    }
+
     @Override
     public String toString()
     {
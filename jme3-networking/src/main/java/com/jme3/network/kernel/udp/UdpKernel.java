@@ -64,6 +64,10 @@ public class UdpKernel extends AbstractKernel
     // can't really be NAT'ed.
     private Map<SocketAddress,UdpEndpoint> socketEndpoints = new ConcurrentHashMap<>();
 
+    // Datagram packets need an accessible array so the pool
+    // holds heap buffers.
+    private final BufferPool bufferPool = new BufferPool(false, BufferPool.DEFAULT_MAX_FREE);
+
     /**
      * Creates a UDP kernel for the specified host and port.
      *
@@ -154,10 +158,19 @@ public class UdpKernel extends AbstractKernel
             throw new UnsupportedOperationException( "Reliable send not supported by this kernel." );
 
         if( copy ) {
-            // Copy the data just once
-            byte[] temp = new byte[data.remaining()];
-            System.arraycopy(data.array(), data.position(), temp, 0, data.remaining());
-            data = ByteBuffer.wrap(temp);
+            // Copy the data just once into a pooled buffer that goes
+            // back to the pool once the last datagram has been written
+            PooledBuffer pooled = bufferPool.copyOf(data);
+            try {
+                for( UdpEndpoint p : socketEndpoints.values() ) {
+                    if( filter != null && !filter.apply(p) )
+                        continue;
+                    p.send( pooled );
+                }
+            } finally {
+                pooled.release();
+            }
+            return;
         }
 
         // Hand it to all of the endpoints that match our routing
@@ -171,6 +184,16 @@ public class UdpKernel extends AbstractKernel
         }
     }
 
+    /**
+     * Returns the pool of buffers used to copy outbound data.
+     *
+     * @return the buffer pool
+     */
+    public BufferPool getBufferPool()
+    {
+        return bufferPool;
+    }
+
     /**
      * Returns the endpoint for the specified socket address, optionally creating it.
      *
@@ -244,6 +267,25 @@ public class UdpKernel extends AbstractKernel
         writer.execute( new MessageWriter(endpoint, packet) );
     } 
 
+    /**
+     * Queues a datagram whose bytes belong to a pooled buffer for
+     * asynchronous sending.  The reference held by the caller is released
+     * once the datagram has been written.
+     *
+     * @param endpoint the source endpoint
+     * @param packet the packet to send
+     * @param owner the pooled buffer backing the packet data
+     */
+    protected void enqueueWrite( Endpoint endpoint, DatagramPacket packet, PooledBuffer owner )
+    {
+        try {
+            writer.execute( new MessageWriter(endpoint, packet, owner) );
+        } catch( RuntimeException e ) {
+            owner.release();
+            throw e;
+        }
+    }
+
     /**
      * Writes queued UDP packets on behalf of endpoints.
      */
@@ -251,6 +293,7 @@ public class UdpKernel extends AbstractKernel
     {
         private Endpoint endpoint;
         private DatagramPacket packet;
+        private PooledBuffer owner;
         
         /**
          * Creates a queued UDP packet writer.
@@ -259,26 +302,43 @@ public class UdpKernel extends AbstractKernel
          * @param packet the packet to send
          */
         public MessageWriter( Endpoint endpoint, DatagramPacket packet )
+        {
+            this( endpoint, packet, null );
+        }
+
+        /**
+         * Creates a queued UDP packet writer for pooled packet data.
+         *
+         * @param endpoint the source endpoint
+         * @param packet the packet to send
+         * @param owner the pooled buffer to release after sending, or null
+         */
+        public MessageWriter( Endpoint endpoint, DatagramPacket packet, PooledBuffer owner )
         {
             this.endpoint = endpoint;
             this.packet = packet;
+            this.owner = owner;
         }
         
         @Override
         public void run()
         {
-            // Not guaranteed to always work but an extra datagram
-            // to a dead connection isn't so big of a deal.
-            if( !endpoint.isConnected() ) {
-                return;
-            }
-            
             try {
+                // Not guaranteed to always work but an extra datagram
+                // to a dead connection isn't so big of a deal.
+                if( !endpoint.isConnected() ) {
+                    return;
+                }
+
                 thread.getSocket().send(packet);
             } catch( Exception e ) {
                 KernelException exc = new KernelException( "Error sending datagram to:" + address, e );
                 exc.fillInStackTrace();
                 reportError(exc);
+            } finally {
+                if( owner != null ) {
+                    owner.release();
+                }
             }
         } 
     }
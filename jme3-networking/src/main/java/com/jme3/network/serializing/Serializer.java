@@ -67,12 +67,15 @@ public abstract class Serializer {
     private static final List<SerializerRegistration> registrations                 = new ArrayList<SerializerRegistration>();
 
     private static final Serializer                         fieldSerializer         = new FieldSerializer();
+    private static final Serializer                         generatedSerializer     = new GeneratedFieldSerializer();
     private static final Serializer                         arraySerializer         = new ArraySerializer();
 
     private static short nextAvailableId = -2; // historically the first ID was always -2
 
     private static boolean strictRegistration = true;
 
+    private static boolean generatedSerializers = false;
+
     private static volatile boolean locked = false;
 
     /**
@@ -174,6 +177,32 @@ public abstract class Serializer {
         strictRegistration = b;
     }
 
+    /**
+     *  When set to true, classes registered without a specific serializer
+     *  use the {@link GeneratedFieldSerializer} instead of the reflective
+     *  {@link FieldSerializer}.  Both produce the same bytes so this can be
+     *  set independently on client and server.  Only affects classes
+     *  registered after the call.  Defaults to false.
+     *
+     *  @param b true to generate field accessors for default registrations
+     */
+    public static void setGeneratedSerializers( boolean b ) {
+        generatedSerializers = b;
+    }
+
+    /**
+     * Returns whether default registrations use generated field accessors.
+     *
+     * @return true if the {@link GeneratedFieldSerializer} is the default
+     */
+    public static boolean isGeneratedSerializers() {
+        return generatedSerializers;
+    }
+
+    private static Serializer defaultSerializer() {
+        return generatedSerializers ? generatedSerializer : fieldSerializer;
+    }
+
     /**
      * Registers the specified serializable class.
      *
@@ -278,9 +307,14 @@ public abstract class Serializer {
             short classId = serializable.id();
             if (classId == 0) classId = nextId();
 
-            Serializer serializer = getSerializer(serializerClass, false);
+            Serializer serializer;
+            if (serializerClass == GeneratedFieldSerializer.class) {
+                serializer = generatedSerializer;
+            } else {
+                serializer = getSerializer(serializerClass, false);
+            }
 
-            if (serializer == null) serializer = fieldSerializer;
+            if (serializer == null || serializer == fieldSerializer) serializer = defaultSerializer();
 
             SerializerRegistration existingReg = getExactSerializerRegistration(cls);
 
@@ -465,7 +499,7 @@ public abstract class Serializer {
         if( failOnMiss ) {
             throw new IllegalArgumentException( "Class has not been registered:" + cls );
         }
-        return registerClass(cls, fieldSerializer);
+        return registerClass(cls, defaultSerializer());
     }
 
 
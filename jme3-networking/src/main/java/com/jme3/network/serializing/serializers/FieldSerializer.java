@@ -90,6 +90,28 @@ public class FieldSerializer extends Serializer {
         
         throw new RuntimeException( "Registration error: no-argument constructor not found on:" + clazz );  
     }        
+
+    /**
+     * Returns the no-arg constructor cached for the class by
+     * {@link #checkClass(java.lang.Class)}.
+     *
+     * @param clazz the registered class
+     * @return the cached constructor, or null if the class was never initialized
+     */
+    protected Constructor getConstructor(Class clazz) {
+        return savedCtors.get(clazz);
+    }
+
+    /**
+     * Returns the fields cached for the class in the order in which they
+     * are written to the wire.
+     *
+     * @param clazz the registered class
+     * @return the cached fields, or null if the class was never initialized
+     */
+    protected SavedField[] getSavedFields(Class clazz) {
+        return savedFields.get(clazz);
+    }
     
     @Override
     public void initialize(Class clazz) {
@@ -225,7 +247,11 @@ public class FieldSerializer extends Serializer {
         }
     }
 
-    private final class SavedField {
+    /**
+     * A serializable field and the serializer used for its value, or null
+     * if the value's class is written along with it.
+     */
+    protected static final class SavedField {
         public Field field;
         public Serializer serializer;
     }
@@ -0,0 +1,408 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.network.serializing.serializers;
+
+import com.jme3.network.serializing.Serializer;
+import com.jme3.network.serializing.SerializerException;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ *  A drop-in replacement for the FieldSerializer that, at registration
+ *  time, builds a specialized accessor for each field out of MethodHandles.
+ *  Primitive fields are then read from and written to the buffer directly
+ *  without boxing or the per-call access checks of java.lang.reflect.Field.
+ *
+ *  <p>The wire format is identical to the FieldSerializer: fields are visited
+ *  in the same order and primitives are only specialized when they are still
+ *  mapped to the built-in serializers.  A client and server may therefore
+ *  each use either one.</p>
+ *
+ *  <p>Enable it for all default registrations with
+ *  {@link Serializer#setGeneratedSerializers(boolean)} or for a single class
+ *  with {@code @Serializable(serializer=GeneratedFieldSerializer.class)}.</p>
+ */
+public class GeneratedFieldSerializer extends FieldSerializer {
+
+    private static final MethodHandles.Lookup lookup = MethodHandles.lookup();
+    private static final MethodHandle reflectiveGet;
+    private static final MethodHandle reflectiveSet;
+    static {
+        try {
+            reflectiveGet = lookup.findVirtual(Field.class, "get",
+                                               MethodType.methodType(Object.class, Object.class));
+            reflectiveSet = lookup.findVirtual(Field.class, "set",
+                                               MethodType.methodType(void.class, Object.class, Object.class));
+        } catch( NoSuchMethodException | IllegalAccessException e ) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static Map<Class, ClassAccess> savedAccess = new HashMap<Class, ClassAccess>();
+
+    /**
+     * Creates a generated field serializer.
+     */
+    public GeneratedFieldSerializer() {
+    }
+
+    @Override
+    public void initialize(Class clazz) {
+
+        // Let the field serializer do the field discovery and any nested
+        // registration so that both produce the same IDs and field order.
+        super.initialize(clazz);
+
+        SavedField[] fields = getSavedFields(clazz);
+        FieldAccess[] access = new FieldAccess[fields.length];
+        for( int i = 0; i < fields.length; i++ ) {
+            access[i] = createAccess(fields[i]);
+        }
+
+        Constructor ctor = getConstructor(clazz);
+        MethodHandle create;
+        try {
+            create = lookup.unreflectConstructor(ctor).asType(MethodType.methodType(Object.class));
+        } catch( IllegalAccessException e ) {
+            throw new RuntimeException("Registration error: constructor not accessible on:" + clazz, e);
+        }
+        savedAccess.put(clazz, new ClassAccess(create, access));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public <T> T readObject( ByteBuffer data, Class<T> c ) throws IOException {
+
+        ClassAccess access = savedAccess.get(c);
+        if( access == null ) {
+            return super.readObject(data, c);
+        }
+
+        // Read the null/non-null marker
+        if( data.get() == 0x0 ) {
+            return null;
+        }
+
+        Object object;
+        try {
+            object = (Object)access.create.invokeExact();
+        } catch( Throwable t ) {
+            throw new SerializerException("Error creating object of type:" + c, t);
+        }
+
+        for( FieldAccess field : access.fields ) {
+            try {
+                field.read(data, object);
+            } catch( IOException | RuntimeException | Error e ) {
+                throw e;
+            } catch( Throwable t ) {
+                throw new SerializerException("Error reading object", t);
+            }
+        }
+        return (T)object;
+    }
+
+    @Override
+    public void writeObject( ByteBuffer buffer, Object object ) throws IOException {
+
+        ClassAccess access = object == null ? null : savedAccess.get(object.getClass());
+        if( access == null ) {
+            // Null marker or unregistered class, either way the
+            // field serializer does the right thing.
+            super.writeObject(buffer, object);
+            return;
+        }
+
+        // Add the non-null marker
+        buffer.put((byte)0x1);
+
+        for( FieldAccess field : access.fields ) {
+            try {
+                field.write(buffer, object);
+            } catch( BufferOverflowException | Error e ) {
+                throw e;
+            } catch( Throwable t ) {
+                throw new SerializerException("Error writing object for field:" + field.field, t);
+            }
+        }
+    }
+
+    private static FieldAccess createAccess( SavedField saved ) {
+        Field field = saved.field;
+        Class type = field.getType();
+        Serializer serializer = saved.serializer;
+
+        MethodHandle get;
+        MethodHandle set;
+        try {
+            get = lookup.unreflectGetter(field);
+        } catch( IllegalAccessException e ) {
+            get = reflectiveGet.bindTo(field);
+        }
+        try {
+            set = lookup.unreflectSetter(field);
+        } catch( IllegalAccessException e ) {
+            // Some final fields can only be set through reflection
+            set = reflectiveSet.bindTo(field);
+        }
+
+        // Only specialize primitives that are still written by the built-in
+        // serializers so that the bytes match the FieldSerializer exactly.
+        if( type.isPrimitive() && serializer != null ) {
+            Class serializerType = serializer.getClass();
+            MethodType getType = MethodType.methodType(type, Object.class);
+            MethodType setType = MethodType.methodType(void.class, Object.class, type);
+            get = get.asType(getType);
+            set = set.asType(setType);
+            if( type == int.class && serializerType == IntSerializer.class ) {
+                return new IntAccess(field, get, set);
+            } else if( type == float.class && serializerType == FloatSerializer.class ) {
+                return new FloatAccess(field, get, set);
+            } else if( type == long.class && serializerType == LongSerializer.class ) {
+                return new LongAccess(field, get, set);
+            } else if( type == boolean.class && serializerType == BooleanSerializer.class ) {
+                return new BooleanAccess(field, get, set);
+            } else if( type == double.class && serializerType == DoubleSerializer.class ) {
+                return new DoubleAccess(field, get, set);
+            } else if( type == short.class && serializerType == ShortSerializer.class ) {
+                return new ShortAccess(field, get, set);
+            } else if( type == byte.class && serializerType == ByteSerializer.class ) {
+                return new ByteAccess(field, get, set);
+            } else if( type == char.class && serializerType == CharSerializer.class ) {
+                return new CharAccess(field, get, set);
+            }
+        }
+
+        get = get.asType(MethodType.methodType(Object.class, Object.class));
+        set = set.asType(MethodType.methodType(void.class, Object.class, Object.class));
+        return new ObjectAccess(field, get, set, serializer);
+    }
+
+    private static final class ClassAccess {
+        final MethodHandle create;
+        final FieldAccess[] fields;
+
+        ClassAccess( MethodHandle create, FieldAccess[] fields ) {
+            this.create = create;
+            this.fields = fields;
+        }
+    }
+
+    /**
+     *  Reads and writes one field.  The handles have already been adapted
+     *  to the exact types used by the subclass so that invokeExact() does
+     *  not need to box or convert anything.
+     */
+    private static abstract class FieldAccess {
+        final Field field;
+        final MethodHandle get;
+        final MethodHandle set;
+
+        FieldAccess( Field field, MethodHandle get, MethodHandle set ) {
+            this.field = field;
+            this.get = get;
+            this.set = set;
+        }
+
+        abstract void read( ByteBuffer data, Object target ) throws Throwable;
+
+        abstract void write( ByteBuffer buffer, Object source ) throws Throwable;
+    }
+
+    private static final class ObjectAccess extends FieldAccess {
+        final Class<?> type;
+        final Serializer serializer;
+
+        ObjectAccess( Field field, MethodHandle get, MethodHandle set, Serializer serializer ) {
+            super(field, get, set);
+            this.type = field.getType();
+            this.serializer = serializer;
+        }
+
+        @Override
+        void read( ByteBuffer data, Object target ) throws Throwable {
+            Object value;
+            if( serializer != null ) {
+                value = serializer.readObject(data, type);
+            } else {
+                value = Serializer.readClassAndObject(data);
+            }
+            set.invokeExact(target, value);
+        }
+
+        @Override
+        void write( ByteBuffer buffer, Object source ) throws Throwable {
+            Object value = (Object)get.invokeExact(source);
+            if( serializer != null ) {
+                serializer.writeObject(buffer, value);
+            } else {
+                Serializer.writeClassAndObject(buffer, value);
+            }
+        }
+    }
+
+    private static final class BooleanAccess extends FieldAccess {
+        BooleanAccess( Field field, MethodHandle get, MethodHandle set ) {
+            super(field, get, set);
+        }
+
+        @Override
+        void read( ByteBuffer data, Object target ) throws Throwable {
+            set.invokeExact(target, data.get() == 1);
+        }
+
+        @Override
+        void write( ByteBuffer buffer, Object source ) throws Throwable {
+            buffer.put((boolean)get.invokeExact(source) ? (byte)1 : (byte)0);
+        }
+    }
+
+    private static final class ByteAccess extends FieldAccess {
+        ByteAccess( Field field, MethodHandle get, MethodHandle set ) {
+            super(field, get, set);
+        }
+
+        @Override
+        void read( ByteBuffer data, Object target ) throws Throwable {
+            set.invokeExact(target, data.get());
+        }
+
+        @Override
+        void write( ByteBuffer buffer, Object source ) throws Throwable {
+            buffer.put((byte)get.invokeExact(source));
+        }
+    }
+
+    private static final class CharAccess extends FieldAccess {
+        CharAccess( Field field, MethodHandle get, MethodHandle set ) {
+            super(field, get, set);
+        }
+
+        @Override
+        void read( ByteBuffer data, Object target ) throws Throwable {
+            set.invokeExact(target, data.getChar());
+        }
+
+        @Override
+        void write( ByteBuffer buffer, Object source ) throws Throwable {
+            buffer.putChar((char)get.invokeExact(source));
+        }
+    }
+
+    private static final class ShortAccess extends FieldAccess {
+        ShortAccess( Field field, MethodHandle get, MethodHandle set ) {
+            super(field, get, set);
+        }
+
+        @Override
+        void read( ByteBuffer data, Object target ) throws Throwable {
+            set.invokeExact(target, data.getShort());
+        }
+
+        @Override
+        void write( ByteBuffer buffer, Object source ) throws Throwable {
+            buffer.putShort((short)get.invokeExact(source));
+        }
+    }
+
+    private static final class IntAccess extends FieldAccess {
+        IntAccess( Field field, MethodHandle get, MethodHandle set ) {
+            super(field, get, set);
+        }
+
+        @Override
+        void read( ByteBuffer data, Object target ) throws Throwable {
+            set.invokeExact(target, data.getInt());
+        }
+
+        @Override
+        void write( ByteBuffer buffer, Object source ) throws Throwable {
+            buffer.putInt((int)get.invokeExact(source));
+        }
+    }
+
+    private static final class LongAccess extends FieldAccess {
+        LongAccess( Field field, MethodHandle get, MethodHandle set ) {
+            super(field, get, set);
+        }
+
+        @Override
+        void read( ByteBuffer data, Object target ) throws Throwable {
+            set.invokeExact(target, data.getLong());
+        }
+
+        @Override
+        void write( ByteBuffer buffer, Object source ) throws Throwable {
+            buffer.putLong((long)get.invokeExact(source));
+        }
+    }
+
+    private static final class FloatAccess extends FieldAccess {
+        FloatAccess( Field field, MethodHandle get, MethodHandle set ) {
+            super(field, get, set);
+        }
+
+        @Override
+        void read( ByteBuffer data, Object target ) throws Throwable {
+            set.invokeExact(target, data.getFloat());
+        }
+
+        @Override
+        void write( ByteBuffer buffer, Object source ) throws Throwable {
+            buffer.putFloat((float)get.invokeExact(source));
+        }
+    }
+
+    private static final class DoubleAccess extends FieldAccess {
+        DoubleAccess( Field field, MethodHandle get, MethodHandle set ) {
+            super(field, get, set);
+        }
+
+        @Override
+        void read( ByteBuffer data, Object target ) throws Throwable {
+            set.invokeExact(target, data.getDouble());
+        }
+
+        @Override
+        void write( ByteBuffer buffer, Object source ) throws Throwable {
+            buffer.putDouble((double)get.invokeExact(source));
+        }
+    }
+}
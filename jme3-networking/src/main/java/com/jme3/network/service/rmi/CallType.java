@@ -56,5 +56,13 @@ public enum CallType {
      *  but differs in that the call will be sent over UDP and so may
      *  not make it to the other end.
      */ 
-    Unreliable
+    Unreliable,
+
+    /**
+     *  Caller does not block but is handed a CompletableFuture that
+     *  is completed when the response is received.  Used for methods
+     *  that return a CompletableFuture, CompletionStage, or Future.
+     *  Always sent reliably.
+     */
+    Deferred
 }
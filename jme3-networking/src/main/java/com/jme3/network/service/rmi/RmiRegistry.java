@@ -99,7 +99,9 @@ public class RmiRegistry {
         this.rpc = rpc;
         this.rmiId = rmiId;
         this.defaultChannel = defaultChannel;
-        rpc.registerHandler(rmiId, rmiHandler);
+        // Registry updates must be applied before any call that uses them
+        // so they never go through the RPC executor
+        rpc.registerHandler(rmiId, rmiHandler, true);
     }
     
     /**
@@ -343,7 +345,8 @@ public class RmiRegistry {
      * @param procId the remote procedure id
      * @param callType the invocation mode
      * @param args the invocation arguments
-     * @return the remote return value for synchronous calls, or {@code null} otherwise
+     * @return the remote return value for synchronous calls, a future for
+     *         deferred calls, or {@code null} otherwise
      */
     protected Object invokeRemote( byte channel, short objectId, short procId, CallType callType, Object[] args ) {
         if( log.isLoggable(Level.FINEST) ) {
@@ -359,6 +362,9 @@ public class RmiRegistry {
                 log.finest("Sending unreliable asynchronous.");            
                 rpc.callAsync((byte)MessageConnection.CHANNEL_DEFAULT_UNRELIABLE, objectId, procId, args);
                 return null;
+            case Deferred:
+                log.finest("Sending deferred.");
+                return rpc.callDeferred(channel, objectId, procId, args);
             default:
             case Synchronous:                                           
                 log.finest("Sending synchronous.");            
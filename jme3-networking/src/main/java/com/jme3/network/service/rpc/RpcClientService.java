@@ -34,8 +34,11 @@ package com.jme3.network.service.rpc;
 
 import com.jme3.network.Client;
 import com.jme3.network.util.ObjectMessageDelegator;
+import com.jme3.network.util.SerialExecutor;
 import com.jme3.network.service.AbstractClientService;
 import com.jme3.network.service.ClientServiceManager;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 
 /**
@@ -52,6 +55,8 @@ public class RpcClientService extends AbstractClientService {
 
     private RpcConnection rpc;
     private ObjectMessageDelegator delegator;
+    private volatile Executor callExecutor;
+    private volatile boolean orderedCalls;
 
     /**
      *  Creates a new RpcClientService that can be registered
@@ -71,6 +76,57 @@ public class RpcClientService extends AbstractClientService {
         return rpc;
     }
 
+    /**
+     *  Sets the executor used to run the remote procedure calls received
+     *  from the server.  If ordered is true then the calls are run
+     *  through a SerialExecutor over the specified executor so that
+     *  they still run one at a time in the order they arrived, without
+     *  blocking the network thread.  If ordered is false then calls run
+     *  concurrently, for example one per thread with
+     *  Executors.newCachedThreadPool() or, on Java 21 and later,
+     *  Executors.newVirtualThreadPerTaskExecutor().  A null executor
+     *  runs calls on the network thread that received them, which is
+     *  the default.
+     *
+     *  @param executor the executor for incoming calls, or null
+     *  @param ordered true to keep the calls in order
+     */
+    public void setCallExecutor( Executor executor, boolean ordered ) {
+        this.callExecutor = executor;
+        this.orderedCalls = ordered;
+        if( rpc != null ) {
+            applyExecutor();
+        }
+    }
+
+    /**
+     *  Returns the executor used to run the remote procedure calls
+     *  received from the server.
+     *
+     *  @return the executor, or null if calls run on the network thread
+     */
+    public Executor getCallExecutor() {
+        return callExecutor;
+    }
+
+    /**
+     *  Returns true if calls are kept in order when a call executor
+     *  is set.
+     *
+     *  @return true if calls are ordered
+     */
+    public boolean isOrderedCalls() {
+        return orderedCalls;
+    }
+
+    private void applyExecutor() {
+        Executor executor = callExecutor;
+        if( executor != null && orderedCalls ) {
+            executor = new SerialExecutor(executor);
+        }
+        rpc.setExecutor(executor);
+    }
+
     /**
      *  Used internally to set up the RpcConnection and MessageDelegator.
      */
@@ -79,6 +135,7 @@ public class RpcClientService extends AbstractClientService {
     protected void onInitialize( ClientServiceManager serviceManager ) {        
         Client client = serviceManager.getClient();
         this.rpc = new RpcConnection(client);
+        applyExecutor();
         
         delegator = new ObjectMessageDelegator(rpc, true);       
         client.addMessageListener(delegator, delegator.getMessageTypes());                   
@@ -124,6 +181,22 @@ public class RpcClientService extends AbstractClientService {
     public void callAsync( byte channel, short objId, short procId, Object... args ) {
         rpc.callAsync(channel, objId, procId, args);
     }
+
+    /**
+     *  Performs a call on the server against the specified object
+     *  using the specified procedure ID without waiting for the response.
+     *  The returned future is completed when the response arrives.  Both
+     *  inbound and outbound communication is done on the specified channel.
+     *
+     *  @param channel the channel to use
+     *  @param objId the target object id
+     *  @param procId the target procedure id
+     *  @param args the invocation arguments
+     *  @return a future for the invocation result
+     */
+    public CompletableFuture<Object> callDeferred( byte channel, short objId, short procId, Object... args ) {
+        return rpc.callDeferred(channel, objId, procId, args);
+    }
  
     /** 
      *  Register a handler that will be called when the server
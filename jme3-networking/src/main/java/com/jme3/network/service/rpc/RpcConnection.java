@@ -35,8 +35,17 @@ package com.jme3.network.service.rpc;
 import com.jme3.network.MessageConnection;
 import com.jme3.network.service.rpc.msg.RpcCallMessage;
 import com.jme3.network.service.rpc.msg.RpcResponseMessage;
+import com.jme3.network.stats.ConnectionStats;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -59,12 +68,30 @@ public class RpcConnection {
      *  a HostedConnection depending on the mode of the RPC service.
      */
     private MessageConnection connection;
+
+    /**
+     *  Where call round trip times are recorded if the connection
+     *  keeps stats.
+     */
+    private final ConnectionStats stats;
     
     /**
      *  The objectId index of RpcHandler objects that are used to perform the
      *  RPC calls for a particular object.
      */
     private Map<Short, RpcHandler> handlers = new ConcurrentHashMap<>();
+
+    /**
+     *  The object IDs whose calls are always handled on the receiving
+     *  thread regardless of the executor.
+     */
+    private Set<Short> inlineHandlers = ConcurrentHashMap.newKeySet();
+
+    /**
+     *  Runs incoming calls or null to run them on the thread that
+     *  received them.
+     */
+    private volatile Executor executor;
     
     /**
      *  Provides unique messages IDs for outbound synchronous call
@@ -87,6 +114,7 @@ public class RpcConnection {
      */   
     public RpcConnection( MessageConnection connection ) {
         this.connection = connection;
+        this.stats = ConnectionStats.of(connection);
     }
  
     /**
@@ -99,6 +127,30 @@ public class RpcConnection {
             holder.release();
         }
     }
+
+    /**
+     *  Sets the executor that runs the calls received from the other
+     *  end.  By default, calls run on the network thread that received
+     *  them, which means a slow handler delays every message behind it
+     *  and a handler making a synchronous call back to the other end
+     *  will deadlock.  Wrap a shared pool in a SerialExecutor to keep
+     *  this connection's calls in order, use the pool directly to let
+     *  them run concurrently, or pass null to restore the default.
+     *
+     *  @param executor the executor for incoming calls, or null
+     */
+    public void setExecutor( Executor executor ) {
+        this.executor = executor;
+    }
+
+    /**
+     *  Returns the executor that runs incoming calls.
+     *
+     *  @return the executor, or null if calls run on the receiving thread
+     */
+    public Executor getExecutor() {
+        return executor;
+    }
  
     /**
      *  Performs a remote procedure call with the specified arguments and waits
@@ -138,6 +190,41 @@ public class RpcConnection {
         return holder.getResponse();
     }
 
+    /**
+     *  Performs a remote procedure call with the specified arguments and
+     *  returns a future that completes with the response instead of
+     *  waiting for it.  Both the outbound message and inbound response
+     *  will be sent on the specified channel.
+     *
+     *  @param channel the channel to use
+     *  @param objId the target object id
+     *  @param procId the target procedure id
+     *  @param args the invocation arguments
+     *  @return a future for the invocation result
+     */
+    public CompletableFuture<Object> callDeferred( byte channel, short objId, short procId, Object... args ) {
+
+        RpcCallMessage msg = new RpcCallMessage(sequenceNumber.getAndIncrement(), 
+                                                channel, objId, procId, args);
+        
+        ResponseHolder holder = new ResponseHolder(msg, new CompletableFuture<>());
+        responses.put(msg.getMessageId(), holder);        
+ 
+        if( log.isLoggable(Level.FINEST) ) {
+            log.log(Level.FINEST, "Sending:{0}  on channel:{1}", new Object[]{msg, channel});
+        }
+        
+        // Like synchronous calls, the response is required so
+        // don't use UDP
+        if( channel >= 0 ) {        
+            connection.send(channel, msg);
+        } else {
+            connection.send(msg);
+        }
+                
+        return holder.future;
+    }
+
     /**
      *  Performs a remote procedure call with the specified arguments but does
      *  not wait for a response.  The outbound message is sent on the specified channel.
@@ -168,7 +255,27 @@ public class RpcConnection {
      *  @param handler the handler to register
      */    
     public void registerHandler( short objId, RpcHandler handler ) {
+        registerHandler(objId, handler, false);
+    }
+
+    /** 
+     *  Register a handler that can be called by the other end
+     *  of the connection using the specified object ID.  If inline is
+     *  true then calls to this object ID always run on the thread that
+     *  received them, in order, even if an executor is set.  This is
+     *  meant for short bookkeeping calls that later calls depend on.
+     *
+     *  @param objId the target object id
+     *  @param handler the handler to register
+     *  @param inline true to bypass the executor for this object ID
+     */    
+    public void registerHandler( short objId, RpcHandler handler, boolean inline ) {
         handlers.put(objId, handler);
+        if( inline ) {
+            inlineHandlers.add(objId);
+        } else {
+            inlineHandlers.remove(objId);
+        }
     }
     
     /**
@@ -185,6 +292,7 @@ public class RpcConnection {
                                                 + objId + ", handler:" + handler );
         }
         handlers.remove(objId);
+        inlineHandlers.remove(objId);
     }
  
     /**
@@ -207,29 +315,75 @@ public class RpcConnection {
      *
      *  @param msg the received RPC call
      */ 
-    public void handleMessage( RpcCallMessage msg ) {
+    public void handleMessage( final RpcCallMessage msg ) {
     
         if( log.isLoggable(Level.FINEST) ) {
             log.log(Level.FINEST, "handleMessage({0})", msg);
         }
+        Executor exec = executor;
+        if( exec == null || inlineHandlers.contains(msg.getObjectId()) ) {
+            invoke(msg);
+            return;
+        }
+        try {
+            exec.execute(() -> invoke(msg));
+        } catch( RejectedExecutionException e ) {
+            sendError(msg, e);
+        }
+    }
+
+    /**
+     *  Runs the call against its handler and sends the response if
+     *  one is expected.  If the handler returns a CompletionStage then
+     *  the response is sent when it completes.  Any other Future is
+     *  waited on by the calling thread.
+     *
+     *  @param msg the RPC call to run
+     */
+    protected void invoke( final RpcCallMessage msg ) {
         RpcHandler handler = handlers.get(msg.getObjectId());
         try {
             if( handler == null ) {
                 throw new RuntimeException("Handler not found for objectID:" + msg.getObjectId());
             }
             Object result = handler.call(this, msg.getObjectId(), msg.getProcedureId(), msg.getArguments());
-            if( !msg.isAsync() ) {
-                send(msg.getChannel(), new RpcResponseMessage(msg.getMessageId(), result));
+            if( msg.isAsync() ) {
+                return;
             }
-        } catch( Exception e ) {
-            if( !msg.isAsync() ) {
-                send(msg.getChannel(), new RpcResponseMessage(msg.getMessageId(), e));
+            if( result instanceof CompletionStage ) {
+                ((CompletionStage<?>)result).whenComplete((value, error) -> {
+                    if( error != null ) {
+                        sendError(msg, error instanceof CompletionException && error.getCause() != null 
+                                       ? error.getCause() : error);
+                    } else {
+                        send(msg.getChannel(), new RpcResponseMessage(msg.getMessageId(), value));
+                    }
+                });
             } else {
-                log.log(Level.SEVERE, "Error invoking async call for:" + msg, e);
+                if( result instanceof Future ) {
+                    // A plain Future can't tell us when it's done so we
+                    // have to wait for it here
+                    try {
+                        result = ((Future<?>)result).get();
+                    } catch( ExecutionException e ) {
+                        throw e.getCause() instanceof Exception ? (Exception)e.getCause() : e;
+                    }
+                }
+                send(msg.getChannel(), new RpcResponseMessage(msg.getMessageId(), result));
             }
+        } catch( Exception e ) {
+            sendError(msg, e);
         }   
     }
 
+    private void sendError( RpcCallMessage msg, Throwable t ) {
+        if( !msg.isAsync() ) {
+            send(msg.getChannel(), new RpcResponseMessage(msg.getMessageId(), t));
+        } else {
+            log.log(Level.SEVERE, "Error invoking async call for:" + msg, t);
+        }
+    }
+
     /**
      *  Called internally when an RpcResponseMessage is received from 
      *  the remote connection.
@@ -256,10 +410,17 @@ public class RpcConnection {
         private String error;
         private Throwable exception;
         private RpcCallMessage msg;
+        private final CompletableFuture<Object> future;
+        private final long sentTime = System.nanoTime();
         boolean received = false;
  
         public ResponseHolder( RpcCallMessage msg ) {
+            this(msg, null);
+        }
+
+        public ResponseHolder( RpcCallMessage msg, CompletableFuture<Object> future ) {
             this.msg = msg;
+            this.future = future;
         }
         
         public synchronized void setResponse( RpcResponseMessage msg ) {
@@ -267,7 +428,24 @@ public class RpcConnection {
             this.error = msg.getError();
             this.exception = msg.getThrowable();
             this.received = true;
+            if( stats != null ) {
+                stats.roundTrip(System.nanoTime() - sentTime);
+            }
             notifyAll();
+            complete();
+        }
+
+        private void complete() {
+            if( future == null ) {
+                return;
+            }
+            if( error != null ) {
+                future.completeExceptionally(new RuntimeException("Error calling remote procedure:" + msg + "\n" + error));
+            } else if( exception != null ) {
+                future.completeExceptionally(new RuntimeException("Error calling remote procedure:" + msg, exception));
+            } else {
+                future.complete(response);
+            }
         }
         
         public synchronized Object getResponse() {
@@ -294,6 +472,8 @@ public class RpcConnection {
             // Else signal an error for the callers
             this.error = "Closing connection";
             this.received = true;
+            notifyAll();
+            complete();
         }
     }
 }
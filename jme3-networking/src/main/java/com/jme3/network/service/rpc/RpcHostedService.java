@@ -40,7 +40,9 @@ import com.jme3.network.util.SessionDataDelegator;
 import com.jme3.network.service.HostedServiceManager;
 import com.jme3.network.service.rpc.msg.RpcCallMessage;
 import com.jme3.network.service.rpc.msg.RpcResponseMessage;
+import com.jme3.network.util.SerialExecutor;
 import java.util.Arrays;
+import java.util.concurrent.Executor;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -69,6 +71,8 @@ public class RpcHostedService extends AbstractHostedConnectionService {
     private static final Logger log = Logger.getLogger(RpcHostedService.class.getName());
 
     private SessionDataDelegator delegator;
+    private volatile Executor callExecutor;
+    private volatile boolean orderedCalls;
 
     /**
      *  Creates a new RPC host service that can be registered
@@ -95,6 +99,47 @@ public class RpcHostedService extends AbstractHostedConnectionService {
         Serializer.registerClasses(RpcCallMessage.class, RpcResponseMessage.class);
     }
 
+    /**
+     *  Sets the executor used to run the remote procedure calls received
+     *  from clients.  Only connections that start hosting after this
+     *  is called are affected.  If ordered is true then each connection
+     *  gets its own SerialExecutor over the specified executor so that
+     *  its calls still run one at a time in the order they arrived,
+     *  without blocking the network thread or other connections.  If ordered is false then calls run
+     *  concurrently, for example one per thread with
+     *  Executors.newCachedThreadPool() or, on Java 21 and later,
+     *  Executors.newVirtualThreadPerTaskExecutor().  A null executor
+     *  runs calls on the network thread that received them, which is
+     *  the default.
+     *
+     *  @param executor the executor for incoming calls, or null
+     *  @param ordered true to keep each connection's calls in order
+     */
+    public void setCallExecutor( Executor executor, boolean ordered ) {
+        this.callExecutor = executor;
+        this.orderedCalls = ordered;
+    }
+
+    /**
+     *  Returns the executor used to run the remote procedure calls
+     *  received from clients.
+     *
+     *  @return the executor, or null if calls run on the network thread
+     */
+    public Executor getCallExecutor() {
+        return callExecutor;
+    }
+
+    /**
+     *  Returns true if each connection's calls are kept in order when
+     *  a call executor is set.
+     *
+     *  @return true if calls are ordered per connection
+     */
+    public boolean isOrderedCalls() {
+        return orderedCalls;
+    }
+
     /**
      *  Used internally to set up the message delegator that will
      *  handle HostedConnection specific messages and forward them
@@ -141,7 +186,12 @@ public class RpcHostedService extends AbstractHostedConnectionService {
         if( log.isLoggable(Level.FINEST) ) {
             log.log(Level.FINEST, "startHostingOnConnection:{0}", hc);
         }
-        hc.setAttribute(ATTRIBUTE_NAME, new RpcConnection(hc));
+        RpcConnection rpc = new RpcConnection(hc);
+        Executor executor = callExecutor;
+        if( executor != null ) {
+            rpc.setExecutor(orderedCalls ? new SerialExecutor(executor) : executor);
+        }
+        hc.setAttribute(ATTRIBUTE_NAME, rpc);
     }
 
     /**
@@ -0,0 +1,83 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.network.service.state;
+
+
+/**
+ *  Reads values written by a BitWriter.
+ */
+final class BitReader {
+
+    private final byte[] bytes;
+    private int position;
+    private long pending;
+    private int pendingBits;
+
+    public BitReader( byte[] bytes ) {
+        this.bytes = bytes;
+    }
+
+    /**
+     *  Reads 'bits' bits, between 0 and 32 inclusive, as an
+     *  unsigned value.
+     */
+    public int read( int bits ) {
+        if( bits == 0 ) {
+            return 0;
+        }
+        while( pendingBits < bits ) {
+            if( position >= bytes.length ) {
+                throw new IllegalStateException("Read past the end of the state data");
+            }
+            pending = (pending << 8) | (bytes[position++] & 0xff);
+            pendingBits += 8;
+        }
+        pendingBits -= bits;
+        long mask = bits == 32 ? 0xffffffffL : ((1L << bits) - 1);
+        return (int)((pending >>> pendingBits) & mask);
+    }
+
+    public boolean readBoolean() {
+        return read(1) != 0;
+    }
+
+    public long readVarLong() {
+        long result = 0;
+        for( int shift = 0; ; shift += 7 ) {
+            int b = read(8);
+            result |= (long)(b & 0x7f) << shift;
+            if( (b & 0x80) == 0 ) {
+                return result;
+            }
+        }
+    }
+}
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.network.service.state;
+
+import java.util.Arrays;
+
+
+/**
+ *  Packs values of arbitrary bit widths into a growable byte
+ *  array, most significant bit first.
+ */
+final class BitWriter {
+
+    private byte[] bytes;
+    private int size;
+    private long pending;
+    private int pendingBits;
+
+    public BitWriter() {
+        this(256);
+    }
+
+    public BitWriter( int initialCapacity ) {
+        this.bytes = new byte[Math.max(16, initialCapacity)];
+    }
+
+    /**
+     *  Writes the lowest 'bits' bits of the value where bits
+     *  is between 0 and 32 inclusive.
+     */
+    public void write( int value, int bits ) {
+        if( bits == 0 ) {
+            return;
+        }
+        long mask = bits == 32 ? 0xffffffffL : ((1L << bits) - 1);
+        pending = (pending << bits) | (value & mask);
+        pendingBits += bits;
+        while( pendingBits >= 8 ) {
+            pendingBits -= 8;
+            put((byte)(pending >>> pendingBits));
+        }
+    }
+
+    public void writeBoolean( boolean b ) {
+        write(b ? 1 : 0, 1);
+    }
+
+    /**
+     *  Writes an unsigned value in 7 bit groups with a continuation
+     *  bit so that small values take only a byte.
+     */
+    public void writeVarLong( long value ) {
+        while( (value & ~0x7fL) != 0 ) {
+            write((int)(value & 0x7f) | 0x80, 8);
+            value >>>= 7;
+        }
+        write((int)value, 8);
+    }
+
+    /**
+     *  Returns the number of bits written so far.
+     */
+    public int getBitCount() {
+        return size * 8 + pendingBits;
+    }
+
+    /**
+     *  Returns the written bits padded with zeros to a whole
+     *  number of bytes.
+     */
+    public byte[] toByteArray() {
+        byte[] result = Arrays.copyOf(bytes, size + (pendingBits > 0 ? 1 : 0));
+        if( pendingBits > 0 ) {
+            result[size] = (byte)(pending << (8 - pendingBits));
+        }
+        return result;
+    }
+
+    private void put( byte b ) {
+        if( size == bytes.length ) {
+            bytes = Arrays.copyOf(bytes, size * 2);
+        }
+        bytes[size++] = b;
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.network.service.state;
+
+import java.util.Arrays;
+
+
+/**
+ *  The replicated state of one entity.  On the server, the game
+ *  updates the values with set() and the StateHostedService sends
+ *  whatever changed on the next sendUpdates().  On the client, the
+ *  StateClientService applies received changes before notifying its
+ *  StateListeners.
+ *
+ *  <p>Values are quantized as they are set so get() on the server
+ *  returns exactly what clients will see.</p>
+ */
+public class EntityState {
+
+    private final long id;
+    private final int layoutId;
+    private final StateLayout layout;
+    private final int[] values;
+    private boolean dirty = true;
+    private EntitySnapshot snapshot;
+
+    EntityState( long id, int layoutId, StateLayout layout ) {
+        this.id = id;
+        this.layoutId = layoutId;
+        this.layout = layout;
+        this.values = new int[layout.getComponentCount()];
+    }
+
+    EntityState( long id, StateLayout layout, EntitySnapshot snapshot ) {
+        this(id, snapshot.layoutId, layout);
+        System.arraycopy(snapshot.values, 0, values, 0, values.length);
+        this.snapshot = snapshot;
+        this.dirty = false;
+    }
+
+    /**
+     *  Returns the ID of this entity.
+     *
+     *  @return the entity ID
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     *  Returns the index of this entity's layout.
+     *
+     *  @return the layout ID
+     */
+    public int getLayoutId() {
+        return layoutId;
+    }
+
+    /**
+     *  Returns the layout of this entity.
+     *
+     *  @return the layout
+     */
+    public StateLayout getLayout() {
+        return layout;
+    }
+
+    /**
+     *  Sets the value of the specified field.
+     *
+     *  @param field the field index
+     *  @param value the new value
+     */
+    public void set( int field, Object value ) {
+        layout.getField(field).encode(value, values, layout.getOffset(field));
+        dirty = true;
+    }
+
+    /**
+     *  Sets the value of the named field.
+     *
+     *  @param name the field name
+     *  @param value the new value
+     */
+    public void set( String name, Object value ) {
+        set(fieldIndex(name), value);
+    }
+
+    /**
+     *  Returns the quantized value of the specified field.
+     *
+     *  @param field the field index
+     *  @return a new value object
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T get( int field ) {
+        return (T)layout.getField(field).decode(values, layout.getOffset(field));
+    }
+
+    /**
+     *  Returns the quantized value of the named field.
+     *
+     *  @param name the field name
+     *  @return a new value object
+     */
+    public <T> T get( String name ) {
+        return get(fieldIndex(name));
+    }
+
+    private int fieldIndex( String name ) {
+        int index = layout.indexOf(name);
+        if( index < 0 ) {
+            throw new IllegalArgumentException("No field named:" + name + " in:" + layout);
+        }
+        return index;
+    }
+
+    /**
+     *  Returns an immutable snapshot of the current values, reusing the
+     *  previous snapshot if nothing has changed since.
+     */
+    EntitySnapshot getSnapshot() {
+        if( dirty ) {
+            if( snapshot == null || !Arrays.equals(snapshot.values, values) ) {
+                snapshot = new EntitySnapshot(layoutId, values.clone());
+            }
+            dirty = false;
+        }
+        return snapshot;
+    }
+
+    /**
+     *  Replaces the values with the snapshot's and returns a mask of
+     *  the fields that changed.
+     */
+    long apply( EntitySnapshot update ) {
+        long changed = layout.getChangedFields(values, update.values);
+        System.arraycopy(update.values, 0, values, 0, values.length);
+        this.snapshot = update;
+        this.dirty = false;
+        return changed;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[" + id + ", layout=" + layoutId + "]";
+    }
+}
@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.network.service.state;
+
+import com.jme3.network.Client;
+import com.jme3.network.Message;
+import com.jme3.network.MessageListener;
+import com.jme3.network.service.AbstractClientService;
+import com.jme3.network.service.ClientServiceManager;
+import com.jme3.network.service.state.msg.StateAckMessage;
+import com.jme3.network.service.state.msg.StateMessage;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+
+/**
+ *  Client side of the StateHostedService.  Applies the received
+ *  changes to a local copy of each replicated entity, acknowledges
+ *  each frame, and notifies the registered StateListeners.
+ *
+ *  <p>The layouts must match the server's layouts in the same order.
+ *  Entities are updated and listeners are called from the network
+ *  thread that received the update.</p>
+ */
+public class StateClientService extends AbstractClientService {
+
+    private static final Logger log = Logger.getLogger(StateClientService.class.getName());
+
+    private static final int MAX_HISTORY = 128;
+
+    private final StateLayout[] layouts;
+    private final Map<Integer, Map<Long, EntitySnapshot>> history = new HashMap<>();
+    private final Map<Long, EntityState> entities = new ConcurrentHashMap<>();
+    private final Collection<EntityState> readOnlyEntities = Collections.unmodifiableCollection(entities.values());
+    private final CopyOnWriteArrayList<StateListener> listeners = new CopyOnWriteArrayList<>();
+    private final StateMessageListener messageListener = new StateMessageListener();
+    private int lastSequence = -1;
+
+    /**
+     *  Creates a new state client service.
+     *
+     *  @param layouts the entity layouts, in the same order as on the server
+     */
+    public StateClientService( StateLayout... layouts ) {
+        if( layouts.length == 0 ) {
+            throw new IllegalArgumentException("At least one layout is required");
+        }
+        this.layouts = layouts.clone();
+    }
+
+    /**
+     *  Adds a listener that will be notified as entities are added,
+     *  updated, and removed.
+     *
+     *  @param l the listener to add
+     */
+    public void addStateListener( StateListener l ) {
+        listeners.add(l);
+    }
+
+    /**
+     *  Removes a previously added listener.
+     *
+     *  @param l the listener to remove
+     */
+    public void removeStateListener( StateListener l ) {
+        listeners.remove(l);
+    }
+
+    /**
+     *  Returns the replicated entity with the specified ID.
+     *
+     *  @param id the entity ID
+     *  @return the entity, or null if it is not currently replicated
+     */
+    public EntityState getEntity( long id ) {
+        return entities.get(id);
+    }
+
+    /**
+     *  Returns a live, unmodifiable view of the replicated entities.
+     *
+     *  @return the entities
+     */
+    public Collection<EntityState> getEntities() {
+        return readOnlyEntities;
+    }
+
+    /**
+     *  Used internally to register the state message listener.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void onInitialize( ClientServiceManager serviceManager ) {
+        Client client = serviceManager.getClient();
+        client.addMessageListener(messageListener, StateMessage.class);
+    }
+
+    /**
+     *  Used internally to remove the state message listener.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void terminate( ClientServiceManager serviceManager ) {
+        Client client = serviceManager.getClient();
+        client.removeMessageListener(messageListener, StateMessage.class);
+    }
+
+    /**
+     *  Decodes the frame and updates the local entities.  Returns the
+     *  sequence number to acknowledge, -1 to ask the server for a full
+     *  frame, or null if the message is stale and should be ignored.
+     */
+    synchronized Integer applyFrame( StateMessage msg ) {
+        int sequence = msg.getSequence();
+        if( sequence <= lastSequence ) {
+            // Arrived out of order and something newer was already applied
+            return null;
+        }
+        Map<Long, EntitySnapshot> base;
+        if( msg.getBaseline() < 0 ) {
+            base = Collections.emptyMap();
+        } else {
+            base = history.get(msg.getBaseline());
+            if( base == null ) {
+                log.log(Level.FINE, "Missing baseline:{0} for:{1}", new Object[]{msg.getBaseline(), msg});
+                return -1;
+            }
+        }
+
+        Map<Long, EntitySnapshot> frame;
+        try {
+            frame = StateCodec.decode(msg.getData(), base, layouts);
+        } catch( RuntimeException e ) {
+            log.log(Level.WARNING, "Error decoding:" + msg, e);
+            return -1;
+        }
+
+        // The server never goes back to a baseline older than the one
+        // it just used so anything before that can go.
+        history.put(sequence, frame);
+        Iterator<Integer> it = history.keySet().iterator();
+        while( it.hasNext() ) {
+            int s = it.next();
+            if( s < msg.getBaseline() || s <= sequence - MAX_HISTORY ) {
+                it.remove();
+            }
+        }
+        lastSequence = sequence;
+
+        applyChanges(frame);
+        return sequence;
+    }
+
+    private void applyChanges( Map<Long, EntitySnapshot> frame ) {
+        for( Iterator<EntityState> it = entities.values().iterator(); it.hasNext(); ) {
+            EntityState e = it.next();
+            if( !frame.containsKey(e.getId()) ) {
+                it.remove();
+                fireRemoved(e);
+            }
+        }
+        for( Map.Entry<Long, EntitySnapshot> entry : frame.entrySet() ) {
+            EntitySnapshot snapshot = entry.getValue();
+            EntityState e = entities.get(entry.getKey());
+            if( e != null && e.getLayoutId() != snapshot.layoutId ) {
+                entities.remove(e.getId());
+                fireRemoved(e);
+                e = null;
+            }
+            if( e == null ) {
+                e = new EntityState(entry.getKey(), layouts[snapshot.layoutId], snapshot);
+                entities.put(e.getId(), e);
+                fireAdded(e);
+            } else if( e.getSnapshot() != snapshot ) {
+                long changed = e.apply(snapshot);
+                if( changed != 0 ) {
+                    fireUpdated(e, changed);
+                }
+            }
+        }
+    }
+
+    private void fireAdded( EntityState e ) {
+        for( StateListener l : listeners ) {
+            l.entityAdded(e);
+        }
+    }
+
+    private void fireUpdated( EntityState e, long changed ) {
+        for( StateListener l : listeners ) {
+            l.entityUpdated(e, changed);
+        }
+    }
+
+    private void fireRemoved( EntityState e ) {
+        for( StateListener l : listeners ) {
+            l.entityRemoved(e);
+        }
+    }
+
+    private class StateMessageListener implements MessageListener<Client> {
+        @Override
+        public void messageReceived( Client source, Message m ) {
+            Integer ack = applyFrame((StateMessage)m);
+            if( ack != null ) {
+                source.send(new StateAckMessage(ack));
+            }
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.network.service.state;
+
+import java.util.HashMap;
+import java.util.Map;
+
+
+/**
+ *  Encodes the difference between two frames as a sequence of
+ *  bit-packed records:
+ *  <pre>
+ *  record := op:2 id:varlong body
+ *  add    := layout:varlong field*           (all fields)
+ *  update := changed:fieldCount field*       (changed fields only)
+ *  remove := (empty)
+ *  </pre>
+ *  terminated by an end op.
+ */
+final class StateCodec {
+
+    static final int OP_END = 0;
+    static final int OP_UPDATE = 1;
+    static final int OP_ADD = 2;
+    static final int OP_REMOVE = 3;
+
+    private StateCodec() {
+    }
+
+    /**
+     *  Returns the changes needed to turn baseline into current or
+     *  null if they are the same.
+     */
+    static byte[] encode( Map<Long, EntitySnapshot> baseline, Map<Long, EntitySnapshot> current,
+                          StateLayout[] layouts ) {
+        BitWriter out = new BitWriter();
+        boolean changed = false;
+        for( Map.Entry<Long, EntitySnapshot> e : current.entrySet() ) {
+            EntitySnapshot next = e.getValue();
+            EntitySnapshot base = baseline.get(e.getKey());
+            if( base == next ) {
+                continue;
+            }
+            StateLayout layout = layouts[next.layoutId];
+            if( base == null || base.layoutId != next.layoutId ) {
+                out.write(OP_ADD, 2);
+                out.writeVarLong(e.getKey());
+                out.writeVarLong(next.layoutId);
+                for( int i = 0; i < layout.getFieldCount(); i++ ) {
+                    layout.getField(i).write(out, next.values, layout.getOffset(i));
+                }
+                changed = true;
+                continue;
+            }
+            long mask = layout.getChangedFields(base.values, next.values);
+            if( mask == 0 ) {
+                continue;
+            }
+            out.write(OP_UPDATE, 2);
+            out.writeVarLong(e.getKey());
+            writeMask(out, mask, layout.getFieldCount());
+            for( int i = 0; i < layout.getFieldCount(); i++ ) {
+                if( (mask & (1L << i)) != 0 ) {
+                    layout.getField(i).write(out, next.values, layout.getOffset(i));
+                }
+            }
+            changed = true;
+        }
+        for( Long id : baseline.keySet() ) {
+            if( !current.containsKey(id) ) {
+                out.write(OP_REMOVE, 2);
+                out.writeVarLong(id);
+                changed = true;
+            }
+        }
+        if( !changed ) {
+            return null;
+        }
+        out.write(OP_END, 2);
+        return out.toByteArray();
+    }
+
+    /**
+     *  Applies the encoded changes to a copy of the baseline and
+     *  returns the resulting frame.
+     */
+    static Map<Long, EntitySnapshot> decode( byte[] data, Map<Long, EntitySnapshot> baseline,
+                                             StateLayout[] layouts ) {
+        Map<Long, EntitySnapshot> result = new HashMap<>(baseline);
+        BitReader in = new BitReader(data);
+        for( int op = in.read(2); op != OP_END; op = in.read(2) ) {
+            long id = in.readVarLong();
+            switch( op ) {
+                case OP_ADD: {
+                    int layoutId = (int)in.readVarLong();
+                    if( layoutId >= layouts.length ) {
+                        throw new IllegalStateException("Unknown layout:" + layoutId + " for entity:" + id);
+                    }
+                    StateLayout layout = layouts[layoutId];
+                    int[] values = new int[layout.getComponentCount()];
+                    for( int i = 0; i < layout.getFieldCount(); i++ ) {
+                        layout.getField(i).read(in, values, layout.getOffset(i));
+                    }
+                    result.put(id, new EntitySnapshot(layoutId, values));
+                    break;
+                }
+                case OP_UPDATE: {
+                    EntitySnapshot base = baseline.get(id);
+                    if( base == null ) {
+                        throw new IllegalStateException("Update for entity not in baseline:" + id);
+                    }
+                    StateLayout layout = layouts[base.layoutId];
+                    int[] values = base.values.clone();
+                    long mask = readMask(in, layout.getFieldCount());
+                    for( int i = 0; i < layout.getFieldCount(); i++ ) {
+                        if( (mask & (1L << i)) != 0 ) {
+                            layout.getField(i).read(in, values, layout.getOffset(i));
+                        }
+                    }
+                    result.put(id, new EntitySnapshot(base.layoutId, values));
+                    break;
+                }
+                case OP_REMOVE:
+                    result.remove(id);
+                    break;
+            }
+        }
+        return result;
+    }
+
+    private static void writeMask( BitWriter out, long mask, int bits ) {
+        if( bits > 32 ) {
+            out.write((int)(mask >>> 32), bits - 32);
+            out.write((int)mask, 32);
+        } else {
+            out.write((int)mask, bits);
+        }
+    }
+
+    private static long readMask( BitReader in, int bits ) {
+        if( bits > 32 ) {
+            long high = in.read(bits - 32) & 0xffffffffL;
+            return (high << 32) | (in.read(32) & 0xffffffffL);
+        }
+        return in.read(bits) & 0xffffffffL;
+    }
+}
@@ -0,0 +1,423 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.network.service.state;
+
+import com.jme3.math.FastMath;
+import com.jme3.math.Quaternion;
+import com.jme3.math.Vector3f;
+
+
+/**
+ *  Describes one replicated field of an entity and how its value
+ *  is quantized for the network.  Values are stored as one or more
+ *  integer components so that change detection on the server and
+ *  reconstruction on the client always agree, regardless of
+ *  floating point precision.
+ *
+ *  <p>Instances are created through the static factory methods and
+ *  must be declared in the same order on the client and server.</p>
+ */
+public abstract class StateField {
+
+    private final String name;
+    private final int[] bits;
+
+    /**
+     *  Creates a field with the specified name and the bit width
+     *  of each of its integer components.
+     *
+     *  @param name the field name, used for debugging
+     *  @param bits the number of bits sent for each component
+     */
+    protected StateField( String name, int... bits ) {
+        for( int b : bits ) {
+            if( b < 1 || b > 32 ) {
+                throw new IllegalArgumentException("Component bits out of range [1, 32]:" + b);
+            }
+        }
+        this.name = name;
+        this.bits = bits;
+    }
+
+    /**
+     *  Creates a field that sends 1 bit for a Boolean value.
+     *
+     *  @param name the field name
+     *  @return the new field
+     */
+    public static StateField booleanField( String name ) {
+        return new BooleanField(name);
+    }
+
+    /**
+     *  Creates a field that sends the full 32 bits of an Integer value.
+     *
+     *  @param name the field name
+     *  @return the new field
+     */
+    public static StateField intField( String name ) {
+        return new IntField(name, 32);
+    }
+
+    /**
+     *  Creates a field that sends an Integer value in the specified
+     *  number of bits.  Values are zig-zag encoded so small negative
+     *  values stay small and must fit in the signed range of 'bits'.
+     *
+     *  @param name the field name
+     *  @param bits the number of bits to send
+     *  @return the new field
+     */
+    public static StateField intField( String name, int bits ) {
+        return new IntField(name, bits);
+    }
+
+    /**
+     *  Creates a field that sends the full 32 bits of a Float value.
+     *
+     *  @param name the field name
+     *  @return the new field
+     */
+    public static StateField floatField( String name ) {
+        return new FloatField(name);
+    }
+
+    /**
+     *  Creates a field that quantizes a Float value in [min, max]
+     *  to the specified number of bits.  Values outside the range are
+     *  clamped.
+     *
+     *  @param name the field name
+     *  @param min the smallest representable value
+     *  @param max the largest representable value
+     *  @param bits the number of bits to send, at most 31
+     *  @return the new field
+     */
+    public static StateField floatField( String name, float min, float max, int bits ) {
+        return new QuantizedFloatField(name, min, max, bits);
+    }
+
+    /**
+     *  Creates a field that quantizes each axis of a Vector3f value
+     *  in [min, max] to the specified number of bits.
+     *
+     *  @param name the field name
+     *  @param min the smallest representable value on any axis
+     *  @param max the largest representable value on any axis
+     *  @param bits the number of bits to send per axis, at most 31
+     *  @return the new field
+     */
+    public static StateField vector3Field( String name, float min, float max, int bits ) {
+        return new Vector3Field(name, min, max, bits);
+    }
+
+    /**
+     *  Creates a field that sends a unit Quaternion using the 'smallest
+     *  three' encoding: 2 bits for the index of the largest component
+     *  plus the other three components at the specified precision.
+     *
+     *  @param name the field name
+     *  @param bits the number of bits to send per component, at most 31
+     *  @return the new field
+     */
+    public static StateField quaternionField( String name, int bits ) {
+        return new QuaternionField(name, bits);
+    }
+
+    /**
+     *  Returns the name of this field.
+     *
+     *  @return the field name
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     *  Returns the number of integer components used to store
+     *  this field's value.
+     *
+     *  @return the component count
+     */
+    public int getComponentCount() {
+        return bits.length;
+    }
+
+    /**
+     *  Returns the number of bits that this field takes on the wire.
+     *
+     *  @return the total bit count
+     */
+    public int getBitCount() {
+        int result = 0;
+        for( int b : bits ) {
+            result += b;
+        }
+        return result;
+    }
+
+    /**
+     *  Quantizes the value into the components starting at offset.
+     *
+     *  @param value the value to store
+     *  @param store the component array
+     *  @param offset the index of this field's first component
+     */
+    public abstract void encode( Object value, int[] store, int offset );
+
+    /**
+     *  Reconstructs a value from the components starting at offset.
+     *
+     *  @param values the component array
+     *  @param offset the index of this field's first component
+     *  @return a new value
+     */
+    public abstract Object decode( int[] values, int offset );
+
+    /**
+     *  Writes this field's components to the bit stream.
+     */
+    void write( BitWriter out, int[] values, int offset ) {
+        for( int i = 0; i < bits.length; i++ ) {
+            out.write(values[offset + i], bits[i]);
+        }
+    }
+
+    /**
+     *  Reads this field's components from the bit stream.
+     */
+    void read( BitReader in, int[] values, int offset ) {
+        for( int i = 0; i < bits.length; i++ ) {
+            values[offset + i] = in.read(bits[i]);
+        }
+    }
+
+    /**
+     *  Returns true if the components of this field differ in
+     *  the two arrays.
+     */
+    boolean isChanged( int[] a, int[] b, int offset ) {
+        for( int i = 0; i < bits.length; i++ ) {
+            if( a[offset + i] != b[offset + i] ) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[" + name + ", bits=" + getBitCount() + "]";
+    }
+
+    private static int quantize( float value, float min, float max, int bits ) {
+        float range = max - min;
+        int steps = (1 << bits) - 1;
+        float f = (FastMath.clamp(value, min, max) - min) / range;
+        return Math.round(f * steps);
+    }
+
+    private static float dequantize( int value, float min, float max, int bits ) {
+        int steps = (1 << bits) - 1;
+        return min + (max - min) * ((float)value / steps);
+    }
+
+    private static void checkRange( float min, float max, int bits ) {
+        if( !(max > min) ) {
+            throw new IllegalArgumentException("Invalid range:" + min + " to " + max);
+        }
+        if( bits > 31 ) {
+            throw new IllegalArgumentException("Quantized fields support at most 31 bits:" + bits);
+        }
+    }
+
+    private static class BooleanField extends StateField {
+        public BooleanField( String name ) {
+            super(name, 1);
+        }
+
+        @Override
+        public void encode( Object value, int[] store, int offset ) {
+            store[offset] = Boolean.TRUE.equals(value) ? 1 : 0;
+        }
+
+        @Override
+        public Object decode( int[] values, int offset ) {
+            return values[offset] != 0;
+        }
+    }
+
+    private static class IntField extends StateField {
+        private final boolean zigZag;
+
+        public IntField( String name, int bits ) {
+            super(name, bits);
+            this.zigZag = bits < 32;
+        }
+
+        @Override
+        public void encode( Object value, int[] store, int offset ) {
+            int i = value == null ? 0 : ((Number)value).intValue();
+            store[offset] = zigZag ? (i << 1) ^ (i >> 31) : i;
+        }
+
+        @Override
+        public Object decode( int[] values, int offset ) {
+            int i = values[offset];
+            return zigZag ? (i >>> 1) ^ -(i & 1) : i;
+        }
+    }
+
+    private static class FloatField extends StateField {
+        public FloatField( String name ) {
+            super(name, 32);
+        }
+
+        @Override
+        public void encode( Object value, int[] store, int offset ) {
+            float f = value == null ? 0 : ((Number)value).floatValue();
+            store[offset] = Float.floatToIntBits(f);
+        }
+
+        @Override
+        public Object decode( int[] values, int offset ) {
+            return Float.intBitsToFloat(values[offset]);
+        }
+    }
+
+    private static class QuantizedFloatField extends StateField {
+        private final float min;
+        private final float max;
+        private final int bits;
+
+        public QuantizedFloatField( String name, float min, float max, int bits ) {
+            super(name, bits);
+            checkRange(min, max, bits);
+            this.min = min;
+            this.max = max;
+            this.bits = bits;
+        }
+
+        @Override
+        public void encode( Object value, int[] store, int offset ) {
+            float f = value == null ? 0 : ((Number)value).floatValue();
+            store[offset] = quantize(f, min, max, bits);
+        }
+
+        @Override
+        public Object decode( int[] values, int offset ) {
+            return dequantize(values[offset], min, max, bits);
+        }
+    }
+
+    private static class Vector3Field extends StateField {
+        private final float min;
+        private final float max;
+        private final int bits;
+
+        public Vector3Field( String name, float min, float max, int bits ) {
+            super(name, bits, bits, bits);
+            checkRange(min, max, bits);
+            this.min = min;
+            this.max = max;
+            this.bits = bits;
+        }
+
+        @Override
+        public void encode( Object value, int[] store, int offset ) {
+            Vector3f v = value == null ? Vector3f.ZERO : (Vector3f)value;
+            store[offset] = quantize(v.x, min, max, bits);
+            store[offset + 1] = quantize(v.y, min, max, bits);
+            store[offset + 2] = quantize(v.z, min, max, bits);
+        }
+
+        @Override
+        public Object decode( int[] values, int offset ) {
+            return new Vector3f(dequantize(values[offset], min, max, bits),
+                                dequantize(values[offset + 1], min, max, bits),
+                                dequantize(values[offset + 2], min, max, bits));
+        }
+    }
+
+    private static class QuaternionField extends StateField {
+        private static final float RANGE = (float)(1.0 / Math.sqrt(2.0));
+        private final int bits;
+
+        public QuaternionField( String name, int bits ) {
+            super(name, 2, bits, bits, bits);
+            checkRange(-RANGE, RANGE, bits);
+            this.bits = bits;
+        }
+
+        @Override
+        public void encode( Object value, int[] store, int offset ) {
+            Quaternion q = value == null ? Quaternion.IDENTITY : (Quaternion)value;
+            float[] c = { q.getX(), q.getY(), q.getZ(), q.getW() };
+            float len = FastMath.sqrt(c[0] * c[0] + c[1] * c[1] + c[2] * c[2] + c[3] * c[3]);
+            if( len == 0 ) {
+                c[3] = len = 1;
+            }
+            int largest = 0;
+            for( int i = 1; i < 4; i++ ) {
+                if( Math.abs(c[i]) > Math.abs(c[largest]) ) {
+                    largest = i;
+                }
+            }
+            // q and -q are the same rotation so flip the signs to
+            // keep the dropped component positive.
+            float scale = (c[largest] < 0 ? -1 : 1) / len;
+            store[offset] = largest;
+            int j = offset + 1;
+            for( int i = 0; i < 4; i++ ) {
+                if( i != largest ) {
+                    store[j++] = quantize(c[i] * scale, -RANGE, RANGE, bits);
+                }
+            }
+        }
+
+        @Override
+        public Object decode( int[] values, int offset ) {
+            int largest = values[offset];
+            float[] c = new float[4];
+            float sum = 0;
+            int j = offset + 1;
+            for( int i = 0; i < 4; i++ ) {
+                if( i != largest ) {
+                    c[i] = dequantize(values[j++], -RANGE, RANGE, bits);
+                    sum += c[i] * c[i];
+                }
+            }
+            c[largest] = FastMath.sqrt(Math.max(0, 1 - sum));
+            return new Quaternion(c[0], c[1], c[2], c[3]);
+        }
+    }
+}
@@ -0,0 +1,408 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.network.service.state;
+
+import com.jme3.network.HostedConnection;
+import com.jme3.network.Message;
+import com.jme3.network.MessageListener;
+import com.jme3.network.Server;
+import com.jme3.network.serializing.Serializer;
+import com.jme3.network.service.AbstractHostedConnectionService;
+import com.jme3.network.service.HostedServiceManager;
+import com.jme3.network.service.state.msg.StateAckMessage;
+import com.jme3.network.service.state.msg.StateMessage;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+
+/**
+ *  Replicates the state of many entities to all hosted connections
+ *  while only sending what changed.
+ *
+ *  <p>The game creates entities with createEntity(), sets their fields
+ *  as they change, and calls sendUpdates() once per tick.  For each
+ *  connection, the service compares the current frame against the
+ *  last frame that the client acknowledged and sends only the entities
+ *  and fields that differ, bit-packed and quantized according to the
+ *  entity's StateLayout.  Because changes are always relative to an
+ *  acknowledged frame, the updates can be sent unreliably: a lost
+ *  message is simply covered by the next one.</p>
+ *
+ *  <p>An optional InterestFilter limits the entities sent to each
+ *  connection.  The client side is the StateClientService, which must
+ *  be created with the same layouts in the same order.</p>
+ *
+ *  <p>Entities must be created, updated, and removed from the same
+ *  thread that calls sendUpdates().</p>
+ */
+public class StateHostedService extends AbstractHostedConnectionService {
+
+    private static final String ATTRIBUTE_NAME = "stateSession";
+
+    private static final Logger log = Logger.getLogger(StateHostedService.class.getName());
+
+    private static final byte[] NO_CHANGES = { 0 };
+
+    private final StateLayout[] layouts;
+    private final Map<Long, EntityState> entities = new LinkedHashMap<>();
+    private final List<ConnectionState> connections = new CopyOnWriteArrayList<>();
+    private final AckListener ackListener = new AckListener();
+    private volatile InterestFilter filter;
+    private int maxHistory = 64;
+    private int maxUnreliableSize = 1400;
+
+    /**
+     *  Creates a new state service that will automatically host
+     *  each new network connection.
+     *
+     *  @param layouts the entity layouts, in the same order as on the client
+     */
+    public StateHostedService( StateLayout... layouts ) {
+        this(true, layouts);
+    }
+
+    /**
+     *  Creates a new state service that will optionally host each
+     *  new network connection depending on the specified 'autoHost' flag.
+     *
+     *  @param autoHost true to automatically host new connections
+     *  @param layouts the entity layouts, in the same order as on the client
+     */
+    public StateHostedService( boolean autoHost, StateLayout... layouts ) {
+        super(autoHost);
+        if( layouts.length == 0 ) {
+            throw new IllegalArgumentException("At least one layout is required");
+        }
+        this.layouts = layouts.clone();
+
+        Serializer.registerClasses(StateMessage.class, StateAckMessage.class);
+    }
+
+    /**
+     *  Sets the filter that decides which entities are sent to which
+     *  connections.  A null filter sends every entity to every connection.
+     *
+     *  @param filter the interest filter, or null
+     */
+    public void setInterestFilter( InterestFilter filter ) {
+        this.filter = filter;
+    }
+
+    /**
+     *  Returns the current interest filter.
+     *
+     *  @return the interest filter, or null
+     */
+    public InterestFilter getInterestFilter() {
+        return filter;
+    }
+
+    /**
+     *  Sets how many unacknowledged frames are remembered per connection.
+     *  Acknowledgements for older frames are ignored.  Defaults to 64.
+     *
+     *  @param maxHistory the number of frames to keep
+     */
+    public void setMaxHistory( int maxHistory ) {
+        if( maxHistory < 1 ) {
+            throw new IllegalArgumentException("History must hold at least one frame");
+        }
+        this.maxHistory = maxHistory;
+    }
+
+    /**
+     *  Returns how many unacknowledged frames are remembered per connection.
+     *
+     *  @return the number of frames kept
+     */
+    public int getMaxHistory() {
+        return maxHistory;
+    }
+
+    /**
+     *  Sets the largest update, in bytes, that is sent unreliably.
+     *  Larger updates, usually the first full frame for a connection,
+     *  are sent reliably to avoid UDP fragmentation.  Defaults to 1400.
+     *
+     *  @param size the size limit in bytes
+     */
+    public void setMaxUnreliableSize( int size ) {
+        this.maxUnreliableSize = size;
+    }
+
+    /**
+     *  Returns the largest update that is sent unreliably.
+     *
+     *  @return the size limit in bytes
+     */
+    public int getMaxUnreliableSize() {
+        return maxUnreliableSize;
+    }
+
+    /**
+     *  Returns the layout with the specified ID.
+     *
+     *  @param layoutId the layout index
+     *  @return the layout
+     */
+    public StateLayout getLayout( int layoutId ) {
+        return layouts[layoutId];
+    }
+
+    /**
+     *  Creates a new replicated entity.  It will be sent to interested
+     *  connections on the next sendUpdates().
+     *
+     *  @param id the unique entity ID
+     *  @param layoutId the index of the entity's layout
+     *  @return the new entity
+     */
+    public EntityState createEntity( long id, int layoutId ) {
+        if( entities.containsKey(id) ) {
+            throw new IllegalArgumentException("Entity already exists:" + id);
+        }
+        EntityState result = new EntityState(id, layoutId, layouts[layoutId]);
+        entities.put(id, result);
+        return result;
+    }
+
+    /**
+     *  Removes the entity with the specified ID.  Clients are notified
+     *  on the next sendUpdates().
+     *
+     *  @param id the entity ID
+     *  @return the removed entity, or null if there was none
+     */
+    public EntityState removeEntity( long id ) {
+        return entities.remove(id);
+    }
+
+    /**
+     *  Returns the entity with the specified ID.
+     *
+     *  @param id the entity ID
+     *  @return the entity, or null if there is none
+     */
+    public EntityState getEntity( long id ) {
+        return entities.get(id);
+    }
+
+    /**
+     *  Returns an unmodifiable view of the replicated entities.
+     *
+     *  @return the entities
+     */
+    public Collection<EntityState> getEntities() {
+        return Collections.unmodifiableCollection(entities.values());
+    }
+
+    /**
+     *  Sends the changes since the last acknowledged frame to every
+     *  hosted connection.  Generally called once per server tick.
+     */
+    public void sendUpdates() {
+        Map<Long, EntitySnapshot> frame = new LinkedHashMap<>(entities.size() * 2);
+        for( EntityState e : entities.values() ) {
+            frame.put(e.getId(), e.getSnapshot());
+        }
+
+        InterestFilter f = filter;
+        for( ConnectionState conn : connections ) {
+            Map<Long, EntitySnapshot> view = frame;
+            if( f != null ) {
+                view = new LinkedHashMap<>();
+                for( EntityState e : entities.values() ) {
+                    if( f.isInterested(conn.hc, e) ) {
+                        view.put(e.getId(), frame.get(e.getId()));
+                    }
+                }
+            }
+            conn.sendUpdate(view);
+        }
+    }
+
+    /**
+     *  Records that the connection received the specified frame or, if
+     *  the sequence is negative, that it needs a full frame.
+     */
+    void acknowledge( HostedConnection hc, int sequence ) {
+        ConnectionState conn = hc.getAttribute(ATTRIBUTE_NAME);
+        if( conn == null ) {
+            return;
+        }
+        conn.acknowledge(sequence);
+    }
+
+    /**
+     *  Used internally to register the acknowledgement listener with
+     *  the server.
+     */
+    @Override
+    protected void onInitialize( HostedServiceManager serviceManager ) {
+        Server server = serviceManager.getServer();
+        server.addMessageListener(ackListener, StateAckMessage.class);
+    }
+
+    /**
+     *  Used internally to remove the acknowledgement listener from the
+     *  server.
+     */
+    @Override
+    public void terminate( HostedServiceManager serviceManager ) {
+        Server server = serviceManager.getServer();
+        server.removeMessageListener(ackListener, StateAckMessage.class);
+    }
+
+    /**
+     *  Starts replicating entities to the specified connection.  This is
+     *  called automatically for all new connections if autohost is true.
+     */
+    @Override
+    public void startHostingOnConnection( HostedConnection hc ) {
+        if( log.isLoggable(Level.FINEST) ) {
+            log.log(Level.FINEST, "startHostingOnConnection:{0}", hc);
+        }
+        ConnectionState conn = new ConnectionState(hc);
+        hc.setAttribute(ATTRIBUTE_NAME, conn);
+        connections.add(conn);
+    }
+
+    /**
+     *  Stops replicating entities to the specified connection.  This is
+     *  called automatically when a connection leaves.
+     */
+    @Override
+    public void stopHostingOnConnection( HostedConnection hc ) {
+        ConnectionState conn = hc.getAttribute(ATTRIBUTE_NAME);
+        if( conn == null ) {
+            return;
+        }
+        if( log.isLoggable(Level.FINEST) ) {
+            log.log(Level.FINEST, "stopHostingOnConnection:{0}", hc);
+        }
+        hc.setAttribute(ATTRIBUTE_NAME, null);
+        connections.remove(conn);
+    }
+
+    /**
+     *  Tracks the frames sent to one connection and the last one
+     *  that it acknowledged.
+     */
+    private class ConnectionState {
+        private final HostedConnection hc;
+        private final LinkedHashMap<Integer, Map<Long, EntitySnapshot>> sent = new LinkedHashMap<>();
+        private Map<Long, EntitySnapshot> baseline = Collections.emptyMap();
+        private int baselineSequence = -1;
+        private int nextSequence;
+
+        public ConnectionState( HostedConnection hc ) {
+            this.hc = hc;
+        }
+
+        public void sendUpdate( Map<Long, EntitySnapshot> view ) {
+            Map<Long, EntitySnapshot> base;
+            int baseSequence;
+            boolean pending;
+            synchronized( this ) {
+                base = baseline;
+                baseSequence = baselineSequence;
+                pending = !sent.isEmpty();
+            }
+
+            byte[] data = StateCodec.encode(base, view, layouts);
+            if( data == null ) {
+                if( !pending ) {
+                    // The client already has exactly this frame
+                    return;
+                }
+                // Frames in flight may differ from the baseline so the
+                // client still needs to be brought back to it.
+                data = NO_CHANGES;
+            }
+
+            int sequence;
+            synchronized( this ) {
+                sequence = nextSequence++;
+                sent.put(sequence, view);
+                Iterator<Integer> it = sent.keySet().iterator();
+                while( sent.size() > maxHistory ) {
+                    it.next();
+                    it.remove();
+                }
+            }
+
+            StateMessage msg = new StateMessage(sequence, baseSequence, data);
+            if( data.length > maxUnreliableSize ) {
+                msg.setReliable(true);
+            }
+            if( log.isLoggable(Level.FINEST) ) {
+                log.log(Level.FINEST, "Sending:{0} to:{1}", new Object[]{msg, hc});
+            }
+            hc.send(msg);
+        }
+
+        public synchronized void acknowledge( int sequence ) {
+            if( sequence < 0 ) {
+                // The client lost track of its baseline and needs a full frame
+                log.log(Level.FINE, "Resetting state baseline for:{0}", hc);
+                baseline = Collections.emptyMap();
+                baselineSequence = -1;
+                sent.clear();
+                return;
+            }
+            if( sequence <= baselineSequence ) {
+                return;
+            }
+            Map<Long, EntitySnapshot> frame = sent.get(sequence);
+            if( frame == null ) {
+                return;
+            }
+            baseline = frame;
+            baselineSequence = sequence;
+            sent.keySet().removeIf(s -> s <= sequence);
+        }
+    }
+
+    private class AckListener implements MessageListener<HostedConnection> {
+        @Override
+        public void messageReceived( HostedConnection source, Message m ) {
+            acknowledge(source, ((StateAckMessage)m).getSequence());
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.network.service.state;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+
+/**
+ *  The ordered set of fields replicated for one kind of entity.
+ *  Layouts are identified on the wire by their index in the list
+ *  passed to the StateHostedService and StateClientService so both
+ *  ends must declare the same layouts in the same order.
+ */
+public class StateLayout {
+
+    /**
+     *  The maximum number of fields in a layout.  Changed fields are
+     *  sent as a bit mask.
+     */
+    public static final int MAX_FIELDS = 64;
+
+    private final StateField[] fields;
+    private final int[] offsets;
+    private final int componentCount;
+
+    /**
+     *  Creates a layout for the specified fields.
+     *
+     *  @param fields the fields in wire order
+     */
+    public StateLayout( StateField... fields ) {
+        if( fields.length == 0 || fields.length > MAX_FIELDS ) {
+            throw new IllegalArgumentException("Layouts must have between 1 and " + MAX_FIELDS + " fields");
+        }
+        this.fields = fields.clone();
+        this.offsets = new int[fields.length];
+        int count = 0;
+        for( int i = 0; i < fields.length; i++ ) {
+            offsets[i] = count;
+            count += fields[i].getComponentCount();
+        }
+        this.componentCount = count;
+    }
+
+    /**
+     *  Returns the number of fields in this layout.
+     *
+     *  @return the field count
+     */
+    public int getFieldCount() {
+        return fields.length;
+    }
+
+    /**
+     *  Returns the field at the specified index.
+     *
+     *  @param index the field index
+     *  @return the field
+     */
+    public StateField getField( int index ) {
+        return fields[index];
+    }
+
+    /**
+     *  Returns an unmodifiable view of the fields in wire order.
+     *
+     *  @return the fields
+     */
+    public List<StateField> getFields() {
+        return Collections.unmodifiableList(Arrays.asList(fields));
+    }
+
+    /**
+     *  Returns the index of the field with the specified name or
+     *  -1 if there is no such field.
+     *
+     *  @param name the field name
+     *  @return the field index, or -1
+     */
+    public int indexOf( String name ) {
+        for( int i = 0; i < fields.length; i++ ) {
+            if( fields[i].getName().equals(name) ) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     *  Returns the total number of integer components stored for an
+     *  entity with this layout.
+     *
+     *  @return the component count
+     */
+    public int getComponentCount() {
+        return componentCount;
+    }
+
+    /**
+     *  Returns the index of the first component of the specified field.
+     *
+     *  @param field the field index
+     *  @return the component offset
+     */
+    public int getOffset( int field ) {
+        return offsets[field];
+    }
+
+    /**
+     *  Returns a bit mask of the fields whose components differ
+     *  between the two arrays.
+     */
+    long getChangedFields( int[] a, int[] b ) {
+        long mask = 0;
+        for( int i = 0; i < fields.length; i++ ) {
+            if( fields[i].isChanged(a, b, offsets[i]) ) {
+                mask |= 1L << i;
+            }
+        }
+        return mask;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + Arrays.asList(fields);
+    }
+}
@@ -0,0 +1,314 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.network.stats;
+
+import com.jme3.network.MessageConnection;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ *  Traffic counters and timings for a network connection.  DefaultServer
+ *  keeps one per HostedConnection plus one for the totals across all
+ *  connections, and DefaultClient keeps one for its connection to the
+ *  server.  Everything is safe to read from any thread while the
+ *  network threads update it, so it can be polled periodically to
+ *  compute rates, or flattened with collect() for export to a
+ *  monitoring system.
+ *
+ *  <p>Stats created with a parent also add everything they record to
+ *  that parent.</p>
+ */
+public class ConnectionStats {
+
+    /**
+     *  Implemented by connections that keep statistics so that other
+     *  code holding only a MessageConnection can find them.
+     */
+    public interface Provider {
+        /**
+         *  Returns the statistics for this connection.
+         *
+         *  @return the connection statistics
+         */
+        public ConnectionStats getStats();
+    }
+
+    private final ConnectionStats parent;
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+    private final LongAdder messagesIn = new LongAdder();
+    private final LongAdder messagesOut = new LongAdder();
+    private final Histogram serializeTimes = new Histogram();
+    private final Histogram deserializeTimes = new Histogram();
+    private final Histogram roundTripTimes = new Histogram();
+    private final Map<Class<?>, MessageStats> messageStats = new ConcurrentHashMap<>();
+
+    /**
+     *  Creates stats that have no parent.
+     */
+    public ConnectionStats() {
+        this(null);
+    }
+
+    /**
+     *  Creates stats that also record everything to the specified parent.
+     *
+     *  @param parent the parent stats, or null
+     */
+    public ConnectionStats( ConnectionStats parent ) {
+        this.parent = parent;
+    }
+
+    /**
+     *  Returns the statistics kept by the specified connection or
+     *  null if it doesn't keep any.
+     *
+     *  @param conn the connection
+     *  @return the connection's stats, or null
+     */
+    public static ConnectionStats of( MessageConnection conn ) {
+        return conn instanceof Provider ? ((Provider)conn).getStats() : null;
+    }
+
+    /**
+     *  Returns the stats that this object also records to.
+     *
+     *  @return the parent stats, or null
+     */
+    public ConnectionStats getParent() {
+        return parent;
+    }
+
+    /**
+     *  Records a message sent on this connection.
+     *
+     *  @param type the message class
+     *  @param bytes the serialized size including the size header
+     */
+    public void messageSent( Class<?> type, int bytes ) {
+        messagesOut.increment();
+        bytesOut.add(bytes);
+        getMessageStats(type).sent(bytes);
+        if( parent != null ) {
+            parent.messageSent(type, bytes);
+        }
+    }
+
+    /**
+     *  Records the time taken to serialize a message.
+     *
+     *  @param type the message class
+     *  @param nanos the serialization time in nanoseconds
+     */
+    public void messageSerialized( Class<?> type, long nanos ) {
+        serializeTimes.record(nanos);
+        getMessageStats(type).serialized(nanos);
+        if( parent != null ) {
+            parent.messageSerialized(type, nanos);
+        }
+    }
+
+    /**
+     *  Records raw data received on this connection.
+     *
+     *  @param bytes the number of bytes received
+     */
+    public void bytesReceived( int bytes ) {
+        bytesIn.add(bytes);
+        if( parent != null ) {
+            parent.bytesReceived(bytes);
+        }
+    }
+
+    /**
+     *  Records a message received on this connection.
+     *
+     *  @param type the message class
+     *  @param nanos the deserialization time in nanoseconds
+     */
+    public void messageReceived( Class<?> type, long nanos ) {
+        messagesIn.increment();
+        deserializeTimes.record(nanos);
+        getMessageStats(type).received(nanos);
+        if( parent != null ) {
+            parent.messageReceived(type, nanos);
+        }
+    }
+
+    /**
+     *  Records the time between sending a request and receiving
+     *  its response.
+     *
+     *  @param nanos the round trip time in nanoseconds
+     */
+    public void roundTrip( long nanos ) {
+        roundTripTimes.record(nanos);
+        if( parent != null ) {
+            parent.roundTrip(nanos);
+        }
+    }
+
+    /**
+     *  Returns the number of bytes received, including size headers.
+     *
+     *  @return the incoming byte count
+     */
+    public long getBytesIn() {
+        return bytesIn.sum();
+    }
+
+    /**
+     *  Returns the number of bytes sent, including size headers.
+     *
+     *  @return the outgoing byte count
+     */
+    public long getBytesOut() {
+        return bytesOut.sum();
+    }
+
+    /**
+     *  Returns the number of messages received.
+     *
+     *  @return the incoming message count
+     */
+    public long getMessagesIn() {
+        return messagesIn.sum();
+    }
+
+    /**
+     *  Returns the number of messages sent.
+     *
+     *  @return the outgoing message count
+     */
+    public long getMessagesOut() {
+        return messagesOut.sum();
+    }
+
+    /**
+     *  Returns the message serialization times in nanoseconds.
+     *
+     *  @return the serialization time histogram
+     */
+    public Histogram getSerializeTimes() {
+        return serializeTimes;
+    }
+
+    /**
+     *  Returns the message deserialization times in nanoseconds.
+     *
+     *  @return the deserialization time histogram
+     */
+    public Histogram getDeserializeTimes() {
+        return deserializeTimes;
+    }
+
+    /**
+     *  Returns the request/response round trip times in nanoseconds.
+     *  These are recorded by request/response protocols like the RPC
+     *  service and include the time the other end took to handle the
+     *  request.
+     *
+     *  @return the round trip time histogram
+     */
+    public Histogram getRoundTripTimes() {
+        return roundTripTimes;
+    }
+
+    /**
+     *  Returns the counters for the specified message class, creating
+     *  them if needed.
+     *
+     *  @param type the message class
+     *  @return the message stats
+     */
+    public MessageStats getMessageStats( Class<?> type ) {
+        MessageStats result = messageStats.get(type);
+        if( result == null ) {
+            result = messageStats.computeIfAbsent(type, MessageStats::new);
+        }
+        return result;
+    }
+
+    /**
+     *  Returns the counters for every message class seen so far.
+     *
+     *  @return a read-only view of the message stats
+     */
+    public Collection<MessageStats> getMessageStats() {
+        return Collections.unmodifiableCollection(messageStats.values());
+    }
+
+    /**
+     *  Clears all counters and timings.  The parent is not reset.
+     */
+    public void reset() {
+        bytesIn.reset();
+        bytesOut.reset();
+        messagesIn.reset();
+        messagesOut.reset();
+        serializeTimes.reset();
+        deserializeTimes.reset();
+        roundTripTimes.reset();
+        messageStats.clear();
+    }
+
+    /**
+     *  Adds all of the counters and timing summaries to the specified
+     *  map using keys that start with the specified prefix.  Per-message
+     *  keys use the message class's simple name.
+     *
+     *  @param prefix the key prefix, such as "client.12"
+     *  @param target the map to fill
+     */
+    public void collect( String prefix, Map<String, Number> target ) {
+        target.put(prefix + ".bytesIn", getBytesIn());
+        target.put(prefix + ".bytesOut", getBytesOut());
+        target.put(prefix + ".messagesIn", getMessagesIn());
+        target.put(prefix + ".messagesOut", getMessagesOut());
+        serializeTimes.collect(prefix + ".serializeNanos", target);
+        deserializeTimes.collect(prefix + ".deserializeNanos", target);
+        roundTripTimes.collect(prefix + ".rttNanos", target);
+        for( MessageStats ms : messageStats.values() ) {
+            ms.collect(prefix + ".type." + ms.getType().getSimpleName(), target);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[bytesIn=" + getBytesIn() + ", bytesOut=" + getBytesOut()
+                + ", messagesIn=" + getMessagesIn() + ", messagesOut=" + getMessagesOut() + "]";
+    }
+}
@@ -0,0 +1,206 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.network.stats;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ *  A thread-safe histogram of non-negative long values, such as
+ *  nanosecond timings or queue depths, that uses power-of-two buckets
+ *  so that recording is cheap and the memory use is fixed.  Percentiles
+ *  are estimates accurate to within a factor of two.
+ */
+public class Histogram {
+
+    private static final int BUCKETS = 64;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sum = new LongAdder();
+    private final AtomicLong min = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong max = new AtomicLong(Long.MIN_VALUE);
+
+    /**
+     *  Creates an empty histogram.
+     */
+    public Histogram() {
+    }
+
+    /**
+     *  Records a value.  Negative values are recorded as 0.
+     *
+     *  @param value the value to record
+     */
+    public void record( long value ) {
+        if( value < 0 ) {
+            value = 0;
+        }
+        buckets.incrementAndGet(bucket(value));
+        count.increment();
+        sum.add(value);
+        if( value < min.get() ) {
+            min.accumulateAndGet(value, Math::min);
+        }
+        if( value > max.get() ) {
+            max.accumulateAndGet(value, Math::max);
+        }
+    }
+
+    /**
+     *  Returns the number of values recorded.
+     *
+     *  @return the value count
+     */
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     *  Returns the sum of all recorded values.
+     *
+     *  @return the value sum
+     */
+    public long getSum() {
+        return sum.sum();
+    }
+
+    /**
+     *  Returns the smallest recorded value or 0 if nothing has been recorded.
+     *
+     *  @return the minimum value
+     */
+    public long getMin() {
+        long result = min.get();
+        return result == Long.MAX_VALUE ? 0 : result;
+    }
+
+    /**
+     *  Returns the largest recorded value or 0 if nothing has been recorded.
+     *
+     *  @return the maximum value
+     */
+    public long getMax() {
+        long result = max.get();
+        return result == Long.MIN_VALUE ? 0 : result;
+    }
+
+    /**
+     *  Returns the mean of the recorded values or 0 if nothing has
+     *  been recorded.
+     *
+     *  @return the mean value
+     */
+    public double getMean() {
+        long n = getCount();
+        return n == 0 ? 0 : (double)getSum() / n;
+    }
+
+    /**
+     *  Returns an estimate of the value below which the specified
+     *  fraction of the recorded values fall.  The estimate is the upper
+     *  bound of the bucket containing that value, clamped to the recorded
+     *  minimum and maximum.
+     *
+     *  @param fraction the percentile as a fraction from 0 to 1
+     *  @return the estimated value, or 0 if nothing has been recorded
+     */
+    public long getPercentile( double fraction ) {
+        if( fraction < 0 || fraction > 1 ) {
+            throw new IllegalArgumentException("Fraction must be between 0 and 1:" + fraction);
+        }
+        long[] snapshot = new long[BUCKETS];
+        long total = 0;
+        for( int i = 0; i < BUCKETS; i++ ) {
+            snapshot[i] = buckets.get(i);
+            total += snapshot[i];
+        }
+        if( total == 0 ) {
+            return 0;
+        }
+        long target = Math.max(1, (long)Math.ceil(fraction * total));
+        long seen = 0;
+        for( int i = 0; i < BUCKETS; i++ ) {
+            seen += snapshot[i];
+            if( seen >= target ) {
+                long upper = i == 0 ? 0 : (1L << i) - 1;
+                return Math.max(getMin(), Math.min(getMax(), upper));
+            }
+        }
+        return getMax();
+    }
+
+    /**
+     *  Clears all recorded values.  Values recorded concurrently with
+     *  the reset may be partially lost.
+     */
+    public void reset() {
+        for( int i = 0; i < BUCKETS; i++ ) {
+            buckets.set(i, 0);
+        }
+        count.reset();
+        sum.reset();
+        min.set(Long.MAX_VALUE);
+        max.set(Long.MIN_VALUE);
+    }
+
+    /**
+     *  Adds this histogram's summary values to the specified map
+     *  using keys that start with the specified prefix.  This is meant
+     *  for exporting to logging or monitoring systems.
+     *
+     *  @param prefix the key prefix, such as "rtt"
+     *  @param target the map to fill
+     */
+    public void collect( String prefix, Map<String, Number> target ) {
+        target.put(prefix + ".count", getCount());
+        target.put(prefix + ".min", getMin());
+        target.put(prefix + ".mean", getMean());
+        target.put(prefix + ".p50", getPercentile(0.5));
+        target.put(prefix + ".p99", getPercentile(0.99));
+        target.put(prefix + ".max", getMax());
+    }
+
+    private static int bucket( long value ) {
+        // 0 goes in bucket 0, 1 in bucket 1, 2-3 in bucket 2, and so on
+        return 64 - Long.numberOfLeadingZeros(value);
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[count=" + getCount() + ", min=" + getMin()
+                + ", mean=" + getMean() + ", p99=" + getPercentile(0.99) + ", max=" + getMax() + "]";
+    }
+}
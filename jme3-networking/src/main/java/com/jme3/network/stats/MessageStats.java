@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.network.stats;
+
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+
+/**
+ *  Counters for one message class on one connection, or on all
+ *  connections when part of the totals.  Incoming message sizes are
+ *  not known individually so only outbound bytes are tracked per type.
+ */
+public class MessageStats {
+
+    private final Class<?> type;
+    private final LongAdder messagesIn = new LongAdder();
+    private final LongAdder messagesOut = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+    private final LongAdder serializeNanos = new LongAdder();
+    private final LongAdder serializeCount = new LongAdder();
+    private final LongAdder deserializeNanos = new LongAdder();
+
+    /**
+     *  Creates empty counters for the specified message class.
+     *
+     *  @param type the message class
+     */
+    public MessageStats( Class<?> type ) {
+        this.type = type;
+    }
+
+    /**
+     *  Returns the message class these counters track.
+     *
+     *  @return the message class
+     */
+    public Class<?> getType() {
+        return type;
+    }
+
+    /**
+     *  Returns the number of messages of this type received.
+     *
+     *  @return the incoming message count
+     */
+    public long getMessagesIn() {
+        return messagesIn.sum();
+    }
+
+    /**
+     *  Returns the number of messages of this type sent.  A broadcast
+     *  counts once for each connection it is sent to.
+     *
+     *  @return the outgoing message count
+     */
+    public long getMessagesOut() {
+        return messagesOut.sum();
+    }
+
+    /**
+     *  Returns the number of bytes sent for messages of this type,
+     *  including the size header.
+     *
+     *  @return the outgoing byte count
+     */
+    public long getBytesOut() {
+        return bytesOut.sum();
+    }
+
+    /**
+     *  Returns the total time spent serializing messages of this type.
+     *
+     *  @return the serialization time in nanoseconds
+     */
+    public long getSerializeNanos() {
+        return serializeNanos.sum();
+    }
+
+    /**
+     *  Returns the total time spent deserializing messages of this type.
+     *
+     *  @return the deserialization time in nanoseconds
+     */
+    public long getDeserializeNanos() {
+        return deserializeNanos.sum();
+    }
+
+    /**
+     *  Returns the mean time to serialize one message of this type.
+     *  Broadcast messages are only serialized once.
+     *
+     *  @return the mean serialization time in nanoseconds
+     */
+    public double getMeanSerializeNanos() {
+        long n = serializeCount.sum();
+        return n == 0 ? 0 : (double)serializeNanos.sum() / n;
+    }
+
+    /**
+     *  Returns the mean time to deserialize one message of this type.
+     *
+     *  @return the mean deserialization time in nanoseconds
+     */
+    public double getMeanDeserializeNanos() {
+        long n = messagesIn.sum();
+        return n == 0 ? 0 : (double)deserializeNanos.sum() / n;
+    }
+
+    void sent( int bytes ) {
+        messagesOut.increment();
+        bytesOut.add(bytes);
+    }
+
+    void serialized( long nanos ) {
+        serializeCount.increment();
+        serializeNanos.add(nanos);
+    }
+
+    void received( long nanos ) {
+        messagesIn.increment();
+        deserializeNanos.add(nanos);
+    }
+
+    /**
+     *  Clears all counters.
+     */
+    public void reset() {
+        messagesIn.reset();
+        messagesOut.reset();
+        bytesOut.reset();
+        serializeNanos.reset();
+        serializeCount.reset();
+        deserializeNanos.reset();
+    }
+
+    /**
+     *  Adds these counters to the specified map using keys that start
+     *  with the specified prefix.
+     *
+     *  @param prefix the key prefix
+     *  @param target the map to fill
+     */
+    public void collect( String prefix, Map<String, Number> target ) {
+        target.put(prefix + ".messagesIn", getMessagesIn());
+        target.put(prefix + ".messagesOut", getMessagesOut());
+        target.put(prefix + ".bytesOut", getBytesOut());
+        target.put(prefix + ".serializeNanos", getMeanSerializeNanos());
+        target.put(prefix + ".deserializeNanos", getMeanDeserializeNanos());
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[" + type.getSimpleName() + ", in=" + getMessagesIn() 
+                + ", out=" + getMessagesOut() + ", bytesOut=" + getBytesOut() + "]";
+    }
+}
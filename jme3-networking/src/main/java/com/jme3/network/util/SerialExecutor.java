@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.network.util;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+
+/**
+ *  An Executor that runs its tasks one at a time, in the order
+ *  they were submitted, on the threads of a backing Executor.  Many
+ *  SerialExecutors can share one thread pool while each keeps its own
+ *  tasks in order, which is useful for per-connection processing that
+ *  shouldn't be able to block other connections.
+ */
+public class SerialExecutor implements Executor {
+
+    private static final Logger log = Logger.getLogger(SerialExecutor.class.getName());
+
+    private final Executor delegate;
+    private final ArrayDeque<Runnable> tasks = new ArrayDeque<>();
+    private final Runnable drain = this::drain;
+    private boolean running;
+
+    /**
+     *  Creates a serial executor that runs its tasks on the specified
+     *  executor.
+     *
+     *  @param delegate the executor that provides the threads
+     */
+    public SerialExecutor( Executor delegate ) {
+        if( delegate == null ) {
+            throw new IllegalArgumentException("Delegate executor cannot be null");
+        }
+        this.delegate = delegate;
+    }
+
+    /**
+     *  Returns the executor that provides the threads.
+     *
+     *  @return the backing executor
+     */
+    public Executor getDelegate() {
+        return delegate;
+    }
+
+    @Override
+    public void execute( Runnable task ) {
+        synchronized( tasks ) {
+            tasks.add(task);
+            if( running ) {
+                return;
+            }
+            running = true;
+        }
+        try {
+            delegate.execute(drain);
+        } catch( RejectedExecutionException e ) {
+            synchronized( tasks ) {
+                tasks.clear();
+                running = false;
+            }
+            throw e;
+        }
+    }
+
+    private void drain() {
+        while( true ) {
+            Runnable task;
+            synchronized( tasks ) {
+                task = tasks.poll();
+                if( task == null ) {
+                    running = false;
+                    return;
+                }
+            }
+            try {
+                task.run();
+            } catch( Throwable t ) {
+                // Errors are caught too: escaping here would leave the
+                // executor marked as running and stall all later tasks
+                log.log(Level.SEVERE, "Error running task:" + task, t);
+            }
+        }
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.network.base;
+
+import com.jme3.network.Message;
+import com.jme3.network.base.protocol.SerializerMessageProtocol;
+import com.jme3.network.message.DisconnectMessage;
+import com.jme3.network.serializing.Serializer;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MessageBatcherTest {
+
+    private static ByteBuffer frame(int size) {
+        ByteBuffer result = ByteBuffer.allocate(size);
+        result.putShort((short)(size - 2));
+        while (result.hasRemaining()) {
+            result.put((byte)size);
+        }
+        result.flip();
+        return result;
+    }
+
+    @Test
+    public void testBatchesUpToBudget() {
+        List<ByteBuffer> sent = new ArrayList<>();
+        MessageBatcher batcher = new MessageBatcher();
+        MessageBatcher.Batch batch = batcher.createBatch(100, sent::add);
+
+        batch.add(frame(40));
+        batch.add(frame(40));
+        assertTrue(sent.isEmpty());
+        assertFalse(batch.isEmpty());
+
+        // Doesn't fit so the first two go out together
+        batch.add(frame(30));
+        assertEquals(1, sent.size());
+        assertEquals(80, sent.get(0).remaining());
+
+        batcher.flush();
+        assertEquals(2, sent.size());
+        assertEquals(30, sent.get(1).remaining());
+        assertTrue(batch.isEmpty());
+
+        // Nothing pending means nothing is sent
+        batcher.flush();
+        assertEquals(2, sent.size());
+    }
+
+    @Test
+    public void testOversizedMessagesAreSentAlone() {
+        List<ByteBuffer> sent = new ArrayList<>();
+        MessageBatcher.Batch batch = new MessageBatcher.Batch(100, sent::add);
+
+        batch.add(frame(10));
+        ByteBuffer big = frame(150);
+        batch.add(big);
+        assertEquals(2, sent.size());
+        assertEquals(10, sent.get(0).remaining());
+        assertEquals(150, sent.get(1).remaining());
+        assertNotSame(big, sent.get(1));
+        assertTrue(batch.isEmpty());
+    }
+
+    @Test
+    public void testRemovedBatchesAreNotFlushed() {
+        List<ByteBuffer> sent = new ArrayList<>();
+        MessageBatcher batcher = new MessageBatcher();
+        MessageBatcher.Batch batch = batcher.createBatch(100, sent::add);
+        batch.add(frame(10));
+        batcher.removeBatch(batch);
+        batcher.flush();
+        assertTrue(sent.isEmpty());
+    }
+
+    @Test
+    public void testBatchSplitsBackIntoMessages() {
+        Serializer.initialize();
+        SerializerMessageProtocol protocol = new SerializerMessageProtocol();
+        List<ByteBuffer> sent = new ArrayList<>();
+        MessageBatcher.Batch batch = new MessageBatcher.Batch(1200, sent::add);
+        ByteBuffer scratch = ByteBuffer.allocate(SerializerMessageProtocol.MAX_MESSAGE_SIZE + 2);
+        for (int i = 0; i < 5; i++) {
+            DisconnectMessage m = new DisconnectMessage();
+            m.setReason("reason " + i);
+            scratch.clear();
+            batch.add(protocol.toByteBuffer(m, scratch));
+        }
+        batch.flush();
+        assertEquals(1, sent.size());
+
+        // One datagram holding several messages, as on the unreliable channel
+        MessageBuffer buffer = protocol.createBuffer();
+        assertTrue(buffer.addBytes(sent.get(0)));
+        for (int i = 0; i < 5; i++) {
+            Message m = buffer.pollMessage();
+            assertEquals("reason " + i, ((DisconnectMessage)m).getReason());
+        }
+        assertNull(buffer.pollMessage());
+    }
+
+    @Test
+    public void testTimerFlushes() throws Exception {
+        List<ByteBuffer> sent = new ArrayList<>();
+        MessageBatcher batcher = new MessageBatcher();
+        batcher.setFlushDelay(5);
+        MessageBatcher.Batch batch = batcher.createBatch(100, b -> {
+            synchronized (sent) {
+                sent.add(b);
+            }
+        });
+        batcher.start();
+        try {
+            batch.add(frame(10));
+            long end = System.nanoTime() + 5_000_000_000L;
+            while (!batch.isEmpty() && System.nanoTime() < end) {
+                Thread.sleep(5);
+            }
+            synchronized (sent) {
+                assertEquals(1, sent.size());
+            }
+        } finally {
+            batcher.stop();
+        }
+    }
+}
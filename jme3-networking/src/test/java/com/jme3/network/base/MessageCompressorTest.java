@@ -0,0 +1,153 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.network.base;
+
+import com.jme3.network.base.protocol.SerializerMessageProtocol;
+import com.jme3.network.message.DisconnectMessage;
+import com.jme3.network.message.GZIPCompressedMessage;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MessageCompressorTest {
+
+    private static final SerializerMessageProtocol PROTOCOL = new SerializerMessageProtocol();
+
+    private static byte[] message( int i ) {
+        DisconnectMessage m = new DisconnectMessage();
+        m.setType(DisconnectMessage.KICK);
+        m.setReason("Player " + (i % 4) + " was removed from the game for idling");
+        ByteBuffer buffer = PROTOCOL.toByteBuffer(m, null);
+        byte[] result = new byte[buffer.remaining()];
+        buffer.get(result);
+        return result;
+    }
+
+    private static byte[] toArray( ByteBuffer buffer ) {
+        byte[] result = new byte[buffer.remaining()];
+        buffer.get(result);
+        return result;
+    }
+
+    @Test
+    public void testStreamSurvivesArbitraryChunks() {
+        CompressionSettings settings = CompressionSettings.DEFAULT;
+        MessageCompressor compressor = settings.createCompressor(true);
+        MessageDecompressor decompressor = settings.createDecompressor(true);
+
+        ByteBuffer wire = ByteBuffer.allocate(65536);
+        ByteBuffer expected = ByteBuffer.allocate(65536);
+        for( int i = 0; i < 50; i++ ) {
+            byte[] data = message(i);
+            expected.put(data);
+            wire.put(compressor.compress(ByteBuffer.wrap(data)));
+        }
+        wire.flip();
+        expected.flip();
+
+        // Feed it back in odd sized pieces like a TCP stream would
+        ByteBuffer actual = ByteBuffer.allocate(65536);
+        int chunk = 1;
+        while( wire.hasRemaining() ) {
+            int size = Math.min(chunk, wire.remaining());
+            ByteBuffer piece = wire.slice();
+            piece.limit(size);
+            wire.position(wire.position() + size);
+            actual.put(decompressor.decompress(piece));
+            chunk = chunk % 37 + 3;
+        }
+        actual.flip();
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    public void testStreamIsSmallerThanCompressedMessage() {
+        MessageCompressor compressor = CompressionSettings.DEFAULT.createCompressor(true);
+        int streamBytes = 0;
+        int messageBytes = 0;
+        for( int i = 0; i < 100; i++ ) {
+            streamBytes += compressor.compress(ByteBuffer.wrap(message(i))).remaining();
+
+            DisconnectMessage m = new DisconnectMessage();
+            m.setType(DisconnectMessage.KICK);
+            m.setReason("Player " + (i % 4) + " was removed from the game for idling");
+            messageBytes += PROTOCOL.toByteBuffer(new GZIPCompressedMessage(m), null).remaining();
+        }
+        assertTrue(streamBytes * 4 < messageBytes, "stream:" + streamBytes + " message:" + messageBytes);
+    }
+
+    @Test
+    public void testPacketsWithDictionary() {
+        byte[] dictionary = "was removed from the game for idling".getBytes(StandardCharsets.UTF_8);
+        CompressionSettings plain = new CompressionSettings(9, null);
+        CompressionSettings primed = new CompressionSettings(9, dictionary);
+        MessageCompressor plainCompressor = plain.createCompressor(false);
+        MessageCompressor primedCompressor = primed.createCompressor(false);
+        MessageDecompressor decompressor = primed.createDecompressor(false);
+
+        byte[] data = message(1);
+        ByteBuffer packet = primedCompressor.compress(ByteBuffer.wrap(data));
+        assertTrue(packet.remaining() < plainCompressor.compress(ByteBuffer.wrap(data)).remaining());
+
+        // Packets are independent so they can be decoded in any order
+        ByteBuffer packet2 = primedCompressor.compress(ByteBuffer.wrap(message(2)));
+        assertArrayEquals(message(2), toArray(decompressor.decompress(packet2)));
+        assertArrayEquals(data, toArray(decompressor.decompress(packet)));
+    }
+
+    @Test
+    public void testMissingDictionary() {
+        CompressionSettings primed = new CompressionSettings(6, new byte[] { 1, 2, 3 });
+        ByteBuffer packet = primed.createCompressor(false).compress(ByteBuffer.wrap(message(0)));
+        MessageDecompressor decompressor = CompressionSettings.DEFAULT.createDecompressor(false);
+        assertThrows(RuntimeException.class, () -> decompressor.decompress(packet));
+    }
+
+    @Test
+    public void testLargeAndDirectBuffers() {
+        byte[] data = new byte[200000];
+        for( int i = 0; i < data.length; i++ ) {
+            data[i] = (byte)(i * 31 >> 7);
+        }
+        ByteBuffer direct = ByteBuffer.allocateDirect(data.length);
+        direct.put(data).flip();
+
+        MessageCompressor compressor = new MessageCompressor(1, null, true);
+        MessageDecompressor decompressor = new MessageDecompressor(null, true);
+        ByteBuffer compressed = compressor.compress(direct);
+        assertFalse(direct.hasRemaining());
+        assertTrue(Arrays.equals(data, toArray(decompressor.decompress(compressed))));
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.network.kernel;
+
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies size classes and reference counting of {@link BufferPool}.
+ */
+public class BufferPoolTest {
+
+    @Test
+    public void testSizeClasses() {
+        BufferPool pool = new BufferPool();
+        assertEquals(BufferPool.MIN_BUFFER_SIZE, pool.acquire(1).getBuffer().capacity());
+        assertEquals(512, pool.acquire(257).getBuffer().capacity());
+        assertEquals(32768, pool.acquire(32768).getBuffer().capacity());
+        assertEquals(BufferPool.MAX_BUFFER_SIZE, pool.acquire(32769).getBuffer().capacity());
+        assertEquals(70000, pool.acquire(70000).getBuffer().capacity());
+        assertTrue(pool.acquire(10).getBuffer().isDirect());
+    }
+
+    @Test
+    public void testBufferIsRecycledAfterLastRelease() {
+        BufferPool pool = new BufferPool();
+        PooledBuffer first = pool.acquire(100);
+        assertEquals(100, first.getBuffer().limit());
+
+        first.retain();
+        first.release();
+        assertNotSame(first, pool.acquire(100));
+
+        first.release();
+        PooledBuffer again = pool.acquire(200);
+        assertSame(first, again);
+        assertEquals(1, again.getReferenceCount());
+        assertEquals(0, again.getBuffer().position());
+        assertEquals(200, again.getBuffer().limit());
+
+        again.release();
+        assertThrows(IllegalStateException.class, again::release);
+        assertThrows(IllegalStateException.class, again::retain);
+    }
+
+    @Test
+    public void testCopyOfLeavesSourceUntouched() {
+        BufferPool pool = new BufferPool(false, 4);
+        ByteBuffer source = ByteBuffer.wrap(new byte[]{1, 2, 3, 4, 5});
+        source.position(1);
+
+        PooledBuffer copy = pool.copyOf(source);
+        assertEquals(1, source.position());
+        ByteBuffer data = copy.getBuffer();
+        assertEquals(4, data.remaining());
+        assertEquals(2, data.get(0));
+        assertEquals(5, data.get(3));
+
+        // Each duplicate tracks its own progress over the shared bytes
+        ByteBuffer a = copy.duplicate();
+        ByteBuffer b = copy.duplicate();
+        a.get();
+        assertEquals(3, a.remaining());
+        assertEquals(4, b.remaining());
+    }
+
+    @Test
+    public void testFreeListIsBounded() {
+        BufferPool pool = new BufferPool(true, 1);
+        PooledBuffer a = pool.acquire(10);
+        PooledBuffer b = pool.acquire(10);
+        a.release();
+        b.release();
+        assertEquals(2, pool.getAllocatedCount());
+
+        pool.acquire(10);
+        pool.acquire(10);
+        assertEquals(3, pool.getAllocatedCount());
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.network.kernel.tcp;
+
+import com.jme3.network.kernel.Endpoint;
+import com.jme3.network.kernel.EndpointEvent;
+import com.jme3.network.kernel.Envelope;
+import com.jme3.network.kernel.Kernel;
+import java.io.DataInputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Exchanges data between a {@link SelectorKernel} and loopback clients,
+ * with one selector thread and with several I/O threads.
+ */
+public class SelectorKernelTest {
+
+    private static final int CLIENTS = 16;
+
+    private SelectorKernel kernel;
+    private final Socket[] clients = new Socket[CLIENTS];
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        for (Socket client : clients) {
+            if (client != null) {
+                client.close();
+            }
+        }
+        if (kernel != null) {
+            kernel.terminate();
+        }
+    }
+
+    @Test
+    public void testSingleThread() throws Exception {
+        exchange(1);
+    }
+
+    @Test
+    public void testSeveralIoThreads() throws Exception {
+        exchange(4);
+    }
+
+    @Test
+    public void testSpreadsAcceptBurst() throws Exception {
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+        kernel = new SelectorKernel(new InetSocketAddress(loopback, 0), 4);
+        kernel.initialize();
+        int port = kernel.getLocalAddress().getPort();
+
+        // Connect everything before the kernel gets to register any of it
+        for (int i = 0; i < CLIENTS; i++) {
+            clients[i] = new Socket(loopback, port);
+        }
+
+        Map<Object, Integer> perThread = new HashMap<>();
+        int added = 0;
+        long deadline = System.currentTimeMillis() + 5000;
+        while (added < CLIENTS && System.currentTimeMillis() < deadline) {
+            EndpointEvent event = kernel.nextEvent();
+            if (event == null) {
+                Thread.sleep(5);
+            } else if (event.getType() == EndpointEvent.Type.ADD) {
+                added++;
+                Object owner = ((NioEndpoint) event.getEndpoint()).getSelectorThread();
+                perThread.merge(owner, 1, Integer::sum);
+            }
+        }
+        assertEquals(CLIENTS, added);
+        assertEquals(4, perThread.size());
+        for (int count : perThread.values()) {
+            assertEquals(CLIENTS / 4, count);
+        }
+    }
+
+    @Test
+    public void testRejectsZeroThreads() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new SelectorKernel(new InetSocketAddress(0), 0));
+    }
+
+    private void exchange(int ioThreads) throws Exception {
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+        kernel = new SelectorKernel(new InetSocketAddress(loopback, 0), ioThreads);
+        kernel.initialize();
+        assertEquals(ioThreads, kernel.getIoThreadCount());
+        InetSocketAddress server = kernel.getLocalAddress();
+        assertTrue(server.getPort() != 0);
+
+        for (int i = 0; i < CLIENTS; i++) {
+            clients[i] = new Socket(loopback, server.getPort());
+            clients[i].setSoTimeout(5000);
+            OutputStream out = clients[i].getOutputStream();
+            out.write(new byte[]{(byte) i, 1, 2, 3});
+            out.flush();
+        }
+
+        // Every client's bytes must arrive intact from its own endpoint
+        Map<Endpoint, Integer> received = new HashMap<>();
+        Map<Endpoint, Byte> ids = new HashMap<>();
+        long deadline = System.currentTimeMillis() + 5000;
+        while (total(received) < CLIENTS * 4 && System.currentTimeMillis() < deadline) {
+            if (!kernel.hasEnvelopes()) {
+                Thread.sleep(5);
+                continue;
+            }
+            Envelope env = kernel.read();
+            if (env == Kernel.EVENTS_PENDING) {
+                continue;
+            }
+            byte[] data = env.getData();
+            if (!ids.containsKey(env.getSource())) {
+                ids.put(env.getSource(), data[0]);
+            }
+            received.merge(env.getSource(), data.length, Integer::sum);
+        }
+        assertEquals(CLIENTS, received.size());
+        assertEquals(CLIENTS * 4, total(received));
+        assertEquals(CLIENTS, new HashSet<>(ids.values()).size());
+
+        Set<Endpoint> added = new HashSet<>();
+        for (EndpointEvent event; (event = kernel.nextEvent()) != null; ) {
+            if (event.getType() == EndpointEvent.Type.ADD) {
+                added.add(event.getEndpoint());
+            }
+        }
+        assertEquals(received.keySet(), added);
+
+        // Each endpoint replies to its own client
+        for (Map.Entry<Endpoint, Byte> e : ids.entrySet()) {
+            e.getKey().send(ByteBuffer.wrap(new byte[]{e.getValue()}));
+        }
+        for (int i = 0; i < CLIENTS; i++) {
+            assertEquals(i, clients[i].getInputStream().read());
+        }
+
+        ByteBuffer payload = ByteBuffer.wrap(new byte[]{42, 43, 44});
+        kernel.broadcast(null, payload, true, true);
+        for (Socket client : clients) {
+            byte[] data = new byte[3];
+            new DataInputStream(client.getInputStream()).readFully(data);
+            assertEquals(42, data[0]);
+            assertEquals(44, data[2]);
+        }
+
+        Endpoint first = added.iterator().next();
+        first.close();
+        EndpointEvent removed = null;
+        deadline = System.currentTimeMillis() + 5000;
+        while (removed == null && System.currentTimeMillis() < deadline) {
+            removed = kernel.nextEvent();
+        }
+        assertNotNull(removed);
+        assertEquals(EndpointEvent.Type.REMOVE, removed.getType());
+        assertEquals(first, removed.getEndpoint());
+    }
+
+    private static int total(Map<Endpoint, Integer> received) {
+        int sum = 0;
+        for (int count : received.values()) {
+            sum += count;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.network.kernel.udp;
+
+import com.jme3.network.kernel.Endpoint;
+import com.jme3.network.kernel.EndpointEvent;
+import com.jme3.network.kernel.Envelope;
+import com.jme3.network.kernel.Kernel;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.HashSet;
+import java.util.Set;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Exchanges datagrams between a {@link DatagramChannelKernel} and loopback
+ * clients.
+ */
+public class DatagramChannelKernelTest {
+
+    private static final int CLIENTS = 8;
+    private static final int DATAGRAMS = 50;
+
+    private DatagramChannelKernel kernel;
+    private final DatagramSocket[] clients = new DatagramSocket[CLIENTS];
+
+    @BeforeEach
+    public void setUp() throws Exception {
+        InetAddress loopback = InetAddress.getLoopbackAddress();
+        kernel = new DatagramChannelKernel(new InetSocketAddress(loopback, 0), 4);
+        kernel.initialize();
+        for (int i = 0; i < CLIENTS; i++) {
+            clients[i] = new DatagramSocket(new InetSocketAddress(loopback, 0));
+            clients[i].setSoTimeout(5000);
+        }
+    }
+
+    @AfterEach
+    public void tearDown() throws Exception {
+        for (DatagramSocket client : clients) {
+            if (client != null) {
+                client.close();
+            }
+        }
+        kernel.terminate();
+    }
+
+    @Test
+    public void testReceivesFromManyClientsAndBroadcasts() throws Exception {
+        assertTrue(kernel.getChannelCount() >= 1);
+        InetSocketAddress server = kernel.getLocalAddress();
+        assertTrue(server.getPort() != 0);
+
+        for (int n = 0; n < DATAGRAMS; n++) {
+            for (int i = 0; i < CLIENTS; i++) {
+                byte[] data = {(byte) i, (byte) n};
+                clients[i].send(new DatagramPacket(data, data.length, server));
+            }
+        }
+
+        // UDP may drop datagrams, even on loopback, but every client
+        // must be seen and each datagram arrives intact.
+        Set<Endpoint> endpoints = new HashSet<>();
+        int received = 0;
+        long deadline = System.currentTimeMillis() + 5000;
+        while (endpoints.size() < CLIENTS || received < CLIENTS * DATAGRAMS) {
+            if (!kernel.hasEnvelopes()) {
+                if (System.currentTimeMillis() > deadline) {
+                    break;
+                }
+                Thread.sleep(5);
+                continue;
+            }
+            Envelope env = kernel.read();
+            if (env == Kernel.EVENTS_PENDING) {
+                continue;
+            }
+            assertEquals(2, env.getData().length);
+            endpoints.add(env.getSource());
+            received++;
+        }
+        assertEquals(CLIENTS, endpoints.size());
+        assertTrue(received > 0);
+
+        int added = 0;
+        for (EndpointEvent event; (event = kernel.nextEvent()) != null; ) {
+            if (event.getType() == EndpointEvent.Type.ADD) {
+                added++;
+            }
+        }
+        assertEquals(CLIENTS, added);
+
+        ByteBuffer payload = ByteBuffer.wrap(new byte[]{42, 43, 44});
+        kernel.broadcast(null, payload, false, false);
+        assertEquals(3, payload.remaining());
+        for (DatagramSocket client : clients) {
+            DatagramPacket packet = new DatagramPacket(new byte[16], 16);
+            client.receive(packet);
+            assertEquals(3, packet.getLength());
+            assertEquals(42, packet.getData()[0]);
+        }
+
+        Endpoint first = endpoints.iterator().next();
+        first.close();
+        EndpointEvent removed = kernel.nextEvent();
+        assertNotNull(removed);
+        assertEquals(EndpointEvent.Type.REMOVE, removed.getType());
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.network.serializing.serializers;
+
+import com.jme3.math.Vector3f;
+import com.jme3.network.serializing.Serializable;
+import com.jme3.network.serializing.Serializer;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GeneratedFieldSerializerTest {
+
+    @BeforeEach
+    public void setUp() {
+        Serializer.initialize();
+    }
+
+    @AfterEach
+    public void tearDown() {
+        Serializer.setGeneratedSerializers(false);
+        Serializer.initialize();
+    }
+
+    private static byte[] write(Serializer serializer, Object object) throws Exception {
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        serializer.writeObject(buffer, object);
+        buffer.flip();
+        byte[] result = new byte[buffer.remaining()];
+        buffer.get(result);
+        return result;
+    }
+
+    @Test
+    public void testWireFormatMatchesFieldSerializer() throws Exception {
+        FieldSerializer reflective = new FieldSerializer();
+        GeneratedFieldSerializer generated = new GeneratedFieldSerializer();
+        reflective.initialize(AllTypes.class);
+        generated.initialize(AllTypes.class);
+
+        AllTypes value = AllTypes.create();
+        byte[] expected = write(reflective, value);
+        assertArrayEquals(expected, write(generated, value));
+        assertArrayEquals(write(reflective, null), write(generated, null));
+
+        // Each one must read what the other wrote
+        AllTypes fromReflective = generated.readObject(ByteBuffer.wrap(expected), AllTypes.class);
+        AllTypes fromGenerated = reflective.readObject(ByteBuffer.wrap(write(generated, value)), AllTypes.class);
+        value.assertEquals(fromReflective);
+        value.assertEquals(fromGenerated);
+
+        assertNull(generated.readObject(ByteBuffer.wrap(new byte[] { 0 }), AllTypes.class));
+    }
+
+    @Test
+    public void testRegistrationMode() {
+        assertFalse(Serializer.isGeneratedSerializers());
+        assertSame(FieldSerializer.class, Serializer.registerClass(AllTypes.class).getSerializer().getClass());
+
+        Serializer.initialize();
+        Serializer.setGeneratedSerializers(true);
+        assertSame(GeneratedFieldSerializer.class, Serializer.registerClass(AllTypes.class).getSerializer().getClass());
+
+        Serializer.initialize();
+        Serializer.setGeneratedSerializers(false);
+        assertSame(GeneratedFieldSerializer.class, Serializer.registerClass(Annotated.class).getSerializer().getClass());
+    }
+
+    @Test
+    public void testClassAndObjectRoundTrip() throws Exception {
+        Serializer.setGeneratedSerializers(true);
+        Serializer.registerClass(AllTypes.class);
+
+        AllTypes value = AllTypes.create();
+        ByteBuffer buffer = ByteBuffer.allocate(1024);
+        Serializer.writeClassAndObject(buffer, value);
+        buffer.flip();
+        value.assertEquals((AllTypes)Serializer.readClassAndObject(buffer));
+        assertFalse(buffer.hasRemaining());
+    }
+
+    @Serializable
+    public static class AllTypes {
+        private boolean z;
+        private byte b;
+        private char c;
+        private short s;
+        private int i;
+        private long l;
+        private float f;
+        private double d;
+        private Integer boxed;
+        private String name;
+        private String missing;
+        private Vector3f location;
+        private Object any;
+        private List<String> list;
+        private final int fixed;
+        private transient int skipped;
+
+        private AllTypes() {
+            this.fixed = 0;
+        }
+
+        private AllTypes(int fixed) {
+            this.fixed = fixed;
+        }
+
+        static AllTypes create() {
+            AllTypes result = new AllTypes(99);
+            result.z = true;
+            result.b = -3;
+            result.c = 'q';
+            result.s = 1234;
+            result.i = -123456;
+            result.l = 1L << 40;
+            result.f = 1.5f;
+            result.d = -2.25;
+            result.boxed = 17;
+            result.name = "test";
+            result.location = new Vector3f(1, 2, 3);
+            result.any = "dynamic";
+            result.list = new ArrayList<>();
+            result.list.add("a");
+            result.skipped = 5;
+            return result;
+        }
+
+        void assertEquals(AllTypes other) {
+            assertNotNull(other);
+            assertTrue(other.z);
+            Assertions.assertEquals(b, other.b);
+            Assertions.assertEquals(c, other.c);
+            Assertions.assertEquals(s, other.s);
+            Assertions.assertEquals(i, other.i);
+            Assertions.assertEquals(l, other.l);
+            Assertions.assertEquals(f, other.f);
+            Assertions.assertEquals(d, other.d);
+            Assertions.assertEquals(boxed, other.boxed);
+            Assertions.assertEquals(name, other.name);
+            assertNull(other.missing);
+            Assertions.assertEquals(location, other.location);
+            Assertions.assertEquals(any, other.any);
+            Assertions.assertEquals(list, other.list);
+            Assertions.assertEquals(fixed, other.fixed);
+            Assertions.assertEquals(0, other.skipped);
+        }
+    }
+
+    @Serializable(serializer = GeneratedFieldSerializer.class)
+    public static class Annotated {
+        public int value;
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.network.service.rpc;
+
+import com.jme3.network.Message;
+import com.jme3.network.MessageConnection;
+import com.jme3.network.service.rmi.CallType;
+import com.jme3.network.service.rmi.MethodInfo;
+import com.jme3.network.service.rpc.msg.RpcCallMessage;
+import com.jme3.network.service.rpc.msg.RpcResponseMessage;
+import com.jme3.network.util.SerialExecutor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Exercises RpcConnection dispatch with two connections wired
+ * directly to each other.
+ */
+public class RpcConnectionTest {
+
+    private static final byte CHANNEL = (byte)MessageConnection.CHANNEL_DEFAULT_RELIABLE;
+    private static final short OBJ_ID = 1;
+
+    private ExecutorService pool;
+    private RpcConnection caller;
+    private RpcConnection callee;
+
+    @BeforeEach
+    public void setUp() {
+        pool = Executors.newFixedThreadPool(4);
+        Loopback toCallee = new Loopback();
+        Loopback toCaller = new Loopback();
+        caller = new RpcConnection(toCallee);
+        callee = new RpcConnection(toCaller);
+        toCallee.target = callee;
+        toCaller.target = caller;
+    }
+
+    @AfterEach
+    public void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @Test
+    public void testInlineByDefault() {
+        callee.registerHandler(OBJ_ID, (conn, objId, procId, args) -> Thread.currentThread());
+        assertSame(Thread.currentThread(), caller.callAndWait(CHANNEL, OBJ_ID, (short)0));
+    }
+
+    @Test
+    public void testExecutorDoesNotBlockReceiver() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        callee.setExecutor(pool);
+        callee.registerHandler(OBJ_ID, (conn, objId, procId, args) -> {
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch( InterruptedException e ) {
+                throw new RuntimeException(e);
+            }
+            return "done";
+        });
+
+        // The loopback delivers on this thread so an inline handler
+        // would block here until the latch times out
+        CompletableFuture<Object> result = caller.callDeferred(CHANNEL, OBJ_ID, (short)0);
+        assertFalse(result.isDone());
+        release.countDown();
+        assertEquals("done", result.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testSerialExecutorKeepsOrder() throws Exception {
+        int count = 200;
+        List<Integer> seen = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(count);
+        callee.setExecutor(new SerialExecutor(pool));
+        callee.registerHandler(OBJ_ID, (conn, objId, procId, args) -> {
+            seen.add((Integer)args[0]);
+            done.countDown();
+            return null;
+        });
+        for( int i = 0; i < count; i++ ) {
+            caller.callAsync(CHANNEL, OBJ_ID, (short)0, i);
+        }
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        for( int i = 0; i < count; i++ ) {
+            assertEquals(i, seen.get(i).intValue());
+        }
+    }
+
+    @Test
+    public void testInlineHandlerBypassesExecutor() {
+        callee.setExecutor(pool);
+        callee.registerHandler(OBJ_ID, (conn, objId, procId, args) -> Thread.currentThread(), true);
+        assertSame(Thread.currentThread(), caller.callAndWait(CHANNEL, OBJ_ID, (short)0));
+    }
+
+    @Test
+    public void testCompletionStageResult() throws Exception {
+        CompletableFuture<String> pending = new CompletableFuture<>();
+        callee.registerHandler(OBJ_ID, (conn, objId, procId, args) -> pending);
+
+        CompletableFuture<Object> result = caller.callDeferred(CHANNEL, OBJ_ID, (short)0);
+        assertFalse(result.isDone());
+        pending.complete("later");
+        assertEquals("later", result.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void testDeferredError() {
+        callee.registerHandler(OBJ_ID, (conn, objId, procId, args) -> {
+            throw new IllegalStateException("boom");
+        });
+        CompletableFuture<Object> result = caller.callDeferred(CHANNEL, OBJ_ID, (short)0);
+        ExecutionException e = assertThrows(ExecutionException.class, () -> result.get(5, TimeUnit.SECONDS));
+        assertTrue(e.getCause() instanceof RuntimeException);
+    }
+
+    @Test
+    public void testCloseReleasesDeferred() {
+        // No handler wired on the other end so the response never comes
+        Loopback nowhere = new Loopback();
+        RpcConnection lonely = new RpcConnection(nowhere);
+        CompletableFuture<Object> result = lonely.callDeferred(CHANNEL, OBJ_ID, (short)0);
+        lonely.close();
+        assertTrue(result.isCompletedExceptionally());
+    }
+
+    @Test
+    public void testFutureMethodsAreDeferred() throws Exception {
+        assertEquals(CallType.Deferred,
+                     MethodInfo.getCallType(Service.class.getMethod("fetch")));
+        assertEquals(CallType.Synchronous,
+                     MethodInfo.getCallType(Service.class.getMethod("get")));
+    }
+
+    public interface Service {
+        CompletableFuture<String> fetch();
+
+        String get();
+    }
+
+    private static class Loopback implements MessageConnection {
+        RpcConnection target;
+
+        @Override
+        public void send( Message message ) {
+            send(CHANNEL, message);
+        }
+
+        @Override
+        public void send( int channel, Message message ) {
+            if( target == null ) {
+                return;
+            }
+            if( message instanceof RpcCallMessage ) {
+                target.handleMessage((RpcCallMessage)message);
+            } else {
+                target.handleMessage((RpcResponseMessage)message);
+            }
+        }
+    }
+}
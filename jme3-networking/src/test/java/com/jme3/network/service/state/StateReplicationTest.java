@@ -0,0 +1,302 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.network.service.state;
+
+import com.jme3.math.FastMath;
+import com.jme3.math.Quaternion;
+import com.jme3.math.Vector3f;
+import com.jme3.network.HostedConnection;
+import com.jme3.network.Message;
+import com.jme3.network.Server;
+import com.jme3.network.service.state.msg.StateMessage;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the hosted and client state services against each other without
+ * a network connection in between.
+ */
+public class StateReplicationTest {
+
+    private static final int POSITION = 0;
+    private static final int ROTATION = 1;
+    private static final int HEALTH = 2;
+    private static final int ALIVE = 3;
+
+    private static StateLayout layout() {
+        return new StateLayout(StateField.vector3Field("position", -1024, 1024, 20),
+                               StateField.quaternionField("rotation", 12),
+                               StateField.intField("health", 9),
+                               StateField.booleanField("alive"));
+    }
+
+    private StateHostedService host;
+    private StateClientService client;
+    private StubConnection conn;
+    private final List<String> events = new ArrayList<>();
+
+    @BeforeEach
+    public void setUp() {
+        host = new StateHostedService(false, layout());
+        client = new StateClientService(layout());
+        conn = new StubConnection();
+        host.startHostingOnConnection(conn);
+        client.addStateListener(new StateListener() {
+            @Override
+            public void entityAdded(EntityState entity) {
+                events.add("added:" + entity.getId());
+            }
+
+            @Override
+            public void entityUpdated(EntityState entity, long changedFields) {
+                events.add("updated:" + entity.getId() + ":" + Long.toBinaryString(changedFields));
+            }
+
+            @Override
+            public void entityRemoved(EntityState entity) {
+                events.add("removed:" + entity.getId());
+            }
+        });
+
+        for (long id = 0; id < 100; id++) {
+            EntityState e = host.createEntity(id, 0);
+            e.set(POSITION, new Vector3f(id, 2 * id, -id));
+            e.set(ROTATION, new Quaternion().fromAngles(0.01f * id, 0.2f, -0.3f));
+            e.set(HEALTH, 100);
+            e.set(ALIVE, true);
+        }
+    }
+
+    /**
+     * Sends an update and applies it on the client, returning the
+     * message or null if nothing was sent.
+     */
+    private StateMessage exchange(boolean ack) {
+        host.sendUpdates();
+        if (conn.sent.isEmpty()) {
+            return null;
+        }
+        StateMessage msg = (StateMessage) conn.sent.remove(0);
+        assertTrue(conn.sent.isEmpty());
+        Integer sequence = client.applyFrame(msg);
+        if (ack && sequence != null) {
+            host.acknowledge(conn, sequence);
+        }
+        return msg;
+    }
+
+    @Test
+    public void testQuantizedFields() {
+        EntityState e = host.getEntity(3);
+        Vector3f position = e.get("position");
+        assertTrue(position.distance(new Vector3f(3, 6, -3)) < 0.005f);
+
+        Quaternion expected = new Quaternion().fromAngles(0.03f, 0.2f, -0.3f);
+        Quaternion rotation = e.get(ROTATION);
+        assertEquals(1, Math.abs(expected.dot(rotation)), 0.001f);
+
+        e.set(HEALTH, -200);
+        assertEquals(-200, (int) e.get(HEALTH));
+
+        e.set(ROTATION, new Quaternion().fromAngles(FastMath.PI, 0, 0).negateLocal());
+        assertEquals(1, Math.abs(new Quaternion().fromAngles(FastMath.PI, 0, 0).dot(e.get(ROTATION))), 0.001f);
+    }
+
+    @Test
+    public void testInitialFrameAndDeltas() {
+        StateMessage full = exchange(true);
+        assertEquals(-1, full.getBaseline());
+        assertTrue(full.isReliable(), "Large first frames go reliably");
+        assertEquals(100, client.getEntities().size());
+        assertEquals(100, events.size());
+        for (long id = 0; id < 100; id++) {
+            EntityState local = client.getEntity(id);
+            EntityState remote = host.getEntity(id);
+            assertEquals((Vector3f) remote.get(POSITION), local.get(POSITION));
+            assertEquals((Quaternion) remote.get(ROTATION), local.get(ROTATION));
+            assertEquals((Integer) remote.get(HEALTH), local.get(HEALTH));
+            assertEquals((Boolean) remote.get(ALIVE), local.get(ALIVE));
+        }
+
+        // Nothing changed and everything is acknowledged
+        events.clear();
+        assertNull(exchange(true));
+
+        // Setting the same value again is not a change
+        host.getEntity(10).set(HEALTH, 100);
+        assertNull(exchange(true));
+
+        host.getEntity(5).set(POSITION, new Vector3f(50, 60, 70));
+        StateMessage delta = exchange(true);
+        assertEquals(full.getSequence(), delta.getBaseline());
+        assertFalse(delta.isReliable());
+        assertTrue(delta.getData().length < 16, "Delta size:" + delta.getData().length);
+        assertEquals("[updated:5:1]", events.toString());
+        assertTrue(new Vector3f(50, 60, 70).distance(client.getEntity(5).get(POSITION)) < 0.005f);
+
+        events.clear();
+        host.removeEntity(7);
+        exchange(true);
+        assertEquals("[removed:7]", events.toString());
+        assertNull(client.getEntity(7));
+    }
+
+    @Test
+    public void testLostFramesAreCoveredByLaterOnes() {
+        exchange(true);
+        events.clear();
+
+        // Two updates sent but never acknowledged
+        host.getEntity(1).set(HEALTH, 50);
+        host.sendUpdates();
+        host.getEntity(2).set(ALIVE, false);
+        host.sendUpdates();
+        conn.sent.clear();
+
+        // The next frame is still relative to the last acknowledged one
+        StateMessage msg = exchange(true);
+        assertEquals(0, msg.getBaseline());
+        assertEquals(50, (int) client.getEntity(1).get(HEALTH));
+        assertFalse((Boolean) client.getEntity(2).get(ALIVE));
+
+        // Older frames arriving late are ignored
+        assertNull(client.applyFrame(new StateMessage(msg.getSequence() - 1, 0, new byte[1])));
+    }
+
+    @Test
+    public void testRevertedChangeIsStillSent() {
+        exchange(true);
+
+        host.getEntity(1).set(HEALTH, 50);
+        exchange(false);
+        assertEquals(50, (int) client.getEntity(1).get(HEALTH));
+
+        // Back to the acknowledged value but the client has seen the change
+        host.getEntity(1).set(HEALTH, 100);
+        exchange(true);
+        assertEquals(100, (int) client.getEntity(1).get(HEALTH));
+        assertNull(exchange(true));
+    }
+
+    @Test
+    public void testMissingBaselineRequestsFullFrame() {
+        exchange(true);
+        host.getEntity(1).set(HEALTH, 50);
+        host.sendUpdates();
+        StateMessage msg = (StateMessage) conn.sent.remove(0);
+
+        StateClientService fresh = new StateClientService(layout());
+        assertEquals(-1, (int) fresh.applyFrame(msg));
+        host.acknowledge(conn, -1);
+
+        host.sendUpdates();
+        msg = (StateMessage) conn.sent.remove(0);
+        assertEquals(-1, msg.getBaseline());
+        assertNotNull(fresh.applyFrame(msg));
+        assertEquals(100, fresh.getEntities().size());
+    }
+
+    @Test
+    public void testInterestFilter() {
+        exchange(true);
+        events.clear();
+
+        host.setInterestFilter((hc, entity) -> entity.getId() < 98);
+        exchange(true);
+        assertEquals("[removed:98, removed:99]", events.toString());
+        assertEquals(98, client.getEntities().size());
+
+        events.clear();
+        host.setInterestFilter(null);
+        exchange(true);
+        assertEquals(2, events.size());
+        assertEquals(100, client.getEntities().size());
+        assertTrue(new Vector3f(99, 198, -99).distance(client.getEntity(99).get(POSITION)) < 0.005f);
+    }
+
+    private static class StubConnection implements HostedConnection {
+        final List<Message> sent = new ArrayList<>();
+        final Map<String, Object> attributes = new HashMap<>();
+
+        @Override
+        public Server getServer() {
+            return null;
+        }
+
+        @Override
+        public int getId() {
+            return 1;
+        }
+
+        @Override
+        public String getAddress() {
+            return "stub";
+        }
+
+        @Override
+        public void close(String reason) {
+        }
+
+        @Override
+        public Object setAttribute(String name, Object value) {
+            return value == null ? attributes.remove(name) : attributes.put(name, value);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <T> T getAttribute(String name) {
+            return (T) attributes.get(name);
+        }
+
+        @Override
+        public Set<String> attributeNames() {
+            return attributes.keySet();
+        }
+
+        @Override
+        public void send(Message message) {
+            sent.add(message);
+        }
+
+        @Override
+        public void send(int channel, Message message) {
+            sent.add(message);
+        }
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.network.stats;
+
+import com.jme3.network.AbstractMessage;
+import java.util.HashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the counters and histograms used for network statistics.
+ */
+public class ConnectionStatsTest {
+
+    @Test
+    public void testEmptyHistogram() {
+        Histogram h = new Histogram();
+        assertEquals(0, h.getCount());
+        assertEquals(0, h.getMin());
+        assertEquals(0, h.getMax());
+        assertEquals(0, h.getPercentile(0.5));
+        assertEquals(0.0, h.getMean());
+    }
+
+    @Test
+    public void testHistogramPercentiles() {
+        Histogram h = new Histogram();
+        for( int i = 1; i <= 1000; i++ ) {
+            h.record(i);
+        }
+        assertEquals(1000, h.getCount());
+        assertEquals(1, h.getMin());
+        assertEquals(1000, h.getMax());
+        assertEquals(500.5, h.getMean(), 0.0001);
+
+        // Buckets are powers of two so the estimate is within a factor of two
+        long p50 = h.getPercentile(0.5);
+        assertTrue(p50 >= 500 && p50 < 1024, "p50:" + p50);
+        assertEquals(1000, h.getPercentile(1.0));
+        assertEquals(1, h.getPercentile(0.0));
+
+        h.reset();
+        assertEquals(0, h.getCount());
+        assertEquals(0, h.getMax());
+    }
+
+    @Test
+    public void testHistogramExtremes() {
+        Histogram h = new Histogram();
+        h.record(-5);
+        h.record(Long.MAX_VALUE);
+        assertEquals(0, h.getMin());
+        assertEquals(Long.MAX_VALUE, h.getMax());
+        assertEquals(Long.MAX_VALUE, h.getPercentile(1.0));
+    }
+
+    @Test
+    public void testParentTotals() {
+        ConnectionStats totals = new ConnectionStats();
+        ConnectionStats a = new ConnectionStats(totals);
+        ConnectionStats b = new ConnectionStats(totals);
+
+        a.messageSent(PingMessage.class, 10);
+        a.messageSent(PingMessage.class, 10);
+        b.messageSent(PongMessage.class, 7);
+        b.bytesReceived(30);
+        b.messageReceived(PingMessage.class, 100);
+        a.roundTrip(5000);
+
+        assertEquals(20, a.getBytesOut());
+        assertEquals(2, a.getMessagesOut());
+        assertEquals(27, totals.getBytesOut());
+        assertEquals(3, totals.getMessagesOut());
+        assertEquals(30, totals.getBytesIn());
+        assertEquals(1, totals.getMessagesIn());
+        assertEquals(1, totals.getRoundTripTimes().getCount());
+
+        MessageStats ping = totals.getMessageStats(PingMessage.class);
+        assertEquals(2, ping.getMessagesOut());
+        assertEquals(20, ping.getBytesOut());
+        assertEquals(1, ping.getMessagesIn());
+        assertEquals(100.0, ping.getMeanDeserializeNanos(), 0.0001);
+        assertEquals(2, totals.getMessageStats().size());
+
+        a.reset();
+        assertEquals(0, a.getBytesOut());
+        assertEquals(27, totals.getBytesOut());
+    }
+
+    @Test
+    public void testCollect() {
+        ConnectionStats stats = new ConnectionStats();
+        stats.messageSent(PingMessage.class, 12);
+        stats.messageSerialized(PingMessage.class, 300);
+
+        Map<String, Number> values = new HashMap<>();
+        stats.collect("client", values);
+        assertEquals(12L, values.get("client.bytesOut"));
+        assertEquals(1L, values.get("client.serializeNanos.count"));
+        assertEquals(1L, values.get("client.type.PingMessage.messagesOut"));
+        assertEquals(300.0, values.get("client.type.PingMessage.serializeNanos"));
+    }
+
+    public static class PingMessage extends AbstractMessage {
+    }
+
+    public static class PongMessage extends AbstractMessage {
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright (c) 2009-2026 jMonkeyEngine
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ * modification, are permitted provided that the following conditions are
+ * met:
+ *
+ * * Redistributions of source code must retain the above copyright
+ *   notice, this list of conditions and the following disclaimer.
+ *
+ * * Redistributions in binary form must reproduce the above copyright
+ *   notice, this list of conditions and the following disclaimer in the
+ *   documentation and/or other materials provided with the distribution.
+ *
+ * * Neither the name of 'jMonkeyEngine' nor the names of its contributors
+ *   may be used to endorse or promote products derived from this software
+ *   without specific prior written permission.
+ *
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS
+ * "AS IS" AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED
+ * TO, THE IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR
+ * PURPOSE ARE DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT OWNER OR
+ * CONTRIBUTORS BE LIABLE FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL,
+ * EXEMPLARY, OR CONSEQUENTIAL DAMAGES (INCLUDING, BUT NOT LIMITED TO,
+ * PROCUREMENT OF SUBSTITUTE GOODS OR SERVICES; LOSS OF USE, DATA, OR
+ * PROFITS; OR BUSINESS INTERRUPTION) HOWEVER CAUSED AND ON ANY THEORY OF
+ * LIABILITY, WHETHER IN CONTRACT, STRICT LIABILITY, OR TORT (INCLUDING
+ * NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY OUT OF THE USE OF THIS
+ * SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF SUCH DAMAGE.
+ */
+package com.jme3.network.util;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Verifies that a {@link SerialExecutor} keeps running tasks after one
+ * of them fails.
+ */
+public class SerialExecutorTest {
+
+    @Test
+    public void testContinuesAfterError() throws Exception {
+        Logger log = Logger.getLogger(SerialExecutor.class.getName());
+        Level level = log.getLevel();
+        log.setLevel(Level.OFF);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            SerialExecutor executor = new SerialExecutor(pool);
+            CountDownLatch first = new CountDownLatch(1);
+            executor.execute(() -> {
+                throw new AssertionError("expected");
+            });
+            executor.execute(first::countDown);
+            assertTrue(first.await(5, TimeUnit.SECONDS));
+
+            // Tasks submitted after the executor went idle still run
+            CountDownLatch second = new CountDownLatch(1);
+            executor.execute(() -> {
+                throw new StackOverflowError();
+            });
+            executor.execute(second::countDown);
+            assertTrue(second.await(5, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+            log.setLevel(level);
+        }
+    }
+}